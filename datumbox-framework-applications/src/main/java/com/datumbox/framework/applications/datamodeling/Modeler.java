@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,19 +17,23 @@ package com.datumbox.framework.applications.datamodeling;
 
 import com.datumbox.framework.common.Configuration;
 import com.datumbox.framework.core.common.dataobjects.Dataframe;
+import com.datumbox.framework.core.common.dataobjects.MutableRecord;
 import com.datumbox.framework.common.storage.interfaces.StorageEngine;
 import com.datumbox.framework.core.machinelearning.MLBuilder;
 import com.datumbox.framework.core.machinelearning.common.abstracts.AbstractTrainer;
 import com.datumbox.framework.core.machinelearning.common.abstracts.transformers.AbstractEncoder;
 import com.datumbox.framework.core.machinelearning.common.abstracts.transformers.AbstractScaler;
+import com.datumbox.framework.core.machinelearning.common.abstracts.transformers.AbstractTransformer;
 import com.datumbox.framework.core.machinelearning.common.abstracts.featureselectors.AbstractFeatureSelector;
 import com.datumbox.framework.core.machinelearning.common.abstracts.modelers.AbstractModeler;
 import com.datumbox.framework.core.machinelearning.common.dataobjects.TrainableBundle;
 import com.datumbox.framework.core.machinelearning.common.interfaces.Parallelizable;
+import com.datumbox.framework.core.machinelearning.common.interfaces.RecordTransformable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Modeler is a convenience class which can be used to train Machine Learning
@@ -212,29 +216,33 @@ public class Modeler extends AbstractModeler<Modeler.ModelParameters, Modeler.Tr
         //set the parallized flag to all algorithms
         bundle.setParallelized(isParallelized());
 
-        //run the pipeline
+        //run the pipeline; the consecutive transformers are applied together before the modeler
+        List<AbstractTrainer> transformers = new ArrayList<>();
         for(String step : pipeline) {
             switch (step) {
                 case NS_KEY:
                     AbstractScaler numericalScaler = (AbstractScaler) bundle.get(NS_KEY);
                     if(numericalScaler != null) {
-                        numericalScaler.transform(newData);
+                        transformers.add(numericalScaler);
                     }
                     break;
                 case CE_KEY:
                     AbstractEncoder categoricalEncoder = (AbstractEncoder) bundle.get(CE_KEY);
                     if(categoricalEncoder != null) {
-                        categoricalEncoder.transform(newData);
+                        transformers.add(categoricalEncoder);
                     }
                     break;
                 case FS_KEY:
                     int numOfFS = getTrainingParameters().getFeatureSelectorTrainingParametersList().size();
                     for(int i=0;i<numOfFS;i++) {
                         AbstractFeatureSelector featureSelector = (AbstractFeatureSelector) bundle.get(FS_KEY+i);
-                        featureSelector.transform(newData);
+                        transformers.add(featureSelector);
                     }
                     break;
                 case ML_KEY:
+                    transform(transformers, newData);
+                    transformers.clear();
+
                     AbstractModeler modeler = (AbstractModeler) bundle.get(ML_KEY);
                     modeler.predict(newData);
                     break;
@@ -242,6 +250,41 @@ public class Modeler extends AbstractModeler<Modeler.ModelParameters, Modeler.Tr
                     throw new RuntimeException("Invalid Pipeline Step");
             }
         }
+        transform(transformers, newData);
+    }
+
+    /**
+     * Applies the transformers on the data in order. The consecutive transformers
+     * which process every record independently are fused and applied with a
+     * single pass over the data, so the records are copied and written back only
+     * once. The rest of the transformers are applied separately.
+     *
+     * @param transformers
+     * @param newData
+     */
+    private void transform(List<AbstractTrainer> transformers, Dataframe newData) {
+        List<Consumer<MutableRecord>> recordTransformers = new ArrayList<>();
+        boolean changesMeta = false;
+        for(AbstractTrainer transformer : transformers) {
+            if(transformer instanceof RecordTransformable) {
+                RecordTransformable recordTransformable = (RecordTransformable) transformer;
+                recordTransformers.add(recordTransformable._createRecordTransformer());
+                changesMeta |= recordTransformable.changesMeta();
+            }
+            else {
+                newData.transform(recordTransformers, changesMeta, isParallelized());
+                recordTransformers.clear();
+                changesMeta = false;
+
+                if(transformer instanceof AbstractFeatureSelector) {
+                    ((AbstractFeatureSelector) transformer).transform(newData);
+                }
+                else {
+                    ((AbstractTransformer) transformer).transform(newData);
+                }
+            }
+        }
+        newData.transform(recordTransformers, changesMeta, isParallelized());
     }
     
     /** {@inheritDoc} */
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,22 +16,16 @@
 package com.datumbox.framework.applications.nlp;
 
 import com.datumbox.framework.common.Configuration;
-import com.datumbox.framework.common.dataobjects.AssociativeArray;
-import com.datumbox.framework.core.common.dataobjects.Dataframe;
-import com.datumbox.framework.common.dataobjects.FlatDataCollection;
-import com.datumbox.framework.core.common.dataobjects.Record;
+import com.datumbox.framework.common.concurrency.ForkJoinStream;
+import com.datumbox.framework.common.concurrency.StreamMethods;
 import com.datumbox.framework.core.common.interfaces.Parameterizable;
-import com.datumbox.framework.core.common.utilities.MapMethods;
 import com.datumbox.framework.core.common.utilities.PHPMethods;
 import com.datumbox.framework.core.common.text.StringCleaner;
-import com.datumbox.framework.core.machinelearning.MLBuilder;
-import com.datumbox.framework.core.machinelearning.clustering.Kmeans;
-import com.datumbox.framework.core.statistics.descriptivestatistics.Descriptives;
 import com.datumbox.framework.core.common.text.parsers.HTMLParser;
 
-import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * The CETR class (Content Extraction with Tag Ratios) enables you to extract the
@@ -45,8 +39,6 @@ import java.util.regex.Pattern;
  * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
  */
 public class CETR {
-    private static final Pattern NUMBER_OF_TAGS_PATTERN = Pattern.compile("<[^>]+?>", Pattern.DOTALL);
-    
     /**
      * The object with the Parameters of the Algorithm.
      */
@@ -56,6 +48,7 @@ public class CETR {
         private int numberOfClusters = 2;
         private int alphaWindowSizeFor2DModel = 3; //0 turns off the 2d Model. Suggested value from paper: 3
         private int smoothingAverageRadius = 2; //used by smoothing average method if selected
+        private boolean gaussianSmoothing = false; //whether the TTR histogram and its derivatives are smoothed before clustering
         
         /**
          * Getter for the number of clusters that will be used by the clustering
@@ -114,10 +107,32 @@ public class CETR {
         public void setSmoothingAverageRadius(int smoothingAverageRadius) {
             this.smoothingAverageRadius = smoothingAverageRadius;
         }
+        
+        /**
+         * Getter for whether the TTR histogram and its derivatives are smoothed
+         * with a Gaussian kernel before clustering.
+         * 
+         * @return 
+         */
+        public boolean getGaussianSmoothing() {
+            return gaussianSmoothing;
+        }
+        
+        /**
+         * Setter for whether the TTR histogram and its derivatives are smoothed
+         * with a Gaussian kernel before clustering.
+         * 
+         * @param gaussianSmoothing 
+         */
+        public void setGaussianSmoothing(boolean gaussianSmoothing) {
+            this.gaussianSmoothing = gaussianSmoothing;
+        }
     }
 
     private final Configuration configuration;
     
+    private final ForkJoinStream streamExecutor;
+    
     /**
      * Constructor for the CETR class.
      *
@@ -125,6 +140,7 @@ public class CETR {
      */
     public CETR(Configuration configuration) {
         this.configuration = configuration;
+        streamExecutor = new ForkJoinStream(configuration.getConcurrencyConfiguration());
     }
     
     /**
@@ -136,253 +152,280 @@ public class CETR {
      */
     public String extract(String html, CETR.Parameters parameters) {
         html = clearText(html); //preprocess the Document by removing irrelevant HTML tags and empty lines and break the document to its lines
-        List<String> rows = extractRows(html); //
+        String[] rows = extractRows(html);
         
-        List<Integer> selectedRowIds = selectRows(rows, parameters);
+        int n = rows.length;
+        String[] rowTexts = new String[n];
+        double[] TTR = new double[n];
+        for(int i=0;i<n;++i) {
+            rowTexts[i] = StringCleaner.removeExtraSpaces(HTMLParser.extractText(rows[i])); //extract the clear text from the row
+            TTR[i] = rowTexts[i].length()/(double)Math.max(countNumberOfTags(rows[i]), 1); //divide to estimate the Text Tag Ratio score for this row
+        }
+        
+        boolean[] selectedRows = selectRows(TTR, parameters);
         
         StringBuilder sb = new StringBuilder(html.length());
-        for(Integer rowId : selectedRowIds) {
-            String row = rows.get(rowId);
-            
-            //extract the clear text from the selected row
-            row = StringCleaner.removeExtraSpaces(HTMLParser.extractText(row));
-            if(row.isEmpty()) {
-                continue;
+        for(int i=0;i<n;++i) {
+            if(selectedRows[i] && !rowTexts[i].isEmpty()) {
+                sb.append(rowTexts[i]).append(" ");
             }
-            sb.append(row).append(" ");
         }
         
         return sb.toString().trim();
     }
     
+    /**
+     * Extracts the main content for a list of HTML pages. The pages are processed
+     * in parallel if the concurrency configuration allows it and the results are
+     * returned in the same order as the pages.
+     * 
+     * @param htmls
+     * @param parameters
+     * @return 
+     */
+    public List<String> extract(List<String> htmls, CETR.Parameters parameters) {
+        boolean parallelized = configuration.getConcurrencyConfiguration().isParallelized();
+        return streamExecutor.collect(StreamMethods.stream(htmls.stream(), parallelized).map(html -> extract(html, parameters)), Collectors.toList());
+    }
     
-    private List<Integer> selectRows(List<String> rows, Parameters parameters) {
-        List<Double> TTRlist = calculateTTRlist(rows);
-        gaussianSmoothing(TTRlist); //perform smoothing
-        
-        boolean use2Dmodel = (parameters.getAlphaWindowSizeFor2DModel()>0);
-        
-        Dataframe dataset = new Dataframe(configuration);
-        if(use2Dmodel) {
-            List<Double> G = computeDerivatives(TTRlist, parameters.getAlphaWindowSizeFor2DModel());
-            gaussianSmoothing(G);
-            
-            //build dataset for Cluster Analysis by including the information from G
-            int n = TTRlist.size();
-            for(int i=0;i<n;++i) {
-                AssociativeArray xData = new AssociativeArray();
-                xData.put(0, TTRlist.get(i));
-                xData.put(1, G.get(i));
-                dataset.add(new Record(xData, null));
-            }
-            
-            //G = null;
+    private boolean[] selectRows(double[] TTR, Parameters parameters) {
+        int n = TTR.length;
+        boolean smoothing = parameters.getGaussianSmoothing();
+        if(smoothing) {
+            gaussianSmoothing(TTR); //perform smoothing
         }
-        else {
-            //build dataset for Cluster Analysis by using only TTRlist info
-            int n = TTRlist.size();
-            for(int i=0;i<n;++i) {
-                AssociativeArray xData = new AssociativeArray();
-                xData.put(0, TTRlist.get(i));
-                dataset.add(new Record(xData, null));
+        
+        double[] G = null;
+        if(parameters.getAlphaWindowSizeFor2DModel()>0) {
+            //include the information of the smoothed absolute derivatives in the Cluster Analysis
+            G = computeDerivatives(TTR, parameters.getAlphaWindowSizeFor2DModel());
+            if(smoothing) {
+                gaussianSmoothing(G);
             }
         }
         
-        
         //perform clustering
-        performClustering(dataset, parameters.getNumberOfClusters());
-        
-        Map<Object, Double> avgTTRscorePerCluster = new HashMap<>();
-        Map<Object, Integer> clusterCounts = new HashMap<>();
-        for(Record r : dataset) {
-            Integer clusterId = (Integer)r.getYPredicted();
-            Double ttr = r.getX().getDouble(0); //the first value is always set the TTR as you can see above
-            
-            Double previousValue = avgTTRscorePerCluster.getOrDefault(clusterId, 0.0);
-            Integer counter = clusterCounts.getOrDefault(clusterId, 0);
-
-            avgTTRscorePerCluster.put(clusterId, previousValue+ttr);
-            clusterCounts.put(clusterId, counter+1);
-        }
+        int k = Math.min(parameters.getNumberOfClusters(), n);
+        int[] clusterAssignments = performClustering(TTR, G, k, 200);
         
         //estimate the average TTR for each cluster
-        for(Map.Entry<Object, Double> entry : avgTTRscorePerCluster.entrySet()) {
-            Integer clusterId = (Integer)entry.getKey();
-            double avgTTR = entry.getValue()/clusterCounts.get(clusterId);
-            avgTTRscorePerCluster.put(clusterId, avgTTR);
+        double[] avgTTRscorePerCluster = new double[k];
+        int[] clusterCounts = new int[k];
+        for(int i=0;i<n;++i) {
+            avgTTRscorePerCluster[clusterAssignments[i]] += TTR[i];
+            clusterCounts[clusterAssignments[i]]++;
         }
         
-        //fetch the cluster with the smallest average.
-        Map.Entry<Object, Double> entry = MapMethods.selectMinKeyValue(avgTTRscorePerCluster);
-        
-        //this cluster is considered the non-content cluster
-        Integer nonContentClusterId = (Integer)entry.getKey();
-        
-        List<Integer> selectedRows = new ArrayList<>();
-        for(Map.Entry<Integer, Record> e : dataset.entries()) {
-            Integer rId = e.getKey();
-            Record r = e.getValue();
-            Integer clusterId = (Integer)r.getYPredicted();
-            //if the point is not classified as non-content add it in the selected list
-            if(!Objects.equals(clusterId, nonContentClusterId)) { 
-                selectedRows.add(rId);
+        //the cluster with the smallest average is considered the non-content cluster
+        int nonContentClusterId = -1;
+        double minAvgTTR = Double.POSITIVE_INFINITY;
+        for(int c=0;c<k;++c) {
+            if(clusterCounts[c]>0) {
+                double avgTTR = avgTTRscorePerCluster[c]/clusterCounts[c];
+                if(avgTTR<minAvgTTR) {
+                    minAvgTTR = avgTTR;
+                    nonContentClusterId = c;
+                }
             }
         }
         
-        dataset.close();
+        //if the point is not classified as non-content add it in the selected list
+        boolean[] selectedRows = new boolean[n];
+        for(int i=0;i<n;++i) {
+            selectedRows[i] = clusterAssignments[i]!=nonContentClusterId;
+        }
         
         return selectedRows;
     }
-
-    private void performClustering(Dataframe dataset, int numberOfClusters) {
-        Kmeans.TrainingParameters param = new Kmeans.TrainingParameters();
-        param.setK(numberOfClusters);
-        param.setMaxIterations(200);
-        param.setInitializationMethod(Kmeans.TrainingParameters.Initialization.SET_FIRST_K); //using the first k
-        param.setDistanceMethod(Kmeans.TrainingParameters.Distance.EUCLIDIAN);
-        param.setWeighted(false);
-        param.setCategoricalGamaMultiplier(1.0);
-        //param.setSubsetFurthestFirstcValue(2.0);
-
-        Kmeans instance = MLBuilder.create(param, configuration);
-        
-        instance.fit(dataset);
-        instance.predict(dataset);
-        instance.close();
-    }
     
-    private List<Double> calculateTTRlist(List<String> rows) {
-        List<Double> TTRlist = new ArrayList<>();
+    /**
+     * Performs Kmeans clustering on the 1D or 2D points by using the first k 
+     * points as initial centroids and the euclidean distance. If the y 
+     * coordinates are null, the 1D model is used.
+     * 
+     * @param x
+     * @param y
+     * @param k
+     * @param maxIterations
+     * @return 
+     */
+    private int[] performClustering(double[] x, double[] y, int k, int maxIterations) {
+        int n = x.length;
+        
+        double[] centroidX = Arrays.copyOf(x, k);
+        double[] centroidY = (y!=null)?Arrays.copyOf(y, k):new double[k];
         
-        for(String row : rows) {
-            int x = countContentChars(row); //calculate the total number of text in the row
-            int y = countNumberOfTags(row); //count the number of tags in row
+        double[] sumX = new double[k];
+        double[] sumY = new double[k];
+        int[] counts = new int[k];
+        
+        int[] clusterAssignments = new int[n];
+        for(int iteration=0;iteration<=maxIterations;++iteration) {
+            //assign points to the closest cluster
+            for(int i=0;i<n;++i) {
+                int selectedClusterId = 0;
+                double minDistance = Double.POSITIVE_INFINITY;
+                for(int c=0;c<k;++c) {
+                    double dx = x[i]-centroidX[c];
+                    double dy = (y!=null)?y[i]-centroidY[c]:0.0;
+                    double distance = dx*dx+dy*dy;
+                    if(distance<minDistance) {
+                        minDistance = distance;
+                        selectedClusterId = c;
+                    }
+                }
+                clusterAssignments[i] = selectedClusterId;
+            }
             
-            if(y==0) {
-                y=1;
+            if(iteration==maxIterations) {
+                break;
             }
             
-            TTRlist.add(x/(double)y); //divide to estimate the Text Tag Ratio score for this row
-        }
-        
-        return TTRlist;
-    }
-    
-    /*
-    private List<Double> movingAverageSmoothing(List<Double> list, int smoothingAverageRadius) {
-        int n = list.size();
-        List<Double> smoothedList = new ArrayList<>(n);
-        
-        for(int idRow =0;idRow<n;++idRow) {
-            //apply a window based on 2*radius+1
-            int from = Math.max(idRow-smoothingAverageRadius, 0);
-            int to = Math.min(idRow+smoothingAverageRadius, n);
+            //update the centroids
+            Arrays.fill(sumX, 0.0);
+            Arrays.fill(sumY, 0.0);
+            Arrays.fill(counts, 0);
+            for(int i=0;i<n;++i) {
+                int c = clusterAssignments[i];
+                sumX[c] += x[i];
+                if(y!=null) {
+                    sumY[c] += y[i];
+                }
+                counts[c]++;
+            }
             
-            double sum = 0.0;
-            for(int i = from; i<to ; ++i) {
-                sum+=list.get(i);
+            boolean changed = false;
+            for(int c=0;c<k;++c) {
+                if(counts[c]>0) { //empty clusters keep their previous centroid
+                    double newX = sumX[c]/counts[c];
+                    double newY = sumY[c]/counts[c];
+                    if(newX!=centroidX[c] || (y!=null && newY!=centroidY[c])) {
+                        centroidX[c] = newX;
+                        centroidY[c] = newY;
+                        changed = true;
+                    }
+                }
             }
             
-            smoothedList.add(sum/(to-from)); //simple moving average
+            //if none of the clusters changed then the current assignments are final
+            if(!changed) {
+                break;
+            }
         }
         
-        return smoothedList;
+        return clusterAssignments;
     }
-    */
     
-    private List<Double> gaussianSmoothing(List<Double> list) {
-        
-        int n = list.size();
-        
-        double std = Descriptives.std(new FlatDataCollection((List)list), false);
-        double variance = std*std;
+    /**
+     * Smooths the values of the array in place by using a Gaussian kernel with
+     * standard deviation equal to the one of the values.
+     * 
+     * @param values 
+     */
+    private void gaussianSmoothing(double[] values) {
+        int n = values.length;
+        if(n==0) {
+            return;
+        }
         
-        int sygma = (int)Math.min(Math.ceil(std), (n-1.0)/2.0);
+        double mean = 0.0;
+        for(double v : values) {
+            mean += v;
+        }
+        mean /= n;
+        double variance = 0.0;
+        for(double v : values) {
+            variance += (v-mean)*(v-mean);
+        }
+        variance /= n;
         
+        int sygma = (int)Math.min(Math.ceil(Math.sqrt(variance)), (n-1.0)/2.0);
+        if(sygma<=0) {
+            return; //the kernel has a single value and the smoothing has no effect
+        }
         
-        List<Double> gaussianKernel = new ArrayList<>(2*sygma+1);
+        //calculate the normalized Gaussian Kernel
+        double[] gaussianKernel = new double[2*sygma+1];
         double normalizer = 0.0;
-        for(int i =0;i<=2*sygma;++i) {
-            double value = 0.0;
-            for(int j=-sygma;j<=sygma;++j) {
-                value += Math.exp((-j*j)/(2.0*variance));
-            }
-            
-            gaussianKernel.add(value);
-            
-            normalizer += value;//sum of all kernel values
+        for(int j=-sygma;j<=sygma;++j) {
+            gaussianKernel[j+sygma] = Math.exp((-j*j)/(2.0*variance));
+            normalizer += gaussianKernel[j+sygma];
         }
-        
-        //normalize the kernel
-        for(int i =0;i<=2*sygma;++i) {
-            gaussianKernel.set(i, gaussianKernel.get(i)/normalizer);
+        for(int j=0;j<gaussianKernel.length;++j) {
+            gaussianKernel[j] /= normalizer;
         }
         
-        
-        List<Double> smoothedList = new ArrayList<>(n); //calculate Gaussian Kernel
+        //apply the kernel to the original values; the last sygma original values are kept in a ring buffer
+        double[] previousValues = new double[sygma];
         for(int i=0;i<n;++i) {
             double smoothedValue = 0.0;
             for(int j=-sygma;j<=sygma;++j) {
-                int index = i-j;
+                int index = i+j;
                 if(index>=0 && index<n) {
-                    smoothedValue+=gaussianKernel.get(j+sygma)*list.get(index);//apply the kernel to the original values
+                    double original = (j<0)?previousValues[index%sygma]:values[index];
+                    smoothedValue += gaussianKernel[j+sygma]*original;
                 }
             }
-            smoothedList.add(smoothedValue);
+            previousValues[i%sygma] = values[i];
+            values[i] = smoothedValue;
         }
-        
-        
-        return smoothedList;
     }
     
-    private List<Double> computeDerivatives(List<Double> list, int alphaWindowSizeFor2DModel) {
+    private double[] computeDerivatives(double[] values, int alphaWindowSizeFor2DModel) {
         //calculating the absolute smoothed derivatives of the smoothed TR histogram
+        int n = values.length;
+        double[] G = new double[n];
         
-        int n = list.size();
-        List<Double> G = new ArrayList<>(n);
-        
+        //moving sum of the forward window [i, i+alpha)
+        double sum = 0.0;
+        for(int i=0;i<Math.min(alphaWindowSizeFor2DModel, n);++i) {
+            sum += values[i];
+        }
         for(int i=0;i<n;++i) {
-            double sum = 0.0;
+            int counter = Math.min(alphaWindowSizeFor2DModel, n-i);
+            double avgInWindow = sum/counter;
             
-            int counter = 0;
-            for(int j=0;j<alphaWindowSizeFor2DModel;++j) {
-                int index = i+j;
-                if(index>=0 && index<n) {
-                    sum+=list.get(index);
-                    ++counter;
-                }
-            }
+            G[i] = Math.abs(avgInWindow - values[i]); //absolute derivative. We subtract from the mean of window the original value and we take the absolute value
             
-            if(counter==0) {
-                counter=1;
+            sum -= values[i];
+            if(i+alphaWindowSizeFor2DModel<n) {
+                sum += values[i+alphaWindowSizeFor2DModel];
             }
-            
-            double avgInWindow = sum/counter;
-            
-            G.add(Math.abs(avgInWindow - list.get(i)));//absolute derivative. We subtract from the mean of window the original value and we take the absolute value
         }
         
         return G;
     }
-
     
+    /**
+     * Counts the tags of the text; it has the same semantics as the regex 
+     * {@literal <[^>]+?>}.
+     * 
+     * @param text
+     * @return 
+     */
     private int countNumberOfTags(String text) {
-        Matcher m = NUMBER_OF_TAGS_PATTERN.matcher(text);
-        
         int count = 0;
-        while(m.find()) {
+        int length = text.length();
+        int i = text.indexOf('<');
+        while(i>=0 && i+1<length) {
+            if(text.charAt(i+1)=='>') {
+                i = text.indexOf('<', i+1);
+                continue;
+            }
+            
+            int end = text.indexOf('>', i+2);
+            if(end<0) {
+                break;
+            }
             ++count;
+            i = text.indexOf('<', end+1);
         }
         
         return count;
     }
     
-    private int countContentChars(String text) {
-        return StringCleaner.removeExtraSpaces(HTMLParser.extractText(text)).length();
-    }
-    
-    private List<String> extractRows(String text) {
-        return Arrays.asList(text.split("\n"));
+    private String[] extractRows(String text) {
+        return text.split("\n");
     }
     
     private String clearText(String text) {
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,9 @@ import com.datumbox.framework.core.Datasets;
 import com.datumbox.framework.tests.abstracts.AbstractTest;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -50,4 +53,41 @@ public class CETRTest extends AbstractTest {
         assertEquals(expResult, result);
     }
     
+    /**
+     * Test of extract method, of class CETR, with multiple pages.
+     */
+    @Test
+    public void testExtractBatch() {
+        logger.info("testExtractBatch");
+         
+        Configuration configuration = getConfiguration();
+
+        String text = Datasets.exampleHtmlCode();
+        
+        CETR.Parameters parameters = new CETR.Parameters();
+        CETR instance = new CETR(configuration);
+        String expResult = "This domain is established to be used for illustrative examples in documents. You may use this domain in examples without prior coordination or asking for permission.";
+        List<String> result = instance.extract(Arrays.asList(text, "", text), parameters);
+        assertEquals(Arrays.asList(expResult, "", expResult), result);
+    }
+    
+    /**
+     * Test of extract method, of class CETR, with Gaussian smoothing.
+     */
+    @Test
+    public void testExtractWithSmoothing() {
+        logger.info("testExtractWithSmoothing");
+         
+        Configuration configuration = getConfiguration();
+
+        String text = Datasets.exampleHtmlCode();
+        
+        CETR.Parameters parameters = new CETR.Parameters();
+        parameters.setGaussianSmoothing(true);
+        CETR instance = new CETR(configuration);
+        String expResult = "Example Domain This domain is established to be used for illustrative examples in documents. You may use this domain in examples without prior coordination or asking for permission. More information...";
+        String result = instance.extract(text, parameters);
+        assertEquals(expResult, result);
+    }
+    
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,7 @@
  */
 package com.datumbox.framework.common.concurrency;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Spliterator;
@@ -45,6 +46,22 @@ public class FixedBatchSpliterator<T> extends FixedBatchSpliteratorBase<T> {
         this.it = it;
     }
 
+    /**
+     * Public constructor for Iterators with a known number of elements. The
+     * Spliterator reports SIZED and the underlying collection must not be
+     * modified structurally during the traversal. It does not split when
+     * fewer than two batches remain and its batches are not split further, so
+     * the parts are never smaller than the batch size.
+     *
+     * @param it
+     * @param batchSize
+     * @param size
+     */
+    public FixedBatchSpliterator(Iterator<T> it, int batchSize, long size) {
+        super(IMMUTABLE | ORDERED | NONNULL | SIZED, batchSize, size);
+        this.it = it;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -56,6 +73,7 @@ public class FixedBatchSpliterator<T> extends FixedBatchSpliteratorBase<T> {
         if(it.hasNext() == false) {
             return false;
         }
+        consumed(1L);
         action.accept(it.next());
         return true;
     }
@@ -69,6 +87,7 @@ public class FixedBatchSpliterator<T> extends FixedBatchSpliteratorBase<T> {
             throw new NullPointerException();
         }
         while(it.hasNext()) {
+            consumed(1L);
             action.accept(it.next());
         }
     }
@@ -125,7 +144,13 @@ abstract class FixedBatchSpliteratorBase<T> implements Spliterator<T> {
      * {@inheritDoc}
      */
     @Override
+    @SuppressWarnings("unchecked")
     public Spliterator<T> trySplit() {
+        boolean sized = est != Long.MAX_VALUE;
+        if(sized && est < 2L*batchSize) {
+            return null;
+        }
+
         final HoldingConsumer<T> holder = new HoldingConsumer<>();
         if(!tryAdvance(holder)) {
             return null;
@@ -139,10 +164,9 @@ abstract class FixedBatchSpliteratorBase<T> implements Spliterator<T> {
         }
         while (++j < batchSize && tryAdvance(holder));
 
-        if(est != Long.MAX_VALUE) {
-            est -= j;
+        if(sized) {
+            return new FixedBatchSpliterator<>((Iterator<T>) Arrays.asList(a).subList(0, j).iterator(), j, j);
         }
-
         return spliterator(a, 0, j, characteristics() | SIZED);
     }
 
@@ -157,6 +181,17 @@ abstract class FixedBatchSpliteratorBase<T> implements Spliterator<T> {
         throw new IllegalStateException();
     }
 
+    /**
+     * Reduces the estimated number of remaining elements when it is known.
+     *
+     * @param n
+     */
+    protected void consumed(long n) {
+        if(est != Long.MAX_VALUE) {
+            est = Math.max(est - n, 0L);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
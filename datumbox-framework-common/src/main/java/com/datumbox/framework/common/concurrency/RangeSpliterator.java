@@ -0,0 +1,229 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.common.concurrency;
+
+import java.util.Iterator;
+import java.util.NavigableMap;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Spliterator over a NavigableMap with Integer keys which splits by halving the
+ * range of the keys, so every split is balanced and costs
+ * O(log n) instead of copying the elements in arrays. When the keys are
+ * consecutive integers, the size of every range is known exactly and the
+ * Spliterator reports SIZED and SUBSIZED. The iterator of a range is created
+ * lazily on the first traversal and after that the range can no longer be split.
+ * The elements of a range are provided by an iterator on a view of the submap,
+ * for example on its keySet(), values() or entrySet().
+ *
+ * @param <V>
+ * @param <T>
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class RangeSpliterator<V, T> implements Spliterator<T> {
+
+    /**
+     * The map which is traversed.
+     */
+    private final NavigableMap<Integer, V> map;
+
+    /**
+     * Creates the iterator of the elements of a submap.
+     */
+    private final Function<? super NavigableMap<Integer, V>, Iterator<T>> iteratorFactory;
+
+    /**
+     * The ranges which contain fewer keys are not split.
+     */
+    private final int minSplitSize;
+
+    /**
+     * Whether the keys of the map are consecutive integers.
+     */
+    private final boolean dense;
+
+    /**
+     * The first key of the range (inclusive).
+     */
+    private long from;
+
+    /**
+     * The last key of the range (exclusive).
+     */
+    private final long to;
+
+    /**
+     * Whether the range starts from the first key of the map. The first and last
+     * ranges are open-ended, so keys which are added after the construction
+     * of the Spliterator are traversed as with the iterators of the map.
+     */
+    private boolean first;
+
+    /**
+     * Whether the range ends on the last key of the map.
+     */
+    private final boolean last;
+
+    /**
+     * The number of elements which have been traversed.
+     */
+    private long consumed = 0L;
+
+    /**
+     * The iterator of the range, initialized on the first traversal.
+     */
+    private Iterator<T> it = null;
+
+    /**
+     * Public constructor which covers all the keys of the map. The sizes are
+     * exact only if the map is not modified structurally during the traversal.
+     *
+     * @param map
+     * @param iteratorFactory
+     * @param minSplitSize
+     */
+    public RangeSpliterator(NavigableMap<Integer, V> map, Function<? super NavigableMap<Integer, V>, Iterator<T>> iteratorFactory, int minSplitSize) {
+        this.map = map;
+        this.iteratorFactory = iteratorFactory;
+        this.minSplitSize = Math.max(minSplitSize, 1);
+
+        if(map.isEmpty()) {
+            from = 0L;
+            to = 0L;
+        }
+        else {
+            from = map.firstKey();
+            to = map.lastKey() + 1L;
+        }
+        dense = (to - from) == map.size();
+        first = true;
+        last = true;
+    }
+
+    /**
+     * Private constructor used by trySplit.
+     *
+     * @param parent
+     * @param from
+     * @param to
+     * @param first
+     * @param last
+     */
+    private RangeSpliterator(RangeSpliterator<V, T> parent, long from, long to, boolean first, boolean last) {
+        this.map = parent.map;
+        this.iteratorFactory = parent.iteratorFactory;
+        this.minSplitSize = parent.minSplitSize;
+        this.dense = parent.dense;
+        this.from = from;
+        this.to = to;
+        this.first = first;
+        this.last = last;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        Iterator<T> iterator = iterator();
+        if(iterator.hasNext() == false) {
+            return false;
+        }
+        ++consumed;
+        action.accept(iterator.next());
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        Iterator<T> iterator = iterator();
+        while(iterator.hasNext()) {
+            ++consumed;
+            action.accept(iterator.next());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        long length = to - from;
+        if(it != null || length < 2L*minSplitSize) {
+            return null;
+        }
+        long mid = from + length/2L;
+        RangeSpliterator<V, T> prefix = new RangeSpliterator<>(this, from, mid, first, false);
+        from = mid;
+        first = false;
+        return prefix;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long estimateSize() {
+        return Math.max(to - from - consumed, 0L);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int characteristics() {
+        int characteristics = ORDERED | NONNULL;
+        if(dense) {
+            characteristics |= SIZED | SUBSIZED;
+        }
+        return characteristics;
+    }
+
+    /**
+     * Returns the iterator of the range, creating it if necessary.
+     *
+     * @return
+     */
+    private Iterator<T> iterator() {
+        if(it == null) {
+            if(first && last) {
+                it = iteratorFactory.apply(map);
+            }
+            else if(first) {
+                it = iteratorFactory.apply(map.headMap((int)to, false));
+            }
+            else if(last) {
+                it = iteratorFactory.apply(map.tailMap((int)from, true));
+            }
+            else {
+                it = iteratorFactory.apply(map.subMap((int)from, true, (int)to, false));
+            }
+        }
+        return it;
+    }
+
+}
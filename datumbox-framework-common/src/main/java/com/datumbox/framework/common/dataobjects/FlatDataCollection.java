@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package com.datumbox.framework.common.dataobjects;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -115,6 +116,22 @@ public class FlatDataCollection extends AbstractDataStructureCollection<Collecti
         }
         return new FlatDataList(list);
     }
+
+    /**
+     * Copies the not-null values of the collection to a primitive double array.
+     * 
+     * @return 
+     */
+    public final double[] toDoubleArray() {
+        double[] doubleArray = new double[internalData.size()];
+        int n = 0;
+        for(Object value : internalData) {
+            if(value != null) {
+                doubleArray[n++] = TypeInference.toDouble(value);
+            }
+        }
+        return (n==doubleArray.length)?doubleArray:Arrays.copyOf(doubleArray, n);
+    }
     
     /** {@inheritDoc} */
     @Override
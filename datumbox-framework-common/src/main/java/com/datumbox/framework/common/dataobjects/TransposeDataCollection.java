@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -107,6 +107,21 @@ public class TransposeDataCollection extends AbstractDataStructureMap<Map<Object
         return internalData.values();
     }
     
+    /**
+     * Copies the not-null values of every group to a primitive double array.
+     * The arrays follow the iteration order of the keys of the internal map.
+     * 
+     * @return 
+     */
+    public final double[][] toDoubleArrays() {
+        double[][] doubleArrays = new double[internalData.size()][];
+        int i = 0;
+        for(FlatDataCollection flatDataCollection : internalData.values()) {
+            doubleArrays[i++] = flatDataCollection.toDoubleArray();
+        }
+        return doubleArrays;
+    }
+    
     /** {@inheritDoc} */
     @Override
     public boolean equals(Object o) {
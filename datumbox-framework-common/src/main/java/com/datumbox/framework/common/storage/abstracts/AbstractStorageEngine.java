@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,7 +15,6 @@
  */
 package com.datumbox.framework.common.storage.abstracts;
 
-import com.datumbox.framework.common.storage.interfaces.BigMap;
 import com.datumbox.framework.common.storage.interfaces.StorageConfiguration;
 import com.datumbox.framework.common.storage.interfaces.StorageEngine;
 import com.datumbox.framework.common.utilities.ReflectionMethods;
@@ -26,16 +25,16 @@ import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * The AbstractStorageEngine is the base class for all concrete storage engines.
  * Those classes can be used in a try-with-resources statement block. Moreover this class
- * setups a shutdown hook which ensures that the storage engine will automatically call close()
- * before the JVM is terminated. Finally it contains methods to store complex objects
+ * registers the engine in a single shared shutdown hook which ensures that the storage engine
+ * will automatically call close() before the JVM is terminated. Finally it contains methods to store complex objects
  * with fields that point to other serialized objects.
  * 
  * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
@@ -51,11 +50,29 @@ public abstract class AbstractStorageEngine<SC extends StorageConfiguration> imp
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final AtomicBoolean isClosed = new AtomicBoolean(false);
-    
-    private Thread hook;
 
     /**
-     * Protected Constructor which is responsible for adding the Shutdown hook and storing the storage name and configuration.
+     * The engines which are still open. They are closed by a single shutdown hook.
+     */
+    private static final Set<AbstractStorageEngine<?>> OPEN_ENGINES = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for(AbstractStorageEngine<?> storageEngine : OPEN_ENGINES) {
+                if(!storageEngine.isClosed()) {
+                    storageEngine.close();
+                }
+            }
+        }));
+    }
+
+    /**
+     * The non-serializable BigMap classes of the engine, retrieved on their first use.
+     */
+    private Set<Class> nonSerializableBigMapClasses = null;
+
+    /**
+     * Protected Constructor which is responsible for registering the engine in the Shutdown hook and storing the storage name and configuration.
      *
      * @param storageName
      * @param storageConfiguration
@@ -64,14 +81,7 @@ public abstract class AbstractStorageEngine<SC extends StorageConfiguration> imp
         this.storageName = storageName;
         this.storageConfiguration = storageConfiguration;
 
-        hook = new Thread(() -> {
-            AbstractStorageEngine.this.hook = null;
-            if(AbstractStorageEngine.this.isClosed()) {
-                return;
-            }
-            AbstractStorageEngine.this.close();
-        });
-        Runtime.getRuntime().addShutdownHook(hook);
+        OPEN_ENGINES.add(this);
 
         logger.trace("Opened storage {}", storageName);
     }
@@ -91,14 +101,27 @@ public abstract class AbstractStorageEngine<SC extends StorageConfiguration> imp
     /** {@inheritDoc} */
     @Override
     public void close() {
-        if(isClosed() == false && hook != null) {
-            //remove hook to save memory
-            Runtime.getRuntime().removeShutdownHook(hook);
-            hook = null;
-        }
+        //remove the engine from the hook to save memory
+        OPEN_ENGINES.remove(this);
         isClosed.set(true);
     }
     
+    /** {@inheritDoc} */
+    @Override
+    public <K,V> Map<K,V> bulkLoadBigMap(String name, Class<K> keyClass, Class<V> valueClass, MapType type, StorageHint storageHint, boolean isConcurrent, boolean isTemporary, Map<? extends K, ? extends V> entries) {
+        Map<K,V> map = getBigMap(name, keyClass, valueClass, type, storageHint, isConcurrent, isTemporary);
+        map.clear();
+        putAll(map, entries);
+        return map;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <K,V> void putAll(Map<K,V> map, Map<? extends K, ? extends V> entries) {
+        assertConnectionOpen();
+        map.putAll(entries);
+    }
+
     /**
      * Ensures the connection is not closed.
      */
@@ -120,23 +143,13 @@ public abstract class AbstractStorageEngine<SC extends StorageConfiguration> imp
      */
     protected <T extends Serializable> Map<String, Object> preSerializer(T serializableObject) {
         Map<String, Object> objReferences = new HashMap<>();
-        for(Field field : ReflectionMethods.getAllFields(new LinkedList<>(), serializableObject.getClass())) {
-
-            if (field.isAnnotationPresent(BigMap.class)) {
-                field.setAccessible(true);
-
-                try {
-                    Object value = field.get(serializableObject);
-                    if(!isSerializableBigMap(value)) { //if the field is annotated with BigMap AND the value is not serializable
-                        //extract the reference to the object and put it in the map.
-                        objReferences.put(field.getName(), value);
-                        //then replace the reference with null to avoid serialization.
-                        field.set(serializableObject, null);
-                    }
-                }
-                catch (IllegalArgumentException | IllegalAccessException ex) {
-                    throw new RuntimeException(ex);
-                }
+        for(BigMapFields.BigMapField bigMapField : BigMapFields.of(serializableObject.getClass()).getFields()) {
+            Object value = bigMapField.get(serializableObject);
+            if(!isSerializableBigMap(value)) { //if the field is annotated with BigMap AND the value is not serializable
+                //extract the reference to the object and put it in the map.
+                objReferences.put(bigMapField.getName(), value);
+                //then replace the reference with null to avoid serialization.
+                bigMapField.set(serializableObject, null);
             }
         }
 
@@ -158,7 +171,10 @@ public abstract class AbstractStorageEngine<SC extends StorageConfiguration> imp
         }
 
         //Check the black listed bigmap types of the storage engine
-        if(nonSerializableBigMaps().contains(valueClass)) {
+        if(nonSerializableBigMapClasses == null) {
+            nonSerializableBigMapClasses = nonSerializableBigMaps();
+        }
+        if(nonSerializableBigMapClasses.contains(valueClass)) {
             return false;
         }
 
@@ -190,20 +206,11 @@ public abstract class AbstractStorageEngine<SC extends StorageConfiguration> imp
      * @param <T>
      */
     protected <T extends Serializable> void postSerializer(T serializableObject, Map<String, Object> objReferences) {
-        for(Field field : ReflectionMethods.getAllFields(new LinkedList<>(), serializableObject.getClass())) {
-            String fieldName = field.getName();
-
-            Object ref = objReferences.remove(fieldName);
+        for(BigMapFields.BigMapField bigMapField : BigMapFields.of(serializableObject.getClass()).getFields()) {
+            Object ref = objReferences.remove(bigMapField.getName());
             if(ref != null) { //if a reference is found in the map
-                field.setAccessible(true);
-
-                try {
-                    //restore the reference in the object
-                    field.set(serializableObject, ref);
-                }
-                catch (IllegalAccessException ex) {
-                    throw new RuntimeException(ex);
-                }
+                //restore the reference in the object
+                bigMapField.set(serializableObject, ref);
             }
         }
     }
@@ -217,24 +224,15 @@ public abstract class AbstractStorageEngine<SC extends StorageConfiguration> imp
      * @param <T>
      */
     protected <T extends Serializable> void postDeserializer(T serializableObject) {
-        Method method = null;
-        for(Field field : ReflectionMethods.getAllFields(new LinkedList<>(), serializableObject.getClass())) {
-            if (field.isAnnotationPresent(BigMap.class)) { //look only for BigMaps
-                field.setAccessible(true);
-                try {
-                    if(field.get(serializableObject) == null) { //initialize it only if null. this makes it safe it the BigMap was serialized in the file.
+        BigMapFields bigMapFields = BigMapFields.of(serializableObject.getClass());
+        for(BigMapFields.BigMapField bigMapField : bigMapFields.getFields()) {
+            if(bigMapField.get(serializableObject) == null) { //initialize it only if null. this makes it safe it the BigMap was serialized in the file.
+                Field field = bigMapField.getField();
 
-                        //lazy initialize the correct method once
-                        if(method == null) {
-                            method = ReflectionMethods.findMethod(serializableObject, "initializeBigMapField", this, field);
-                        }
+                //the method is looked up once per class
+                Method method = bigMapFields.getInitializer(serializableObject, this, field);
 
-                        ReflectionMethods.invokeMethod(serializableObject, method, this, field);
-                    }
-                }
-                catch (IllegalAccessException ex) {
-                    throw new RuntimeException(ex);
-                }
+                ReflectionMethods.invokeMethod(serializableObject, method, this, field);
             }
         }
 
@@ -0,0 +1,221 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.common.storage.abstracts;
+
+import com.datumbox.framework.common.storage.interfaces.BigMap;
+import com.datumbox.framework.common.utilities.ReflectionMethods;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * Descriptor of the fields of a class which are annotated with BigMap. The
+ * fields are found once per class and they are read and written with cached
+ * MethodHandles, so creating, saving and loading objects with BigMaps does not
+ * scan the class hierarchy with reflection every time.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+final class BigMapFields {
+
+    /**
+     * The descriptors of the classes, which are computed on their first use.
+     */
+    private static final ClassValue<BigMapFields> CACHE = new ClassValue<BigMapFields>() {
+        /** {@inheritDoc} */
+        @Override
+        protected BigMapFields computeValue(Class<?> type) {
+            return new BigMapFields(type);
+        }
+    };
+
+    /**
+     * A field which is annotated with BigMap along with its annotation and accessors.
+     */
+    static final class BigMapField {
+
+        private final Field field;
+
+        private final BigMap annotation;
+
+        private final MethodHandle getter;
+
+        private final MethodHandle setter;
+
+        /**
+         * Private constructor.
+         *
+         * @param field
+         * @throws IllegalAccessException
+         */
+        private BigMapField(Field field) throws IllegalAccessException {
+            field.setAccessible(true);
+            this.field = field;
+            annotation = field.getAnnotation(BigMap.class);
+
+            //the handles are created from the accessible field, so they skip the access checks
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            getter = lookup.unreflectGetter(field);
+            setter = lookup.unreflectSetter(field);
+        }
+
+        /**
+         * Getter for the reflection Field.
+         *
+         * @return
+         */
+        Field getField() {
+            return field;
+        }
+
+        /**
+         * Getter for the name of the field.
+         *
+         * @return
+         */
+        String getName() {
+            return field.getName();
+        }
+
+        /**
+         * Getter for the BigMap annotation of the field.
+         *
+         * @return
+         */
+        BigMap getAnnotation() {
+            return annotation;
+        }
+
+        /**
+         * Reads the value of the field from the object.
+         *
+         * @param obj
+         * @return
+         */
+        Object get(Object obj) {
+            try {
+                return getter.invoke(obj);
+            }
+            catch (RuntimeException | Error ex) {
+                throw ex;
+            }
+            catch (Throwable ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+
+        /**
+         * Writes the value of the field on the object.
+         *
+         * @param obj
+         * @param value
+         */
+        void set(Object obj, Object value) {
+            try {
+                setter.invoke(obj, value);
+            }
+            catch (RuntimeException | Error ex) {
+                throw ex;
+            }
+            catch (Throwable ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+    }
+
+    private final List<BigMapField> fields;
+
+    private final Map<String, BigMapField> fieldsByName;
+
+    /**
+     * The initializeBigMapField() method of the class, found on its first use.
+     */
+    private volatile Method initializer = null;
+
+    /**
+     * Private constructor used by the cache.
+     *
+     * @param klass
+     */
+    private BigMapFields(Class<?> klass) {
+        List<BigMapField> list = new ArrayList<>();
+        Map<String, BigMapField> byName = new HashMap<>();
+        try {
+            for(Field field : ReflectionMethods.getAllFields(new LinkedList<>(), klass)) {
+                if (field.isAnnotationPresent(BigMap.class)) {
+                    BigMapField bigMapField = new BigMapField(field);
+                    list.add(bigMapField);
+                    byName.putIfAbsent(bigMapField.getName(), bigMapField); //keep the field of the subclass on name clashes
+                }
+            }
+        }
+        catch (IllegalAccessException ex) {
+            throw new RuntimeException(ex);
+        }
+        fields = Collections.unmodifiableList(list);
+        fieldsByName = Collections.unmodifiableMap(byName);
+    }
+
+    /**
+     * Returns the descriptor of the class.
+     *
+     * @param klass
+     * @return
+     */
+    static BigMapFields of(Class<?> klass) {
+        return CACHE.get(klass);
+    }
+
+    /**
+     * Returns all the BigMap fields of the class and its parents.
+     *
+     * @return
+     */
+    List<BigMapField> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the BigMap field with the provided name or null if it does not exist.
+     *
+     * @param name
+     * @return
+     */
+    BigMapField getField(String name) {
+        return fieldsByName.get(name);
+    }
+
+    /**
+     * Returns the initializeBigMapField() method of the object. The method is
+     * looked up once per class.
+     *
+     * @param obj
+     * @param params
+     * @return
+     */
+    Method getInitializer(Object obj, Object... params) {
+        Method method = initializer;
+        if(method == null) {
+            method = ReflectionMethods.findMethod(obj, "initializeBigMapField", params);
+            method.setAccessible(true);
+            initializer = method;
+        }
+        return method;
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,11 +17,10 @@ package com.datumbox.framework.common.storage.abstracts;
 
 import com.datumbox.framework.common.storage.interfaces.BigMap;
 import com.datumbox.framework.common.storage.interfaces.StorageEngine;
-import com.datumbox.framework.common.utilities.ReflectionMethods;
 
 import java.io.Serializable;
 import java.lang.reflect.Field;
-import java.util.LinkedList;
+import java.util.Map;
 
 /**
  * Base class for every object that stored BigMaps internally.
@@ -47,12 +46,9 @@ public abstract class BigMapHolder implements Serializable {
      * @param storageEngine
      */
     private void bigMapInitializer(StorageEngine storageEngine) {
-        //get all the fields from all the inherited classes
-        for(Field field : ReflectionMethods.getAllFields(new LinkedList<>(), this.getClass())){
-            //if the field is annotated with BigMap
-            if (field.isAnnotationPresent(BigMap.class)) {
-                initializeBigMapField(storageEngine, field);
-            }
+        //get the BigMap fields from all the inherited classes
+        for(BigMapFields.BigMapField bigMapField : BigMapFields.of(this.getClass()).getFields()) {
+            initialize(storageEngine, bigMapField);
         }
     }
 
@@ -63,14 +59,42 @@ public abstract class BigMapHolder implements Serializable {
      * @param field
      */
     private void initializeBigMapField(StorageEngine storageEngine, Field field) {
-        field.setAccessible(true);
-
-        try {
-            BigMap a = field.getAnnotation(BigMap.class);
-            field.set(this, storageEngine.getBigMap(field.getName(), a.keyClass(), a.valueClass(), a.mapType(), a.storageHint(), a.concurrent(), false));
+        BigMapFields.BigMapField bigMapField = BigMapFields.of(this.getClass()).getField(field.getName());
+        if(bigMapField == null || !bigMapField.getField().equals(field)) {
+            throw new IllegalArgumentException("The field " + field.getName() + " is not a BigMap.");
         }
-        catch (IllegalArgumentException | IllegalAccessException ex) {
-            throw new RuntimeException(ex);
+        initialize(storageEngine, bigMapField);
+    }
+
+    /**
+     * Sets a new BigMap from the StorageEngine on the field.
+     *
+     * @param storageEngine
+     * @param bigMapField
+     */
+    private void initialize(StorageEngine storageEngine, BigMapFields.BigMapField bigMapField) {
+        BigMap a = bigMapField.getAnnotation();
+        bigMapField.set(this, storageEngine.getBigMap(bigMapField.getName(), a.keyClass(), a.valueClass(), a.mapType(), a.storageHint(), a.concurrent(), false));
+    }
+
+    /**
+     * Replaces the contents of a field which is marked as BigMap with the provided
+     * entries, using the bulk loader of the StorageEngine. It must not be called
+     * while other threads access the BigMap.
+     *
+     * @param storageEngine
+     * @param fieldName
+     * @param entries
+     */
+    @SuppressWarnings("unchecked")
+    protected void bulkLoadBigMapField(StorageEngine storageEngine, String fieldName, Map<?, ?> entries) {
+        BigMapFields.BigMapField bigMapField = BigMapFields.of(this.getClass()).getField(fieldName);
+        if(bigMapField == null) {
+            throw new IllegalArgumentException("The field " + fieldName + " is not a BigMap.");
         }
+
+        BigMap a = bigMapField.getAnnotation();
+        bigMapField.set(this, storageEngine.bulkLoadBigMap(fieldName, (Class<Object>) a.keyClass(), (Class<Object>) a.valueClass(), a.mapType(), a.storageHint(), a.concurrent(), false, entries));
     }
+
 }
@@ -0,0 +1,216 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.common.storage.cache;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * The ObjectSizeEstimator estimates the bytes which are retained by an object
+ * graph. Strings, boxed primitives, arrays, Collections and Maps are estimated
+ * using their contents, while the rest of the objects are traversed through
+ * their fields with reflection. The transient and synthetic fields are not
+ * traversed because they point to state which is shared or not owned by the
+ * object (caches, outer instances etc). The classes of the JDK which are not
+ * handled explicitly are assumed to have a fixed size.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class ObjectSizeEstimator {
+
+    /**
+     * The memory of an object header.
+     */
+    private static final long OBJECT_HEADER = 16L;
+
+    /**
+     * The memory of a reference.
+     */
+    private static final long REFERENCE_SIZE = 8L;
+
+    /**
+     * The memory of the objects of the JDK which are not handled explicitly.
+     */
+    private static final long DEFAULT_OBJECT_SIZE = 64L;
+
+    /**
+     * The maximum number of objects which are traversed for a single estimation.
+     * The rest of the graph is ignored, so the huge graphs are underestimated.
+     */
+    private static final int MAX_OBJECTS = 100000;
+
+    /**
+     * The shallow size and the traversable fields of every class.
+     */
+    private static final ClassValue<ClassLayout> LAYOUTS = new ClassValue<ClassLayout>() {
+        /** {@inheritDoc} */
+        @Override
+        protected ClassLayout computeValue(Class<?> type) {
+            return new ClassLayout(type);
+        }
+    };
+
+    /**
+     * The shallow size of the instances of a class and its reference fields.
+     */
+    private static class ClassLayout {
+        private final long shallowSize;
+        private final Field[] referenceFields;
+
+        private ClassLayout(Class<?> type) {
+            long size = OBJECT_HEADER;
+            List<Field> fields = new ArrayList<>();
+            boolean accessible = !isJdkClass(type);
+            for(Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for(Field field : c.getDeclaredFields()) {
+                    if(Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    Class<?> fieldType = field.getType();
+                    size += fieldType.isPrimitive()?primitiveSize(fieldType):REFERENCE_SIZE;
+
+                    if(accessible && !fieldType.isPrimitive() && !field.isSynthetic() && !Modifier.isTransient(field.getModifiers())) {
+                        try {
+                            field.setAccessible(true);
+                            fields.add(field);
+                        }
+                        catch(RuntimeException ex) {
+                            //the field is not accessible, so only its reference is counted
+                        }
+                    }
+                }
+            }
+            shallowSize = align(size);
+            referenceFields = fields.toArray(new Field[0]);
+        }
+    }
+
+    /**
+     * Estimates the bytes which are retained by the object.
+     *
+     * @param o
+     * @return
+     */
+    public static long estimate(Object o) {
+        if(o == null) {
+            return 0L;
+        }
+
+        long size = 0L;
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object> stack = new ArrayDeque<>();
+        stack.push(o);
+        while(!stack.isEmpty() && visited.size() < MAX_OBJECTS) {
+            Object current = stack.pop();
+            if(visited.add(current)) {
+                size += shallowEstimate(current, stack);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Estimates the bytes of the object without the objects it references,
+     * which are pushed to the stack.
+     *
+     * @param o
+     * @param stack
+     * @return
+     */
+    private static long shallowEstimate(Object o, Deque<Object> stack) {
+        Class<?> type = o.getClass();
+        if(o instanceof String) {
+            return 40L + 2L*((String) o).length();
+        }
+        else if(o instanceof Number && isJdkClass(type) || o instanceof Boolean || o instanceof Character) {
+            return 16L;
+        }
+        else if(o instanceof Enum || o instanceof Class) {
+            return 0L; //shared
+        }
+        else if(type.isArray()) {
+            int length = Array.getLength(o);
+            Class<?> componentType = type.getComponentType();
+            if(componentType.isPrimitive()) {
+                return align(OBJECT_HEADER + primitiveSize(componentType)*length);
+            }
+            for(Object element : (Object[]) o) {
+                push(element, stack);
+            }
+            return align(OBJECT_HEADER + REFERENCE_SIZE*length);
+        }
+        else if(o instanceof Collection && isJdkClass(type)) {
+            Collection<?> collection = (Collection<?>) o;
+            for(Object element : collection) {
+                push(element, stack);
+            }
+            return 48L + 32L*collection.size();
+        }
+        else if(o instanceof Map && isJdkClass(type)) {
+            Map<?, ?> map = (Map<?, ?>) o;
+            for(Map.Entry<?, ?> entry : map.entrySet()) {
+                push(entry.getKey(), stack);
+                push(entry.getValue(), stack);
+            }
+            return 48L + 32L*map.size();
+        }
+
+        ClassLayout layout = LAYOUTS.get(type);
+        if(isJdkClass(type)) {
+            return Math.max(layout.shallowSize, DEFAULT_OBJECT_SIZE);
+        }
+        for(Field field : layout.referenceFields) {
+            try {
+                push(field.get(o), stack);
+            }
+            catch(IllegalAccessException ex) {
+                //ignore the unreadable fields
+            }
+        }
+        return layout.shallowSize;
+    }
+
+    private static void push(Object o, Deque<Object> stack) {
+        if(o != null) {
+            stack.push(o);
+        }
+    }
+
+    private static boolean isJdkClass(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.") || name.startsWith("com.sun.");
+    }
+
+    private static long primitiveSize(Class<?> type) {
+        if(type == long.class || type == double.class) {
+            return 8L;
+        }
+        else if(type == int.class || type == float.class) {
+            return 4L;
+        }
+        else if(type == short.class || type == char.class) {
+            return 2L;
+        }
+        return 1L;
+    }
+
+    private static long align(long size) {
+        return (size + 7L) & ~7L;
+    }
+
+}
@@ -0,0 +1,711 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.common.storage.cache;
+
+import java.util.*;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * The TieredMap keeps the frequently used entries of a disk-backed map in a
+ * heap tier which is bounded by an estimated number of bytes. The heap tier is
+ * a Segmented LRU: new entries enter a probation segment and they are promoted
+ * to a protected segment, which holds up to 80% of the budget, when they are
+ * accessed again. Thus a scan over many keys can't flush the entries which are
+ * used repeatedly. The writes are cached and they are written back to the disk
+ * tier when the entries are evicted or when flush() is called; the removals are
+ * written directly. The absence of a key is also cached, so repeated lookups of
+ * missing keys do not hit the disk.
+ *
+ * The class does not depend on a particular storage engine and it is safe to use
+ * from multiple threads. The keys are partitioned in stripes by their hash code;
+ * every stripe is an independent Segmented LRU with its own lock and an equal
+ * share of the budget, so the threads which access different stripes do not
+ * block each other. The iterators flush the heap tier and traverse the disk
+ * tier, so the Map should not be modified by other threads while it is being
+ * traversed.
+ *
+ * @param <K>
+ * @param <V>
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class TieredMap<K, V> extends AbstractMap<K, V> {
+
+    /**
+     * The estimated memory of a cached entry excluding its key and value.
+     */
+    private static final long ENTRY_OVERHEAD = 64L;
+
+    /**
+     * The ratio of the budget which is reserved for the protected segment.
+     */
+    private static final double PROTECTED_RATIO = 0.8;
+
+    /**
+     * The maximum number of stripes.
+     */
+    private static final int MAX_STRIPES = 64;
+
+    private final Map<K, V> diskMap;
+
+    private final long maximumWeight;
+
+    private final ToLongBiFunction<? super K, ? super V> weigher;
+
+    private final List<Stripe> stripes;
+
+    private Set<Map.Entry<K, V>> entrySet = null;
+
+    /**
+     * An entry of the heap tier. A null value means that the key does not exist.
+     *
+     * @param <V>
+     */
+    private static class Node<V> {
+        private V value;
+        private long weight;
+        private boolean dirty;
+
+        private Node(V value, long weight, boolean dirty) {
+            this.value = value;
+            this.weight = weight;
+            this.dirty = dirty;
+        }
+    }
+
+    /**
+     * A Segmented LRU which caches the keys of a single stripe. All its methods
+     * must be called while holding its lock.
+     */
+    private class Stripe {
+        private final long maximumWeight;
+
+        private final long maximumProtectedWeight;
+
+        private final LinkedHashMap<K, Node<V>> probationSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+        private final LinkedHashMap<K, Node<V>> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+        private long probationWeight = 0L;
+
+        private long protectedWeight = 0L;
+
+        private int dirtyCount = 0;
+
+        private long hitCount = 0L;
+
+        private long missCount = 0L;
+
+        private long evictionCount = 0L;
+
+        private long writeBackCount = 0L;
+
+        private Stripe(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+            this.maximumProtectedWeight = (long)(maximumWeight*PROTECTED_RATIO);
+        }
+
+        @SuppressWarnings("unchecked")
+        private V get(Object key) {
+            Node<V> node = lookup(key);
+            if(node != null) {
+                hitCount++;
+                return node.value;
+            }
+
+            missCount++;
+            V value = diskMap.get(key);
+            admit((K) key, new Node<>(value, weigh((K) key, value), false));
+            evict();
+            return value;
+        }
+
+        private boolean containsKey(Object key) {
+            Node<V> node = lookup(key);
+            if(node != null && node.value != null) {
+                hitCount++;
+                return true;
+            }
+
+            //a null value in the heap tier is either a missing key or a null value of the disk tier
+            missCount++;
+            return diskMap.containsKey(key);
+        }
+
+        private V put(K key, V value) {
+            Node<V> node = lookup(key);
+            V previousValue = (node != null)?node.value:diskMap.get(key);
+            write(key, value, node);
+            evict();
+            return previousValue;
+        }
+
+        private V putNull(K key) {
+            //the null values are handled by the disk tier
+            Node<V> node = invalidate(key);
+            V previousValue = diskMap.put(key, null);
+            return (node != null)?node.value:previousValue;
+        }
+
+        private V remove(Object key) {
+            Node<V> node = invalidate(key);
+            V previousValue = diskMap.remove(key);
+            return (node != null)?node.value:previousValue;
+        }
+
+        private void flush() {
+            if(dirtyCount == 0) {
+                return;
+            }
+
+            Map<K, V> dirtyEntries = new LinkedHashMap<>(2*dirtyCount);
+            for(LinkedHashMap<K, Node<V>> segment : Arrays.asList(probationSegment, protectedSegment)) {
+                for(Map.Entry<K, Node<V>> entry : segment.entrySet()) {
+                    Node<V> node = entry.getValue();
+                    if(node.dirty) {
+                        dirtyEntries.put(entry.getKey(), node.value);
+                        node.dirty = false;
+                    }
+                }
+            }
+            diskMap.putAll(dirtyEntries);
+            writeBackCount += dirtyEntries.size();
+            dirtyCount = 0;
+        }
+
+        private void invalidateAll() {
+            probationSegment.clear();
+            protectedSegment.clear();
+            probationWeight = 0L;
+            protectedWeight = 0L;
+            dirtyCount = 0;
+        }
+
+        /**
+         * Finds the node of the key in the heap tier and updates its recency. The
+         * nodes of the probation segment are promoted to the protected segment.
+         *
+         * @param key
+         * @return
+         */
+        private Node<V> lookup(Object key) {
+            Node<V> node = protectedSegment.get(key);
+            if(node != null) {
+                return node;
+            }
+
+            node = probationSegment.remove(key);
+            if(node != null) {
+                probationWeight -= node.weight;
+                @SuppressWarnings("unchecked")
+                K k = (K) key;
+                protectedSegment.put(k, node);
+                protectedWeight += node.weight;
+
+                //demote the least recently used entries of the protected segment
+                Iterator<Map.Entry<K, Node<V>>> it = protectedSegment.entrySet().iterator();
+                while(protectedWeight > maximumProtectedWeight && it.hasNext()) {
+                    Map.Entry<K, Node<V>> eldest = it.next();
+                    if(eldest.getValue() == node) {
+                        break;
+                    }
+                    it.remove();
+                    protectedWeight -= eldest.getValue().weight;
+                    probationSegment.put(eldest.getKey(), eldest.getValue());
+                    probationWeight += eldest.getValue().weight;
+                }
+            }
+            return node;
+        }
+
+        /**
+         * Stores a modified value in the heap tier.
+         *
+         * @param key
+         * @param value
+         * @param node
+         */
+        private void write(K key, V value, Node<V> node) {
+            long weight = weigh(key, value);
+            if(node == null) {
+                node = new Node<>(value, weight, true);
+                admit(key, node);
+                dirtyCount++;
+                return;
+            }
+
+            //the node was moved to the protected segment by the lookup
+            protectedWeight += weight - node.weight;
+            node.value = value;
+            node.weight = weight;
+            if(!node.dirty) {
+                node.dirty = true;
+                dirtyCount++;
+            }
+        }
+
+        /**
+         * Adds a new node in the probation segment.
+         *
+         * @param key
+         * @param node
+         */
+        private void admit(K key, Node<V> node) {
+            probationSegment.put(key, node);
+            probationWeight += node.weight;
+        }
+
+        /**
+         * Removes the key from the heap tier WITHOUT writing it back.
+         *
+         * @param key
+         * @return
+         */
+        private Node<V> invalidate(Object key) {
+            Node<V> node = probationSegment.remove(key);
+            if(node != null) {
+                probationWeight -= node.weight;
+            }
+            else {
+                node = protectedSegment.remove(key);
+                if(node != null) {
+                    protectedWeight -= node.weight;
+                }
+            }
+            if(node != null && node.dirty) {
+                dirtyCount--;
+            }
+            return node;
+        }
+
+        /**
+         * Evicts the least recently used entries, starting from the probation
+         * segment, until the stripe is within its budget. The modified entries
+         * are written back to the disk tier.
+         */
+        private void evict() {
+            while(probationWeight + protectedWeight > maximumWeight) {
+                LinkedHashMap<K, Node<V>> segment = !probationSegment.isEmpty()?probationSegment:protectedSegment;
+                Iterator<Map.Entry<K, Node<V>>> it = segment.entrySet().iterator();
+                Map.Entry<K, Node<V>> eldest = it.next();
+                it.remove();
+
+                Node<V> node = eldest.getValue();
+                if(segment == probationSegment) {
+                    probationWeight -= node.weight;
+                }
+                else {
+                    protectedWeight -= node.weight;
+                }
+                if(node.dirty) {
+                    diskMap.put(eldest.getKey(), node.value);
+                    writeBackCount++;
+                    dirtyCount--;
+                }
+                evictionCount++;
+            }
+        }
+    }
+
+    /**
+     * Public constructor which estimates the memory of the entries with the
+     * ObjectSizeEstimator.
+     *
+     * @param diskMap
+     * @param maximumWeight
+     */
+    public TieredMap(Map<K, V> diskMap, long maximumWeight) {
+        this(diskMap, maximumWeight, (k, v) -> ObjectSizeEstimator.estimate(k) + ObjectSizeEstimator.estimate(v));
+    }
+
+    /**
+     * Public constructor which estimates the memory of the entries with the
+     * provided weigher.
+     *
+     * @param diskMap
+     * @param maximumWeight
+     * @param weigher
+     */
+    public TieredMap(Map<K, V> diskMap, long maximumWeight, ToLongBiFunction<? super K, ? super V> weigher) {
+        this(diskMap, maximumWeight, weigher, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Public constructor which estimates the memory of the entries with the
+     * provided weigher and splits the heap tier in at least as many stripes as
+     * the expected number of concurrent threads.
+     *
+     * @param diskMap
+     * @param maximumWeight
+     * @param weigher
+     * @param concurrencyLevel
+     */
+    public TieredMap(Map<K, V> diskMap, long maximumWeight, ToLongBiFunction<? super K, ? super V> weigher, int concurrencyLevel) {
+        if(maximumWeight < 0L) {
+            throw new IllegalArgumentException("The maximum weight can't be negative.");
+        }
+        else if(concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("The concurrency level must be positive.");
+        }
+        this.diskMap = Objects.requireNonNull(diskMap);
+        this.maximumWeight = maximumWeight;
+        this.weigher = Objects.requireNonNull(weigher);
+
+        int stripeCount = 1;
+        while(stripeCount < concurrencyLevel && stripeCount < MAX_STRIPES) {
+            stripeCount <<= 1;
+        }
+        stripes = new ArrayList<>(stripeCount);
+        for(int i=0;i<stripeCount;i++) {
+            stripes.add(new Stripe(maximumWeight/stripeCount));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        flush();
+        return diskMap.size();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isEmpty() {
+        flush();
+        return diskMap.isEmpty();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean containsKey(Object key) {
+        Stripe stripe = stripeFor(key);
+        synchronized(stripe) {
+            return stripe.containsKey(key);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V get(Object key) {
+        Stripe stripe = stripeFor(key);
+        synchronized(stripe) {
+            return stripe.get(key);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        V value = get(key);
+        return (value != null)?value:defaultValue;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V put(K key, V value) {
+        Stripe stripe = stripeFor(key);
+        synchronized(stripe) {
+            if(value == null) {
+                return stripe.putNull(key);
+            }
+            return stripe.put(key, value);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        for(Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+            K key = entry.getKey();
+            V value = entry.getValue();
+            Stripe stripe = stripeFor(key);
+            synchronized(stripe) {
+                if(value == null) {
+                    stripe.putNull(key);
+                }
+                else {
+                    //the previous values are not needed, so the disk tier is not read
+                    stripe.write(key, value, stripe.lookup(key));
+                    stripe.evict();
+                }
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V remove(Object key) {
+        Stripe stripe = stripeFor(key);
+        synchronized(stripe) {
+            return stripe.remove(key);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        invalidateAll();
+        diskMap.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if(entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<K, V>>() {
+
+                /** {@inheritDoc} */
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return TieredMap.this.entryIterator();
+                }
+
+                /** {@inheritDoc} */
+                @Override
+                public int size() {
+                    return TieredMap.this.size();
+                }
+
+                /** {@inheritDoc} */
+                @Override
+                public void clear() {
+                    TieredMap.this.clear();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    /**
+     * Writes all the modified entries of the heap tier to the disk tier. The
+     * entries remain cached.
+     */
+    public void flush() {
+        for(Stripe stripe : stripes) {
+            synchronized(stripe) {
+                stripe.flush();
+            }
+        }
+    }
+
+    /**
+     * Empties the heap tier WITHOUT writing the modified entries to the disk
+     * tier. It should be called only when the disk tier is discarded.
+     */
+    public void invalidateAll() {
+        for(Stripe stripe : stripes) {
+            synchronized(stripe) {
+                stripe.invalidateAll();
+            }
+        }
+    }
+
+    /**
+     * Returns the map of the disk tier.
+     *
+     * @return
+     */
+    public Map<K, V> getDiskMap() {
+        return diskMap;
+    }
+
+    /**
+     * Returns the maximum estimated bytes of the heap tier.
+     *
+     * @return
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Returns the number of stripes of the heap tier.
+     *
+     * @return
+     */
+    public int getStripeCount() {
+        return stripes.size();
+    }
+
+    /**
+     * Returns the estimated bytes which are currently used by the heap tier.
+     *
+     * @return
+     */
+    public long getWeight() {
+        long weight = 0L;
+        for(Stripe stripe : stripes) {
+            synchronized(stripe) {
+                weight += stripe.probationWeight + stripe.protectedWeight;
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Returns the number of lookups which were served by the heap tier.
+     *
+     * @return
+     */
+    public long getHitCount() {
+        long count = 0L;
+        for(Stripe stripe : stripes) {
+            synchronized(stripe) {
+                count += stripe.hitCount;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of lookups which were served by the disk tier.
+     *
+     * @return
+     */
+    public long getMissCount() {
+        long count = 0L;
+        for(Stripe stripe : stripes) {
+            synchronized(stripe) {
+                count += stripe.missCount;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the ratio of the lookups which were served by the heap tier.
+     *
+     * @return
+     */
+    public double getHitRatio() {
+        long hitCount = getHitCount();
+        long requestCount = hitCount + getMissCount();
+        return (requestCount > 0L)?hitCount/(double)requestCount:0.0;
+    }
+
+    /**
+     * Returns the number of entries which were evicted from the heap tier.
+     *
+     * @return
+     */
+    public long getEvictionCount() {
+        long count = 0L;
+        for(Stripe stripe : stripes) {
+            synchronized(stripe) {
+                count += stripe.evictionCount;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of modified entries which were written to the disk tier.
+     *
+     * @return
+     */
+    public long getWriteBackCount() {
+        long count = 0L;
+        for(Stripe stripe : stripes) {
+            synchronized(stripe) {
+                count += stripe.writeBackCount;
+            }
+        }
+        return count;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "TieredMap{" +
+                "weight=" + getWeight() +
+                ", maximumWeight=" + maximumWeight +
+                ", stripeCount=" + stripes.size() +
+                ", hitCount=" + getHitCount() +
+                ", missCount=" + getMissCount() +
+                ", evictionCount=" + getEvictionCount() +
+                ", writeBackCount=" + getWriteBackCount() +
+                '}';
+    }
+
+    /**
+     * Returns the stripe of the key.
+     *
+     * @param key
+     * @return
+     */
+    private Stripe stripeFor(Object key) {
+        int h = (key != null)?key.hashCode():0;
+        h ^= (h >>> 16);
+        return stripes.get(h & (stripes.size() - 1));
+    }
+
+    /**
+     * Estimates the bytes of a cached entry.
+     *
+     * @param key
+     * @param value
+     * @return
+     */
+    private long weigh(K key, V value) {
+        return ENTRY_OVERHEAD + weigher.applyAsLong(key, value);
+    }
+
+    /**
+     * Returns an iterator over the entries of the disk tier after flushing the
+     * heap tier. The setValue() and remove() operations update both tiers.
+     *
+     * @return
+     */
+    private Iterator<Map.Entry<K, V>> entryIterator() {
+        flush();
+        Iterator<Map.Entry<K, V>> it = diskMap.entrySet().iterator();
+        return new Iterator<Map.Entry<K, V>>() {
+            private K lastKey = null;
+
+            /** {@inheritDoc} */
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public Map.Entry<K, V> next() {
+                Map.Entry<K, V> entry = it.next();
+                lastKey = entry.getKey();
+                return new SimpleEntry<K, V>(entry) {
+                    private static final long serialVersionUID = 1L;
+
+                    /** {@inheritDoc} */
+                    @Override
+                    public V setValue(V value) {
+                        super.setValue(value);
+                        return TieredMap.this.put(getKey(), value);
+                    }
+                };
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public void remove() {
+                Stripe stripe = stripeFor(lastKey);
+                synchronized(stripe) {
+                    it.remove();
+                    stripe.invalidate(lastKey);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.common.storage.codecs;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Encodes the values of a BigMap in a compact binary format. The storage engines
+ * which support codecs store the encoded bytes instead of serializing the values,
+ * and they keep a ColumnDictionary for every BigMap so that the codecs can write
+ * the repeated column names as small integer ids.
+ *
+ * @param <V>
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public interface BigMapCodec<V> {
+
+    /**
+     * Writes the value in the output.
+     *
+     * @param value
+     * @param out
+     * @param dictionary
+     * @throws IOException
+     */
+    public void encode(V value, DataOutput out, ColumnDictionary dictionary) throws IOException;
+
+    /**
+     * Reads a value from the input.
+     *
+     * @param in
+     * @param dictionary
+     * @return
+     * @throws IOException
+     */
+    public V decode(DataInput in, ColumnDictionary dictionary) throws IOException;
+
+}
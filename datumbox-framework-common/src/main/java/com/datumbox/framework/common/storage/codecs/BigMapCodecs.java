@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.common.storage.codecs;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the BigMapCodecs which are used by the storage engines to encode
+ * the values of the BigMaps. The codecs are registered for the class of the
+ * values, usually from the static initializer of the class which owns the BigMap.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class BigMapCodecs {
+
+    private static final Map<Class<?>, BigMapCodec<?>> CODECS = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the codec of the provided value class.
+     *
+     * @param valueClass
+     * @param codec
+     * @param <V>
+     */
+    public static <V> void register(Class<V> valueClass, BigMapCodec<V> codec) {
+        CODECS.put(valueClass, codec);
+    }
+
+    /**
+     * Returns the codec of the provided value class or null if none is registered.
+     *
+     * @param valueClass
+     * @param <V>
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> BigMapCodec<V> get(Class<V> valueClass) {
+        return (BigMapCodec<V>) CODECS.get(valueClass);
+    }
+
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.common.storage.codecs;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns consecutive integer ids to the columns of a BigMap. The dictionary is
+ * loaded from and written through to a map of the storage engine, so the ids
+ * remain valid when the BigMap is reopened. The lookups are lock-free and only
+ * the assignment of new ids is synchronized. The storage engines should keep a
+ * single dictionary per BigMap, since the instances which share the same map do
+ * not see each other's new ids.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class ColumnDictionary {
+
+    private final Map<Integer, Object> store;
+
+    private final Map<Object, Integer> ids = new ConcurrentHashMap<>();
+
+    private final Map<Integer, Object> columns = new ConcurrentHashMap<>();
+
+    private int nextId = 0;
+
+    /**
+     * Public constructor which loads the existing ids from the provided map of
+     * the storage engine. The new ids are written in the same map.
+     *
+     * @param store
+     */
+    public ColumnDictionary(Map<Integer, Object> store) {
+        this.store = store;
+        for(Map.Entry<Integer, Object> entry : store.entrySet()) {
+            ids.put(entry.getValue(), entry.getKey());
+            columns.put(entry.getKey(), entry.getValue());
+            nextId = Math.max(nextId, entry.getKey()+1);
+        }
+    }
+
+    /**
+     * Returns the id of the column, assigning a new one if the column is not
+     * in the dictionary.
+     *
+     * @param column
+     * @return
+     */
+    public int getId(Object column) {
+        Integer id = ids.get(column);
+        if(id == null) {
+            synchronized(this) {
+                id = ids.get(column);
+                if(id == null) {
+                    id = nextId++;
+                    store.put(id, column);
+                    columns.put(id, column);
+                    ids.put(column, id);
+                }
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Returns the column of the provided id.
+     *
+     * @param id
+     * @return
+     */
+    public Object getColumn(int id) {
+        Object column = columns.get(id);
+        if(column == null) {
+            throw new IllegalArgumentException("Unknown column id " + id + ".");
+        }
+        return column;
+    }
+
+    /**
+     * Returns the number of columns in the dictionary.
+     *
+     * @return
+     */
+    public int size() {
+        return columns.size();
+    }
+
+}
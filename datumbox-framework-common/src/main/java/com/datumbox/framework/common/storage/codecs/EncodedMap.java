@@ -0,0 +1,200 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.common.storage.codecs;
+
+import java.util.*;
+
+/**
+ * View of a map which stores its values encoded by a BigMapCodec. The values
+ * are encoded when they are written and decoded when they are read; the keys
+ * are not modified. It is used by the storage engines to store the values of
+ * the BigMaps in their compact binary format and it is as safe to use from
+ * multiple threads as the underlying map.
+ *
+ * @param <K>
+ * @param <V>
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class EncodedMap<K, V> extends AbstractMap<K, V> {
+
+    private final Map<K, byte[]> encodedMap;
+
+    private final BigMapCodec<V> codec;
+
+    private final ColumnDictionary dictionary;
+
+    private Set<Map.Entry<K, V>> entrySet = null;
+
+    /**
+     * Public constructor.
+     *
+     * @param encodedMap
+     * @param codec
+     * @param dictionary
+     */
+    public EncodedMap(Map<K, byte[]> encodedMap, BigMapCodec<V> codec, ColumnDictionary dictionary) {
+        this.encodedMap = Objects.requireNonNull(encodedMap);
+        this.codec = Objects.requireNonNull(codec);
+        this.dictionary = Objects.requireNonNull(dictionary);
+    }
+
+    /**
+     * Getter for the underlying map with the encoded values.
+     *
+     * @return
+     */
+    public Map<K, byte[]> getEncodedMap() {
+        return encodedMap;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return encodedMap.size();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isEmpty() {
+        return encodedMap.isEmpty();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean containsKey(Object key) {
+        return encodedMap.containsKey(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V get(Object key) {
+        return decode(encodedMap.get(key));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V put(K key, V value) {
+        return decode(encodedMap.put(key, encode(value)));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V remove(Object key) {
+        return decode(encodedMap.remove(key));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        //the order of the entries is kept because the sorted maps are updated faster in order
+        Map<K, byte[]> encodedEntries = new LinkedHashMap<>();
+        for(Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+            encodedEntries.put(entry.getKey(), encode(entry.getValue()));
+        }
+        encodedMap.putAll(encodedEntries);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        encodedMap.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<K> keySet() {
+        return encodedMap.keySet();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if(entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<K, V>>() {
+
+                /** {@inheritDoc} */
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    Iterator<Map.Entry<K, byte[]>> it = encodedMap.entrySet().iterator();
+                    return new Iterator<Map.Entry<K, V>>() {
+
+                        /** {@inheritDoc} */
+                        @Override
+                        public boolean hasNext() {
+                            return it.hasNext();
+                        }
+
+                        /** {@inheritDoc} */
+                        @Override
+                        public Map.Entry<K, V> next() {
+                            Map.Entry<K, byte[]> entry = it.next();
+                            return new SimpleEntry<K, V>(entry.getKey(), decode(entry.getValue())) {
+                                private static final long serialVersionUID = 1L;
+
+                                /** {@inheritDoc} */
+                                @Override
+                                public V setValue(V value) {
+                                    super.setValue(value);
+                                    return decode(encodedMap.put(getKey(), encode(value)));
+                                }
+                            };
+                        }
+
+                        /** {@inheritDoc} */
+                        @Override
+                        public void remove() {
+                            it.remove();
+                        }
+                    };
+                }
+
+                /** {@inheritDoc} */
+                @Override
+                public int size() {
+                    return encodedMap.size();
+                }
+
+                /** {@inheritDoc} */
+                @Override
+                public void clear() {
+                    encodedMap.clear();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    /**
+     * Encodes the value.
+     *
+     * @param value
+     * @return
+     */
+    private byte[] encode(V value) {
+        return EncodingMethods.encode(codec, dictionary, value);
+    }
+
+    /**
+     * Decodes the bytes or returns null if they are null.
+     *
+     * @param bytes
+     * @return
+     */
+    private V decode(byte[] bytes) {
+        return (bytes != null)?EncodingMethods.decode(codec, dictionary, bytes):null;
+    }
+
+}
@@ -0,0 +1,252 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.common.storage.codecs;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The EncodingMethods class contains the utility methods which are used by the
+ * BigMapCodecs to write variable-length integers and type-tagged values.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class EncodingMethods {
+
+    private static final byte NULL = 0;
+    private static final byte INTEGER = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte FALSE = 4;
+    private static final byte TRUE = 5;
+    private static final byte STRING = 6;
+    private static final byte SERIALIZED = 7;
+
+    /**
+     * Encodes the value with the codec.
+     *
+     * @param codec
+     * @param dictionary
+     * @param value
+     * @param <V>
+     * @return
+     */
+    public static <V> byte[] encode(BigMapCodec<V> codec, ColumnDictionary dictionary, V value) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(128);
+        try {
+            codec.encode(value, new DataOutputStream(bos), dictionary);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bos.toByteArray();
+    }
+
+    /**
+     * Decodes the bytes with the codec.
+     *
+     * @param codec
+     * @param dictionary
+     * @param bytes
+     * @param <V>
+     * @return
+     */
+    public static <V> V decode(BigMapCodec<V> codec, ColumnDictionary dictionary, byte[] bytes) {
+        try {
+            return codec.decode(new DataInputStream(new ByteArrayInputStream(bytes)), dictionary);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Writes a non-negative integer using 1 to 5 bytes.
+     *
+     * @param value
+     * @param out
+     * @throws IOException
+     */
+    public static void writeVarInt(int value, DataOutput out) throws IOException {
+        while((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Reads an integer which was written by writeVarInt().
+     *
+     * @param in
+     * @return
+     * @throws IOException
+     */
+    public static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for(int shift=0;shift<35;shift+=7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer.");
+    }
+
+    /**
+     * Writes a long using 1 to 10 bytes. The small negative numbers are also
+     * written with few bytes.
+     *
+     * @param value
+     * @param out
+     * @throws IOException
+     */
+    public static void writeVarLong(long value, DataOutput out) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while((zigzag & ~0x7FL) != 0L) {
+            out.writeByte((int)((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.writeByte((int)zigzag);
+    }
+
+    /**
+     * Reads a long which was written by writeVarLong().
+     *
+     * @param in
+     * @return
+     * @throws IOException
+     */
+    public static long readVarLong(DataInput in) throws IOException {
+        long zigzag = 0L;
+        for(int shift=0;shift<70;shift+=7) {
+            byte b = in.readByte();
+            zigzag |= (long)(b & 0x7F) << shift;
+            if((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1L);
+            }
+        }
+        throw new IOException("Malformed variable-length long.");
+    }
+
+    /**
+     * Writes a value along with a tag of its type. The Integers, Longs, Doubles,
+     * Booleans and Strings are written directly, while the rest of the objects
+     * are written using Java serialization.
+     *
+     * @param value
+     * @param out
+     * @throws IOException
+     */
+    public static void writeValue(Object value, DataOutput out) throws IOException {
+        if(value == null) {
+            out.writeByte(NULL);
+        }
+        else if(value instanceof Integer) {
+            out.writeByte(INTEGER);
+            writeVarLong((Integer) value, out);
+        }
+        else if(value instanceof Long) {
+            out.writeByte(LONG);
+            writeVarLong((Long) value, out);
+        }
+        else if(value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        }
+        else if(value instanceof Boolean) {
+            out.writeByte((Boolean) value?TRUE:FALSE);
+        }
+        else if(value instanceof String && isEncodable((String) value)) {
+            byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+            out.writeByte(STRING);
+            writeVarInt(bytes.length, out);
+            out.write(bytes);
+        }
+        else {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try(ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+                oos.writeObject(value);
+            }
+            out.writeByte(SERIALIZED);
+            writeVarInt(bos.size(), out);
+            out.write(bos.toByteArray());
+        }
+    }
+
+    /**
+     * Reads a value which was written by writeValue().
+     *
+     * @param in
+     * @return
+     * @throws IOException
+     */
+    public static Object readValue(DataInput in) throws IOException {
+        byte type = in.readByte();
+        switch(type) {
+            case NULL:
+                return null;
+            case INTEGER:
+                return (int) readVarLong(in);
+            case LONG:
+                return readVarLong(in);
+            case DOUBLE:
+                return in.readDouble();
+            case FALSE:
+                return false;
+            case TRUE:
+                return true;
+            case STRING: {
+                byte[] bytes = new byte[readVarInt(in)];
+                in.readFully(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            case SERIALIZED: {
+                byte[] bytes = new byte[readVarInt(in)];
+                in.readFully(bytes);
+                try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    return ois.readObject();
+                }
+                catch (ClassNotFoundException ex) {
+                    throw new RuntimeException(ex);
+                }
+            }
+            default:
+                throw new IOException("Unsupported type " + type + ".");
+        }
+    }
+
+    /**
+     * Checks whether the string can be written in UTF-8 without losing information.
+     *
+     * @param s
+     * @return
+     */
+    private static boolean isEncodable(String s) {
+        for(int i=0;i<s.length();i++) {
+            char c = s.charAt(i);
+            if(Character.isHighSurrogate(c) && i+1<s.length() && Character.isLowSurrogate(s.charAt(i+1))) {
+                i++; //valid surrogate pair
+            }
+            else if(Character.isSurrogate(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -132,6 +132,40 @@ public interface StorageEngine extends AutoCloseable {
      */
     public <K,V> Map<K,V> getBigMap(String name, Class<K> keyClass, Class<V> valueClass, MapType type, StorageHint storageHint, boolean isConcurrent, boolean isTemporary);
     
+    /**
+     * Creates a Big Map which contains the provided entries, replacing any existing
+     * Big Map with the same name. The engines can bulk load the entries, which is
+     * considerably faster than writing them one by one, so the method should be
+     * preferred when a Big Map is populated from scratch. The returned map must
+     * not be accessed by other threads until the method returns.
+     *
+     * @param name
+     * @param keyClass
+     * @param valueClass
+     * @param type
+     * @param storageHint
+     * @param isConcurrent
+     * @param isTemporary
+     * @param entries
+     * @param <K>
+     * @param <V>
+     * @return
+     */
+    public <K,V> Map<K,V> bulkLoadBigMap(String name, Class<K> keyClass, Class<V> valueClass, MapType type, StorageHint storageHint, boolean isConcurrent, boolean isTemporary, Map<? extends K, ? extends V> entries);
+
+    /**
+     * Writes a batch of entries in a Big Map which was created by the engine.
+     * The engines can optimize the batch, for example by writing the keys in
+     * sorted order, so it should be preferred over multiple put() calls. The
+     * method is thread-safe if the Big Map is concurrent.
+     *
+     * @param map
+     * @param entries
+     * @param <K>
+     * @param <V>
+     */
+    public <K,V> void putAll(Map<K,V> map, Map<? extends K, ? extends V> entries);
+
     /**
      * Drops the Big Map.
      * 
@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.common.storage;
+
+import com.datumbox.framework.common.storage.abstracts.BigMapHolder;
+import com.datumbox.framework.common.storage.interfaces.BigMap;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine.MapType;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine.StorageHint;
+
+import java.util.Map;
+
+/**
+ * An object with private BigMap fields, used by the tests of the
+ * storage.abstracts package to access the fields of a class from another package.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class PrivateBigMapHolder extends BigMapHolder {
+    private static final long serialVersionUID = 1L;
+
+    @BigMap(keyClass=Integer.class, valueClass=String.class, mapType=MapType.HASHMAP, storageHint=StorageHint.IN_MEMORY, concurrent=false)
+    private Map<Integer, String> values;
+
+    /**
+     * Public constructor.
+     *
+     * @param storageEngine
+     */
+    public PrivateBigMapHolder(StorageEngine storageEngine) {
+        super(storageEngine);
+    }
+
+    /**
+     * Getter for the values.
+     *
+     * @return
+     */
+    public Map<Integer, String> getValues() {
+        return values;
+    }
+}
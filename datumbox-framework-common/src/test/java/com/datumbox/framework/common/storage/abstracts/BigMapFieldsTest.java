@@ -0,0 +1,147 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.common.storage.abstracts;
+
+import com.datumbox.framework.common.storage.PrivateBigMapHolder;
+import com.datumbox.framework.common.storage.interfaces.BigMap;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine.MapType;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine.StorageHint;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for BigMapFields.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class BigMapFieldsTest {
+
+    /**
+     * An object with a BigMap.
+     */
+    public static class Parent extends BigMapHolder {
+        private static final long serialVersionUID = 1L;
+
+        @BigMap(keyClass=Integer.class, valueClass=String.class, mapType=MapType.HASHMAP, storageHint=StorageHint.IN_MEMORY, concurrent=false)
+        private Map<Integer, String> values;
+
+        private Parent(StorageEngine storageEngine) {
+            super(storageEngine);
+        }
+    }
+
+    /**
+     * An object with a BigMap which shadows the BigMap of its parent.
+     */
+    public static class Child extends Parent {
+        private static final long serialVersionUID = 1L;
+
+        @BigMap(keyClass=Integer.class, valueClass=String.class, mapType=MapType.TREEMAP, storageHint=StorageHint.IN_MEMORY, concurrent=false)
+        private Map<Integer, String> values;
+
+        private Child(StorageEngine storageEngine) {
+            super(storageEngine);
+        }
+    }
+
+    /**
+     * Creates a StorageEngine which only creates BigMaps. The additional
+     * interfaces change the class of the engine.
+     *
+     * @param interfaces
+     * @return
+     */
+    private static StorageEngine createStorageEngine(Class<?>... interfaces) {
+        Class<?>[] types = new Class<?>[interfaces.length+1];
+        types[0] = StorageEngine.class;
+        System.arraycopy(interfaces, 0, types, 1, interfaces.length);
+        return (StorageEngine) Proxy.newProxyInstance(BigMapFieldsTest.class.getClassLoader(), types, (proxy, method, args) -> {
+            if(method.getName().equals("getBigMap")) {
+                return MapType.TREEMAP.equals(args[3])?new TreeMap<>():new HashMap<>();
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    /**
+     * Test of getFields and getField methods with a BigMap which shadows the BigMap of the parent, of class BigMapFields.
+     */
+    @Test
+    public void testShadowedField() {
+        Child child = new Child(createStorageEngine());
+        BigMapFields bigMapFields = BigMapFields.of(Child.class);
+
+        List<BigMapFields.BigMapField> fields = bigMapFields.getFields();
+        assertEquals(2, fields.size());
+        assertEquals(Child.class, fields.get(0).getField().getDeclaringClass());
+        assertEquals(Parent.class, fields.get(1).getField().getDeclaringClass());
+
+        BigMapFields.BigMapField field = bigMapFields.getField("values");
+        assertSame(fields.get(0), field);
+        assertEquals(MapType.TREEMAP, field.getAnnotation().mapType());
+        assertSame(child.values, field.get(child));
+        assertTrue(child.values instanceof TreeMap);
+        assertTrue(((Parent) child).values instanceof HashMap);
+    }
+
+    /**
+     * Test of get and set methods with the private fields of a class from another package, of class BigMapFields.
+     */
+    @Test
+    public void testPrivateFieldOfOtherPackage() {
+        PrivateBigMapHolder holder = new PrivateBigMapHolder(createStorageEngine());
+        BigMapFields.BigMapField field = BigMapFields.of(PrivateBigMapHolder.class).getField("values");
+        assertNotNull(field);
+        assertSame(holder.getValues(), field.get(holder));
+
+        Map<Integer, String> values = new HashMap<>();
+        field.set(holder, values);
+        assertSame(values, holder.getValues());
+
+        field.set(holder, null);
+        assertNull(holder.getValues());
+    }
+
+    /**
+     * Test of getInitializer method with parameters of different types, of class BigMapFields.
+     */
+    @Test
+    public void testGetInitializer() {
+        StorageEngine storageEngine1 = createStorageEngine();
+        StorageEngine storageEngine2 = createStorageEngine(Serializable.class);
+        assertNotSame(storageEngine1.getClass(), storageEngine2.getClass());
+
+        Parent parent = new Parent(storageEngine1);
+        BigMapFields bigMapFields = BigMapFields.of(Parent.class);
+        BigMapFields.BigMapField field = bigMapFields.getField("values");
+
+        Method method = bigMapFields.getInitializer(parent, storageEngine1, field.getField());
+        assertEquals("initializeBigMapField", method.getName());
+        assertSame(method, bigMapFields.getInitializer(parent, storageEngine2, field.getField()));
+        assertSame(method, BigMapFields.of(Parent.class).getInitializer(new Parent(storageEngine2), storageEngine2, field.getField()));
+    }
+
+}
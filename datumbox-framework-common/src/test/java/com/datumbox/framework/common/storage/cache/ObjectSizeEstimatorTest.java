@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.common.storage.cache;
+
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for ObjectSizeEstimator.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class ObjectSizeEstimatorTest {
+
+    private static class Cluster implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final int id;
+        private final double[] mean;
+        private final Map<Object, Double> counts = new HashMap<>();
+        private transient Map<Object, Integer> sharedIds;
+        private Cluster self = this;
+
+        private Cluster(int id, int dimensions) {
+            this.id = id;
+            mean = new double[dimensions];
+        }
+    }
+
+    /**
+     * Test of estimate method, of class ObjectSizeEstimator.
+     */
+    @Test
+    public void testEstimate() {
+        assertEquals(0L, ObjectSizeEstimator.estimate(null));
+        assertEquals(16L, ObjectSizeEstimator.estimate(1));
+        assertEquals(48L, ObjectSizeEstimator.estimate("abcd"));
+        assertEquals(16L + 8L*100, ObjectSizeEstimator.estimate(new long[100]));
+        assertTrue(ObjectSizeEstimator.estimate(Arrays.asList("a", "b")) > 2*ObjectSizeEstimator.estimate("a"));
+
+        //the objects of unknown classes are estimated using their fields
+        Cluster small = new Cluster(1, 10);
+        Cluster large = new Cluster(2, 10000);
+        assertTrue(ObjectSizeEstimator.estimate(large) > 8L*10000);
+        assertTrue(ObjectSizeEstimator.estimate(large) - ObjectSizeEstimator.estimate(small) >= 8L*(10000 - 10));
+
+        long estimate = ObjectSizeEstimator.estimate(small);
+        for(int i=0;i<100;i++) {
+            small.counts.put("feature" + i, (double) i);
+        }
+        assertTrue(ObjectSizeEstimator.estimate(small) > estimate + 100*(16L + 40L));
+
+        //the transient fields are not traversed
+        estimate = ObjectSizeEstimator.estimate(small);
+        small.sharedIds = new HashMap<>();
+        for(int i=0;i<100;i++) {
+            small.sharedIds.put("feature" + i, i);
+        }
+        assertEquals(estimate, ObjectSizeEstimator.estimate(small));
+    }
+
+}
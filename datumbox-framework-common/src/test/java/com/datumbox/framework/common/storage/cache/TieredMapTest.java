@@ -0,0 +1,287 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.common.storage.cache;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for TieredMap.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class TieredMapTest {
+
+    /**
+     * The weight of every entry, including the overhead of the TieredMap.
+     */
+    private static final long ENTRY_WEIGHT = 100L;
+
+    /**
+     * Creates a TieredMap with a single stripe which fits the provided number of entries.
+     *
+     * @param diskMap
+     * @param entries
+     * @return
+     */
+    private TieredMap<Integer, String> createMap(Map<Integer, String> diskMap, int entries) {
+        return new TieredMap<>(diskMap, entries*ENTRY_WEIGHT, (k, v) -> ENTRY_WEIGHT - 64L, 1);
+    }
+
+    /**
+     * Test of get, put and remove methods, of class TieredMap.
+     */
+    @Test
+    public void testGetPutRemove() {
+        Map<Integer, String> diskMap = new HashMap<>();
+        diskMap.put(1, "a");
+        TieredMap<Integer, String> instance = createMap(diskMap, 10);
+
+        assertEquals("a", instance.get(1));
+        assertNull(instance.get(2));
+        assertFalse(instance.containsKey(2));
+        assertEquals("x", instance.getOrDefault(2, "x"));
+
+        assertNull(instance.put(2, "b"));
+        assertEquals("b", instance.put(2, "c"));
+        assertEquals("c", instance.get(2));
+        assertEquals(2, instance.size());
+
+        assertEquals("c", instance.remove(2));
+        assertFalse(diskMap.containsKey(2));
+        assertNull(instance.get(2));
+
+        instance.clear();
+        assertTrue(instance.isEmpty());
+        assertTrue(diskMap.isEmpty());
+    }
+
+    /**
+     * Test of the caching of the missing keys, of class TieredMap.
+     */
+    @Test
+    public void testMissingKeys() {
+        Map<Integer, String> diskMap = new HashMap<>();
+        TieredMap<Integer, String> instance = createMap(diskMap, 10);
+
+        for(int i=0;i<5;i++) {
+            assertNull(instance.get(7));
+        }
+        assertEquals(1L, instance.getMissCount());
+        assertEquals(4L, instance.getHitCount());
+    }
+
+    /**
+     * Test of containsKey method with null values, of class TieredMap.
+     */
+    @Test
+    public void testContainsKeyNullValue() {
+        Map<Integer, String> diskMap = new HashMap<>();
+        diskMap.put(1, null);
+        TieredMap<Integer, String> instance = createMap(diskMap, 10);
+
+        assertTrue(instance.containsKey(1));
+        assertNull(instance.get(1));
+        assertTrue(instance.containsKey(1));
+
+        assertNull(instance.put(2, "a"));
+        assertEquals("a", instance.put(2, null));
+        assertTrue(instance.containsKey(2));
+        assertNull(instance.get(2));
+        assertTrue(instance.containsKey(2));
+
+        assertNull(instance.get(3));
+        assertFalse(instance.containsKey(3));
+
+        assertNull(instance.put(4, "b"));
+        assertFalse(diskMap.containsKey(4));
+        assertTrue(instance.containsKey(4));
+    }
+
+    /**
+     * Test of the eviction and the write-back of the modified entries, of class TieredMap.
+     */
+    @Test
+    public void testEvictionAndWriteBack() {
+        Map<Integer, String> diskMap = new HashMap<>();
+        TieredMap<Integer, String> instance = createMap(diskMap, 10);
+
+        for(int i=0;i<30;i++) {
+            instance.put(i, "v" + i);
+            assertTrue(instance.getWeight() <= instance.getMaximumWeight());
+        }
+        assertEquals(20L, instance.getEvictionCount());
+        assertEquals(20L, instance.getWriteBackCount());
+
+        //the oldest entries were written to the disk, while the newest are only cached
+        assertEquals(20, diskMap.size());
+        assertEquals("v0", diskMap.get(0));
+        assertFalse(diskMap.containsKey(29));
+        for(int i=0;i<30;i++) {
+            assertEquals("v" + i, instance.get(i));
+        }
+
+        instance.flush();
+        assertEquals(30, diskMap.size());
+        assertEquals("v29", diskMap.get(29));
+    }
+
+    /**
+     * Test of flush and invalidateAll methods, of class TieredMap.
+     */
+    @Test
+    public void testFlushAndInvalidateAll() {
+        Map<Integer, String> diskMap = new HashMap<>();
+        TieredMap<Integer, String> instance = createMap(diskMap, 10);
+
+        instance.put(1, "a");
+        assertTrue(diskMap.isEmpty());
+        instance.flush();
+        assertEquals("a", diskMap.get(1));
+        assertEquals(1L, instance.getWriteBackCount());
+
+        //the cleaned entries are not written again
+        instance.flush();
+        assertEquals(1L, instance.getWriteBackCount());
+
+        instance.put(1, "b");
+        instance.put(2, "c");
+        instance.invalidateAll();
+        assertEquals(0L, instance.getWeight());
+        assertEquals("a", instance.get(1));
+        assertNull(instance.get(2));
+    }
+
+    /**
+     * Test of the scan resistance of the Segmented LRU, of class TieredMap.
+     */
+    @Test
+    public void testScanResistance() {
+        Map<Integer, String> diskMap = new HashMap<>();
+        for(int i=0;i<1000;i++) {
+            diskMap.put(i, "v" + i);
+        }
+        TieredMap<Integer, String> instance = createMap(diskMap, 10);
+
+        //the hot keys are promoted to the protected segment with their second access
+        for(int i=0;i<2;i++) {
+            for(int key=0;key<5;key++) {
+                instance.get(key);
+            }
+        }
+        for(int key=100;key<1000;key++) {
+            instance.get(key);
+        }
+
+        long hitCount = instance.getHitCount();
+        for(int key=0;key<5;key++) {
+            assertEquals("v" + key, instance.get(key));
+        }
+        assertEquals(hitCount + 5L, instance.getHitCount());
+    }
+
+    /**
+     * Test of the entry iterator, of class TieredMap.
+     */
+    @Test
+    public void testEntrySet() {
+        Map<Integer, String> diskMap = new HashMap<>();
+        TieredMap<Integer, String> instance = createMap(diskMap, 10);
+        for(int i=0;i<20;i++) {
+            instance.put(i, "v" + i);
+        }
+
+        Set<Integer> keys = new HashSet<>();
+        Iterator<Map.Entry<Integer, String>> it = instance.entrySet().iterator();
+        while(it.hasNext()) {
+            Map.Entry<Integer, String> entry = it.next();
+            keys.add(entry.getKey());
+            if(entry.getKey() % 2 == 0) {
+                it.remove();
+            }
+            else {
+                entry.setValue("w" + entry.getKey());
+            }
+        }
+        assertEquals(20, keys.size());
+        assertEquals(10, instance.size());
+        assertNull(instance.get(0));
+        assertEquals("w1", instance.get(1));
+    }
+
+    /**
+     * Test of the number of stripes, of class TieredMap.
+     */
+    @Test
+    public void testStripeCount() {
+        assertEquals(1, createMap(new HashMap<>(), 10).getStripeCount());
+        assertEquals(8, new TieredMap<>(new HashMap<>(), 1000L, (k, v) -> 1L, 5).getStripeCount());
+        assertEquals(64, new TieredMap<>(new HashMap<>(), 1000L, (k, v) -> 1L, 1000).getStripeCount());
+    }
+
+    /**
+     * Test of the concurrent access, of class TieredMap.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        int threads = 8;
+        int keysPerThread = 2000;
+        Map<Integer, String> diskMap = new ConcurrentHashMap<>();
+        TieredMap<Integer, String> instance = new TieredMap<>(diskMap, 200*ENTRY_WEIGHT, (k, v) -> ENTRY_WEIGHT - 64L, threads);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CyclicBarrier barrier = new CyclicBarrier(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for(int t=0;t<threads;t++) {
+                int offset = t*keysPerThread;
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    for(int round=0;round<3;round++) {
+                        for(int i=offset;i<offset+keysPerThread;i++) {
+                            instance.put(i, round + ":" + i);
+                            assertEquals(round + ":" + i, instance.get(i));
+                        }
+                        for(int i=offset;i<offset+keysPerThread;i+=7) {
+                            assertEquals(round + ":" + i, instance.get(i));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for(Future<?> future : futures) {
+                future.get();
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        assertTrue(instance.getWeight() <= instance.getMaximumWeight());
+        instance.flush();
+        assertEquals(threads*keysPerThread, diskMap.size());
+        for(int i=0;i<threads*keysPerThread;i++) {
+            assertEquals("2:" + i, diskMap.get(i));
+        }
+    }
+
+}
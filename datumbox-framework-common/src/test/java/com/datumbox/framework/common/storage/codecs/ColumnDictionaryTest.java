@@ -0,0 +1,78 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.common.storage.codecs;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for ColumnDictionary.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class ColumnDictionaryTest {
+
+    /**
+     * Test of getId and getColumn methods, of class ColumnDictionary.
+     */
+    @Test
+    public void testGetIdAndGetColumn() {
+        Map<Integer, Object> store = new HashMap<>();
+        ColumnDictionary instance = new ColumnDictionary(store);
+
+        assertEquals(0, instance.getId("a"));
+        assertEquals(1, instance.getId(1));
+        assertEquals(0, instance.getId("a"));
+        assertEquals("a", instance.getColumn(0));
+        assertEquals(1, instance.getColumn(1));
+        assertEquals(2, instance.size());
+        assertEquals("a", store.get(0));
+
+        //the ids are restored from the store
+        ColumnDictionary reopened = new ColumnDictionary(store);
+        assertEquals(1, reopened.getId(1));
+        assertEquals(2, reopened.getId("b"));
+    }
+
+    /**
+     * Test of getId method, of class ColumnDictionary, when the ids of the store
+     * are not consecutive.
+     */
+    @Test
+    public void testGetIdWithGaps() {
+        Map<Integer, Object> store = new HashMap<>();
+        store.put(0, "a");
+        store.put(5, "b");
+        ColumnDictionary instance = new ColumnDictionary(store);
+
+        assertEquals(6, instance.getId("c"));
+        assertEquals("b", instance.getColumn(5));
+        assertEquals("c", store.get(6));
+    }
+
+    /**
+     * Test of getColumn method, of class ColumnDictionary, with an unknown id.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownColumn() {
+        new ColumnDictionary(new HashMap<>()).getColumn(0);
+    }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.common.storage.codecs;
+
+import org.junit.Test;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for EncodingMethods.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class EncodingMethodsTest {
+
+    private interface Writer {
+        void write(DataOutput out) throws IOException;
+    }
+
+    private interface Reader {
+        Object read(DataInput in) throws IOException;
+    }
+
+    private static byte[] write(Writer writer) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        writer.write(new DataOutputStream(bos));
+        return bos.toByteArray();
+    }
+
+    private static Object read(byte[] bytes, Reader reader) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        Object value = reader.read(in);
+        assertEquals(0, in.available());
+        return value;
+    }
+
+    /**
+     * Test of writeVarInt and readVarInt methods, of class EncodingMethods.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testVarInt() throws IOException {
+        int[] values = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+        int[] lengths = {1, 1, 1, 2, 2, 3, 5, 5, 5};
+        for(int i=0;i<values.length;i++) {
+            int value = values[i];
+            byte[] bytes = write(out -> EncodingMethods.writeVarInt(value, out));
+            assertEquals(lengths[i], bytes.length);
+            assertEquals(value, read(bytes, EncodingMethods::readVarInt));
+        }
+
+        try {
+            read(new byte[]{(byte)0x80, (byte)0x80, (byte)0x80, (byte)0x80, (byte)0x80}, EncodingMethods::readVarInt);
+            fail("The malformed integer should not be read.");
+        }
+        catch (IOException ex) {
+            //expected
+        }
+    }
+
+    /**
+     * Test of writeVarLong and readVarLong methods, of class EncodingMethods.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testVarLong() throws IOException {
+        long[] values = {0L, -1L, 1L, -64L, 63L, 64L, -65L, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE};
+        int[] lengths = {1, 1, 1, 1, 1, 2, 2, 5, 5, 10, 10};
+        for(int i=0;i<values.length;i++) {
+            long value = values[i];
+            byte[] bytes = write(out -> EncodingMethods.writeVarLong(value, out));
+            assertEquals(lengths[i], bytes.length);
+            assertEquals(value, read(bytes, EncodingMethods::readVarLong));
+        }
+    }
+
+    /**
+     * Test of writeValue and readValue methods, of class EncodingMethods.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testValue() throws IOException {
+        Map<String, Integer> map = new HashMap<>();
+        map.put("a", 1);
+        Object[] values = {null, 0, Integer.MIN_VALUE, Integer.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, -0.5, Double.NaN,
+                true, false, "", "abc", "é中😀", Arrays.asList(1, "b"), map};
+        for(Object value : values) {
+            byte[] bytes = write(out -> EncodingMethods.writeValue(value, out));
+            Object result = read(bytes, EncodingMethods::readValue);
+            assertEquals(value, result);
+            if(value != null) {
+                assertEquals(value.getClass(), result.getClass());
+            }
+        }
+
+        //the strings with unpaired surrogates can't be written in UTF-8 and they are serialized instead
+        for(String value : new String[]{"a\ud800b", "\udc00", "a\ud83d"}) {
+            byte[] bytes = write(out -> EncodingMethods.writeValue(value, out));
+            assertNotEquals(write(out -> EncodingMethods.writeValue("a", out))[0], bytes[0]);
+            assertEquals(value, read(bytes, EncodingMethods::readValue));
+        }
+    }
+
+}
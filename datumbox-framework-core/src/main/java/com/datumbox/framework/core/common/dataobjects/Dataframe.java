@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,13 @@
 package com.datumbox.framework.core.common.dataobjects;
 
 import com.datumbox.framework.common.Configuration;
+import com.datumbox.framework.common.concurrency.ConcurrencyConfiguration;
 import com.datumbox.framework.common.concurrency.ForkJoinStream;
+import com.datumbox.framework.common.concurrency.FixedBatchSpliterator;
+import com.datumbox.framework.common.concurrency.RangeSpliterator;
 import com.datumbox.framework.common.concurrency.StreamMethods;
 import com.datumbox.framework.common.concurrency.ThreadMethods;
+import com.datumbox.framework.common.concurrency.ThrottledExecutor;
 import com.datumbox.framework.common.dataobjects.AssociativeArray;
 import com.datumbox.framework.common.dataobjects.FlatDataList;
 import com.datumbox.framework.common.dataobjects.TypeInference;
@@ -26,6 +30,7 @@ import com.datumbox.framework.common.interfaces.Copyable;
 import com.datumbox.framework.core.common.interfaces.Extractable;
 import com.datumbox.framework.core.common.interfaces.Savable;
 import com.datumbox.framework.common.storage.abstracts.BigMapHolder;
+import com.datumbox.framework.common.storage.codecs.BigMapCodecs;
 import com.datumbox.framework.common.storage.interfaces.BigMap;
 import com.datumbox.framework.common.storage.interfaces.StorageEngine;
 import com.datumbox.framework.common.storage.interfaces.StorageEngine.MapType;
@@ -40,8 +45,15 @@ import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 /**
@@ -64,11 +76,40 @@ public class Dataframe implements Collection<Record>, Copyable<Dataframe>, Savab
      */
     public static final String COLUMN_NAME_CONSTANT = "~CONSTANT";
 
+    /**
+     * The minimum number of records of the parts in which the records are
+     * split for parallel processing and the size of the batches of the
+     * unsorted maps. It matches the first batch of the default Iterator
+     * Spliterators, so small Dataframes are still processed by a single task.
+     */
+    private static final int MIN_SPLIT_SIZE = 1024;
+
+    /**
+     * The maximum number of records which are written in the storage with a
+     * single batch by addAll().
+     */
+    private static final int WRITE_BATCH_SIZE = 1000;
+
+    static {
+        //the storage engines which support it store the records in their binary format
+        BigMapCodecs.register(Record.class, new RecordCodec());
+    }
+
     /**
      * The Builder is a utility class which can help you build Dataframe from Text files, CSV files or load it from disk.
      */
     public static class Builder {
 
+        /**
+         * The size of the buffers used while reading text files.
+         */
+        private static final int BUFFER_SIZE = 1 << 20;
+
+        /**
+         * The number of lines that are processed and inserted in the Dataframe together.
+         */
+        private static final int BATCH_SIZE = 100;
+
         /**
          * It builds a Dataframe object from a provided list of text files. The data
          * map should have as index the names of each class and as values the URIs
@@ -89,34 +130,165 @@ public class Dataframe implements Collection<Record>, Copyable<Dataframe>, Savab
         public static Dataframe parseTextFiles(Map<Object, URI> textFilesMap, Extractable textExtractor, Configuration configuration) {
             Dataframe dataset = new Dataframe(configuration);
             Logger logger = LoggerFactory.getLogger(Dataframe.Builder.class);
+            long startTime = System.nanoTime();
+
+            List<Map.Entry<Object, URI>> files = new ArrayList<>(textFilesMap.entrySet());
+            int numberOfFiles = files.size();
+
+            ConcurrencyConfiguration concurrencyConfiguration = configuration.getConcurrencyConfiguration();
+            boolean parallelized = concurrencyConfiguration.isParallelized();
+            int maxThreads = concurrencyConfiguration.getMaxNumberOfThreadsPerTask();
+
+            //the files are read concurrently by a separate pool than the one that processes the lines to avoid deadlocks
+            ExecutorService readerService = null;
+            ExecutorService workerService = null;
+            Executor readerExecutor = Runnable::run;
+            Executor workerExecutor = Runnable::run;
+            if(parallelized && numberOfFiles > 0) {
+                readerService = Executors.newFixedThreadPool(Math.min(numberOfFiles, maxThreads));
+                workerService = Executors.newFixedThreadPool(maxThreads);
+                readerExecutor = readerService;
+                workerExecutor = new ThrottledExecutor(workerService, 2*maxThreads); //bounded work queue
+            }
 
-            for (Map.Entry<Object, URI> entry : textFilesMap.entrySet()) {
-                Object theClass = entry.getKey();
-                URI datasetURI = entry.getValue();
+            try {
+                AtomicReference<Throwable> workerException = new AtomicReference<>();
+                Queue<CompletableFuture<Void>> insertions = new ConcurrentLinkedQueue<>();
+                List<CompletableFuture<Integer>> readers = new ArrayList<>(numberOfFiles);
+                //the records of every file follow the ones of the previous files, so the first record id of a file is known once the previous files are read
+                CompletableFuture<Integer> firstRecordId = CompletableFuture.completedFuture(0);
+                for(int i=0;i<numberOfFiles;i++) {
+                    Object theClass = files.get(i).getKey();
+                    URI datasetURI = files.get(i).getValue();
+
+                    Executor executor = workerExecutor;
+                    CompletableFuture<Integer> fileRecordId = firstRecordId;
+                    CompletableFuture<Integer> reader = CompletableFuture.supplyAsync(() -> {
+                        logger.info("Dataset Parsing {} class", theClass);
+
+                        try (BufferedReader br = new BufferedReader(new InputStreamReader(Files.newInputStream(Paths.get(datasetURI)), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                            int lineCount = 0;
+                            List<String> lines = new ArrayList<>(BATCH_SIZE);
+                            for(String line;(line = br.readLine()) != null;) {
+                                lines.add(line);
+                                if(lines.size() == BATCH_SIZE) {
+                                    parseTextBatch(dataset, fileRecordId, lineCount, lines, theClass, textExtractor, executor, insertions, workerException);
+                                    lineCount += lines.size();
+                                    lines = new ArrayList<>(BATCH_SIZE);
+                                }
+                            }
+                            if(!lines.isEmpty()) {
+                                parseTextBatch(dataset, fileRecordId, lineCount, lines, theClass, textExtractor, executor, insertions, workerException);
+                                lineCount += lines.size();
+                            }
+                            return lineCount;
+                        }
+                        catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    }, readerExecutor);
+                    readers.add(reader);
+                    firstRecordId = firstRecordId.thenCombine(reader, Integer::sum);
+                }
 
-                logger.info("Dataset Parsing {} class", theClass);
+                for(CompletableFuture<Integer> reader : readers) {
+                    join(reader);
+                }
 
-                try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(new File(datasetURI)), "UTF8"))) {
-                    final int baseCounter = dataset.size(); //because we read multiple files we need to keep track of all records added earlier
-                    ThreadMethods.throttledExecution(StreamMethods.enumerate(br.lines()), e -> {
-                        Integer rId = baseCounter + e.getKey();
-                        String line = e.getValue();
+                if(workerService != null) {
+                    workerService.shutdown();
+                    workerService.awaitTermination(Integer.MAX_VALUE, TimeUnit.SECONDS);
+                }
+
+                Throwable ex = workerException.get();
+                if(ex != null) {
+                    throw (ex instanceof RuntimeException)?(RuntimeException)ex:new RuntimeException(ex);
+                }
+
+                //the deferred insertions may still run on the threads that completed the reading
+                for(CompletableFuture<Void> insertion : insertions) {
+                    join(insertion);
+                }
+            }
+            catch (InterruptedException ex) {
+                throw new RuntimeException(ex);
+            }
+            finally {
+                if(readerService != null) {
+                    readerService.shutdownNow();
+                }
+                if(workerService != null) {
+                    workerService.shutdownNow();
+                }
+            }
+
+            double seconds = (System.nanoTime() - startTime)/1e9;
+            logger.info("Parsed {} documents in {} seconds ({} docs/sec)", dataset.size(), seconds, (seconds>0.0)?dataset.size()/seconds:0.0);
+
+            return dataset;
+        }
 
+        /**
+         * Cleans and extracts the keywords of a batch of lines on the provided executor
+         * and inserts the produced Records in the Dataframe at once. The Records get
+         * consecutive ids starting from the position of the batch in the file, offset
+         * by the first record id of the file. The insertion is deferred until the
+         * first record id of the file is known.
+         *
+         * @param dataset
+         * @param fileRecordId
+         * @param position
+         * @param lines
+         * @param theClass
+         * @param textExtractor
+         * @param executor
+         * @param insertions
+         * @param workerException
+         */
+        private static void parseTextBatch(Dataframe dataset, CompletableFuture<Integer> fileRecordId, int position, List<String> lines, Object theClass,
+                                           Extractable textExtractor, Executor executor, Queue<CompletableFuture<Void>> insertions,
+                                           AtomicReference<Throwable> workerException) {
+            executor.execute(() -> {
+                try {
+                    List<Record> records = new ArrayList<>(lines.size());
+                    for(String line : lines) {
                         AssociativeArray xData = new AssociativeArray(
                                 textExtractor.extract(StringCleaner.clear(line))
                         );
-                        Record r = new Record(xData, theClass);
+                        records.add(new Record(xData, theClass));
+                    }
 
-                        //we call below the recalculateMeta()
-                        dataset.set(rId, r);
-                    }, configuration.getConcurrencyConfiguration());
+                    //runs immediately if the previous files are already read, otherwise on the thread which completes their reading
+                    insertions.add(fileRecordId.thenAccept(firstRecordId -> {
+                        Map<Integer, Record> batch = new HashMap<>(2*records.size());
+                        int rId = firstRecordId + position;
+                        for(Record r : records) {
+                            batch.put(rId++, r);
+                        }
+                        dataset.setAll(batch);
+                    }));
                 }
-                catch (IOException ex) {
-                    throw new RuntimeException(ex);
+                catch (Throwable ex) {
+                    workerException.compareAndSet(null, ex);
                 }
-            }
+            });
+        }
 
-            return dataset;
+        /**
+         * Waits for the completion of the future and rethrows any exception.
+         *
+         * @param <T>
+         * @param future
+         * @return
+         */
+        private static <T> T join(CompletableFuture<T> future) {
+            try {
+                return future.join();
+            }
+            catch (CompletionException ex) {
+                Throwable cause = ex.getCause();
+                throw (cause instanceof RuntimeException)?(RuntimeException)cause:new RuntimeException(cause);
+            }
         }
 
         /**
@@ -173,35 +345,57 @@ public class Dataframe implements Collection<Record>, Copyable<Dataframe>, Savab
                     .withRecordSeparator(recordSeparator);
 
             try (final CSVParser parser = new CSVParser(reader, format)) {
-                ThreadMethods.throttledExecution(StreamMethods.enumerate(StreamMethods.stream(parser.spliterator(), false)).skip(skip).limit(limit), e -> {
-                    Integer rId = e.getKey();
-                    CSVRecord row = e.getValue();
+                Iterator<Map.Entry<Integer, CSVRecord>> rows = StreamMethods.enumerate(StreamMethods.stream(parser.spliterator(), false)).skip(skip).limit(limit).iterator();
 
-                    if (!row.isConsistent()) {
-                        logger.warn("WARNING: Skipping row {} because its size does not match the header size.", row.getRecordNumber());
+                //the rows are read sequentially in batches which are parsed and written in the Dataframe in parallel
+                Iterator<List<Map.Entry<Integer, CSVRecord>>> batches = new Iterator<List<Map.Entry<Integer, CSVRecord>>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return rows.hasNext();
                     }
-                    else {
-                        Object y = null;
-                        AssociativeArray xData = new AssociativeArray();
-                        for (Map.Entry<String, TypeInference.DataType> entry : headerDataTypes.entrySet()) {
-                            String column = entry.getKey();
-                            TypeInference.DataType dataType = entry.getValue();
-
-                            Object value = TypeInference.DataType.parse(row.get(column), dataType); //parse the string value according to the DataType
-                            if (yVariable != null && yVariable.equals(column)) {
-                                y = value;
-                            }
-                            else {
-                                xData.put(column, value);
-                            }
+
+                    @Override
+                    public List<Map.Entry<Integer, CSVRecord>> next() {
+                        List<Map.Entry<Integer, CSVRecord>> batch = new ArrayList<>(BATCH_SIZE);
+                        while(rows.hasNext() && batch.size() < BATCH_SIZE) {
+                            batch.add(rows.next());
                         }
+                        return batch;
+                    }
+                };
 
-                        Record r = new Record(xData, y);
+                ThreadMethods.throttledExecution(StreamMethods.stream(batches, false), batch -> {
+                    Map<Integer, Record> records = new HashMap<>(2*batch.size());
+                    for(Map.Entry<Integer, CSVRecord> e : batch) {
+                        Integer rId = e.getKey();
+                        CSVRecord row = e.getValue();
+
+                        if (!row.isConsistent()) {
+                            logger.warn("WARNING: Skipping row {} because its size does not match the header size.", row.getRecordNumber());
+                        }
+                        else {
+                            Object y = null;
+                            AssociativeArray xData = new AssociativeArray();
+                            for (Map.Entry<String, TypeInference.DataType> entry : headerDataTypes.entrySet()) {
+                                String column = entry.getKey();
+                                TypeInference.DataType dataType = entry.getValue();
+
+                                Object value = TypeInference.DataType.parse(row.get(column), dataType); //parse the string value according to the DataType
+                                if (yVariable != null && yVariable.equals(column)) {
+                                    y = value;
+                                }
+                                else {
+                                    xData.put(column, value);
+                                }
+                            }
 
-                        //use the internal unsafe methods to avoid the update of the Metas.
-                        //The Metas are already set in the construction of the Dataframe.
-                        dataset._unsafe_set(rId, r);
+                            records.put(rId, new Record(xData, y));
+                        }
                     }
+
+                    //use the internal unsafe methods to avoid the update of the Metas.
+                    //The Metas are already set in the construction of the Dataframe.
+                    dataset._unsafe_setAll(records);
                 }, configuration.getConcurrencyConfiguration());
             }
             catch (IOException ex) {
@@ -244,6 +438,17 @@ public class Dataframe implements Collection<Record>, Copyable<Dataframe>, Savab
         private Data(StorageEngine storageEngine) {
             super(storageEngine);
         }
+
+        /**
+         * Replaces the records with the provided ones using the bulk loader of
+         * the StorageEngine.
+         *
+         * @param storageEngine
+         * @param records
+         */
+        private void bulkLoadRecords(StorageEngine storageEngine, Map<Integer, Record> records) {
+            bulkLoadBigMapField(storageEngine, "records", records);
+        }
     }
 
     /**
@@ -437,9 +642,15 @@ public class Dataframe implements Collection<Record>, Copyable<Dataframe>, Savab
     /** {@inheritDoc} */
     @Override
     public boolean addAll(Collection<? extends Record> c) {
-        c.stream().forEach(r -> {
-            add(r);
-        });
+        Map<Integer, Record> batch = new HashMap<>();
+        for(Record r : c) {
+            batch.put(data.atomicNextAvailableRecordId.getAndIncrement(), r);
+            if(batch.size() == WRITE_BATCH_SIZE) {
+                setAll(batch);
+                batch = new HashMap<>();
+            }
+        }
+        setAll(batch);
         return true;
     }
 
@@ -485,6 +696,21 @@ public class Dataframe implements Collection<Record>, Copyable<Dataframe>, Savab
         return values().iterator();
     }
 
+    /**
+     * Returns a read-only Spliterator on the values of the Dataframe. If the
+     * records are stored in a sorted map, the Spliterator splits the range of
+     * the record ids in halves and when the ids are consecutive it reports its
+     * exact size. Otherwise it splits the records in batches. The Dataframe
+     * must not be modified structurally during the traversal; replacing the
+     * Records of existing ids is allowed.
+     *
+     * @return
+     */
+    @Override
+    public Spliterator<Record> spliterator() {
+        return values().spliterator();
+    }
+
     /** {@inheritDoc} */
     @Override
     public Stream<Record> stream() {
@@ -632,6 +858,15 @@ public class Dataframe implements Collection<Record>, Copyable<Dataframe>, Savab
         return rId;
     }
 
+    /**
+     * Returns the configuration object used to create the Dataframe.
+     *
+     * @return
+     */
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
     /**
      * Returns the total number of X columns in the Dataframe.
      *
@@ -725,6 +960,42 @@ public class Dataframe implements Collection<Record>, Copyable<Dataframe>, Savab
 
     }
 
+    /**
+     * Applies a list of transformations on every Record of the Dataframe with
+     * a single pass. Every Record is copied once to a MutableRecord, it passes
+     * through all the transformations in order and it is written back only if
+     * it was modified. The transformations which change the data types of the
+     * columns must mark the data types of the MutableRecord as outdated. If any
+     * of them changes the columns, the meta data must be recalculated at the end.
+     *
+     * @param transformations
+     * @param recalculateMeta
+     * @param parallelized
+     */
+    public void transform(List<Consumer<MutableRecord>> transformations, boolean recalculateMeta, boolean parallelized) {
+        if(transformations.isEmpty()) {
+            return;
+        }
+
+        Map<Object, TypeInference.DataType> xDataTypes = Collections.unmodifiableMap(data.xDataTypes);
+        TypeInference.DataType yDataType = data.yDataType;
+        streamExecutor.forEach(StreamMethods.stream(entries(), parallelized), e -> {
+            MutableRecord r = new MutableRecord(e.getValue(), xDataTypes, yDataType);
+            for(Consumer<MutableRecord> transformation : transformations) {
+                transformation.accept(r);
+            }
+
+            if(r.isModified()) {
+                //the caller is responsible for updating the meta data
+                _unsafe_set(e.getKey(), r.toRecord());
+            }
+        });
+
+        if(recalculateMeta) {
+            recalculateMeta();
+        }
+    }
+
     /**
      * It generates and returns a new Dataframe which contains a subset of this Dataframe.
      * All the Records of the returned Dataframe are copies of the original Records.
@@ -759,41 +1030,28 @@ public class Dataframe implements Collection<Record>, Copyable<Dataframe>, Savab
     public Dataframe copy() {
         Dataframe d = new Dataframe(configuration);
 
-        for(Map.Entry<Integer, Record> e : entries()) {
-            Integer rId = e.getKey();
-            Record r = e.getValue();
-            d.set(rId, r);
+        //the Records are immutable, so they are bulk loaded in the new storage without copying them
+        d.data.bulkLoadRecords(d.storageEngine, data.records);
+
+        int nextAvailableRecordId = 0;
+        for(Map.Entry<Integer, Record> e : d.entries()) {
+            nextAvailableRecordId = Math.max(nextAvailableRecordId, e.getKey()+1);
+            d.updateMeta(e.getValue());
         }
+        d.data.atomicNextAvailableRecordId.set(nextAvailableRecordId);
+
         return d;
     }
 
     /**
      * Returns a read-only Iterable on the keys and Records of the Dataframe.
+     * Its spliterator is the same as the one of the spliterator() method, so
+     * the entries can be processed efficiently by parallel streams.
      *
      * @return
      */
     public Iterable<Map.Entry<Integer, Record>> entries() {
-        return () -> new Iterator<Map.Entry<Integer, Record>>() {
-            private final Iterator<Map.Entry<Integer, Record>> it = data.records.entrySet().iterator();
-
-            /** {@inheritDoc} */
-            @Override
-            public boolean hasNext() {
-                return it.hasNext();
-            }
-
-            /** {@inheritDoc} */
-            @Override
-            public Map.Entry<Integer, Record> next() {
-                return it.next();
-            }
-
-            /** {@inheritDoc} */
-            @Override
-            public void remove() {
-                throw new UnsupportedOperationException("This is a read-only iterator, remove operation is not supported.");
-            }
-        };
+        return readOnlyIterable(m -> m.entrySet().iterator());
     }
 
     /**
@@ -802,27 +1060,7 @@ public class Dataframe implements Collection<Record>, Copyable<Dataframe>, Savab
      * @return
      */
     public Iterable<Integer> index() {
-        return () -> new Iterator<Integer>() {
-            private final Iterator<Integer> it = data.records.keySet().iterator();
-
-            /** {@inheritDoc} */
-            @Override
-            public boolean hasNext() {
-                return it.hasNext();
-            }
-
-            /** {@inheritDoc} */
-            @Override
-            public Integer next() {
-                return it.next();
-            }
-
-            /** {@inheritDoc} */
-            @Override
-            public void remove() {
-                throw new UnsupportedOperationException("This is a read-only iterator, remove operation is not supported.");
-            }
-        };
+        return readOnlyIterable(m -> m.keySet().iterator());
     }
 
     /**
@@ -831,29 +1069,72 @@ public class Dataframe implements Collection<Record>, Copyable<Dataframe>, Savab
      * @return
      */
     public Iterable<Record> values() {
-        return () -> new Iterator<Record>(){
-            private final Iterator<Record> it = data.records.values().iterator();
+        return readOnlyIterable(m -> m.values().iterator());
+    }
 
-            /** {@inheritDoc} */
-            @Override
-            public boolean hasNext() {
-                return it.hasNext();
-            }
+    /**
+     * Builds a read-only Iterable which traverses the records map using the
+     * iterators of the provided factory.
+     *
+     * @param <T>
+     * @param iteratorFactory
+     * @return
+     */
+    private <T> Iterable<T> readOnlyIterable(Function<Map<Integer, Record>, Iterator<T>> iteratorFactory) {
+        return new Iterable<T>() {
 
             /** {@inheritDoc} */
             @Override
-            public Record next() {
-                return it.next();
+            public Iterator<T> iterator() {
+                return new Iterator<T>() {
+                    private final Iterator<T> it = iteratorFactory.apply(data.records);
+
+                    /** {@inheritDoc} */
+                    @Override
+                    public boolean hasNext() {
+                        return it.hasNext();
+                    }
+
+                    /** {@inheritDoc} */
+                    @Override
+                    public T next() {
+                        return it.next();
+                    }
+
+                    /** {@inheritDoc} */
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException("This is a read-only iterator, remove operation is not supported.");
+                    }
+                };
             }
 
             /** {@inheritDoc} */
             @Override
-            public void remove() {
-                throw new UnsupportedOperationException("This is a read-only iterator, remove operation is not supported.");
+            public Spliterator<T> spliterator() {
+                return Dataframe.this.spliterator(iteratorFactory);
             }
         };
     }
 
+    /**
+     * Builds a Spliterator on the records map using the iterators of the
+     * provided factory. Sorted maps are split in ranges of ids, while the rest
+     * are split in sized batches of fixed length read from their iterators.
+     *
+     * @param <T>
+     * @param iteratorFactory
+     * @return
+     */
+    private <T> Spliterator<T> spliterator(Function<Map<Integer, Record>, Iterator<T>> iteratorFactory) {
+        Map<Integer, Record> records = data.records;
+        if(records instanceof NavigableMap) {
+            return new RangeSpliterator<>((NavigableMap<Integer, Record>) records, iteratorFactory, MIN_SPLIT_SIZE);
+        }
+
+        return new FixedBatchSpliterator<>(iteratorFactory.apply(records), MIN_SPLIT_SIZE, records.size());
+    }
+
     /**
      * Sets the record in a particular position in the dataset, WITHOUT updating
      * the internal meta-info and returns the previous value (null if not existed).
@@ -874,6 +1155,35 @@ public class Dataframe implements Collection<Record>, Copyable<Dataframe>, Savab
         return data.records.put(rId, r);
     }
 
+    /**
+     * Sets a batch of records in the dataset and updates the meta data. The
+     * records are written with a single batch on the StorageEngine, which is
+     * considerably faster than multiple calls of set() on disk-backed storage.
+     *
+     * @param records
+     */
+    private void setAll(Map<Integer, Record> records) {
+        _unsafe_setAll(records);
+        for(Record r : records.values()) {
+            updateMeta(r);
+        }
+    }
+
+    /**
+     * Sets a batch of records in the dataset without updating the meta data.
+     *
+     * @param records
+     */
+    private void _unsafe_setAll(Map<Integer, Record> records) {
+        if(records.isEmpty()) {
+            return;
+        }
+        int maxId = Collections.max(records.keySet());
+        data.atomicNextAvailableRecordId.updateAndGet(x -> Math.max(x, maxId+1));
+
+        storageEngine.putAll(data.records, records);
+    }
+
     /**
      * Adds the record in the dataset without updating the Meta. The add method
      * returns the id of the new record.
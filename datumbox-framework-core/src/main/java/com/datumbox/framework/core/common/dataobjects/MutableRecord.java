@@ -0,0 +1,169 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.common.dataobjects;
+
+import com.datumbox.framework.common.dataobjects.AssociativeArray;
+import com.datumbox.framework.common.dataobjects.TypeInference;
+
+import java.util.Map;
+
+/**
+ * Mutable copy of a Record which is used when multiple transformations are
+ * applied on the same record. The features are copied once, every transformation
+ * modifies them in place and the result is converted back to a Record only if
+ * it was modified. The object is not thread-safe and it should be used by a
+ * single thread.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class MutableRecord {
+
+    private final Record original;
+
+    private final AssociativeArray x;
+
+    private Object y;
+
+    private final Map<Object, TypeInference.DataType> xDataTypes;
+
+    private final TypeInference.DataType yDataType;
+
+    private boolean modified = false;
+
+    private boolean dataTypesOutdated = false;
+
+    /**
+     * Public constructor which receives the original Record and the data types
+     * of its Dataframe.
+     *
+     * @param original
+     * @param xDataTypes
+     * @param yDataType
+     */
+    public MutableRecord(Record original, Map<Object, TypeInference.DataType> xDataTypes, TypeInference.DataType yDataType) {
+        this.original = original;
+        this.x = original.getX().copy();
+        this.y = original.getY();
+        this.xDataTypes = xDataTypes;
+        this.yDataType = yDataType;
+    }
+
+    /**
+     * Returns the features of the record. The transformations which modify them
+     * must call markModified().
+     *
+     * @return
+     */
+    public AssociativeArray getX() {
+        return x;
+    }
+
+    /**
+     * Getter for the response variable.
+     *
+     * @return
+     */
+    public Object getY() {
+        return y;
+    }
+
+    /**
+     * Setter for the response variable which marks the record as modified.
+     *
+     * @param y
+     */
+    public void setY(Object y) {
+        this.y = y;
+        modified = true;
+    }
+
+    /**
+     * Returns the data type of a column. The data types of the Dataframe are
+     * used unless they are outdated or the column was created by a previous
+     * transformation; in that case the type is inferred from the value.
+     *
+     * @param column
+     * @return
+     */
+    public TypeInference.DataType getXDataType(Object column) {
+        TypeInference.DataType dataType = null;
+        if(dataTypesOutdated) {
+            dataType = TypeInference.getDataType(x.get(column));
+        }
+        if(dataType == null) {
+            dataType = xDataTypes.get(column);
+        }
+        if(dataType == null) {
+            dataType = TypeInference.getDataType(x.get(column));
+        }
+        return dataType;
+    }
+
+    /**
+     * Returns the data type of the response variable, following the same rules
+     * as getXDataType().
+     *
+     * @return
+     */
+    public TypeInference.DataType getYDataType() {
+        TypeInference.DataType dataType = null;
+        if(dataTypesOutdated || yDataType == null) {
+            dataType = TypeInference.getDataType(y);
+        }
+        if(dataType == null) {
+            dataType = yDataType;
+        }
+        return dataType;
+    }
+
+    /**
+     * Marks the record as modified.
+     */
+    public void markModified() {
+        modified = true;
+    }
+
+    /**
+     * Marks the data types of the Dataframe as outdated. It must be called after
+     * every transformation which changes the types of the columns, so that the
+     * next transformations infer them from the values.
+     */
+    public void markDataTypesOutdated() {
+        dataTypesOutdated = true;
+    }
+
+    /**
+     * Returns whether the record was modified.
+     *
+     * @return
+     */
+    public boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Converts the object to a Record, keeping the predictions of the original one.
+     *
+     * @return
+     */
+    public Record toRecord() {
+        if(!modified) {
+            return original;
+        }
+        return new Record(x, y, original.getYPredicted(), original.getYPredictedProbabilities());
+    }
+
+}
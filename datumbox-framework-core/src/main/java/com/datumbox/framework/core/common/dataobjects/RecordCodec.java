@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.common.dataobjects;
+
+import com.datumbox.framework.common.dataobjects.AssociativeArray;
+import com.datumbox.framework.common.storage.codecs.BigMapCodec;
+import com.datumbox.framework.common.storage.codecs.ColumnDictionary;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.datumbox.framework.common.storage.codecs.EncodingMethods.*;
+
+/**
+ * Encodes the Records in a compact binary format. The column names of x and
+ * the keys of the predicted probabilities are replaced by their ids in the
+ * column dictionary of the Dataframe, while all the values are written along
+ * with a tag of their type.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+class RecordCodec implements BigMapCodec<Record> {
+
+    /** {@inheritDoc} */
+    @Override
+    public void encode(Record r, DataOutput out, ColumnDictionary dictionary) throws IOException {
+        writeAssociativeArray(r.getX(), out, dictionary);
+        writeValue(r.getY(), out);
+        writeValue(r.getYPredicted(), out);
+
+        AssociativeArray yPredictedProbabilities = r.getYPredictedProbabilities();
+        if(yPredictedProbabilities == null) {
+            writeVarInt(0, out);
+        }
+        else {
+            writeVarInt(1, out);
+            writeAssociativeArray(yPredictedProbabilities, out, dictionary);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Record decode(DataInput in, ColumnDictionary dictionary) throws IOException {
+        AssociativeArray x = readAssociativeArray(in, dictionary);
+        Object y = readValue(in);
+        Object yPredicted = readValue(in);
+        AssociativeArray yPredictedProbabilities = (readVarInt(in) == 0)?null:readAssociativeArray(in, dictionary);
+        return new Record(x, y, yPredicted, yPredictedProbabilities);
+    }
+
+    /**
+     * Writes the size of the AssociativeArray followed by the dictionary ids
+     * of its keys and its values.
+     *
+     * @param a
+     * @param out
+     * @param dictionary
+     * @throws IOException
+     */
+    private void writeAssociativeArray(AssociativeArray a, DataOutput out, ColumnDictionary dictionary) throws IOException {
+        writeVarInt(a.size(), out);
+        for(Map.Entry<Object, Object> entry : a.entrySet()) {
+            writeVarInt(dictionary.getId(entry.getKey()), out);
+            writeValue(entry.getValue(), out);
+        }
+    }
+
+    /**
+     * Reads an AssociativeArray which was written by writeAssociativeArray().
+     *
+     * @param in
+     * @param dictionary
+     * @return
+     * @throws IOException
+     */
+    private AssociativeArray readAssociativeArray(DataInput in, ColumnDictionary dictionary) throws IOException {
+        int size = readVarInt(in);
+        Map<Object, Object> map = new LinkedHashMap<>(2*size);
+        for(int i=0;i<size;i++) {
+            Object column = dictionary.getColumn(readVarInt(in));
+            map.put(column, readValue(in));
+        }
+        return new AssociativeArray(map);
+    }
+
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,9 +18,11 @@ package com.datumbox.framework.core.common.text;
 import com.datumbox.framework.core.common.utilities.PHPMethods;
 
 import java.text.Normalizer;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.regex.Pattern;
 
 /**
@@ -38,26 +40,70 @@ public class StringCleaner {
     private static final String TOKENIZED_URL = " PREPROCESSDOC_URL ";
     
     /**
-     * Mapping between SMILEYS_MAPPING and their tokenized representation.
+     * Mapping between SMILEYS_MAPPING and their tokenized representation. None of
+     * the smileys is a prefix of another, so at most one of them can match in any
+     * position of the text.
      */
-    private static final Map<String, String> SMILEYS_MAPPING = new HashMap<>();
+    private static final Map<String, String> SMILEYS_MAPPING = new LinkedHashMap<>();
     
     static {
-        SMILEYS_MAPPING.put(":\\)", " PREPROCESSDOC_EM1 ");
-        SMILEYS_MAPPING.put(":-\\)", " PREPROCESSDOC_EM2 ");
-        SMILEYS_MAPPING.put(":\\(", " PREPROCESSDOC_EM3 ");
-        SMILEYS_MAPPING.put(":-\\(", " PREPROCESSDOC_EM4 ");
+        SMILEYS_MAPPING.put(":)", " PREPROCESSDOC_EM1 ");
+        SMILEYS_MAPPING.put(":-)", " PREPROCESSDOC_EM2 ");
+        SMILEYS_MAPPING.put(":(", " PREPROCESSDOC_EM3 ");
+        SMILEYS_MAPPING.put(":-(", " PREPROCESSDOC_EM4 ");
         SMILEYS_MAPPING.put(":d", " PREPROCESSDOC_EM5 ");
-        SMILEYS_MAPPING.put(";\\)", " PREPROCESSDOC_EM6 ");
-        SMILEYS_MAPPING.put(":o\\)", " PREPROCESSDOC_EM7 ");
-        SMILEYS_MAPPING.put(":\\]", " PREPROCESSDOC_EM8 ");
-        SMILEYS_MAPPING.put(":\\[", " PREPROCESSDOC_EM9 ");
+        SMILEYS_MAPPING.put(";)", " PREPROCESSDOC_EM6 ");
+        SMILEYS_MAPPING.put(":o)", " PREPROCESSDOC_EM7 ");
+        SMILEYS_MAPPING.put(":]", " PREPROCESSDOC_EM8 ");
+        SMILEYS_MAPPING.put(":[", " PREPROCESSDOC_EM9 ");
         SMILEYS_MAPPING.put(":p", " PREPROCESSDO,C_EM10 ");
         SMILEYS_MAPPING.put(":-p", " PREPROCESSDOC_EM11 ");
-        SMILEYS_MAPPING.put("8-\\)", " PREPROCESSDOC_EM12 ");
-        SMILEYS_MAPPING.put("=\\)", " PREPROCESSDOC_EM13 ");
-        SMILEYS_MAPPING.put("=\\(", " PREPROCESSDOC_EM14 ");
+        SMILEYS_MAPPING.put("8-)", " PREPROCESSDOC_EM12 ");
+        SMILEYS_MAPPING.put("=)", " PREPROCESSDOC_EM13 ");
+        SMILEYS_MAPPING.put("=(", " PREPROCESSDOC_EM14 ");
     }
+
+    /**
+     * The smileys and their tokens stored in arrays for the single pass cleaning.
+     */
+    private static final char[][] SMILEYS = new char[SMILEYS_MAPPING.size()][];
+    private static final char[][] SMILEY_TOKENS = new char[SMILEYS_MAPPING.size()][];
+
+    static {
+        int i = 0;
+        for(Map.Entry<String, String> smiley : SMILEYS_MAPPING.entrySet()) {
+            SMILEYS[i] = smiley.getKey().toCharArray();
+            SMILEY_TOKENS[i] = smiley.getValue().toCharArray();
+            ++i;
+        }
+    }
+
+    /**
+     * The tokenized URL stored in an array for the single pass cleaning.
+     */
+    private static final char[] TOKENIZED_URL_CHARS = TOKENIZED_URL.toCharArray();
+
+    /**
+     * The schemes supported by the URL_PATTERN. The "https" is checked before "http"
+     * to match the greedy behaviour of the regex.
+     */
+    private static final char[][] URL_SCHEMES = {"https://".toCharArray(), "http://".toCharArray(), "ftp://".toCharArray(), "file://".toCharArray()};
+
+    /**
+     * Marker which indicates that a character remains unchanged after cleaning.
+     */
+    private static final char[] UNCHANGED = new char[0];
+
+    /**
+     * Marker which indicates that a character is removed after cleaning.
+     */
+    private static final char[] REMOVED = new char[0];
+
+    /**
+     * Lazily populated cache with the characters that remain after removing the
+     * accents and the symbols of each BMP character.
+     */
+    private static final AtomicReferenceArray<char[]> CLEANED_CHARS = new AtomicReferenceArray<>(Character.MAX_VALUE + 1);
     
     /**
      * Replaces all the URLs within the text with a token.
@@ -77,7 +123,7 @@ public class StringCleaner {
      */
     public static String tokenizeSmileys(String text) {
         for(Map.Entry<String, String> smiley : SMILEYS_MAPPING.entrySet()) {
-            text = text.replaceAll(smiley.getKey(), smiley.getValue());
+            text = text.replace(smiley.getKey(), smiley.getValue());
         }
         return text;
     }
@@ -135,17 +181,269 @@ public class StringCleaner {
     /**
      * Convenience method which tokenizes the URLs and the SMILEYS_MAPPING, removes accents 
  and symbols and eliminates the extra spaces from the provided text.
+     * 
+     * The method produces exactly the same output as calling tokenizeURLs(),
+     * tokenizeSmileys(), removeAccents(), removeSymbols(), removeExtraSpaces()
+     * and toLowerCase() in sequence, but it does it in a single pass over the
+     * characters of the text instead of running multiple regexes.
      * 
      * @param text
      * @return 
      */
     public static String clear(String text) {
-        text = StringCleaner.tokenizeURLs(text);
-        text = StringCleaner.tokenizeSmileys(text);
-        text = StringCleaner.removeAccents(text);
-        text = StringCleaner.removeSymbols(text);
-        text = StringCleaner.removeExtraSpaces(text);
-        
-        return text.toLowerCase(Locale.ENGLISH);
+        int length = text.length();
+        char[] buffer = new char[length + 16];
+        int size = 0;
+        boolean pendingSpace = false;
+        boolean specialCasing = false;
+
+        int i = 0;
+        while(i < length) {
+            //replace URLs and smileys with their tokens
+            char[] token = null;
+            int end = matchURL(text, i, length);
+            if(end != -1) {
+                token = TOKENIZED_URL_CHARS;
+            }
+            else if(isSmileyStart(text.charAt(i))) {
+                for(int j=0;j<SMILEYS.length;j++) {
+                    if(startsWith(text, i, length, SMILEYS[j])) {
+                        token = SMILEY_TOKENS[j];
+                        end = i + SMILEYS[j].length;
+                        break;
+                    }
+                }
+            }
+
+            char[] chars;
+            int from, to;
+            if(token != null) {
+                chars = token;
+                from = 0;
+                to = token.length;
+            }
+            else {
+                int cp = text.codePointAt(i);
+                end = i + Character.charCount(cp);
+                chars = cleanCodePoint(cp);
+                if(chars == UNCHANGED) {
+                    chars = null;
+                    from = i;
+                    to = end;
+                }
+                else {
+                    from = 0;
+                    to = chars.length;
+                }
+            }
+
+            //keep only letters, separators and underscores and collapse the spaces
+            for(int k=from;k<to;) {
+                char c;
+                int charCount;
+                boolean keep;
+                if(chars == null) {
+                    c = text.charAt(k);
+                    charCount = Character.isHighSurrogate(c) && k+1<to?2:1;
+                    keep = true;
+                }
+                else {
+                    c = chars[k];
+                    charCount = 1;
+                    keep = token == null || isKept(c);
+                }
+                if(keep) {
+                    if(c == ' ') {
+                        pendingSpace = size > 0;
+                    }
+                    else {
+                        if(size + charCount + 1 > buffer.length) {
+                            buffer = Arrays.copyOf(buffer, 2*buffer.length + charCount + 1);
+                        }
+                        if(pendingSpace) {
+                            buffer[size++] = ' ';
+                            pendingSpace = false;
+                        }
+                        buffer[size++] = c;
+                        if(charCount == 2) {
+                            buffer[size++] = text.charAt(k+1);
+                        }
+                        specialCasing |= c == '\u03A3' || c == '\u0130';
+                    }
+                }
+                k += charCount;
+            }
+            i = end;
+        }
+
+        if(specialCasing) {
+            //the final sigma depends on the context, so let the String handle it
+            return new String(buffer, 0, size).toLowerCase(Locale.ENGLISH);
+        }
+
+        //the lowercase of every code point has the same number of chars, so we can convert it in place
+        for(int k=0;k<size;) {
+            int cp = Character.codePointAt(buffer, k, size);
+            k += Character.toChars(Character.toLowerCase(cp), buffer, k);
+        }
+        return new String(buffer, 0, size);
+    }
+
+    /**
+     * Returns the characters that remain from a code point after decomposing it
+     * (NFD), removing its accents and its symbols. If the code point remains
+     * unchanged, the UNCHANGED marker is returned.
+     *
+     * @param cp
+     * @return
+     */
+    private static char[] cleanCodePoint(int cp) {
+        if(cp < 0x80) {
+            return isKept((char)cp)?UNCHANGED:REMOVED;
+        }
+        else if(cp <= Character.MAX_VALUE) {
+            char[] chars = CLEANED_CHARS.get(cp);
+            if(chars == null) {
+                chars = cleanChars(String.valueOf((char)cp));
+                CLEANED_CHARS.set(cp, chars);
+            }
+            return chars;
+        }
+        return cleanChars(new String(Character.toChars(cp)));
+    }
+
+    /**
+     * Decomposes the characters, removes the accents and the symbols and returns
+     * the remaining characters or the UNCHANGED marker.
+     *
+     * @param s
+     * @return
+     */
+    private static char[] cleanChars(String s) {
+        String cleaned = removeSymbols(removeAccents(s));
+        return cleaned.equals(s)?UNCHANGED:cleaned.toCharArray();
+    }
+
+    /**
+     * Checks if a BMP character is kept by the removeSymbols() method.
+     *
+     * @param c
+     * @return
+     */
+    private static boolean isKept(char c) {
+        if(c < 0x80) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == ' ';
+        }
+        int type = Character.getType(c);
+        return Character.isLetter(c) || type == Character.SPACE_SEPARATOR || type == Character.LINE_SEPARATOR || type == Character.PARAGRAPH_SEPARATOR;
+    }
+
+    /**
+     * Checks if the character is the first character of any smiley.
+     *
+     * @param c
+     * @return
+     */
+    private static boolean isSmileyStart(char c) {
+        return c == ':' || c == ';' || c == '=' || c == '8';
+    }
+
+    /**
+     * Checks if the text contains the provided characters at the specific offset.
+     *
+     * @param text
+     * @param offset
+     * @param length
+     * @param chars
+     * @return
+     */
+    private static boolean startsWith(String text, int offset, int length, char[] chars) {
+        if(offset + chars.length > length) {
+            return false;
+        }
+        for(int j=0;j<chars.length;j++) {
+            if(text.charAt(offset+j) != chars[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a URL_PATTERN match starts at the specific offset of the text and
+     * returns the end of the match or -1. It applies the same case-insensitive
+     * comparisons as the regex.
+     *
+     * @param text
+     * @param offset
+     * @param length
+     * @return
+     */
+    private static int matchURL(String text, int offset, int length) {
+        char first = foldCase(text.charAt(offset));
+        if(first != 'h' && first != 'f') {
+            return -1;
+        }
+        for(char[] scheme : URL_SCHEMES) {
+            if(offset + scheme.length > length) {
+                continue;
+            }
+            boolean matched = true;
+            for(int j=0;j<scheme.length;j++) {
+                if(foldCase(text.charAt(offset+j)) != scheme[j]) {
+                    matched = false;
+                    break;
+                }
+            }
+            if(matched) {
+                //the greedy regex ends at the last valid ending char of the longest run of valid chars
+                int end = -1;
+                for(int k=offset+scheme.length;k<length;k++) {
+                    char c = text.charAt(k);
+                    if(isUrlEndChar(c)) {
+                        end = k+1;
+                    }
+                    else if("?!:,.;".indexOf(c) == -1) {
+                        break;
+                    }
+                }
+                if(end != -1) {
+                    return end;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if the character belongs to the [-a-zA-Z0-9+&amp;@#/%=~_|] class of the
+     * case-insensitive URL_PATTERN.
+     *
+     * @param c
+     * @return
+     */
+    private static boolean isUrlEndChar(char c) {
+        if((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || "-+&@#/%=~_|".indexOf(c) != -1) {
+            return true;
+        }
+        else if(c < 0x80) {
+            return false;
+        }
+        char upper = Character.toUpperCase(c);
+        char lower = Character.toLowerCase(upper);
+        return (upper >= 'A' && upper <= 'Z') || (lower >= 'a' && lower <= 'z');
+    }
+
+    /**
+     * Folds the case of a character in the same way as the case-insensitive regexes.
+     *
+     * @param c
+     * @return
+     */
+    private static char foldCase(char c) {
+        if(c < 0x80) {
+            return (c >= 'A' && c <= 'Z')?(char)(c + ('a' - 'A')):c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
     }
 }
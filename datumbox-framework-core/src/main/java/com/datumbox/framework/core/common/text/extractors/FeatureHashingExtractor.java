@@ -0,0 +1,282 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.common.text.extractors;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The FeatureHashingExtractor class tokenizes a string, builds its contiguous
+ * keyword combinations and maps them into a fixed space of 2^k integer feature ids
+ * by using the hashing trick (MurmurHash3). Since the ids are bounded, the size of
+ * the feature space and of the model parameters does not grow with the vocabulary.
+ *
+ * References:
+ * https://en.wikipedia.org/wiki/Feature_hashing
+ * https://github.com/aappleby/smhasher/blob/master/src/MurmurHash3.cpp
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class FeatureHashingExtractor extends AbstractTextExtractor<FeatureHashingExtractor.Parameters, Integer, Double> {
+
+    /**
+     * AbstractParameters of the FeatureHashingExtractor.
+     */
+    public static class Parameters extends AbstractTextExtractor.AbstractParameters {
+        private static final long serialVersionUID = 1L;
+
+        private int hashingBits=20;
+
+        private boolean alternateSign=false;
+
+        private int seed=0;
+
+        private int maxCombinations=1;
+
+        private int minWordLength=1;
+
+        /**
+         * Getter for the number of bits k of the hashing space. The extracted
+         * feature ids are in the range [0, 2^k).
+         *
+         * @return
+         */
+        public int getHashingBits() {
+            return hashingBits;
+        }
+
+        /**
+         * Setter for the number of bits k of the hashing space. The extracted
+         * feature ids are in the range [0, 2^k). The value must be between 1 and 31.
+         *
+         * @param hashingBits
+         */
+        public void setHashingBits(int hashingBits) {
+            if(hashingBits<1 || hashingBits>31) {
+                throw new IllegalArgumentException("The number of hashing bits must be between 1 and 31.");
+            }
+            this.hashingBits = hashingBits;
+        }
+
+        /**
+         * Getter for the alternate sign flag. If true, the sign of the feature
+         * value is determined by the hash of the keyword so that collisions cancel
+         * out in expectation.
+         *
+         * @return
+         */
+        public boolean getAlternateSign() {
+            return alternateSign;
+        }
+
+        /**
+         * Setter for the alternate sign flag. If true, the sign of the feature
+         * value is determined by the hash of the keyword so that collisions cancel
+         * out in expectation. Note that the count based feature selectors and
+         * the Naive Bayes models expect non-negative values, so the flag should
+         * be enabled only with algorithms that accept negative features.
+         *
+         * @param alternateSign
+         */
+        public void setAlternateSign(boolean alternateSign) {
+            this.alternateSign = alternateSign;
+        }
+
+        /**
+         * Getter for the seed of the hash function.
+         *
+         * @return
+         */
+        public int getSeed() {
+            return seed;
+        }
+
+        /**
+         * Setter for the seed of the hash function.
+         *
+         * @param seed
+         */
+        public void setSeed(int seed) {
+            this.seed = seed;
+        }
+
+        /**
+         * Getter for the number of Maximum contiguous keyword combinations that
+         * we want to extract.
+         *
+         * @return
+         */
+        public int getMaxCombinations() {
+            return maxCombinations;
+        }
+
+        /**
+         * Setter for the number of Maximum contiguous keyword combinations that
+         * we want to extract.
+         *
+         * @param maxCombinations
+         */
+        public void setMaxCombinations(int maxCombinations) {
+            this.maxCombinations = maxCombinations;
+        }
+
+        /**
+         * Getter for the minimum word length threshold. Words with a length less
+         * than this value will not be extracted.
+         *
+         * @return
+         */
+        public int getMinWordLength() {
+            return minWordLength;
+        }
+
+        /**
+         * Setter for the minimum word length threshold. Words with a length less
+         * than this value will not be extracted.
+         *
+         * @param minWordLength
+         */
+        public void setMinWordLength(int minWordLength) {
+            this.minWordLength = minWordLength;
+        }
+
+    }
+
+    /**
+     * Public constructor that accepts as arguments the AbstractParameters object.
+     *
+     * @param parameters
+     */
+    public FeatureHashingExtractor(Parameters parameters) {
+        super(parameters);
+    }
+
+    /**
+     * This method gets as input a string and returns as output a map with the
+     * hashed ids of the keywords and keyword combinations along with their
+     * occurrences in the text. If the alternate sign option is enabled, the
+     * occurrences are multiplied by the sign of the hash.
+     *
+     * @param text
+     * @return
+     */
+    @Override
+    public Map<Integer, Double> extract(final String text) {
+        List<String> keywordList = generateTokenizer().tokenize(text);
+
+        int maxCombinations = parameters.getMaxCombinations();
+        int minWordLength = parameters.getMinWordLength();
+        int mask = (1 << parameters.getHashingBits()) - 1;
+        boolean alternateSign = parameters.getAlternateSign();
+        int seed = parameters.getSeed();
+
+        Map<Integer, Double> features = new HashMap<>();
+
+        int numberOfWordsInDoc = keywordList.size();
+        StringBuilder sb = new StringBuilder();
+        for(int position=0;position<numberOfWordsInDoc;++position) {
+            sb.setLength(0);
+
+            //build all the contiguous combinations that start from the current position
+            int windowEnd = Math.min(position+maxCombinations, numberOfWordsInDoc);
+            for(int i=position;i<windowEnd;++i) {
+                String word = keywordList.get(i);
+                if(word.length() < minWordLength) {
+                    break; //the combination can't continue after a rejected word
+                }
+
+                if(sb.length()>0) {
+                    sb.append(" ");
+                }
+                sb.append(word);
+
+                int hash = murmurHash3(sb.toString().getBytes(StandardCharsets.UTF_8), seed);
+                Integer id = hash & mask;
+                double value = (alternateSign && hash<0)?-1.0:1.0;
+
+                features.put(id, features.getOrDefault(id, 0.0)+value);
+            }
+        }
+
+        //remove any feature that was cancelled out by a collision of opposite signs
+        if(alternateSign) {
+            Iterator<Map.Entry<Integer, Double>> it = features.entrySet().iterator();
+            while(it.hasNext()) {
+                if(it.next().getValue()==0.0) {
+                    it.remove();
+                }
+            }
+        }
+
+        return features;
+    }
+
+    /**
+     * Estimates the 32-bit MurmurHash3 (x86 variant) of the provided bytes.
+     *
+     * @param data
+     * @param seed
+     * @return
+     */
+    private static int murmurHash3(byte[] data, int seed) {
+        final int c1 = 0xcc9e2d51;
+        final int c2 = 0x1b873593;
+
+        int length = data.length;
+        int h1 = seed;
+        int roundedEnd = length & 0xfffffffc; //round down to 4 byte block
+
+        for(int i=0;i<roundedEnd;i+=4) {
+            int k1 = (data[i] & 0xff) | ((data[i+1] & 0xff) << 8) | ((data[i+2] & 0xff) << 16) | (data[i+3] << 24);
+            k1 *= c1;
+            k1 = Integer.rotateLeft(k1, 15);
+            k1 *= c2;
+
+            h1 ^= k1;
+            h1 = Integer.rotateLeft(h1, 13);
+            h1 = h1*5+0xe6546b64;
+        }
+
+        //tail
+        int k1 = 0;
+        switch(length & 0x03) {
+            case 3:
+                k1 = (data[roundedEnd+2] & 0xff) << 16;
+            case 2:
+                k1 |= (data[roundedEnd+1] & 0xff) << 8;
+            case 1:
+                k1 |= (data[roundedEnd] & 0xff);
+                k1 *= c1;
+                k1 = Integer.rotateLeft(k1, 15);
+                k1 *= c2;
+                h1 ^= k1;
+        }
+
+        //finalization
+        h1 ^= length;
+        h1 ^= h1 >>> 16;
+        h1 *= 0x85ebca6b;
+        h1 ^= h1 >>> 13;
+        h1 *= 0xc2b2ae35;
+        h1 ^= h1 >>> 16;
+
+        return h1;
+    }
+
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,24 +17,23 @@ package com.datumbox.framework.core.common.text.parsers;
 
 import com.datumbox.framework.core.common.text.StringCleaner;
 
+import java.io.Reader;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * The HTMLParser class is a utility class that provides a list of helpful methods
- which can be used to sanitize, clean up and manipulate HTML documents.
+ which can be used to sanitize, clean up and manipulate HTML documents. The text,
+ * title, hyperlinks, meta tags and headers are extracted by a streaming tokenizer
+ * which scans the document once; use the parse() methods to get all of them with
+ * a single scan.
  *
  * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
  */
 public class HTMLParser {
     private static final Pattern IMG_ALT_TITLE_PATTERN = Pattern.compile("<[\\s]*img[^>]*[alt|title]=[\\s]*[\\\"']?([^>\\\"']+)[\\\"']?[^>]*>", Pattern.DOTALL|Pattern.CASE_INSENSITIVE);
     private static final Pattern NON_TEXT_TAGS_PATTERN = Pattern.compile("<[\\s]*(head|style|script|object|embed|applet|noframes|noscript|noembed|option)[^>]*?>.*?</\\1>", Pattern.DOTALL|Pattern.CASE_INSENSITIVE);
-    private static final Pattern REMOVE_ATTRIBUTES_PATTERN = Pattern.compile("<([a-z!][a-z0-9]*)[^>]*?(/?)>", Pattern.DOTALL | Pattern.CASE_INSENSITIVE);    
-    private static final Pattern TITLE_PATTERN = Pattern.compile("<title[^>]*>(.*?)</title>", Pattern.DOTALL | Pattern.CASE_INSENSITIVE);    
-    private static final Pattern HYPERLINK_PATTERN = Pattern.compile("<[\\s]*a[^>]*href[\\s]*=[\\s]*[\\\"']([^\\\"']*)[\\\"'][^>]*>(.*?)</a>", Pattern.DOTALL | Pattern.CASE_INSENSITIVE);    
-    private static final Pattern METATAG_PATTERN = Pattern.compile("<[\\s]*meta[^>]*name[\\s]*=[\\s]*[\\\"']([^\\\"']*)[\\\"'][^>]*content[\\s]*=[\\s]*[\\\"']([^\\\"']*)[\\\"'][^>]*>", Pattern.DOTALL | Pattern.CASE_INSENSITIVE);    
-    private static final Pattern HX_PATTERN = Pattern.compile("<[\\s]*(H[1-6])[^>]*?>(.*?)</\\1>", Pattern.DOTALL|Pattern.CASE_INSENSITIVE);
 
     private static final String[][] ESCAPES = {
             {"\"",     "quot"}, // " - double-quote
@@ -160,7 +159,7 @@ public class HTMLParser {
      * @param input
      * @return
      */
-    private static String unescapeHtml(final String input) {
+    static String unescapeHtml(final String input) {
         StringBuilder writer = null;
         int len = input.length();
         int i = 1;
@@ -317,16 +316,9 @@ public class HTMLParser {
      * @return 
      */
     public static String removeNonTextTagsAndAttributes(String html) {
-        html = removeNonTextTags(html);
-        
-        Matcher m = REMOVE_ATTRIBUTES_PATTERN.matcher(html);
-        if(m.find()) {
-            html = m.replaceAll("<$1$2>");
-        }
-        
-        html = unescapeHtml(html);
-        
-        return html;
+        HTMLTokenizer tokenizer = new HTMLTokenizer(true);
+        tokenizer.tokenize(html);
+        return tokenizer.getStrippedHtml();
     }
     
     /**
@@ -336,16 +328,10 @@ public class HTMLParser {
      * @return 
      */
     public static String extractText(String html) {
-        //return Jsoup.parse(text).text();
-        html = replaceImgWithAlt(html);
-        html = safeRemoveAllTags(html);
-        
-        html = unescapeHtml(html);
-        
-        return html;
+        return parse(html).getText();
     }
     
-    private static String clear(String html) {
+    static String clear(String html) {
         return StringCleaner.removeExtraSpaces(unescapeHtml(unsafeRemoveAllTags(html)));
     }
     
@@ -356,11 +342,7 @@ public class HTMLParser {
      * @return 
      */
     public static String extractTitle(String html) {
-        Matcher m = TITLE_PATTERN.matcher(html);
-        if (m.find()) {
-            return clear(m.group(0));
-        }
-        return null;
+        return parse(html).getTitle();
     }
     
     /**
@@ -391,23 +373,7 @@ public class HTMLParser {
      * @return 
      */
     public static Map<HyperlinkPart, List<String>> extractHyperlinks(String html) {
-        Map<HyperlinkPart, List<String>> hyperlinksMap = new HashMap<>();
-        hyperlinksMap.put(HyperlinkPart.HTMLTAG, new ArrayList<>());
-        hyperlinksMap.put(HyperlinkPart.URL, new ArrayList<>());
-        hyperlinksMap.put(HyperlinkPart.ANCHORTEXT, new ArrayList<>());
-                
-        Matcher m = HYPERLINK_PATTERN.matcher(html);
-        while (m.find()) {
-            if(m.groupCount()==2) {
-                String tag = m.group(0);
-                String url = m.group(1);
-                String anchortext = m.group(2);
-                hyperlinksMap.get(HyperlinkPart.HTMLTAG).add(tag);
-                hyperlinksMap.get(HyperlinkPart.URL).add(url);
-                hyperlinksMap.get(HyperlinkPart.ANCHORTEXT).add(anchortext);
-            }
-        }
-        return hyperlinksMap;
+        return parse(html).getHyperlinks();
     }
     
     /**
@@ -417,17 +383,7 @@ public class HTMLParser {
      * @return 
      */
     public static Map<String, String> extractMetatags(String html) {
-        Map<String, String> metatagsMap = new HashMap<>();
-                
-        Matcher m = METATAG_PATTERN.matcher(html);
-        while (m.find()) {
-            if(m.groupCount()==2) {
-                String name = m.group(1);
-                String content = m.group(2);
-                metatagsMap.put(clear(name), clear(content));
-            }
-        }
-        return metatagsMap;
+        return parse(html).getMetatags();
     }
     
     /**
@@ -437,19 +393,98 @@ public class HTMLParser {
      * @return 
      */
     public static Map<String, List<String>> extractHTMLheaders(String html) {
-        Map<String, List<String>> hxtagsMap = new HashMap<>();
-        for(int i=1;i<=6;++i) {
-            hxtagsMap.put("H"+i, new ArrayList<>());
+        return parse(html).getHTMLheaders();
+    }
+    
+    /**
+     * The HTMLDocument stores the components of an HTML page which are extracted
+     * by the parse() methods.
+     */
+    public static class HTMLDocument {
+        private final String text;
+        private final String title;
+        private final Map<HyperlinkPart, List<String>> hyperlinks;
+        private final Map<String, String> metatags;
+        private final Map<String, List<String>> htmlHeaders;
+        
+        private HTMLDocument(HTMLTokenizer tokenizer) {
+            text = tokenizer.getText();
+            title = tokenizer.getTitle();
+            hyperlinks = tokenizer.getHyperlinks();
+            metatags = tokenizer.getMetatags();
+            htmlHeaders = tokenizer.getHeaders();
         }
-                
-        Matcher m = HX_PATTERN.matcher(html);
-        while (m.find()) {
-            if(m.groupCount()==2) {
-                String tagType = m.group(1).toUpperCase(Locale.ENGLISH);
-                String content = m.group(2);
-                hxtagsMap.get(tagType).add(clear(content));
-            }
+        
+        /**
+         * Getter for the text of the page. The non-text blocks are removed and
+         * the img tags are replaced with their alt text.
+         * 
+         * @return 
+         */
+        public String getText() {
+            return text;
+        }
+        
+        /**
+         * Getter for the title of the page or null if not available.
+         * 
+         * @return 
+         */
+        public String getTitle() {
+            return title;
+        }
+        
+        /**
+         * Getter for the components of the hyperlinks of the page.
+         * 
+         * @return 
+         */
+        public Map<HyperlinkPart, List<String>> getHyperlinks() {
+            return hyperlinks;
+        }
+        
+        /**
+         * Getter for the meta tags of the page.
+         * 
+         * @return 
+         */
+        public Map<String, String> getMetatags() {
+            return metatags;
+        }
+        
+        /**
+         * Getter for the HTML headers (h1-h6 tags) of the page.
+         * 
+         * @return 
+         */
+        public Map<String, List<String>> getHTMLheaders() {
+            return htmlHeaders;
         }
-        return hxtagsMap;
+    }
+    
+    /**
+     * Parses an HTML page and extracts all of its components with a single scan.
+     * 
+     * @param html
+     * @return 
+     */
+    public static HTMLDocument parse(String html) {
+        HTMLTokenizer tokenizer = new HTMLTokenizer(false);
+        tokenizer.tokenize(html);
+        return new HTMLDocument(tokenizer);
+    }
+    
+    /**
+     * Parses an HTML page from a Reader and extracts all of its components with
+     * a single scan, without loading the entire page in memory. The reader is
+     * not closed.
+     * 
+     * @param reader
+     * @return 
+     */
+    public static HTMLDocument parse(Reader reader) {
+        HTMLTokenizer tokenizer = new HTMLTokenizer(false);
+        tokenizer.tokenize(reader);
+        return new HTMLDocument(tokenizer);
     }
 }
@@ -0,0 +1,554 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.common.text.parsers;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * The HTMLTokenizer is a streaming state machine which reads an HTML document
+ * character by character and extracts in a single scan its text, its title, its
+ * hyperlinks, its meta tags and its headers. It does not use regexes and it does
+ * not backtrack, so its running time is linear even on malformed pages. Apart from
+ * the extracted components, it only buffers the current tag. Both buffers have a
+ * maximum length, so unterminated tags and components do not pull the rest of
+ * the page in memory.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+class HTMLTokenizer {
+
+    /**
+     * The tags whose contents are not part of the text of the page.
+     */
+    private static final Set<String> NON_TEXT_TAGS = new HashSet<>(Arrays.asList("head", "style", "script", "object", "embed", "applet", "noframes", "noscript", "noembed", "option"));
+
+    /**
+     * The tags whose contents are raw text and should not be tokenized.
+     */
+    private static final Set<String> RAW_TEXT_TAGS = new HashSet<>(Arrays.asList("script", "style"));
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    /**
+     * The maximum number of chars of a tag which are buffered. The rest of a longer
+     * tag is skipped and a quote which is still open is considered unterminated,
+     * so the tag ends at the next &gt;.
+     */
+    private static final int MAX_TAG_LENGTH = 16384;
+
+    /**
+     * The maximum number of chars of a title, a hyperlink or a header which are
+     * captured. The longer components are dropped.
+     */
+    private static final int MAX_CAPTURE_LENGTH = 65536;
+
+    private enum State {
+        TEXT,
+        TAG_OPEN,
+        TAG,
+        COMMENT,
+        RAW_TEXT
+    }
+
+    private final boolean keepStrippedHtml;
+
+    private State state = State.TEXT;
+
+    private final StringBuilder tag = new StringBuilder();
+    private char quote = 0;
+    private char lastTagChar = 0;
+
+    private int commentDashes = 0;
+
+    private String rawTextTag = null;
+    private String rawTextEnd = null;
+    private int rawTextMatched = 0;
+    private boolean rawTextEndFound = false;
+
+    private String nonTextTag = null;
+
+    private final StringBuilder text = new StringBuilder();
+    private final StringBuilder strippedHtml;
+
+    private StringBuilder titleCapture = null;
+    private int titleOpenLength;
+    private String title = null;
+
+    private StringBuilder anchorCapture = null;
+    private int anchorOpenLength;
+    private String anchorUrl;
+    private final Map<HTMLParser.HyperlinkPart, List<String>> hyperlinks = new HashMap<>();
+
+    private final Map<String, String> metatags = new HashMap<>();
+
+    private StringBuilder headerCapture = null;
+    private int headerOpenLength;
+    private String headerTag;
+    private final Map<String, List<String>> headers = new HashMap<>();
+
+    /**
+     * Constructor of the HTMLTokenizer.
+     *
+     * @param keepStrippedHtml Whether the HTML without non-text tags and attributes should be generated.
+     */
+    HTMLTokenizer(boolean keepStrippedHtml) {
+        this.keepStrippedHtml = keepStrippedHtml;
+        strippedHtml = keepStrippedHtml?new StringBuilder():null;
+
+        for(HTMLParser.HyperlinkPart part : HTMLParser.HyperlinkPart.values()) {
+            hyperlinks.put(part, new ArrayList<>());
+        }
+        for(int i=1;i<=6;++i) {
+            headers.put("H"+i, new ArrayList<>());
+        }
+    }
+
+    /**
+     * Tokenizes the contents of the reader.
+     *
+     * @param reader
+     */
+    void tokenize(Reader reader) {
+        char[] buffer = new char[READ_BUFFER_SIZE];
+        try {
+            for(int read;(read = reader.read(buffer)) != -1;) {
+                for(int i=0;i<read;i++) {
+                    process(buffer[i]);
+                }
+            }
+        }
+        catch(IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        finish();
+    }
+
+    /**
+     * Tokenizes the string.
+     *
+     * @param html
+     */
+    void tokenize(String html) {
+        int length = html.length();
+        for(int i=0;i<length;i++) {
+            process(html.charAt(i));
+        }
+        finish();
+    }
+
+    /**
+     * Returns the extracted and unescaped text of the page. The tags are replaced
+     * with spaces, the img tags with their alt text and the non-text blocks are removed.
+     *
+     * @return
+     */
+    String getText() {
+        return HTMLParser.unescapeHtml(text.toString());
+    }
+
+    /**
+     * Returns the unescaped HTML without the non-text tags and the attributes of the tags.
+     *
+     * @return
+     */
+    String getStrippedHtml() {
+        return HTMLParser.unescapeHtml(strippedHtml.toString());
+    }
+
+    /**
+     * Returns the title of the page or null if not available.
+     *
+     * @return
+     */
+    String getTitle() {
+        return title;
+    }
+
+    /**
+     * Returns the hyperlinks of the page.
+     *
+     * @return
+     */
+    Map<HTMLParser.HyperlinkPart, List<String>> getHyperlinks() {
+        return hyperlinks;
+    }
+
+    /**
+     * Returns the meta tags of the page.
+     *
+     * @return
+     */
+    Map<String, String> getMetatags() {
+        return metatags;
+    }
+
+    /**
+     * Returns the headers of the page.
+     *
+     * @return
+     */
+    Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    private void process(char c) {
+        //keep the raw html of the components that we capture
+        if(titleCapture != null) {
+            titleCapture.append(c);
+            if(titleCapture.length() > MAX_CAPTURE_LENGTH) {
+                titleCapture = null;
+            }
+        }
+        if(anchorCapture != null) {
+            anchorCapture.append(c);
+            if(anchorCapture.length() > MAX_CAPTURE_LENGTH) {
+                anchorCapture = null;
+            }
+        }
+        if(headerCapture != null) {
+            headerCapture.append(c);
+            if(headerCapture.length() > MAX_CAPTURE_LENGTH) {
+                headerCapture = null;
+            }
+        }
+
+        switch(state) {
+            case TEXT:
+                if(c == '<') {
+                    tag.setLength(0);
+                    tag.append(c);
+                    state = State.TAG_OPEN;
+                }
+                else {
+                    appendText(c);
+                }
+                break;
+            case TAG_OPEN:
+                if(Character.isWhitespace(c) && tag.length() < MAX_TAG_LENGTH) {
+                    tag.append(c);
+                }
+                else if(Character.isLetter(c) || c == '/' || c == '!' || c == '?') {
+                    tag.append(c);
+                    quote = 0;
+                    lastTagChar = c;
+                    state = State.TAG;
+                }
+                else {
+                    //not a tag, so the buffered chars are text
+                    state = State.TEXT;
+                    appendText(tag);
+                    if(c == '<') {
+                        tag.setLength(0);
+                        tag.append(c);
+                        state = State.TAG_OPEN;
+                    }
+                    else {
+                        appendText(c);
+                    }
+                }
+                break;
+            case TAG:
+                if(tag.length() >= MAX_TAG_LENGTH && c != '>') {
+                    //skip the rest of the long tag until its end
+                    quote = 0;
+                    break;
+                }
+                tag.append(c);
+                if(quote != 0) {
+                    if(c == quote) {
+                        quote = 0;
+                    }
+                }
+                else if(c == '>') {
+                    state = State.TEXT;
+                    handleTag();
+                }
+                else if((c == '"' || c == '\'') && lastTagChar == '=') {
+                    quote = c;
+                }
+                else if(c == '-' && tag.length() == 4 && tag.charAt(1) == '!' && tag.charAt(2) == '-') {
+                    state = State.COMMENT;
+                    commentDashes = 0;
+                }
+                if(!Character.isWhitespace(c)) {
+                    lastTagChar = c;
+                }
+                break;
+            case COMMENT:
+                if(c == '>' && commentDashes >= 2) {
+                    state = State.TEXT;
+                }
+                else if(c == '-') {
+                    ++commentDashes;
+                }
+                else {
+                    commentDashes = 0;
+                }
+                break;
+            case RAW_TEXT:
+                //look for the closing tag of the raw text block
+                if(rawTextEndFound) {
+                    if(c == '>') {
+                        endRawText();
+                    }
+                }
+                else if(rawTextMatched == rawTextEnd.length()) {
+                    //the name of the tag must end here, so that </scripts> does not close a script
+                    if(c == '>') {
+                        endRawText();
+                    }
+                    else if(Character.isWhitespace(c)) {
+                        rawTextEndFound = true;
+                    }
+                    else {
+                        rawTextMatched = (c == '<')?1:0;
+                    }
+                }
+                else if(Character.toLowerCase(c) == rawTextEnd.charAt(rawTextMatched)) {
+                    ++rawTextMatched;
+                }
+                else {
+                    rawTextMatched = (c == '<')?1:0;
+                }
+                break;
+        }
+    }
+
+    private void endRawText() {
+        state = State.TEXT;
+        if(rawTextTag.equals(nonTextTag)) {
+            //only the blocks which are not nested in other non-text blocks (e.g. in the head) end here
+            nonTextTag = null;
+        }
+        rawTextTag = null;
+        rawTextEnd = null;
+        rawTextEndFound = false;
+    }
+
+    private void finish() {
+        if(state == State.TAG_OPEN || state == State.TAG) {
+            //unterminated tags are considered text
+            appendText(tag);
+        }
+        state = State.TEXT;
+    }
+
+    private void appendText(char c) {
+        if(nonTextTag == null) {
+            text.append(c);
+            if(keepStrippedHtml) {
+                strippedHtml.append(c);
+            }
+        }
+    }
+
+    private void appendText(CharSequence cs) {
+        if(nonTextTag == null) {
+            text.append(cs);
+            if(keepStrippedHtml) {
+                strippedHtml.append(cs);
+            }
+        }
+    }
+
+    private void handleTag() {
+        String rawTag = tag.toString();
+        int length = rawTag.length();
+
+        //parse the name of the tag
+        int i = 1;
+        while(i < length && Character.isWhitespace(rawTag.charAt(i))) {
+            ++i;
+        }
+        boolean closing = false;
+        if(rawTag.charAt(i) == '/') {
+            closing = true;
+            ++i;
+        }
+        int nameStart = i;
+        while(i < length && !Character.isWhitespace(rawTag.charAt(i)) && rawTag.charAt(i) != '/' && rawTag.charAt(i) != '>') {
+            ++i;
+        }
+        String originalName = rawTag.substring(nameStart, i);
+        String name = originalName.toLowerCase(Locale.ENGLISH);
+        boolean selfClosing = !closing && length >= 2 && rawTag.charAt(length-2) == '/';
+
+        if(closing) {
+            if("option".equals(nonTextTag) && name.equals("select")) {
+                nonTextTag = null; //unclosed options end with their select
+            }
+            if(nonTextTag == null) {
+                text.append(' ');
+                if(keepStrippedHtml) {
+                    strippedHtml.append(rawTag);
+                }
+            }
+            else if(name.equals(nonTextTag)) {
+                nonTextTag = null;
+            }
+
+            if(titleCapture != null && name.equals("title")) {
+                title = HTMLParser.clear(titleCapture.substring(titleOpenLength, titleCapture.length() - length));
+                titleCapture = null;
+            }
+            if(anchorCapture != null && name.equals("a")) {
+                hyperlinks.get(HTMLParser.HyperlinkPart.HTMLTAG).add(anchorCapture.toString());
+                hyperlinks.get(HTMLParser.HyperlinkPart.URL).add(anchorUrl);
+                hyperlinks.get(HTMLParser.HyperlinkPart.ANCHORTEXT).add(anchorCapture.substring(anchorOpenLength, anchorCapture.length() - length));
+                anchorCapture = null;
+            }
+            if(headerCapture != null && name.equals(headerTag)) {
+                headers.get(headerTag.toUpperCase(Locale.ENGLISH)).add(HTMLParser.clear(headerCapture.substring(headerOpenLength, headerCapture.length() - length)));
+                headerCapture = null;
+            }
+            return;
+        }
+
+        Map<String, String> attributes = null;
+        if(name.equals("img") || name.equals("a") || name.equals("meta")) {
+            attributes = parseAttributes(rawTag, i);
+        }
+
+        if("head".equals(nonTextTag) && name.equals("body")) {
+            nonTextTag = null; //unclosed heads end with the start of the body
+        }
+
+        //update the text and the stripped html
+        if(nonTextTag == null) {
+            if(NON_TEXT_TAGS.contains(name)) {
+                text.append(' ');
+                if(keepStrippedHtml) {
+                    strippedHtml.append(' ');
+                }
+                if(!selfClosing) {
+                    nonTextTag = name;
+                }
+            }
+            else {
+                if(name.equals("img")) {
+                    String alt = attributes.getOrDefault("alt", attributes.get("title"));
+                    text.append(' ');
+                    if(alt != null) {
+                        text.append(alt).append(' ');
+                    }
+                }
+                else {
+                    text.append(' ');
+                }
+
+                if(keepStrippedHtml) {
+                    if(name.startsWith("?")) {
+                        strippedHtml.append(rawTag);
+                    }
+                    else {
+                        strippedHtml.append('<').append(originalName).append(selfClosing?"/>":">");
+                    }
+                }
+            }
+        }
+
+        if(RAW_TEXT_TAGS.contains(name) && !selfClosing) {
+            state = State.RAW_TEXT;
+            rawTextTag = name;
+            rawTextEnd = "</" + name;
+            rawTextMatched = 0;
+            rawTextEndFound = false;
+            return;
+        }
+
+        //start capturing the components of the page
+        if(name.equals("title") && title == null && titleCapture == null && !selfClosing) {
+            titleCapture = new StringBuilder(rawTag);
+            titleOpenLength = length;
+        }
+        else if(name.equals("a") && anchorCapture == null && !selfClosing && attributes.containsKey("href")) {
+            anchorCapture = new StringBuilder(rawTag);
+            anchorOpenLength = length;
+            anchorUrl = attributes.get("href");
+        }
+        else if(name.length() == 2 && name.charAt(0) == 'h' && name.charAt(1) >= '1' && name.charAt(1) <= '6' && headerCapture == null && !selfClosing) {
+            headerCapture = new StringBuilder(rawTag);
+            headerOpenLength = length;
+            headerTag = name;
+        }
+        else if(name.equals("meta")) {
+            String metaName = attributes.get("name");
+            String metaContent = attributes.get("content");
+            if(metaName != null && metaContent != null) {
+                metatags.put(HTMLParser.clear(metaName), HTMLParser.clear(metaContent));
+            }
+        }
+    }
+
+    /**
+     * Parses the attributes of a tag. The names of the attributes are lowercased.
+     *
+     * @param rawTag
+     * @param offset
+     * @return
+     */
+    private static Map<String, String> parseAttributes(String rawTag, int offset) {
+        Map<String, String> attributes = new HashMap<>();
+        int length = rawTag.length() - 1; //ignore the closing >
+        int i = offset;
+        while(i < length) {
+            char c = rawTag.charAt(i);
+            if(Character.isWhitespace(c) || c == '/') {
+                ++i;
+                continue;
+            }
+
+            int nameStart = i;
+            while(i < length && !Character.isWhitespace(rawTag.charAt(i)) && rawTag.charAt(i) != '=' && rawTag.charAt(i) != '/') {
+                ++i;
+            }
+            String name = rawTag.substring(nameStart, i).toLowerCase(Locale.ENGLISH);
+
+            while(i < length && Character.isWhitespace(rawTag.charAt(i))) {
+                ++i;
+            }
+            String value = "";
+            if(i < length && rawTag.charAt(i) == '=') {
+                ++i;
+                while(i < length && Character.isWhitespace(rawTag.charAt(i))) {
+                    ++i;
+                }
+                if(i < length && (rawTag.charAt(i) == '"' || rawTag.charAt(i) == '\'')) {
+                    char quote = rawTag.charAt(i);
+                    int valueStart = ++i;
+                    while(i < length && rawTag.charAt(i) != quote) {
+                        ++i;
+                    }
+                    value = rawTag.substring(valueStart, i);
+                    ++i;
+                }
+                else {
+                    int valueStart = i;
+                    while(i < length && !Character.isWhitespace(rawTag.charAt(i))) {
+                        ++i;
+                    }
+                    value = rawTag.substring(valueStart, i);
+                }
+            }
+            attributes.putIfAbsent(name, value);
+        }
+        return attributes;
+    }
+
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -151,4 +151,97 @@ public class SelectKth {
         
         return buffer[k-1];
     }
+    
+    /**
+     * Selects the kth smallest element from an array of primitives. The array 
+     * is rearranged in place.
+     * 
+     * @param values
+     * @param k
+     * @return 
+     */
+    public static double smallest(double[] values, int k) {
+        if(k <= 0 || k > values.length) {
+            throw new IllegalArgumentException("The k must be between 1 and the number of elements.");
+        }
+        select(values, k-1);
+        return values[k-1];
+    }
+    
+    /**
+     * Rearranges the array in place so that the elements at the provided 0-based
+     * positions are the same as if the array was sorted. The rest of the elements
+     * are partitioned around them. It runs in O(n log m) time for m positions,
+     * falling back to sorting the remaining range when the partitions become 
+     * unbalanced.
+     * 
+     * @param values
+     * @param positions 
+     */
+    public static void select(double[] values, int... positions) {
+        int n = values.length;
+        int[] sortedPositions = positions.clone();
+        Arrays.sort(sortedPositions);
+        for(int position : sortedPositions) {
+            if(position < 0 || position >= n) {
+                throw new IllegalArgumentException("The positions must be between 0 and the number of elements minus 1.");
+            }
+        }
+        if(sortedPositions.length > 0) {
+            int maxDepth = 2*(32 - Integer.numberOfLeadingZeros(n));
+            select(values, 0, n-1, sortedPositions, 0, sortedPositions.length-1, maxDepth);
+        }
+    }
+    
+    private static void select(double[] values, int lo, int hi, int[] positions, int pLo, int pHi, int depth) {
+        while(lo < hi && pLo <= pHi) {
+            if(hi - lo < 16 || depth-- <= 0) {
+                Arrays.sort(values, lo, hi+1);
+                return;
+            }
+            
+            //median of three pivot
+            int mid = (lo + hi) >>> 1;
+            double a = values[lo], b = values[mid], c = values[hi];
+            double pivot = (a < b) ? ((b < c) ? b : ((a < c) ? c : a)) : ((a < c) ? a : ((b < c) ? c : b));
+            
+            //three-way partition: [lo, lt) < pivot, [lt, gt] == pivot, (gt, hi] > pivot
+            int lt = lo, gt = hi, i = lo;
+            while(i <= gt) {
+                double v = values[i];
+                if(v < pivot) {
+                    values[i++] = values[lt];
+                    values[lt++] = v;
+                }
+                else if(v > pivot) {
+                    values[i] = values[gt];
+                    values[gt--] = v;
+                }
+                else {
+                    ++i;
+                }
+            }
+            
+            //split the positions among the two sides; the ones in [lt, gt] are already in place
+            int leftEnd = pLo;
+            while(leftEnd <= pHi && positions[leftEnd] < lt) {
+                ++leftEnd;
+            }
+            int rightStart = leftEnd;
+            while(rightStart <= pHi && positions[rightStart] <= gt) {
+                ++rightStart;
+            }
+            
+            if(leftEnd - pLo < pHi - rightStart) {
+                select(values, lo, lt-1, positions, pLo, leftEnd-1, depth);
+                lo = gt+1;
+                pLo = rightStart;
+            }
+            else {
+                select(values, gt+1, hi, positions, rightStart, pHi, depth);
+                hi = lt-1;
+                pHi = leftEnd-1;
+            }
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,9 @@ package com.datumbox.framework.core.machinelearning.common.abstracts.featuresele
 
 import com.datumbox.framework.common.Configuration;
 import com.datumbox.framework.common.concurrency.StreamMethods;
+import com.datumbox.framework.common.dataobjects.AssociativeArray;
 import com.datumbox.framework.core.common.dataobjects.Dataframe;
+import com.datumbox.framework.core.common.dataobjects.MutableRecord;
 import com.datumbox.framework.common.dataobjects.TypeInference;
 import com.datumbox.framework.common.storage.interfaces.BigMap;
 import com.datumbox.framework.common.storage.interfaces.StorageEngine;
@@ -25,8 +27,10 @@ import com.datumbox.framework.common.storage.interfaces.StorageEngine.MapType;
 import com.datumbox.framework.common.storage.interfaces.StorageEngine.StorageHint;
 import com.datumbox.framework.core.common.utilities.SelectKth;
 import com.datumbox.framework.core.machinelearning.common.abstracts.AbstractTrainer;
+import com.datumbox.framework.core.machinelearning.common.interfaces.RecordTransformable;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 /**
@@ -36,7 +40,7 @@ import java.util.stream.Stream;
  * @param <MP>
  * @param <TP>
  */
-public abstract class AbstractScoreBasedFeatureSelector<MP extends AbstractScoreBasedFeatureSelector.AbstractModelParameters, TP extends AbstractScoreBasedFeatureSelector.AbstractTrainingParameters> extends AbstractFeatureSelector<MP, TP> {
+public abstract class AbstractScoreBasedFeatureSelector<MP extends AbstractScoreBasedFeatureSelector.AbstractModelParameters, TP extends AbstractScoreBasedFeatureSelector.AbstractTrainingParameters> extends AbstractFeatureSelector<MP, TP> implements RecordTransformable {
 
     /** {@inheritDoc} */
     public static abstract class AbstractModelParameters extends AbstractFeatureSelector.AbstractModelParameters {
@@ -166,6 +170,30 @@ public abstract class AbstractScoreBasedFeatureSelector<MP extends AbstractScore
         storageEngine.dropBigMap("tmp_removedColumns", tmp_removedColumns);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Consumer<MutableRecord> _createRecordTransformer() {
+        Set<Object> selectedFeatures = knowledgeBase.getModelParameters().getFeatureScores().keySet();
+        Set<TypeInference.DataType> supportedXDataTypes = getSupportedXDataTypes();
+
+        return r -> {
+            AssociativeArray xData = r.getX();
+            for(Object column : xData.keySet().toArray()) {
+                if(supportedXDataTypes.contains(r.getXDataType(column)) && !selectedFeatures.contains(column)) {
+                    xData.remove(column);
+                    r.markModified();
+                }
+            }
+        };
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean changesMeta() {
+        //the columns which are not selected are removed
+        return true;
+    }
+
     /**
      * This method keeps the highest scoring features of the provided feature map
      * and removes all the others.
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,9 +17,12 @@ package com.datumbox.framework.core.machinelearning.common.abstracts.transformer
 
 import com.datumbox.framework.common.Configuration;
 import com.datumbox.framework.common.dataobjects.TypeInference;
+import com.datumbox.framework.core.common.dataobjects.Dataframe;
 import com.datumbox.framework.core.machinelearning.common.abstracts.AbstractTrainer;
+import com.datumbox.framework.core.machinelearning.common.interfaces.RecordTransformable;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -30,7 +33,7 @@ import java.util.Set;
  * @param <MP>
  * @param <TP>
  */
-public abstract class AbstractEncoder<MP extends AbstractEncoder.AbstractModelParameters, TP extends AbstractEncoder.AbstractTrainingParameters> extends AbstractTransformer<MP, TP> {
+public abstract class AbstractEncoder<MP extends AbstractEncoder.AbstractModelParameters, TP extends AbstractEncoder.AbstractTrainingParameters> extends AbstractTransformer<MP, TP> implements RecordTransformable {
 
     /**
      * @param trainingParameters
@@ -55,4 +58,11 @@ public abstract class AbstractEncoder<MP extends AbstractEncoder.AbstractModelPa
     protected Set<TypeInference.DataType> getSupportedXDataTypes() {
         return new HashSet<>(Arrays.asList(TypeInference.DataType.CATEGORICAL, TypeInference.DataType.ORDINAL));
     }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void _transform(Dataframe newData) {
+        newData.transform(Collections.singletonList(_createRecordTransformer()), changesMeta(), isParallelized());
+    }
+
 }
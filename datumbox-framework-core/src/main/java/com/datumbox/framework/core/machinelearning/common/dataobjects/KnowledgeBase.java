@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,9 +21,11 @@ import com.datumbox.framework.common.storage.interfaces.StorageEngine;
 import com.datumbox.framework.core.machinelearning.common.interfaces.ModelParameters;
 import com.datumbox.framework.core.machinelearning.common.interfaces.TrainingParameters;
 
+import java.util.NoSuchElementException;
 
 /**
  * The KnowledgeBase stores internally the training and model parameters of the algorithm.
+ * The parameters of the pre-trained models are loaded from the storage on their first access.
  *
  * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
  * @param <MP>
@@ -44,12 +46,12 @@ public class KnowledgeBase<MP extends ModelParameters, TP extends TrainingParame
     /**
      * The ModelParameters object of the algorithm.
      */
-    private MP modelParameters;
+    private volatile MP modelParameters;
 
     /**
      * The TrainingParameters object of the algorithm.
      */
-    private final TP trainingParameters;
+    private volatile TP trainingParameters;
 
     /**
      * Constructor which is called on model initialization before training.
@@ -72,13 +74,16 @@ public class KnowledgeBase<MP extends ModelParameters, TP extends TrainingParame
      * @param storageName
      * @param configuration
      */
-    @SuppressWarnings("unchecked")
     public KnowledgeBase(String storageName, Configuration configuration) {
         this.configuration = configuration;
         storageEngine = this.configuration.getStorageConfiguration().createStorageEngine(storageName);
 
-        trainingParameters = (TP) storageEngine.loadObject("trainingParameters", TrainingParameters.class);
-        modelParameters = (MP) storageEngine.loadObject("modelParameters", ModelParameters.class);
+        //the parameters are loaded lazily but we fail fast if the model does not exist
+        for(String name : new String[]{"trainingParameters", "modelParameters"}) {
+            if(!storageEngine.existsObject(name)) {
+                throw new NoSuchElementException("Can't find any object with name '"+name+"'");
+            }
+        }
     }
 
     /**
@@ -104,8 +109,19 @@ public class KnowledgeBase<MP extends ModelParameters, TP extends TrainingParame
      *
      * @return
      */
+    @SuppressWarnings("unchecked")
     public TP getTrainingParameters() {
-        return trainingParameters;
+        TP tp = trainingParameters;
+        if(tp == null) {
+            synchronized(this) {
+                tp = trainingParameters;
+                if(tp == null) {
+                    tp = (TP) storageEngine.loadObject("trainingParameters", TrainingParameters.class);
+                    trainingParameters = tp;
+                }
+            }
+        }
+        return tp;
     }
 
     /**
@@ -113,8 +129,19 @@ public class KnowledgeBase<MP extends ModelParameters, TP extends TrainingParame
      *
      * @return
      */
+    @SuppressWarnings("unchecked")
     public MP getModelParameters() {
-        return modelParameters;
+        MP mp = modelParameters;
+        if(mp == null) {
+            synchronized(this) {
+                mp = modelParameters;
+                if(mp == null) {
+                    mp = (MP) storageEngine.loadObject("modelParameters", ModelParameters.class);
+                    modelParameters = mp;
+                }
+            }
+        }
+        return mp;
     }
 
     /**
@@ -122,8 +149,8 @@ public class KnowledgeBase<MP extends ModelParameters, TP extends TrainingParame
      */
     public void save(String storageName) {
         //store the objects on storage
-        storageEngine.saveObject("modelParameters", modelParameters);
-        storageEngine.saveObject("trainingParameters", trainingParameters);
+        storageEngine.saveObject("modelParameters", getModelParameters());
+        storageEngine.saveObject("trainingParameters", getTrainingParameters());
 
         //rename the storage
         storageEngine.rename(storageName);
@@ -156,7 +183,8 @@ public class KnowledgeBase<MP extends ModelParameters, TP extends TrainingParame
      * open the connection to the storage engine.
      */
     public void clear() {
+        Class<MP> mpClass = getTrainingParameters().getMPClass(); //loaded before the storage is cleared
         storageEngine.clear();
-        modelParameters = ModelParameters.newInstance(trainingParameters.getMPClass(), storageEngine);
+        modelParameters = ModelParameters.newInstance(mpClass, storageEngine);
     }
 }
@@ -0,0 +1,50 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.machinelearning.common.interfaces;
+
+import com.datumbox.framework.core.common.dataobjects.MutableRecord;
+
+import java.util.function.Consumer;
+
+/**
+ * All the transformers and feature selectors which transform every record
+ * independently from the rest implement this interface. It allows chaining
+ * multiple of them with a single pass over the data using Dataframe.transform().
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public interface RecordTransformable extends Parallelizable {
+
+    /**
+     * Returns a function which transforms in place a single record and marks
+     * it as modified if it changes. If the function changes the data types of
+     * the columns, it must also mark the data types of the record as outdated.
+     * The function must be thread-safe. The method assumes that the KnowledgeBase
+     * is loaded.
+     *
+     * @return
+     */
+    public Consumer<MutableRecord> _createRecordTransformer();
+
+    /**
+     * Returns whether the transformation changes the columns or their data
+     * types, in which case the meta data of the Dataframe must be recalculated.
+     *
+     * @return
+     */
+    public boolean changesMeta();
+
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,16 +16,15 @@
 package com.datumbox.framework.core.machinelearning.preprocessing;
 
 import com.datumbox.framework.common.Configuration;
-import com.datumbox.framework.common.concurrency.StreamMethods;
 import com.datumbox.framework.common.dataobjects.*;
 import com.datumbox.framework.common.storage.interfaces.StorageEngine;
 import com.datumbox.framework.core.common.dataobjects.Dataframe;
-import com.datumbox.framework.core.common.dataobjects.Record;
+import com.datumbox.framework.core.common.dataobjects.MutableRecord;
 import com.datumbox.framework.core.machinelearning.common.abstracts.AbstractTrainer;
 import com.datumbox.framework.core.machinelearning.common.abstracts.transformers.AbstractScaler;
 
-import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Rescales the numerical features of the dataset between -1 and 1.
@@ -100,49 +99,42 @@ public class BinaryScaler extends AbstractScaler<BinaryScaler.ModelParameters, B
 
     /** {@inheritDoc} */
     @Override
-    protected void _transform(Dataframe newData) {
+    public Consumer<MutableRecord> _createRecordTransformer() {
         TrainingParameters trainingParameters = knowledgeBase.getTrainingParameters();
-        boolean scaleResponse = trainingParameters.getScaleResponse() && newData.getYDataType() == TypeInference.DataType.NUMERICAL;
+        boolean scaleResponse = trainingParameters.getScaleResponse();
         double threshold = trainingParameters.getThreshold();
 
         Set<TypeInference.DataType> supportedXDataTypes = getSupportedXDataTypes();
-        Map<Object, TypeInference.DataType> xDataTypes = newData.getXDataTypes();
 
-        streamExecutor.forEach(StreamMethods.stream(newData.entries(), isParallelized()), e -> {
-            Record r = e.getValue();
-            AssociativeArray xData = r.getX().copy();
-            Object yData = r.getY();
-
-            boolean modified = false;
-            for(Object column : r.getX().keySet()) {
-                if(!supportedXDataTypes.contains(xDataTypes.get(column))) {
+        return r -> {
+            AssociativeArray xData = r.getX();
+            for(Object column : xData.keySet().toArray()) {
+                if(!supportedXDataTypes.contains(r.getXDataType(column))) {
                     continue;
                 }
                 Object value = xData.remove(column);
                 if(value != null) {
                     xData.put(column, scale(TypeInference.toDouble(value), threshold));
                 }
-                modified = true;
+                r.markModified();
             }
 
-            if(scaleResponse && yData != null) {
+            Object yData = r.getY();
+            if(scaleResponse && yData != null && r.getYDataType() == TypeInference.DataType.NUMERICAL) {
                 Double value = TypeInference.toDouble(yData);
 
-                yData = scale(value, threshold);
-                modified = true;
+                r.setY(scale(value, threshold));
             }
 
-            if(modified) {
-                Integer rId = e.getKey();
-                Record newR = new Record(xData, yData, r.getYPredicted(), r.getYPredictedProbabilities());
-
-                //we call below the recalculateMeta()
-                newData._unsafe_set(rId, newR);
-            }
-        });
+            r.markDataTypesOutdated();
+        };
+    }
 
-        //Reset Meta info
-        newData.recalculateMeta();
+    /** {@inheritDoc} */
+    @Override
+    public boolean changesMeta() {
+        //the numerical columns are converted to boolean
+        return true;
     }
 
     /**
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,13 +21,14 @@ import com.datumbox.framework.common.dataobjects.*;
 import com.datumbox.framework.common.storage.interfaces.BigMap;
 import com.datumbox.framework.common.storage.interfaces.StorageEngine;
 import com.datumbox.framework.core.common.dataobjects.Dataframe;
-import com.datumbox.framework.core.common.dataobjects.Record;
+import com.datumbox.framework.core.common.dataobjects.MutableRecord;
 import com.datumbox.framework.core.machinelearning.common.abstracts.AbstractTrainer;
 import com.datumbox.framework.core.machinelearning.common.abstracts.transformers.AbstractScaler;
 import com.datumbox.framework.core.statistics.descriptivestatistics.Descriptives;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 /**
@@ -153,19 +154,15 @@ public class MinMaxScaler extends AbstractScaler<MinMaxScaler.ModelParameters, M
 
     /** {@inheritDoc} */
     @Override
-    protected void _transform(Dataframe newData) {
+    public Consumer<MutableRecord> _createRecordTransformer() {
         ModelParameters modelParameters = knowledgeBase.getModelParameters();
         Map<Object, Double> minColumnValues = modelParameters.getMinColumnValues();
         Map<Object, Double> maxColumnValues = modelParameters.getMaxColumnValues();
         boolean scaleResponse = knowledgeBase.getTrainingParameters().getScaleResponse() && minColumnValues.containsKey(Dataframe.COLUMN_NAME_Y);
 
-        streamExecutor.forEach(StreamMethods.stream(newData.entries(), isParallelized()), e -> {
-            Record r = e.getValue();
-            AssociativeArray xData = r.getX().copy();
-            Object yData = r.getY();
-
-            boolean modified = false;
-            for(Object column : r.getX().keySet()) {
+        return r -> {
+            AssociativeArray xData = r.getX();
+            for(Object column : xData.keySet().toArray()) {
                 Double min = minColumnValues.get(column);
                 if(min == null) {
                     continue;
@@ -175,26 +172,25 @@ public class MinMaxScaler extends AbstractScaler<MinMaxScaler.ModelParameters, M
                     Double max = maxColumnValues.get(column);
                     xData.put(column, scale(TypeInference.toDouble(value), min, max));
                 }
-                modified = true;
+                r.markModified();
             }
 
+            Object yData = r.getY();
             if(scaleResponse && yData != null) {
                 Double value = TypeInference.toDouble(yData);
                 Double min = minColumnValues.get(Dataframe.COLUMN_NAME_Y);
                 Double max = maxColumnValues.get(Dataframe.COLUMN_NAME_Y);
 
-                yData = scale(value, min, max);
-                modified = true;
+                r.setY(scale(value, min, max));
             }
+        };
+    }
 
-            if(modified) {
-                Integer rId = e.getKey();
-                Record newR = new Record(xData, yData, r.getYPredicted(), r.getYPredictedProbabilities());
-
-                //no modification on the actual columns takes place, safe to do.
-                newData._unsafe_set(rId, newR);
-            }
-        });
+    /** {@inheritDoc} */
+    @Override
+    public boolean changesMeta() {
+        //no modification on the actual columns takes place
+        return false;
     }
 
     /**
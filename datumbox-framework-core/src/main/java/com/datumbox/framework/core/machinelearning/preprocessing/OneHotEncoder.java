@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,17 +16,16 @@
 package com.datumbox.framework.core.machinelearning.preprocessing;
 
 import com.datumbox.framework.common.Configuration;
-import com.datumbox.framework.common.concurrency.StreamMethods;
 import com.datumbox.framework.common.dataobjects.*;
 import com.datumbox.framework.common.storage.interfaces.StorageEngine;
 import com.datumbox.framework.core.common.dataobjects.Dataframe;
-import com.datumbox.framework.core.common.dataobjects.Record;
+import com.datumbox.framework.core.common.dataobjects.MutableRecord;
 import com.datumbox.framework.core.machinelearning.common.abstracts.AbstractTrainer;
 import com.datumbox.framework.core.machinelearning.common.abstracts.transformers.AbstractEncoder;
 
 import java.util.Arrays;
-import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Encodes the categorical columns of the dataset into booleans using the One Hot Encoding method.
@@ -81,20 +80,14 @@ public class OneHotEncoder extends AbstractEncoder<OneHotEncoder.ModelParameters
 
     /** {@inheritDoc} */
     @Override
-    protected void _transform(Dataframe newData) {
+    public Consumer<MutableRecord> _createRecordTransformer() {
         Set<TypeInference.DataType> supportedXDataTypes = getSupportedXDataTypes();
-        Map<Object, TypeInference.DataType> xDataTypes = newData.getXDataTypes();
 
         //Replace variables with dummy versions
-        streamExecutor.forEach(StreamMethods.stream(newData.entries(), isParallelized()), e -> {
-            Integer rId = e.getKey();
-            Record r = e.getValue();
-
-            AssociativeArray xData = r.getX().copy();
-
-            boolean modified = false;
-            for(Object column : r.getX().keySet()) {
-                if(!supportedXDataTypes.contains(xDataTypes.get(column))) {
+        return r -> {
+            AssociativeArray xData = r.getX();
+            for(Object column : xData.keySet().toArray()) {
+                if(!supportedXDataTypes.contains(r.getXDataType(column))) {
                     continue;
                 }
                 Object value = xData.remove(column);
@@ -102,19 +95,18 @@ public class OneHotEncoder extends AbstractEncoder<OneHotEncoder.ModelParameters
                     //add a new dummy variable for this column-value combination
                     xData.put(Arrays.asList(column,value), true);
                 }
-                modified = true;
+                r.markModified();
             }
 
-            if(modified) {
-                Record newR = new Record(xData, r.getY(), r.getYPredicted(), r.getYPredictedProbabilities());
-
-                //we call below the recalculateMeta()
-                newData._unsafe_set(rId, newR);
-            }
-        });
+            r.markDataTypesOutdated();
+        };
+    }
 
-        //Reset Meta info
-        newData.recalculateMeta();
+    /** {@inheritDoc} */
+    @Override
+    public boolean changesMeta() {
+        //the columns are replaced with dummy variables
+        return true;
     }
 
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,12 +15,23 @@
  */
 package com.datumbox.framework.core.mathematics.discrete;
 
+import java.util.Arrays;
+
 /**
  * Utility class with useful arithmetic methods.
  * 
  * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
  */
 public class Arithmetics {
+
+    /**
+     * The log-factorials up to this number are stored in a table which is
+     * shared by all threads; larger values are estimated with Stirling's series
+     * which is exact in double precision for such arguments.
+     */
+    private static final int MAX_TABULATED_LOG_FACTORIAL = 1<<16;
+
+    private static volatile double[] logFactorials = buildLogFactorials(new double[]{0.0}, 256);
     
     /**
      * It estimates the factorial of an integer.
@@ -49,6 +60,7 @@ public class Arithmetics {
         if(n<k) {
             throw new IllegalArgumentException("The n can't be smaller than k.");
         }
+        k = Math.min(k, n-k);
         double combinations=1.0;
         double lowerBound = n-k;
         for(int i=n;i>lowerBound;i--) {
@@ -56,6 +68,77 @@ public class Arithmetics {
         }
         return combinations;
     }
-    
+
+    /**
+     * It estimates the natural logarithm of the factorial of an integer. The
+     * values are read from a lazily grown table, so the method is fast, it does
+     * not overflow and it is safe to use from multiple threads.
+     *
+     * @param k
+     * @return
+     */
+    public static double logFactorial(int k) {
+        if(k<0) {
+            throw new IllegalArgumentException("The k can't be negative.");
+        }
+
+        double[] table = logFactorials;
+        if(k<table.length) {
+            return table[k];
+        }
+        else if(k<MAX_TABULATED_LOG_FACTORIAL) {
+            return growLogFactorials(k)[k];
+        }
+
+        //Stirling's series of logGamma(x) for x=k+1
+        double x = k+1.0;
+        double x2 = x*x;
+        return (x-0.5)*Math.log(x) - x + 0.5*Math.log(2.0*Math.PI) + (1.0/12.0 - (1.0/360.0 - 1.0/(1260.0*x2))/x2)/x;
+    }
+
+    /**
+     * It estimates the natural logarithm of the number of k-combinations of n
+     * objects.
+     *
+     * @param n
+     * @param k
+     * @return
+     */
+    public static double logCombination(int n, int k) {
+        if(n<k) {
+            throw new IllegalArgumentException("The n can't be smaller than k.");
+        }
+        return logFactorial(n) - logFactorial(k) - logFactorial(n-k);
+    }
+
+    /**
+     * Grows the table of log-factorials so that it contains k.
+     *
+     * @param k
+     * @return
+     */
+    private static synchronized double[] growLogFactorials(int k) {
+        double[] table = logFactorials;
+        if(k>=table.length) {
+            table = buildLogFactorials(table, Math.min(MAX_TABULATED_LOG_FACTORIAL, Math.max(k+1, 2*table.length)));
+            logFactorials = table;
+        }
+        return table;
+    }
+
+    /**
+     * Returns a copy of the table of log-factorials extended to the provided length.
+     *
+     * @param table
+     * @param length
+     * @return
+     */
+    private static double[] buildLogFactorials(double[] table, int length) {
+        double[] grown = Arrays.copyOf(table, length);
+        for(int i=table.length;i<length;++i) {
+            grown[i] = grown[i-1] + Math.log(i);
+        }
+        return grown;
+    }
     
 }
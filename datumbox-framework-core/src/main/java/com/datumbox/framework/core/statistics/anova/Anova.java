@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,7 +19,6 @@ import com.datumbox.framework.common.dataobjects.AssociativeArray2D;
 import com.datumbox.framework.common.dataobjects.FlatDataCollection;
 import com.datumbox.framework.common.dataobjects.TransposeDataCollection;
 import com.datumbox.framework.common.dataobjects.TransposeDataCollection2D;
-import com.datumbox.framework.core.statistics.descriptivestatistics.Descriptives;
 import com.datumbox.framework.core.statistics.distributions.ContinuousDistributions;
 
 import java.util.HashMap;
@@ -44,29 +43,44 @@ public class Anova {
      * @return
      */
     public static boolean oneWayTestEqualVars(TransposeDataCollection transposeDataCollection, double aLevel, AssociativeArray2D outputTable) {
+        return oneWayTestEqualVars(transposeDataCollection.toDoubleArrays(), aLevel, outputTable);
+    }
+    
+    /**
+     * Performs One-Way ANOVA Test on the observations of the groups when variances
+     * are considered equal. Every row of the array holds the observations of one
+     * group. Pass an empty array on the $outputTable variable to get statistics 
+     * concerning the ANOVA.
+     * 
+     * @param groups
+     * @param aLevel
+     * @param outputTable
+     * @return
+     */
+    public static boolean oneWayTestEqualVars(double[][] groups, double aLevel, AssociativeArray2D outputTable) {
         int n = 0;
-        int k = transposeDataCollection.size();
+        int k = groups.length;
         if(k<=1) {
             throw new IllegalArgumentException("The collection must contain observations from at least 2 groups.");
         }
 
-        Map<Object, Integer> nj = new HashMap<>();
         double Ymean = 0.0; //Total Y mean for 
-        Map<Object, Double> Yjmean = new HashMap<>();
-        for(Map.Entry<Object, FlatDataCollection> entry : transposeDataCollection.entrySet()) {
-            Object j = entry.getKey();
-            FlatDataCollection flatDataCollection = entry.getValue();
+        double[] Yjmean = new double[k];
+        for(int j=0;j<k;++j) {
+            double[] group = groups[j];
             
-            int m = flatDataCollection.size();
+            int m = group.length;
             if(m==0) {
                 throw new IllegalArgumentException("The number of observations in each group but be larger than 0.");
             }
-            nj.put(j, m); //get the number of observation for this category
             n+=m;
             
-            double sum = Descriptives.sum(flatDataCollection);
+            double sum = 0.0;
+            for(double value : group) {
+                sum+=value;
+            }
             
-            Yjmean.put(j, sum/m);
+            Yjmean[j] = sum/m;
             Ymean+=sum;
         }
         
@@ -78,15 +92,15 @@ public class Anova {
         
         double RSS=0.0;
         double BSS=0.0;
-        for(Map.Entry<Object, FlatDataCollection> entry : transposeDataCollection.entrySet()) {
-            Object j = entry.getKey();
-            FlatDataCollection flatDataCollection = entry.getValue();
+        for(int j=0;j<k;++j) {
+            double[] group = groups[j];
             
-            Iterator<Double> it = flatDataCollection.iteratorDouble();
-            while(it.hasNext()) {
-                RSS+=Math.pow( it.next() - Yjmean.get(j), 2);
+            for(double value : group) {
+                double delta = value - Yjmean[j];
+                RSS+=delta*delta;
             }
-            BSS+=nj.get(j) * Math.pow( Yjmean.get(j) - Ymean, 2);
+            double delta = Yjmean[j] - Ymean;
+            BSS+=group.length * delta*delta;
         }
         
         double F = (BSS/(k-1))/(RSS/(n-k));
@@ -132,6 +146,18 @@ public class Anova {
         return oneWayTestEqualVars(transposeDataCollection, aLevel, null);
     }
     
+    /**
+     * Wrapper function for oneWayTestEqualVars, without passing the optional
+     * output table.
+     * 
+     * @param groups
+     * @param aLevel
+     * @return 
+     */
+    public static boolean oneWayTestEqualVars(double[][] groups, double aLevel) {
+        return oneWayTestEqualVars(groups, aLevel, null);
+    }
+    
     /**
      * Performs One-Way ANOVA Test on the Transpose Data Table when variances are 
      * considered NOT equal. Pass an empty array on the $outputTable variable to 
@@ -143,33 +169,56 @@ public class Anova {
      * @return
      */
     public static boolean oneWayTestNotEqualVars(TransposeDataCollection transposeDataCollection, double aLevel, AssociativeArray2D outputTable) {
+        return oneWayTestNotEqualVars(transposeDataCollection.toDoubleArrays(), aLevel, outputTable);
+    }
+    
+    /**
+     * Performs One-Way ANOVA Test on the observations of the groups when variances
+     * are considered NOT equal. Every row of the array holds the observations of
+     * one group. Pass an empty array on the $outputTable variable to get 
+     * statistics concerning the ANOVA.
+     * 
+     * @param groups
+     * @param aLevel
+     * @param outputTable
+     * @return
+     */
+    public static boolean oneWayTestNotEqualVars(double[][] groups, double aLevel, AssociativeArray2D outputTable) {
         int n = 0;
-        int k = transposeDataCollection.size();
+        int k = groups.length;
         if(k<=1) {
             throw new IllegalArgumentException("The collection must contain observations from at least 2 groups.");
         }
 
-        Map<Object, Integer> nj = new HashMap<>();
         double Ymean = 0.0; //Total Y mean for 
-        Map<Object, Double> Yjmean = new HashMap<>();
-        Map<Object, Double> Yjvariance = new HashMap<>();
-        for(Map.Entry<Object, FlatDataCollection> entry : transposeDataCollection.entrySet()) {
-            Object j = entry.getKey();
-            FlatDataCollection flatDataCollection = entry.getValue();
+        double[] Yjmean = new double[k];
+        double[] Yjvariance = new double[k];
+        for(int j=0;j<k;++j) {
+            double[] group = groups[j];
             
-            int m = flatDataCollection.size();
+            int m = group.length;
             if(m==0) {
                 throw new IllegalArgumentException("The number of observations in each group but be larger than 0.");
             }
-            nj.put(j, m); //get the number of observation for this category
             n+=m;
             
-            double sum = Descriptives.sum(flatDataCollection);
+            double sum = 0.0;
+            for(double value : group) {
+                sum+=value;
+            }
             
-            Yjmean.put(j, sum/m);
+            Yjmean[j] = sum/m;
             Ymean+=sum;
             
-            Yjvariance.put(j, Descriptives.variance(flatDataCollection, true));
+            if(m<=1) {
+                throw new IllegalArgumentException("The provided collection must have more than 1 elements.");
+            }
+            double RSSj = 0.0;
+            for(double value : group) {
+                double delta = value - Yjmean[j];
+                RSSj+=delta*delta;
+            }
+            Yjvariance[j] = RSSj/(m-1.0);
         }
         
         if(n-k<=0) {
@@ -179,22 +228,20 @@ public class Anova {
         Ymean/=n;
         
         double BSS = 0.0;
-        Map<Object, Double> mj = new HashMap<>();
+        double[] mj = new double[k];
         double mjSum = 0.0;
-        for(Map.Entry<Object, FlatDataCollection> entry : transposeDataCollection.entrySet()) {
-            Object j = entry.getKey();
-            //FlatDataCollection flatDataCollection = entry.getValue();
-        
-            BSS += nj.get(j)*Math.pow(Yjmean.get(j)-Ymean, 2);
-            mj.put(j, (1.0- (double)nj.get(j)/n)*Yjvariance.get(j));
-            mjSum+=mj.get(j);
+        for(int j=0;j<k;++j) {
+            int nj = groups[j].length;
+            double delta = Yjmean[j]-Ymean;
+            BSS += nj*delta*delta;
+            mj[j] = (1.0- (double)nj/n)*Yjvariance[j];
+            mjSum+=mj[j];
         }
         
         double dfDenominator = 0.0;
-        for(Map.Entry<Object, FlatDataCollection> entry : transposeDataCollection.entrySet()) {
-            Object j = entry.getKey();
-            //FlatDataCollection flatDataCollection = entry.getValue();
-            dfDenominator+=Math.pow(mj.get(j)/mjSum, 2)/(nj.get(j)-1.0);
+        for(int j=0;j<k;++j) {
+            double ratio = mj[j]/mjSum;
+            dfDenominator+=ratio*ratio/(groups[j].length-1.0);
         }
         
         int df = (int)Math.round(1.0/dfDenominator);
@@ -238,6 +285,18 @@ public class Anova {
         return oneWayTestNotEqualVars(transposeDataCollection, aLevel, null);
     }
     
+    /**
+     * Wrapper function for oneWayTestNotEqualVars, without passing the optional
+     * output table.
+     * 
+     * @param groups
+     * @param aLevel
+     * @return 
+     */
+    public static boolean oneWayTestNotEqualVars(double[][] groups, double aLevel) {
+        return oneWayTestNotEqualVars(groups, aLevel, null);
+    }
+    
     /**
      * Performs Two-Way ANOVA Test on the TransposeDataCollection2D when variances 
  are considered equal.
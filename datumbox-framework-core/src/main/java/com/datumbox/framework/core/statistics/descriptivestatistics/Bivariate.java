@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,15 +15,18 @@
  */
 package com.datumbox.framework.core.statistics.descriptivestatistics;
 
+import com.datumbox.framework.common.concurrency.ForkJoinStream;
+import com.datumbox.framework.common.concurrency.StreamMethods;
 import com.datumbox.framework.common.dataobjects.DataTable2D;
 import com.datumbox.framework.core.common.dataobjects.Dataframe;
-import com.datumbox.framework.common.dataobjects.TransposeDataList;
 import com.datumbox.framework.common.dataobjects.TypeInference;
+import com.datumbox.framework.core.common.dataobjects.Record;
 import com.datumbox.framework.core.statistics.nonparametrics.relatedsamples.KendallTauCorrelation;
-import com.datumbox.framework.core.statistics.nonparametrics.relatedsamples.SpearmanCorrelation;
-import com.datumbox.framework.core.statistics.parametrics.relatedsamples.PearsonCorrelation;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 /**
  * The Bivariate class enables us to estimate correlation metrics between different
@@ -38,88 +41,140 @@ public class Bivariate {
     };
     
     /**
-     * Calculates BivariateMatrix for a given statistic
+     * Calculates BivariateMatrix for a given statistic. The non-categorical
+     * columns are extracted with a single scan of the Dataframe and the upper 
+     * triangle of the matrix is estimated in parallel.
      * 
      * @param dataSet
      * @param type
      * @return 
      */
     private static DataTable2D bivariateMatrix(Dataframe dataSet, BivariateType type) {
-        DataTable2D bivariateMatrix = new DataTable2D();
+        //select the non-categorical variables
+        List<Object> variables = new ArrayList<>();
+        for(Map.Entry<Object, TypeInference.DataType> entry : dataSet.getXDataTypes().entrySet()) {
+            if(entry.getValue()!=TypeInference.DataType.CATEGORICAL) {
+                variables.add(entry.getKey());
+            }
+        }
+        int numberOfVariables = variables.size();
+        
+        //extract the values of all the variables with a single scan
+        int n = dataSet.size();
+        double[][] columns = new double[numberOfVariables][n];
+        int rowId = 0;
+        for(Record r : dataSet.values()) {
+            for(int i=0;i<numberOfVariables;++i) {
+                columns[i][rowId] = TypeInference.toDouble(r.getX().get(variables.get(i)));
+            }
+            ++rowId;
+        }
         
-        //extract values of first variable
-        Map<Object, TypeInference.DataType> columnTypes = dataSet.getXDataTypes();
-        Object[] allVariables = columnTypes.keySet().toArray();
-        int numberOfVariables = allVariables.length;
+        ForkJoinStream streamExecutor = new ForkJoinStream(dataSet.getConfiguration().getConcurrencyConfiguration());
+        boolean parallelized = dataSet.getConfiguration().getConcurrencyConfiguration().isParallelized();
         
-        TransposeDataList transposeDataList;
-        for(int i=0;i<numberOfVariables;++i) {
-            Object variable0 = allVariables[i];
-            if(columnTypes.get(variable0)==TypeInference.DataType.CATEGORICAL) {
-                continue;
+        //transform the columns once so that the pairwise statistics are simple dot products
+        double[] scales = new double[numberOfVariables];
+        if(type==BivariateType.COVARIANCE || type==BivariateType.PEARSONCORRELATION) {
+            if(type==BivariateType.COVARIANCE && n<=1) {
+                throw new IllegalArgumentException("The number of observations in each group must be equal and larger than 1.");
+            }
+            else if(type==BivariateType.PEARSONCORRELATION && n<=2) {
+                throw new IllegalArgumentException("The number of observations in each group must be equal and larger than 2.");
+            }
+            streamExecutor.forEach(StreamMethods.stream(IntStream.range(0, numberOfVariables).boxed(), parallelized), i -> {
+                center(columns[i]);
+                scales[i] = dot(columns[i], columns[i]);
+            });
+        }
+        else if(type==BivariateType.SPEARMANCORRELATION) {
+            if(n<=0) {
+                throw new IllegalArgumentException("The number of observations in each group must be equal and larger than 0.");
             }
-            
-            transposeDataList = new TransposeDataList();
-            
-            //extract values of first variable
-            transposeDataList.put(0, dataSet.getXColumn(variable0));
-            
+            streamExecutor.forEach(StreamMethods.stream(IntStream.range(0, numberOfVariables).boxed(), parallelized), i -> {
+                //tie corrected sum of squared deviations of the ranks, (n^3-n-sum(t^3-t))/12
+                scales[i] = ((n*(double)n-1.0)*n - Ranks.getRanksFromValues(columns[i]))/12.0;
+            });
+        }
+        
+        //estimate the upper triangle of the matrix
+        double[][] values = new double[numberOfVariables][numberOfVariables];
+        streamExecutor.forEach(StreamMethods.stream(IntStream.range(0, numberOfVariables).boxed(), parallelized), i -> {
             for(int j=i;j<numberOfVariables;++j) {
-                Object variable1 = allVariables[j];
-                if(columnTypes.get(variable1)==TypeInference.DataType.CATEGORICAL) {
-                    continue;
-                }
-            
-                transposeDataList.put(1, dataSet.getXColumn(variable1));
-                
-                double value = 0.0;
+                double value;
                 if(type==BivariateType.COVARIANCE) {
-                    value = Descriptives.covariance(transposeDataList, true);
+                    value = ((i==j)?scales[i]:dot(columns[i], columns[j]))/(n-1.0);
+                }
+                else if(i==j) {
+                    value = 1.0;
                 }
                 else if(type==BivariateType.PEARSONCORRELATION) {
-                    if(variable0.equals(variable1)) {
-                        value=1.0;
-                    }
-                    else {
-                        value = PearsonCorrelation.calculateCorrelation(transposeDataList);
-                    }
+                    value = dot(columns[i], columns[j])/Math.sqrt(scales[i]*scales[j]);
                 }
                 else if(type==BivariateType.SPEARMANCORRELATION) {
-                    if(variable0.equals(variable1)) {
-                        value=1.0;
-                    }
-                    else {
-                        value = SpearmanCorrelation.calculateCorrelation(transposeDataList);
+                    //the columns hold the ranks and the scales the tie corrected sums of squared ranks
+                    double Sum_Di_square = 0.0;
+                    double[] ranksX = columns[i];
+                    double[] ranksY = columns[j];
+                    for(int k=0;k<n;++k) {
+                        double di = ranksX[k] - ranksY[k];
+                        Sum_Di_square += di*di;
                     }
+                    value = (scales[i]+scales[j]-Sum_Di_square)/(2.0*Math.sqrt(scales[i]*scales[j]));
                 }
-                else if(type==BivariateType.KENDALLTAUCORRELATION) {
-                    if(variable0.equals(variable1)) {
-                        value=1.0;
-                    }
-                    else {
-                        value = KendallTauCorrelation.calculateCorrelation(transposeDataList);
-                    }
+                else {
+                    value = KendallTauCorrelation.calculateCorrelation(columns[i], columns[j]);
                 }
-                
-                //bivariateMatrix.internalData.get(variable0).internalData.put(variable1, value);
-                bivariateMatrix.put2d(variable0, variable1, value);
-                
-                if(!variable0.equals(variable1)) {
-                    /*
-                    if(!bivariateMatrix.internalData.containsKey(variable1)) {
-                        bivariateMatrix.internalData.put(variable1, new AssociativeArray());
-                    }
-                    bivariateMatrix.internalData.get(variable1).internalData.put(variable0, value);
-                    */
-                    bivariateMatrix.put2d(variable1, variable0, value);
+                values[i][j] = value;
+            }
+        });
+        
+        DataTable2D bivariateMatrix = new DataTable2D();
+        for(int i=0;i<numberOfVariables;++i) {
+            Object variable0 = variables.get(i);
+            for(int j=i;j<numberOfVariables;++j) {
+                Object variable1 = variables.get(j);
+                bivariateMatrix.put2d(variable0, variable1, values[i][j]);
+                if(i!=j) {
+                    bivariateMatrix.put2d(variable1, variable0, values[i][j]);
                 }
             }
-            //transposeDataList = null;
         }
         
         return bivariateMatrix;
     }
     
+    /**
+     * Subtracts the mean from the values.
+     * 
+     * @param values 
+     */
+    private static void center(double[] values) {
+        double mean = 0.0;
+        for(double v : values) {
+            mean += v;
+        }
+        mean /= values.length;
+        for(int i=0;i<values.length;++i) {
+            values[i] -= mean;
+        }
+    }
+    
+    /**
+     * Estimates the dot product of two vectors.
+     * 
+     * @param x
+     * @param y
+     * @return 
+     */
+    private static double dot(double[] x, double[] y) {
+        double sum = 0.0;
+        for(int i=0;i<x.length;++i) {
+            sum += x[i]*y[i];
+        }
+        return sum;
+    }
+    
     /**
      * Calculates Covariance Matrix.
      * 
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,11 @@
 package com.datumbox.framework.core.statistics.descriptivestatistics;
 
 import com.datumbox.framework.common.dataobjects.*;
+import com.datumbox.framework.core.common.utilities.SelectKth;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -107,18 +109,25 @@ public class Descriptives {
     }
     
     /**
-     * Calculates the median.
+     * Calculates the median. The order statistics are found with a selection 
+     * algorithm in linear time instead of sorting the values. For collections 
+     * that don't fit in memory use the QuantileSketch.
      * 
      * @param flatDataCollection
      * @return
      */
     public static double median(FlatDataCollection flatDataCollection) {
-        double[] doubleArray = flatDataCollection.stream().filter(x -> x!=null).mapToDouble(TypeInference::toDouble).toArray();
+        double[] doubleArray = flatDataCollection.toDoubleArray();
         int n = doubleArray.length;
         if(n==0) {
             throw new IllegalArgumentException("The provided collection can't be empty.");
         }
-        Arrays.sort(doubleArray);
+        if(n%2==0) {
+            SelectKth.select(doubleArray, n/2 - 1, n/2);
+        }
+        else {
+            SelectKth.select(doubleArray, n/2);
+        }
         
         double median;
         if(n%2==0) {
@@ -393,31 +402,8 @@ public class Descriptives {
      * @return
      */
     public static double kurtosis(FlatDataCollection flatDataCollection) {
-	    int n = count(flatDataCollection);
-        if(n<=3) {
-            throw new IllegalArgumentException("The provided collection must have more than 3 elements.");
-        }
-        
-        double mean = mean(flatDataCollection);
-        
-        double m4 = moment(flatDataCollection, 4, mean);
-        double m2 = moment(flatDataCollection, 2, mean);        
-
-        /*
-        g2=m4/(m2*m2);
-
-        kurtosis=((n-1.0)/((n-2.0)*(n-3.0)))*((n+1.0)*g2 +6.0);
-        //kurtosis=g2/(n-1.0)-3.0;
-        //kurtosis=g2;
-        */
-        
-        double s = (n/(n-1.0))*m2;
-        
-        double Mcapital4=n*m4;
-        double Mcapital2=n*m2;
-        double kurtosis=(n*(n+1.0)*Mcapital4-3*Mcapital2*Mcapital2*(n-1.0))/((n-1.0)*(n-2.0)*(n-3.0)*s*s);
-        
-        return kurtosis;
+        //estimate the moments with a single pass
+        return new OnlineDescriptives(flatDataCollection).kurtosis();
     }
     
     /**
@@ -445,19 +431,8 @@ public class Descriptives {
      * @return
      */
     public static double skewness(FlatDataCollection flatDataCollection) {
-	    int n = count(flatDataCollection);
-        if(n<=1) {
-            throw new IllegalArgumentException("The provided collection must have more than 1 elements.");
-        }
-        
-        double mean = mean(flatDataCollection);
-        
-        double m3 = moment(flatDataCollection, 3, mean);
-        double variance = variance(flatDataCollection, false);        
-    
-        double skewness=m3/Math.pow(variance, 3.0/2.0);
-        
-        return skewness;
+        //estimate the moments with a single pass
+        return new OnlineDescriptives(flatDataCollection).skewness();
     }
     
     /**
@@ -479,19 +454,32 @@ public class Descriptives {
     }
     
     /**
-     * Calculates the percentiles given a number of cutPoints
+     * Calculates the percentiles given a number of cutPoints. The order statistics 
+     * are found with a selection algorithm instead of sorting the values. For 
+     * collections that don't fit in memory use the QuantileSketch.
      * 
      * @param flatDataCollection
      * @param cutPoints
      * @return
      */
     public static AssociativeArray percentiles(FlatDataCollection flatDataCollection, int cutPoints) {
-        double[] doubleArray = flatDataCollection.stream().filter(x -> x!=null).mapToDouble(TypeInference::toDouble).toArray();
+        double[] doubleArray = flatDataCollection.toDoubleArray();
         int n = doubleArray.length;
         if(n<=0 || cutPoints<=0 || n<cutPoints) {
             throw new IllegalArgumentException("All the parameters must be positive and n larger than cutPoints.");
         }
-        Arrays.sort(doubleArray);
+        
+        //find the positions used by the percentiles and place the order statistics on them
+        List<Integer> positions = new ArrayList<>();
+        for(int counter=1;counter<=cutPoints;++counter) {
+            int CCk2=(int)((n+1.0)*(counter/(double)cutPoints));
+            for(int position=CCk2-1;position<=CCk2;++position) {
+                if(position>=0 && position<n) {
+                    positions.add(position);
+                }
+            }
+        }
+        SelectKth.select(doubleArray, positions.stream().mapToInt(Integer::intValue).toArray());
         
         /*
         Uses the Haverage algorithm which is used by SPSS as described at: 
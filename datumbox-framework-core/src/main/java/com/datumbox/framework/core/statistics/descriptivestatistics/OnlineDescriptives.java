@@ -0,0 +1,306 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.statistics.descriptivestatistics;
+
+import com.datumbox.framework.common.dataobjects.FlatDataCollection;
+
+import java.io.Serializable;
+import java.util.Iterator;
+
+/**
+ * The OnlineDescriptives is an accumulator which estimates the count, sum, min,
+ * max and the first four moments of a stream of values in O(1) memory and with
+ * a single pass. The moments are updated with the numerically stable formulas of
+ * Welford and Terriberry and two accumulators can be combined with merge(), so
+ * a stream can be processed in parallel chunks. The statistics follow the same
+ * definitions as the ones of the Descriptives class.
+ *
+ * The class is not thread-safe; use one accumulator per thread and merge them,
+ * for example with stream.collect(OnlineDescriptives::new, OnlineDescriptives::add, OnlineDescriptives::merge).
+ *
+ * References:
+ * https://en.wikipedia.org/wiki/Algorithms_for_calculating_variance#Higher-order_statistics
+ * Pebay, P. (2008). Formulas for Robust, One-Pass Parallel Computation of Covariances and Arbitrary-Order Statistical Moments.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class OnlineDescriptives implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long n = 0L;
+
+    private double sum = 0.0;
+
+    private double min = Double.NaN;
+
+    private double max = Double.NaN;
+
+    private double mean = 0.0;
+
+    //sums of the powers of the deviations from the mean
+    private double M2 = 0.0;
+    private double M3 = 0.0;
+    private double M4 = 0.0;
+
+    /**
+     * Default constructor.
+     */
+    public OnlineDescriptives() {
+
+    }
+
+    /**
+     * Constructor which adds all the not-null values of the collection.
+     *
+     * @param flatDataCollection
+     */
+    public OnlineDescriptives(FlatDataCollection flatDataCollection) {
+        addAll(flatDataCollection);
+    }
+
+    /**
+     * Adds a value in the accumulator.
+     *
+     * @param value
+     */
+    public void add(double value) {
+        if(n==0 || value<min) {
+            min = value;
+        }
+        if(n==0 || value>max) {
+            max = value;
+        }
+        sum += value;
+
+        double n1 = n;
+        ++n;
+        double delta = value - mean;
+        double delta_n = delta/n;
+        double delta_n2 = delta_n*delta_n;
+        double term1 = delta*delta_n*n1;
+
+        mean += delta_n;
+        M4 += term1*delta_n2*(n*(double)n - 3.0*n + 3.0) + 6.0*delta_n2*M2 - 4.0*delta_n*M3;
+        M3 += term1*delta_n*(n - 2.0) - 3.0*delta_n*M2;
+        M2 += term1;
+    }
+
+    /**
+     * Adds all the not-null values of the collection in the accumulator.
+     *
+     * @param flatDataCollection
+     */
+    public final void addAll(FlatDataCollection flatDataCollection) {
+        Iterator<Double> it = flatDataCollection.iteratorDouble();
+        while(it.hasNext()) {
+            Double value = it.next();
+            if(value != null) {
+                add(value);
+            }
+        }
+    }
+
+    /**
+     * Merges the values of another accumulator into this one. The other
+     * accumulator is not modified.
+     *
+     * @param other
+     */
+    public void merge(OnlineDescriptives other) {
+        if(other.n==0) {
+            return;
+        }
+        if(n==0) {
+            n = other.n;
+            sum = other.sum;
+            min = other.min;
+            max = other.max;
+            mean = other.mean;
+            M2 = other.M2;
+            M3 = other.M3;
+            M4 = other.M4;
+            return;
+        }
+
+        double na = n;
+        double nb = other.n;
+        double nTotal = na+nb;
+        double delta = other.mean - mean;
+        double delta2 = delta*delta;
+        double delta3 = delta2*delta;
+        double delta4 = delta2*delta2;
+
+        double combinedM4 = M4 + other.M4 + delta4*na*nb*(na*na - na*nb + nb*nb)/(nTotal*nTotal*nTotal)
+                + 6.0*delta2*(na*na*other.M2 + nb*nb*M2)/(nTotal*nTotal) + 4.0*delta*(na*other.M3 - nb*M3)/nTotal;
+        double combinedM3 = M3 + other.M3 + delta3*na*nb*(na - nb)/(nTotal*nTotal) + 3.0*delta*(na*other.M2 - nb*M2)/nTotal;
+        double combinedM2 = M2 + other.M2 + delta2*na*nb/nTotal;
+
+        n += other.n;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        mean += delta*nb/nTotal;
+        M2 = combinedM2;
+        M3 = combinedM3;
+        M4 = combinedM4;
+    }
+
+    /**
+     * Returns a copy of the accumulator, which is a snapshot of its current state.
+     *
+     * @return
+     */
+    public OnlineDescriptives copy() {
+        OnlineDescriptives copy = new OnlineDescriptives();
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return
+     */
+    public long count() {
+        return n;
+    }
+
+    /**
+     * Returns the sum of the values.
+     *
+     * @return
+     */
+    public double sum() {
+        return sum;
+    }
+
+    /**
+     * Returns the minimum value.
+     *
+     * @return
+     */
+    public double min() {
+        checkSize(0);
+        return min;
+    }
+
+    /**
+     * Returns the maximum value.
+     *
+     * @return
+     */
+    public double max() {
+        checkSize(0);
+        return max;
+    }
+
+    /**
+     * Calculates the simple mean.
+     *
+     * @return
+     */
+    public double mean() {
+        if(n==0) {
+            throw new IllegalArgumentException("No not null values where found in the collection.");
+        }
+        return mean;
+    }
+
+    /**
+     * Calculates Standard Error of Mean under SRS.
+     *
+     * @return
+     */
+    public double meanSE() {
+        return std(true)/Math.sqrt(n);
+    }
+
+    /**
+     * Calculates the Variance.
+     *
+     * @param isSample
+     * @return
+     */
+    public double variance(boolean isSample) {
+        checkSize(1);
+        return isSample?M2/(n-1.0):M2/n;
+    }
+
+    /**
+     * Calculates the Standard Deviation.
+     *
+     * @param isSample
+     * @return
+     */
+    public double std(boolean isSample) {
+        return Math.sqrt(variance(isSample));
+    }
+
+    /**
+     * Calculates the central Moment R. Moments up to 4 are supported.
+     *
+     * @param r
+     * @return
+     */
+    public double moment(int r) {
+        checkSize(1);
+        switch(r) {
+            case 1:
+                return 0.0;
+            case 2:
+                return M2/n;
+            case 3:
+                return M3/n;
+            case 4:
+                return M4/n;
+            default:
+                throw new IllegalArgumentException("Only the moments from 1 to 4 are supported.");
+        }
+    }
+
+    /**
+     * Calculates Kurtosis. Uses the same formula as Descriptives.kurtosis().
+     *
+     * @return
+     */
+    public double kurtosis() {
+        checkSize(3);
+
+        double s = M2/(n-1.0);
+        double kurtosis=(n*(n+1.0)*M4-3*M2*M2*(n-1.0))/((n-1.0)*(n-2.0)*(n-3.0)*s*s);
+
+        return kurtosis;
+    }
+
+    /**
+     * Calculates Skewness. Uses the same formula as Descriptives.skewness().
+     *
+     * @return
+     */
+    public double skewness() {
+        checkSize(1);
+
+        double skewness=(M3/n)/Math.pow(M2/n, 3.0/2.0);
+
+        return skewness;
+    }
+
+    private void checkSize(int minSize) {
+        if(n<=minSize) {
+            throw new IllegalArgumentException("The provided collection must have more than " + minSize + " elements.");
+        }
+    }
+}
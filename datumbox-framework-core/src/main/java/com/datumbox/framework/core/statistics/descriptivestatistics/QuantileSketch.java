@@ -0,0 +1,411 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.statistics.descriptivestatistics;
+
+import com.datumbox.framework.common.dataobjects.AssociativeArray;
+import com.datumbox.framework.common.dataobjects.FlatDataCollection;
+import com.datumbox.framework.common.utilities.RandomGenerator;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * The QuantileSketch is a streaming and mergeable estimator of the quantiles of
+ * a stream of values which uses bounded memory. It implements the KLL sketch
+ * which keeps a hierarchy of compactors; every time a compactor is full, its
+ * values are sorted and every other value is promoted to the next level with
+ * double weight.
+ *
+ * The memory is O(k log(n/k)) and the estimated quantiles have a normalized rank
+ * error which is proportional to 1/k. For the default k=200, the rank of the
+ * estimated quantiles is within 1.5% of the requested one with high probability.
+ * Sketches built on different chunks of the data can be combined with merge().
+ * The class is not thread-safe; use one sketch per thread and merge them.
+ *
+ * References:
+ * Karnin, Z., Lang, K., Liberty, E. (2016). Optimal Quantile Approximation in Streams.
+ * https://arxiv.org/abs/1603.05346
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class QuantileSketch implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final double CAPACITY_DECAY = 2.0/3.0;
+
+    private final int k;
+
+    private long n = 0L;
+
+    private double min = Double.NaN;
+
+    private double max = Double.NaN;
+
+    private double[][] levels = new double[1][];
+
+    private int[] levelSizes = new int[1];
+
+    private int retainedSize = 0;
+
+    private transient double[] sortedValues = null;
+
+    private transient long[] cumulativeWeights = null;
+
+    /**
+     * Constructor which uses the default k=200.
+     */
+    public QuantileSketch() {
+        this(200);
+    }
+
+    /**
+     * Constructor which receives the k parameter which controls the accuracy
+     * and the memory of the sketch.
+     *
+     * @param k
+     */
+    public QuantileSketch(int k) {
+        if(k<8) {
+            throw new IllegalArgumentException("The k parameter must be at least 8.");
+        }
+        this.k = k;
+        levels[0] = new double[k];
+    }
+
+    /**
+     * Getter for the k parameter.
+     *
+     * @return
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Returns the number of values that were added in the sketch.
+     *
+     * @return
+     */
+    public long getN() {
+        return n;
+    }
+
+    /**
+     * Returns the number of values that are retained by the sketch.
+     *
+     * @return
+     */
+    public int getRetainedSize() {
+        return retainedSize;
+    }
+
+    /**
+     * Returns the minimum value of the stream.
+     *
+     * @return
+     */
+    public double getMin() {
+        checkNotEmpty();
+        return min;
+    }
+
+    /**
+     * Returns the maximum value of the stream.
+     *
+     * @return
+     */
+    public double getMax() {
+        checkNotEmpty();
+        return max;
+    }
+
+    /**
+     * Adds a value in the sketch. NaN values are ignored.
+     *
+     * @param value
+     */
+    public void add(double value) {
+        if(Double.isNaN(value)) {
+            return;
+        }
+        if(n==0 || value<min) {
+            min = value;
+        }
+        if(n==0 || value>max) {
+            max = value;
+        }
+        ++n;
+
+        append(0, value);
+        if(retainedSize>=totalCapacity()) {
+            compress();
+        }
+        sortedValues = null;
+    }
+
+    /**
+     * Adds all the not-null values of the collection in the sketch.
+     *
+     * @param flatDataCollection
+     */
+    public void addAll(FlatDataCollection flatDataCollection) {
+        Iterator<Double> it = flatDataCollection.iteratorDouble();
+        while(it.hasNext()) {
+            Double value = it.next();
+            if(value != null) {
+                add(value);
+            }
+        }
+    }
+
+    /**
+     * Merges the values of another sketch into this one. The other sketch is
+     * not modified.
+     *
+     * @param other
+     */
+    public void merge(QuantileSketch other) {
+        if(other.n==0) {
+            return;
+        }
+        if(n==0 || other.min<min) {
+            min = other.min;
+        }
+        if(n==0 || other.max>max) {
+            max = other.max;
+        }
+        n += other.n;
+
+        for(int h=0;h<other.levels.length;++h) {
+            for(int i=0;i<other.levelSizes[h];++i) {
+                append(h, other.levels[h][i]);
+            }
+        }
+        while(retainedSize>=totalCapacity()) {
+            compress();
+        }
+        sortedValues = null;
+    }
+
+    /**
+     * Estimates the value at the provided quantile (between 0 and 1).
+     *
+     * @param quantile
+     * @return
+     */
+    public double quantile(double quantile) {
+        checkNotEmpty();
+        if(quantile<0.0 || quantile>1.0) {
+            throw new IllegalArgumentException("The quantile must be between 0 and 1.");
+        }
+        if(quantile==0.0) {
+            return min;
+        }
+        else if(quantile==1.0) {
+            return max;
+        }
+
+        buildSortedView();
+        double targetWeight = quantile*n;
+        int index = 0;
+        while(index<sortedValues.length-1 && cumulativeWeights[index]<targetWeight) {
+            ++index;
+        }
+        return sortedValues[index];
+    }
+
+    /**
+     * Estimates the fraction of the values that are less than or equal to the
+     * provided value.
+     *
+     * @param value
+     * @return
+     */
+    public double rank(double value) {
+        checkNotEmpty();
+        buildSortedView();
+
+        //binary search for the last value which is less than or equal to the provided
+        int lo = 0, hi = sortedValues.length;
+        while(lo<hi) {
+            int mid = (lo+hi)>>>1;
+            if(sortedValues[mid]<=value) {
+                lo = mid+1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return (lo==0)?0.0:cumulativeWeights[lo-1]/(double)n;
+    }
+
+    /**
+     * Estimates the median.
+     *
+     * @return
+     */
+    public double median() {
+        return quantile(0.5);
+    }
+
+    /**
+     * Estimates the percentiles given a number of cutPoints. The keys of the
+     * result are the same as in Descriptives.percentiles().
+     *
+     * @param cutPoints
+     * @return
+     */
+    public AssociativeArray percentiles(int cutPoints) {
+        if(cutPoints<=0) {
+            throw new IllegalArgumentException("The cutPoints must be positive.");
+        }
+        AssociativeArray percintiles = new AssociativeArray();
+        for(int counter=1;counter<cutPoints;++counter) {
+            double perc = counter/(double)cutPoints;
+            percintiles.put(100*perc, quantile(perc));
+        }
+        return percintiles;
+    }
+
+    /**
+     * Estimates the quartiles.
+     *
+     * @return
+     */
+    public AssociativeArray quartiles() {
+        return percentiles(4);
+    }
+
+    private void checkNotEmpty() {
+        if(n==0) {
+            throw new IllegalArgumentException("The sketch is empty.");
+        }
+    }
+
+    private int capacity(int level) {
+        int depth = levels.length-1-level;
+        return Math.max(2, (int)Math.ceil(k*Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private int totalCapacity() {
+        int total = 0;
+        for(int h=0;h<levels.length;++h) {
+            total += capacity(h);
+        }
+        return total;
+    }
+
+    private void append(int level, double value) {
+        while(level>=levels.length) {
+            addLevel();
+        }
+        double[] items = levels[level];
+        if(levelSizes[level]==items.length) {
+            items = Arrays.copyOf(items, Math.max(2*items.length, 8));
+            levels[level] = items;
+        }
+        items[levelSizes[level]++] = value;
+        ++retainedSize;
+    }
+
+    private void addLevel() {
+        int numberOfLevels = levels.length;
+        levels = Arrays.copyOf(levels, numberOfLevels+1);
+        levelSizes = Arrays.copyOf(levelSizes, numberOfLevels+1);
+        levels[numberOfLevels] = new double[8];
+    }
+
+    /**
+     * Compacts the lowest level which exceeds its capacity by promoting every
+     * other of its sorted values to the next level.
+     */
+    private void compress() {
+        for(int h=0;h<levels.length;++h) {
+            int size = levelSizes[h];
+            if(size<capacity(h)) {
+                continue;
+            }
+            if(h==levels.length-1) {
+                addLevel();
+            }
+
+            double[] items = levels[h];
+            Arrays.sort(items, 0, size);
+
+            //if the size is odd, the largest value stays on the level
+            int pairs = size/2;
+            int offset = RandomGenerator.getThreadLocalRandom().nextBoolean()?1:0;
+            for(int i=0;i<pairs;++i) {
+                append(h+1, items[2*i+offset]);
+            }
+            if(size%2==1) {
+                items[0] = items[size-1];
+                levelSizes[h] = 1;
+            }
+            else {
+                levelSizes[h] = 0;
+            }
+            retainedSize -= 2*pairs;
+            return;
+        }
+    }
+
+    /**
+     * Builds the sorted list of the retained values along with their cumulative
+     * weights.
+     */
+    private void buildSortedView() {
+        if(sortedValues!=null) {
+            return;
+        }
+
+        double[] values = new double[0];
+        long[] weights = new long[0];
+        for(int h=0;h<levels.length;++h) {
+            int size = levelSizes[h];
+            if(size==0) {
+                continue;
+            }
+            double[] levelValues = Arrays.copyOf(levels[h], size);
+            Arrays.sort(levelValues);
+            long weight = 1L<<h;
+
+            //merge the sorted values of the level with the ones of the previous levels
+            double[] mergedValues = new double[values.length+size];
+            long[] mergedWeights = new long[values.length+size];
+            int i = 0, j = 0, m = 0;
+            while(i<values.length || j<size) {
+                if(j>=size || (i<values.length && values[i]<=levelValues[j])) {
+                    mergedValues[m] = values[i];
+                    mergedWeights[m++] = weights[i++];
+                }
+                else {
+                    mergedValues[m] = levelValues[j++];
+                    mergedWeights[m++] = weight;
+                }
+            }
+            values = mergedValues;
+            weights = mergedWeights;
+        }
+
+        for(int i=1;i<weights.length;++i) {
+            weights[i] += weights[i-1];
+        }
+        sortedValues = values;
+        cumulativeWeights = weights;
+    }
+}
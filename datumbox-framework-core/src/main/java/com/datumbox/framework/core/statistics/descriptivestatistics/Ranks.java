@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,9 +18,9 @@ package com.datumbox.framework.core.statistics.descriptivestatistics;
 import com.datumbox.framework.common.dataobjects.AssociativeArray;
 import com.datumbox.framework.common.dataobjects.FlatDataList;
 import com.datumbox.framework.common.dataobjects.TypeInference;
-import com.datumbox.framework.core.common.utilities.MapMethods;
 
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -41,12 +41,11 @@ public class Ranks {
      * @return
      */
     public static AssociativeArray getRanksFromValues(FlatDataList flatDataCollection) {
-        AssociativeArray tiesCounter = new AssociativeArray();
-        Map<Object, Double> key2AvgRank = new LinkedHashMap<>();
-        _buildRankArrays(flatDataCollection, tiesCounter, key2AvgRank);
-        int i = 0;
-        for (Object value : flatDataCollection) {
-            flatDataCollection.set(i++, key2AvgRank.get(value));
+        Object[] originalValues = flatDataCollection.toArray();
+        double[] ranks = new double[originalValues.length];
+        AssociativeArray tiesCounter = _getRanksFromValues(originalValues, ranks);
+        for (int i = 0; i < ranks.length; ++i) {
+            flatDataCollection.set(i, ranks[i]);
         }
         return tiesCounter;
     }
@@ -61,45 +60,180 @@ public class Ranks {
      * @return
      */
     public static AssociativeArray getRanksFromValues(AssociativeArray associativeArray) {
-        AssociativeArray tiesCounter = new AssociativeArray();
-        Map<Object, Double> key2AvgRank = new LinkedHashMap<>();
-        _buildRankArrays(associativeArray.toFlatDataList(), tiesCounter, key2AvgRank);
+        Object[] originalValues = associativeArray.values().toArray();
+        double[] ranks = new double[originalValues.length];
+        AssociativeArray tiesCounter = _getRanksFromValues(originalValues, ranks);
+        int i = 0;
         for (Map.Entry<Object, Object> entry : associativeArray.entrySet()) {
-            associativeArray.put(entry.getKey(), key2AvgRank.get(entry.getValue()));
+            entry.setValue(ranks[i++]);
         }
         return tiesCounter;
     }
 
     /**
-     * Internal method used by getRanksFromValues() to produce the tiesCounter
-     * and key2AvgRank arrays.
+     * Replaces the values of the array with their average ranks and returns the
+     * sum of (t^3-t) over all the groups of tied values, which is used by the
+     * tie corrections of the rank tests. The values are ranked without boxing:
+     * they are mapped to order-preserving integer keys which are sorted along
+     * with their indexes using a radix sort.
      *
-     * @param flatDataCollection
-     * @param tiesCounter
-     * @param key2AvgRank
+     * @param values
+     * @return
      */
-    private static void _buildRankArrays(FlatDataList flatDataCollection, AssociativeArray tiesCounter, Map<Object, Double> key2AvgRank) {
-        for (Object value : flatDataCollection) {
-            Object count = tiesCounter.get(value);
-            if (count == null) {
-                count = 0;
+    public static double getRanksFromValues(double[] values) {
+        int n = values.length;
+        long[] keys = new long[n];
+        int[] index = new int[n];
+        for(int i=0;i<n;++i) {
+            keys[i] = sortableKey(values[i]);
+            index[i] = i;
+        }
+        sort(keys, index);
+
+        double tiesCorrection = 0.0;
+        int i = 0;
+        while(i<n) {
+            int j = i+1;
+            while(j<n && keys[j]==keys[i]) {
+                ++j;
+            }
+            double ti = j-i;
+            tiesCorrection += (ti*ti-1.0)*ti;
+            double avgRank = ((i+1) + j)/2.0;
+            for(int k=i;k<j;++k) {
+                values[index[k]] = avgRank;
             }
-            tiesCounter.put(value, ((Number) count).intValue() + 1);
+            i = j;
         }
-        tiesCounter.overwrite(MapMethods.<Object, Object>sortNumberMapByKeyAscending(tiesCounter.entrySet()));
-        int itemCounter = 0;
-        Iterator<Map.Entry<Object, Object>> it = tiesCounter.entrySet().iterator();
-        while (it.hasNext()) {
-            Map.Entry<Object, Object> entry = it.next();
-            Object key = entry.getKey();
-            double count = TypeInference.toDouble(entry.getValue());
-            if (count <= 1.0) {
-                it.remove();
+
+        return tiesCorrection;
+    }
+
+    /**
+     * Maps a double to a long whose unsigned order is the order of the doubles.
+     * The -0.0 is mapped to the key of 0.0 and all the NaNs to the same key
+     * after the positive infinity.
+     *
+     * @param value
+     * @return
+     */
+    private static long sortableKey(double value) {
+        long bits = Double.doubleToLongBits(value==0.0?0.0:value);
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+
+    /**
+     * Sorts the keys in unsigned order and applies the same permutation to the
+     * index. Small arrays are sorted with insertion sort and larger with an LSD
+     * radix sort on bytes which skips the bytes that are equal on all the keys.
+     *
+     * @param keys
+     * @param index
+     */
+    private static void sort(long[] keys, int[] index) {
+        int n = keys.length;
+        if(n<64) {
+            for(int i=1;i<n;++i) {
+                long key = keys[i];
+                int idx = index[i];
+                int j = i-1;
+                while(j>=0 && Long.compareUnsigned(keys[j], key)>0) {
+                    keys[j+1] = keys[j];
+                    index[j+1] = index[j];
+                    --j;
+                }
+                keys[j+1] = key;
+                index[j+1] = idx;
             }
-            double avgRank = ((itemCounter + 1) + (itemCounter + count)) / 2.0;
-            key2AvgRank.put(key, avgRank);
-            itemCounter += count;
+            return;
         }
+
+        long[] sortedKeys = keys;
+        int[] sortedIndex = index;
+        long[] keysBuffer = new long[n];
+        int[] indexBuffer = new int[n];
+        int[] counts = new int[256];
+        for(int shift=0;shift<64;shift+=8) {
+            Arrays.fill(counts, 0);
+            for(long key : sortedKeys) {
+                ++counts[(int)(key>>>shift) & 0xFF];
+            }
+            if(counts[(int)(sortedKeys[0]>>>shift) & 0xFF]==n) {
+                continue; //all the keys have the same byte
+            }
+
+            int offset = 0;
+            for(int d=0;d<256;++d) {
+                int c = counts[d];
+                counts[d] = offset;
+                offset += c;
+            }
+            for(int i=0;i<n;++i) {
+                int position = counts[(int)(sortedKeys[i]>>>shift) & 0xFF]++;
+                keysBuffer[position] = sortedKeys[i];
+                indexBuffer[position] = sortedIndex[i];
+            }
+
+            long[] tmpKeys = sortedKeys;
+            sortedKeys = keysBuffer;
+            keysBuffer = tmpKeys;
+            int[] tmpIndex = sortedIndex;
+            sortedIndex = indexBuffer;
+            indexBuffer = tmpIndex;
+        }
+
+        if(sortedKeys!=keys) {
+            System.arraycopy(sortedKeys, 0, keys, 0, n);
+            System.arraycopy(sortedIndex, 0, index, 0, n);
+        }
+    }
+
+    /**
+     * Internal method used by getRanksFromValues() which ranks the original
+     * values with the primitive kernel, stores the ranks in the provided array
+     * and returns the tiesCounter.
+     *
+     * @param originalValues
+     * @param ranks
+     * @return
+     */
+    private static AssociativeArray _getRanksFromValues(Object[] originalValues, double[] ranks) {
+        int n = originalValues.length;
+        for (int i = 0; i < n; ++i) {
+            ranks[i] = TypeInference.toDouble(originalValues[i]);
+        }
+        getRanksFromValues(ranks);
+
+        //every group of tied values shares the same average rank
+        double[] sortedRanks = Arrays.copyOf(ranks, n);
+        Arrays.sort(sortedRanks);
+        Map<Double, Integer> rank2Count = new LinkedHashMap<>();
+        int i = 0;
+        while (i < n) {
+            int j = i + 1;
+            while (j < n && sortedRanks[j] == sortedRanks[i]) {
+                ++j;
+            }
+            if (j - i > 1) {
+                rank2Count.put(sortedRanks[i], j - i);
+            }
+            i = j;
+        }
+
+        Map<Double, Object> rank2Key = new HashMap<>();
+        if (!rank2Count.isEmpty()) {
+            for (int k = 0; k < n; ++k) {
+                if (rank2Count.containsKey(ranks[k])) {
+                    rank2Key.putIfAbsent(ranks[k], originalValues[k]);
+                }
+            }
+        }
+
+        AssociativeArray tiesCounter = new AssociativeArray();
+        for (Map.Entry<Double, Integer> entry : rank2Count.entrySet()) {
+            tiesCounter.put(rank2Key.get(entry.getKey()), entry.getValue());
+        }
+        return tiesCounter;
     }
     
 }
@@ -0,0 +1,324 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.statistics.distributions;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Fast evaluation layer over the ContinuousDistributions for code which calls
+ * the CDFs in hot loops, such as batches of hypothesis tests.
+ *
+ * The CDFs of Student's and Chisquare distributions with up to MAX_TABULATED_DF
+ * degrees of freedom are evaluated with cubic Hermite interpolation on tables
+ * which are built lazily the first time a specific df is used. The absolute
+ * difference from ContinuousDistributions is below TABLE_ACCURACY. Values outside
+ * the range of the tables are estimated with the exact methods. The remaining
+ * functions are memoized in a bounded cache which is safe to use from multiple
+ * threads without locking.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class CachedContinuousDistributions {
+
+    /**
+     * The maximum degrees of freedom for which tables are built.
+     */
+    public static final int MAX_TABULATED_DF = 100;
+
+    /**
+     * The maximum absolute difference between the tabulated and the exact CDFs.
+     * It matches the convergence tolerance of the exact methods; the error of the
+     * interpolation itself is several orders of magnitude smaller.
+     */
+    public static final double TABLE_ACCURACY = 1e-5;
+
+    private static final int TABLE_INTERVALS = 1024;
+
+    private static final double STUDENTS_MAX_X = 16.0;
+
+    private static final AtomicReferenceArray<HermiteTable> STUDENTS_TABLES = new AtomicReferenceArray<>(MAX_TABULATED_DF+1);
+
+    private static final AtomicReferenceArray<HermiteTable> CHISQUARE_TABLES = new AtomicReferenceArray<>(MAX_TABULATED_DF+1);
+
+    private static final MemoCache MEMO_CACHE = new MemoCache(12);
+
+    private static final int F_CDF = 1;
+    private static final int BETA_CDF = 2;
+    private static final int CHISQUARE_INVERSE_CDF = 3;
+
+    /**
+     * Calculates the probability from -INF to X under Student's Distribution.
+     *
+     * @param x
+     * @param df
+     * @return
+     * @see ContinuousDistributions#studentsCdf(double, int)
+     */
+    public static double studentsCdf(double x, int df) {
+        double absX = Math.abs(x);
+        if(df<=0 || df>MAX_TABULATED_DF || !(absX<STUDENTS_MAX_X)) {
+            return ContinuousDistributions.studentsCdf(x, df);
+        }
+
+        HermiteTable table = STUDENTS_TABLES.get(df);
+        if(table==null) {
+            table = buildStudentsTable(df);
+            STUDENTS_TABLES.set(df, table);
+        }
+
+        //the distribution is symmetric around 0
+        double p = table.interpolate(absX);
+        return (x<0)?1.0-p:p;
+    }
+
+    /**
+     * Returns the probability from 0 to x of a specific chisquare score and degrees of freedom.
+     *
+     * @param x
+     * @param df
+     * @return
+     * @see ContinuousDistributions#chisquareCdf(double, int)
+     */
+    public static double chisquareCdf(double x, int df) {
+        if(df<=0 || df>MAX_TABULATED_DF || !(x>=0.0)) {
+            return ContinuousDistributions.chisquareCdf(x, df);
+        }
+
+        HermiteTable table = CHISQUARE_TABLES.get(df);
+        if(table==null) {
+            table = buildChisquareTable(df);
+            CHISQUARE_TABLES.set(df, table);
+        }
+
+        //the table is built on sqrt(x) to keep the function smooth close to 0
+        double u = Math.sqrt(x);
+        if(u>=table.getMax()) {
+            return ContinuousDistributions.chisquareCdf(x, df);
+        }
+        return table.interpolate(u);
+    }
+
+    /**
+     * Calculates the probability from 0 to X under F Distribution.
+     *
+     * @param x
+     * @param f1
+     * @param f2
+     * @return
+     * @see ContinuousDistributions#fCdf(double, int, int)
+     */
+    public static double fCdf(double x, int f1, int f2) {
+        return MEMO_CACHE.computeIfAbsent(F_CDF, x, f1, f2, () -> ContinuousDistributions.fCdf(x, f1, f2));
+    }
+
+    /**
+     * Calculates the probability from 0 to X under Beta Distribution.
+     *
+     * @param x
+     * @param a
+     * @param b
+     * @return
+     * @see ContinuousDistributions#betaCdf(double, double, double)
+     */
+    public static double betaCdf(double x, double a, double b) {
+        return MEMO_CACHE.computeIfAbsent(BETA_CDF, x, a, b, () -> ContinuousDistributions.betaCdf(x, a, b));
+    }
+
+    /**
+     * Returns the z score of a specific pvalue for Gaussian. The method is a
+     * closed form rational approximation which is faster than any lookup, so
+     * it is not cached.
+     *
+     * @param p
+     * @return
+     * @see ContinuousDistributions#gaussInverseCdf(double)
+     */
+    public static double gaussInverseCdf(double p) {
+        return ContinuousDistributions.gaussInverseCdf(p);
+    }
+
+    /**
+     * Returns the x score of a specific pvalue and degrees of freedom for Chisquare.
+     *
+     * @param p
+     * @param df
+     * @return
+     * @see ContinuousDistributions#chisquareInverseCdf(double, int)
+     */
+    public static double chisquareInverseCdf(double p, int df) {
+        return MEMO_CACHE.computeIfAbsent(CHISQUARE_INVERSE_CDF, p, df, 0.0, () -> ContinuousDistributions.chisquareInverseCdf(p, df));
+    }
+
+    /**
+     * Clears the memoized values. The tables are kept because they are immutable.
+     */
+    public static void clearCache() {
+        MEMO_CACHE.clear();
+    }
+
+    /**
+     * Builds the table of Student's CDF on [0, STUDENTS_MAX_X].
+     *
+     * @param df
+     * @return
+     */
+    private static HermiteTable buildStudentsTable(int df) {
+        double step = STUDENTS_MAX_X/TABLE_INTERVALS;
+        double logNormalizer = ContinuousDistributions.logGamma((df+1.0)/2.0) - ContinuousDistributions.logGamma(df/2.0) - 0.5*Math.log(df*Math.PI);
+
+        double[] values = new double[TABLE_INTERVALS+1];
+        double[] derivatives = new double[TABLE_INTERVALS+1];
+        for(int i=0;i<=TABLE_INTERVALS;++i) {
+            double x = i*step;
+            values[i] = ContinuousDistributions.studentsCdf(x, df);
+            derivatives[i] = Math.exp(logNormalizer - (df+1.0)/2.0*Math.log1p(x*x/df));
+        }
+
+        return new HermiteTable(step, values, derivatives);
+    }
+
+    /**
+     * Builds the table of Chisquare CDF as a function of u=sqrt(x). The range
+     * covers the distribution up to a probability of about 1-1e-12.
+     *
+     * @param df
+     * @return
+     */
+    private static HermiteTable buildChisquareTable(int df) {
+        double maxU = Math.sqrt(df + 16.0*Math.sqrt(2.0*df) + 60.0);
+        double step = maxU/TABLE_INTERVALS;
+        double k = df/2.0;
+        double logNormalizer = -k*Math.log(2.0) - ContinuousDistributions.logGamma(k);
+
+        double[] values = new double[TABLE_INTERVALS+1];
+        double[] derivatives = new double[TABLE_INTERVALS+1];
+        for(int i=0;i<=TABLE_INTERVALS;++i) {
+            double u = i*step;
+            double x = u*u;
+
+            //dF/du = 2u*pdf(u^2) = 2*u^(df-1)*exp(-u^2/2)/(2^(df/2)*Gamma(df/2))
+            if(i==0) {
+                values[i] = 0.0;
+                derivatives[i] = (df==1)?2.0*Math.exp(logNormalizer):0.0;
+            }
+            else {
+                values[i] = ContinuousDistributions.chisquareCdf(x, df);
+                derivatives[i] = 2.0*Math.exp(logNormalizer + (df-1.0)*Math.log(u) - x/2.0);
+            }
+        }
+
+        return new HermiteTable(step, values, derivatives);
+    }
+
+    /**
+     * Immutable table of a function which is interpolated with cubic Hermite
+     * splines using the values and the derivatives on equally spaced points
+     * starting from 0.
+     */
+    private static final class HermiteTable {
+        private final double step;
+        private final double[] values;
+        private final double[] derivatives;
+
+        private HermiteTable(double step, double[] values, double[] derivatives) {
+            this.step = step;
+            this.values = values;
+            this.derivatives = derivatives;
+        }
+
+        private double getMax() {
+            return step*(values.length-1);
+        }
+
+        private double interpolate(double x) {
+            double position = x/step;
+            int i = Math.min((int)position, values.length-2);
+            double t = position - i;
+            double t2 = t*t;
+            double t3 = t2*t;
+
+            double h00 = 2.0*t3 - 3.0*t2 + 1.0;
+            double h10 = t3 - 2.0*t2 + t;
+            double h01 = -2.0*t3 + 3.0*t2;
+            double h11 = t3 - t2;
+
+            return h00*values[i] + h10*step*derivatives[i] + h01*values[i+1] + h11*step*derivatives[i+1];
+        }
+    }
+
+    /**
+     * Bounded direct-mapped cache of function values. Every key is stored in a
+     * single slot which is overwritten by colliding keys. The entries are
+     * immutable, so the slots can be read and written by multiple threads
+     * without locking; a race can only cause a value to be recomputed.
+     */
+    private static final class MemoCache {
+        private final int bits;
+        private final Entry[] slots;
+
+        private MemoCache(int bits) {
+            this.bits = bits;
+            this.slots = new Entry[1<<bits];
+        }
+
+        private double computeIfAbsent(int function, double a, double b, double c, DoubleSupplier supplier) {
+            long h = function;
+            h = h*0x9E3779B97F4A7C15L + Double.doubleToLongBits(a);
+            h = h*0x9E3779B97F4A7C15L + Double.doubleToLongBits(b);
+            h = h*0x9E3779B97F4A7C15L + Double.doubleToLongBits(c);
+            h *= 0x9E3779B97F4A7C15L;
+            int index = (int)(h>>>(64-bits));
+
+            Entry entry = slots[index];
+            if(entry!=null && entry.matches(function, a, b, c)) {
+                return entry.value;
+            }
+
+            double value = supplier.getAsDouble();
+            slots[index] = new Entry(function, a, b, c, value);
+            return value;
+        }
+
+        private void clear() {
+            Arrays.fill(slots, null);
+        }
+
+        private static final class Entry {
+            private final int function;
+            private final double a;
+            private final double b;
+            private final double c;
+            private final double value;
+
+            private Entry(int function, double a, double b, double c, double value) {
+                this.function = function;
+                this.a = a;
+                this.b = b;
+                this.c = c;
+                this.value = value;
+            }
+
+            private boolean matches(int function, double a, double b, double c) {
+                return this.function==function &&
+                        Double.doubleToLongBits(this.a)==Double.doubleToLongBits(a) &&
+                        Double.doubleToLongBits(this.b)==Double.doubleToLongBits(b) &&
+                        Double.doubleToLongBits(this.c)==Double.doubleToLongBits(c);
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -80,17 +80,8 @@ public class DiscreteDistributions {
         
         k = Math.min(k, n); 
         
-        /*
-        //Slow and can't handle large numbers
-        $probability=StatsUtilities::combination($n,$k)*pow($p,$k)*pow(1-$p,$n-$k);
-        */
-
-        //fast and can handle large numbers
-        //Cdf(k)-Cdf(k-1)
-        double probability = approxBinomialCdf(k,p,n); 
-        if(k>0) {
-            probability -= approxBinomialCdf(k-1,p,n);
-        }
+        //estimated with log-factorials so it is exact and can handle large numbers
+        double probability = Math.exp(logBinomial(k,p,n));
         
         return probability;
     }
@@ -109,38 +100,61 @@ public class DiscreteDistributions {
         }
         
         k = Math.min(k, n);
+        if(k==n || p==0.0) {
+            return 1.0;
+        }
+        else if(p>=1.0) {
+            return 0.0;
+        }
         
-        double probabilitySum = approxBinomialCdf(k,p,n); 
+        //sum recursively the tail which does not contain the mode
+        double ratio = p/(1.0-p);
+        int mode = (int)Math.floor((n+1.0)*p);
+        double probabilitySum = 0.0;
+        if(k<mode) {
+            double probability = Math.exp(logBinomial(k,p,n));
+            for(int i=k;i>=0;--i) {
+                probabilitySum += probability;
+                //P(i-1)/P(i)
+                probability *= i/((n-i+1.0)*ratio);
+                if(probability<=probabilitySum*1e-17) {
+                    break;
+                }
+            }
+        }
+        else {
+            double probability = Math.exp(logBinomial(k+1,p,n));
+            for(int i=k+1;i<=n;++i) {
+                probabilitySum += probability;
+                //P(i+1)/P(i)
+                probability *= (n-i)*ratio/(i+1.0);
+                if(probability<=probabilitySum*1e-17) {
+                    break;
+                }
+            }
+            probabilitySum = 1.0 - probabilitySum;
+        }
         
         return probabilitySum;
     }
     
     /**
-     * Returns the a good approximation of cumulative probability of k of a specific number of tries n and probability p
+     * Returns the log probability of k successes out of n tries with probability p.
      * 
      * @param k
      * @param p
      * @param n
      * @return 
      */
-    private static double approxBinomialCdf(int k, double p, int n) {
-        //use an approximation as described at http://www.math.ucla.edu/~tom/distributions/binomial.html
-        double Z = p;
-        double A=k+1;
-        double B=n-k;
-        double S=A+B;
-        double BT=Math.exp(ContinuousDistributions.logGamma(S)-ContinuousDistributions.logGamma(B)-ContinuousDistributions.logGamma(A)+A*Math.log(Z)+B*Math.log(1-Z));
-        
-        double probabilitySum;
-        if (Z<(A+1)/(S+2)) {
-            probabilitySum=BT*ContinuousDistributions.betinc(Z,A,B);
-        } 
-        else {
-            probabilitySum=1.0-BT*ContinuousDistributions.betinc(1.0-Z,B,A);
+    private static double logBinomial(int k, double p, int n) {
+        double logProbability = Arithmetics.logCombination(n, k);
+        if(k>0) {
+            logProbability += k*Math.log(p);
         }
-        probabilitySum=1.0-probabilitySum;
-
-        return probabilitySum;
+        if(n-k>0) {
+            logProbability += (n-k)*Math.log1p(-p);
+        }
+        return logProbability;
     }
     
     /**
@@ -271,19 +285,12 @@ public class DiscreteDistributions {
         }
         Kp = Math.max(k, Kp);
         Np = Math.max(n, Np);
-        
-        /*
-        //slow!
-        $probability=StatsUtilities::combination($Kp,$k)*StatsUtilities::combination($Np-$Kp,$n-$k)/StatsUtilities::combination($Np,$n);
-        */
-
-        //fast and can handle large numbers
-        //Cdf(k)-Cdf(k-1)
-        double probability = approxHypergeometricCdf(k,n,Kp,Np);
-        if(k>0) {
-            probability -= approxHypergeometricCdf(k-1,n,Kp,Np);
+        if(k>n || n-k>Np-Kp) {
+            return 0.0;
         }
-
+        
+        //estimated with log-factorials so it is exact and can handle large numbers
+        double probability = Math.exp(logHypergeometric(k,n,Kp,Np));
         
         return probability;
     }
@@ -304,71 +311,57 @@ public class DiscreteDistributions {
         Kp = Math.max(k, Kp);
         Np = Math.max(n, Np);
         
-        /*
-        //slow!
-        $probabilitySum=0;
-        for($i=0;$i<=$k;++$i) {
-            $probabilitySum+=self::hypergeometric($i,$n,$Kp,$Np);
+        int min = Math.max(0, n+Kp-Np);
+        int max = Math.min(n, Kp);
+        if(k<min) {
+            return 0.0;
+        }
+        else if(k>=max) {
+            return 1.0;
         }
-        */
-
-        //fast and can handle large numbers
-        //Cdf(k)-Cdf(k-1)
-        double probabilitySum = approxHypergeometricCdf(k,n,Kp,Np);
         
-        return probabilitySum;
-    }
-    
-    private static double approxHypergeometricCdf(double x,double n,double m,double nn) {
-        //Approximate estimation as described at http://www.math.ucla.edu/~tom/distributions/Hypergeometric.html?
-        double Prob;
-        if (2*m>nn) {
-            if (2*n>nn) {
-                Prob=hyp(nn-m-n+x,nn-n,nn-m,nn);
-            } 
-            else {
-                Prob=1-hyp(n-x-1,n,nn-m,nn);
+        //sum recursively the tail which does not contain the mode
+        int mode = (int)Math.floor((n+1.0)*(Kp+1.0)/(Np+2.0));
+        double probabilitySum = 0.0;
+        if(k<mode) {
+            double probability = Math.exp(logHypergeometric(k,n,Kp,Np));
+            for(int i=k;i>=min;--i) {
+                probabilitySum += probability;
+                //P(i-1)/P(i)
+                probability *= i*(Np-Kp-n+(double)i)/((Kp-i+1.0)*(n-i+1.0));
+                if(probability<=probabilitySum*1e-17) {
+                    break;
+                }
             }
-        } 
-        else if (2*n>nn) {
-            Prob=1-hyp(m-x-1,m,nn-n,nn);
-        } 
-        else {
-            Prob=hyp(x,n,m,nn);
         }
-        return Prob;
-    }
-
-    private static double hyp(double x, double n, double m, double nn) {
-        double nz;
-        double mz;
-        if (m<n) {         //best to have n<m
-            nz=m;
-            mz=n;
-        } 
         else {
-            nz=n;
-            mz=m;
-        }
-        double h=1;
-        double s=1;
-        double k=0;
-        double i=0;
-        while (i<x) {
-            while ((s>1)&&(k<nz)) {
-                h=h*(1-mz/(nn-k));
-                s=s*(1-mz/(nn-k));
-                ++k;
+            double probability = Math.exp(logHypergeometric(k+1,n,Kp,Np));
+            for(int i=k+1;i<=max;++i) {
+                probabilitySum += probability;
+                //P(i+1)/P(i)
+                probability *= (Kp-i)*(n-(double)i)/((i+1.0)*(Np-Kp-n+i+1.0));
+                if(probability<=probabilitySum*1e-17) {
+                    break;
+                }
             }
-            h=h*(nz-i)*(mz-i)/(i+1)/(nn-nz-mz+i+1);
-            s=s+h;
-            ++i;
-        }
-        while (k<nz) {
-            s=s*(1-mz/(nn-k));
-            ++k;
+            probabilitySum = 1.0 - probabilitySum;
         }
-        return s;
+        
+        return probabilitySum;
+    }
+    
+    /**
+     * Returns the log probability of finding k successes on a sample of n, from 
+     * a population with Kp successes and size Np.
+     * 
+     * @param k
+     * @param n
+     * @param Kp
+     * @param Np
+     * @return 
+     */
+    private static double logHypergeometric(int k, int n, int Kp, int Np) {
+        return Arithmetics.logCombination(Kp, k) + Arithmetics.logCombination(Np-Kp, n-k) - Arithmetics.logCombination(Np, n);
     }
     
     /**
@@ -0,0 +1,302 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.statistics.multipletesting;
+
+import com.datumbox.framework.common.concurrency.ConcurrencyConfiguration;
+import com.datumbox.framework.common.concurrency.ForkJoinStream;
+import com.datumbox.framework.common.concurrency.StreamMethods;
+import com.datumbox.framework.core.statistics.nonparametrics.independentsamples.Chisquare;
+import com.datumbox.framework.core.statistics.nonparametrics.independentsamples.Fisher;
+import com.datumbox.framework.core.statistics.nonparametrics.independentsamples.MannWhitney;
+import com.datumbox.framework.core.statistics.parametrics.independentsamples.StudentsIndependentSamples;
+
+import java.io.Serializable;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Runs the same two-sample hypothesis test over many comparisons, for example
+ * the control and treatment groups of an A/B test across many metrics and
+ * segments. The comparisons are provided in columnar format (one array entry
+ * per comparison), they are tested in parallel and the p-values are adjusted
+ * for multiple comparisons. All the p-values are two-sided.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class BatchTesting {
+
+    /**
+     * The tests which compare the observations of two samples.
+     */
+    public enum SampleTest {
+        /**
+         * Student's t-test with equal variances.
+         */
+        STUDENTS_EQUAL_VARS,
+
+        /**
+         * Welch's t-test with not equal variances.
+         */
+        STUDENTS_NOT_EQUAL_VARS,
+
+        /**
+         * Mann-Whitney U test.
+         */
+        MANN_WHITNEY;
+    }
+
+    /**
+     * The tests which compare the number of successes out of a number of trials
+     * of two groups.
+     */
+    public enum CountTest {
+        /**
+         * Chisquare test with Yates correction.
+         */
+        CHISQUARE,
+
+        /**
+         * Fisher's exact test.
+         */
+        FISHER;
+    }
+
+    /**
+     * The results of a batch of tests. The i-th entry of every array refers
+     * to the i-th comparison.
+     */
+    public static class Results implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] effects;
+
+        private final double[] pvalues;
+
+        private final double[] adjustedPvalues;
+
+        private final boolean[] rejected;
+
+        /**
+         * Protected constructor of the results.
+         *
+         * @param effects
+         * @param pvalues
+         * @param adjustedPvalues
+         * @param rejected
+         */
+        protected Results(double[] effects, double[] pvalues, double[] adjustedPvalues, boolean[] rejected) {
+            this.effects = effects;
+            this.pvalues = pvalues;
+            this.adjustedPvalues = adjustedPvalues;
+            this.rejected = rejected;
+        }
+
+        /**
+         * Returns the number of comparisons.
+         *
+         * @return
+         */
+        public int size() {
+            return pvalues.length;
+        }
+
+        /**
+         * Returns the observed effects, which are the differences of the means
+         * or of the success rates between the treatment and the control groups.
+         *
+         * @return
+         */
+        public double[] getEffects() {
+            return effects;
+        }
+
+        /**
+         * Returns the unadjusted two-sided p-values.
+         *
+         * @return
+         */
+        public double[] getPvalues() {
+            return pvalues;
+        }
+
+        /**
+         * Returns the p-values which are adjusted for multiple comparisons.
+         *
+         * @return
+         */
+        public double[] getAdjustedPvalues() {
+            return adjustedPvalues;
+        }
+
+        /**
+         * Returns whether the null Hypothesis is rejected for every comparison.
+         *
+         * @return
+         */
+        public boolean[] getRejected() {
+            return rejected;
+        }
+    }
+
+    /**
+     * Compares the control and treatment samples of every comparison.
+     *
+     * @param controlSamples
+     * @param treatmentSamples
+     * @param test
+     * @param correction
+     * @param aLevel
+     * @param concurrencyConfiguration
+     * @return
+     */
+    public static Results testSamples(double[][] controlSamples, double[][] treatmentSamples, SampleTest test, MultipleComparisons.Correction correction, double aLevel, ConcurrencyConfiguration concurrencyConfiguration) {
+        int m = controlSamples.length;
+        if(treatmentSamples.length!=m) {
+            throw new IllegalArgumentException("The number of control and treatment samples must be equal.");
+        }
+
+        double[] effects = new double[m];
+        for(int i=0;i<m;++i) {
+            effects[i] = mean(treatmentSamples[i]) - mean(controlSamples[i]);
+        }
+
+        double[] pvalues = estimatePvalues(m, i -> {
+            double[] x = controlSamples[i];
+            double[] y = treatmentSamples[i];
+            switch(test) {
+                case STUDENTS_EQUAL_VARS:
+                    return twoSided(StudentsIndependentSamples.getCdfUnknownEqualVars(x, y));
+                case STUDENTS_NOT_EQUAL_VARS:
+                    return twoSided(StudentsIndependentSamples.getCdfUnknownNotEqualVars(x, y));
+                case MANN_WHITNEY:
+                    return twoSided(MannWhitney.getCdf(x, y));
+                default:
+                    throw new IllegalArgumentException("Unsupported test.");
+            }
+        }, concurrencyConfiguration);
+
+        return buildResults(effects, pvalues, correction, aLevel);
+    }
+
+    /**
+     * Compares the successes out of the trials of the control and treatment
+     * groups of every comparison.
+     *
+     * @param controlSuccesses
+     * @param controlTrials
+     * @param treatmentSuccesses
+     * @param treatmentTrials
+     * @param test
+     * @param correction
+     * @param aLevel
+     * @param concurrencyConfiguration
+     * @return
+     */
+    public static Results testCounts(int[] controlSuccesses, int[] controlTrials, int[] treatmentSuccesses, int[] treatmentTrials, CountTest test, MultipleComparisons.Correction correction, double aLevel, ConcurrencyConfiguration concurrencyConfiguration) {
+        int m = controlSuccesses.length;
+        if(controlTrials.length!=m || treatmentSuccesses.length!=m || treatmentTrials.length!=m) {
+            throw new IllegalArgumentException("All the columns must have the same length.");
+        }
+
+        double[] effects = new double[m];
+        for(int i=0;i<m;++i) {
+            if(controlSuccesses[i]<0 || treatmentSuccesses[i]<0 || controlSuccesses[i]>controlTrials[i] || treatmentSuccesses[i]>treatmentTrials[i]) {
+                throw new IllegalArgumentException("The successes must be between 0 and the number of trials.");
+            }
+            effects[i] = treatmentSuccesses[i]/(double)treatmentTrials[i] - controlSuccesses[i]/(double)controlTrials[i];
+        }
+
+        double[] pvalues = estimatePvalues(m, i -> {
+            int n11 = controlSuccesses[i];
+            int n12 = controlTrials[i]-n11;
+            int n21 = treatmentSuccesses[i];
+            int n22 = treatmentTrials[i]-n21;
+            switch(test) {
+                case CHISQUARE:
+                    return Chisquare.getPvalue(new double[][]{{n11, n12}, {n21, n22}});
+                case FISHER:
+                    return Math.min(1.0, Fisher.getPvalue(n11, n11+n21, n12+n22, n11+n12, n21+n22));
+                default:
+                    throw new IllegalArgumentException("Unsupported test.");
+            }
+        }, concurrencyConfiguration);
+
+        return buildResults(effects, pvalues, correction, aLevel);
+    }
+
+    /**
+     * Estimates the p-values of all the comparisons in parallel.
+     *
+     * @param m
+     * @param pvalueEstimator
+     * @param concurrencyConfiguration
+     * @return
+     */
+    private static double[] estimatePvalues(int m, IntToDoubleFunction pvalueEstimator, ConcurrencyConfiguration concurrencyConfiguration) {
+        double[] pvalues = new double[m];
+        ForkJoinStream streamExecutor = new ForkJoinStream(concurrencyConfiguration);
+        streamExecutor.forEach(StreamMethods.stream(IntStream.range(0, m).boxed(), concurrencyConfiguration.isParallelized()), i -> {
+            pvalues[i] = pvalueEstimator.applyAsDouble(i);
+        });
+        return pvalues;
+    }
+
+    /**
+     * Adjusts the p-values and decides which null Hypotheses are rejected.
+     *
+     * @param effects
+     * @param pvalues
+     * @param correction
+     * @param aLevel
+     * @return
+     */
+    private static Results buildResults(double[] effects, double[] pvalues, MultipleComparisons.Correction correction, double aLevel) {
+        double[] adjustedPvalues = MultipleComparisons.adjust(pvalues, correction);
+        boolean[] rejected = new boolean[pvalues.length];
+        for(int i=0;i<pvalues.length;++i) {
+            rejected[i] = adjustedPvalues[i]<=aLevel;
+        }
+        return new Results(effects, pvalues, adjustedPvalues, rejected);
+    }
+
+    /**
+     * Converts the cumulative probability of a symmetric statistic to a
+     * two-sided p-value.
+     *
+     * @param probability
+     * @return
+     */
+    private static double twoSided(double probability) {
+        return Math.min(1.0, 2.0*Math.min(probability, 1.0-probability));
+    }
+
+    /**
+     * Estimates the mean of the sample.
+     *
+     * @param values
+     * @return
+     */
+    private static double mean(double[] values) {
+        if(values.length==0) {
+            throw new IllegalArgumentException("The provided sample can't be empty.");
+        }
+        double sum = 0.0;
+        for(double value : values) {
+            sum+=value;
+        }
+        return sum/values.length;
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.statistics.multipletesting;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Corrections of the p-values for multiple comparisons. Every method receives
+ * the p-values of a family of tests and returns the adjusted p-values in the
+ * same order, which can be compared directly with the significance level. NaN
+ * p-values are ignored and remain NaN.
+ *
+ * References:
+ * https://en.wikipedia.org/wiki/Holm%E2%80%93Bonferroni_method
+ * https://en.wikipedia.org/wiki/False_discovery_rate#Benjamini%E2%80%93Hochberg_procedure
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class MultipleComparisons {
+
+    /**
+     * The supported corrections.
+     */
+    public enum Correction {
+        /**
+         * No correction.
+         */
+        NONE,
+
+        /**
+         * Bonferroni correction which controls the familywise error rate.
+         */
+        BONFERRONI,
+
+        /**
+         * Holm's step-down correction which controls the familywise error rate
+         * and is uniformly more powerful than Bonferroni.
+         */
+        HOLM,
+
+        /**
+         * Benjamini-Hochberg step-up correction which controls the false
+         * discovery rate of independent or positively dependent tests.
+         */
+        BENJAMINI_HOCHBERG,
+
+        /**
+         * Benjamini-Yekutieli correction which controls the false discovery
+         * rate under arbitrary dependence.
+         */
+        BENJAMINI_YEKUTIELI;
+    }
+
+    /**
+     * Adjusts the p-values using the provided correction.
+     *
+     * @param pvalues
+     * @param correction
+     * @return
+     */
+    public static double[] adjust(double[] pvalues, Correction correction) {
+        switch(correction) {
+            case NONE:
+                return Arrays.copyOf(pvalues, pvalues.length);
+            case BONFERRONI:
+                return bonferroni(pvalues);
+            case HOLM:
+                return holm(pvalues);
+            case BENJAMINI_HOCHBERG:
+                return benjaminiHochberg(pvalues);
+            case BENJAMINI_YEKUTIELI:
+                return benjaminiYekutieli(pvalues);
+            default:
+                throw new IllegalArgumentException("Unsupported correction.");
+        }
+    }
+
+    /**
+     * Bonferroni correction.
+     *
+     * @param pvalues
+     * @return
+     */
+    public static double[] bonferroni(double[] pvalues) {
+        int m = countNotNaN(pvalues);
+        double[] adjusted = new double[pvalues.length];
+        for(int i=0;i<pvalues.length;++i) {
+            adjusted[i] = Math.min(1.0, m*pvalues[i]);
+        }
+        return adjusted;
+    }
+
+    /**
+     * Holm-Bonferroni step-down correction.
+     *
+     * @param pvalues
+     * @return
+     */
+    public static double[] holm(double[] pvalues) {
+        int[] order = sortedIndexes(pvalues);
+        int m = order.length;
+
+        double[] adjusted = new double[pvalues.length];
+        Arrays.fill(adjusted, Double.NaN);
+        double cummax = 0.0;
+        for(int j=0;j<m;++j) {
+            int i = order[j];
+            cummax = Math.max(cummax, Math.min(1.0, (m-j)*pvalues[i]));
+            adjusted[i] = cummax;
+        }
+        return adjusted;
+    }
+
+    /**
+     * Benjamini-Hochberg step-up correction.
+     *
+     * @param pvalues
+     * @return
+     */
+    public static double[] benjaminiHochberg(double[] pvalues) {
+        return stepUp(pvalues, 1.0);
+    }
+
+    /**
+     * Benjamini-Yekutieli step-up correction.
+     *
+     * @param pvalues
+     * @return
+     */
+    public static double[] benjaminiYekutieli(double[] pvalues) {
+        int m = countNotNaN(pvalues);
+        double harmonic = 0.0;
+        for(int i=1;i<=m;++i) {
+            harmonic += 1.0/i;
+        }
+        return stepUp(pvalues, harmonic);
+    }
+
+    /**
+     * Performs the step-up correction of the false discovery rate procedures
+     * multiplying the p-values with the provided factor.
+     *
+     * @param pvalues
+     * @param factor
+     * @return
+     */
+    private static double[] stepUp(double[] pvalues, double factor) {
+        int[] order = sortedIndexes(pvalues);
+        int m = order.length;
+
+        double[] adjusted = new double[pvalues.length];
+        Arrays.fill(adjusted, Double.NaN);
+        double cummin = 1.0;
+        for(int j=m-1;j>=0;--j) {
+            int i = order[j];
+            cummin = Math.min(cummin, factor*m*pvalues[i]/(j+1));
+            adjusted[i] = cummin;
+        }
+        return adjusted;
+    }
+
+    /**
+     * Returns the indexes of the not-NaN p-values sorted in ascending order of
+     * the p-values.
+     *
+     * @param pvalues
+     * @return
+     */
+    private static int[] sortedIndexes(double[] pvalues) {
+        return IntStream.range(0, pvalues.length)
+                .filter(i -> !Double.isNaN(pvalues[i]))
+                .boxed()
+                .sorted((a, b) -> Double.compare(pvalues[a], pvalues[b]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Counts the not-NaN p-values.
+     *
+     * @param pvalues
+     * @return
+     */
+    private static int countNotNaN(double[] pvalues) {
+        int m = 0;
+        for(double pvalue : pvalues) {
+            if(!Double.isNaN(pvalue)) {
+                ++m;
+            }
+        }
+        return m;
+    }
+}
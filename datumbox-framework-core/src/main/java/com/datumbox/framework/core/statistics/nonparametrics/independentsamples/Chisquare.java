@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -163,6 +163,75 @@ public class Chisquare {
         return pvalue;
     }
 
+    /**
+     * Calculates the score of Chisquare test on a rectangular contingency table
+     * of frequencies, where the first index is the row and the second the column.
+     * 
+     * @param table
+     * @return 
+     */
+    public static double getScoreValue(double[][] table) {
+        int n=table.length;
+        if(n==0) {
+            throw new IllegalArgumentException("The provided table can't be empty.");
+        }
+        int k=table[0].length;
+        
+        //Estimate marginal scores and sum
+        double[] XdotJ = new double[k];
+        double[] XIdot = new double[n];
+        double Xdotdot=0.0;
+        for(int i=0;i<n;++i) {
+            if(table[i].length!=k) {
+                throw new IllegalArgumentException("The provided Table does not have a rectangular format.");
+            }
+            for(int j=0;j<k;++j) {
+                double v = table[i][j];
+                XdotJ[j]+=v;
+                XIdot[i]+=v;
+                Xdotdot+=v;
+            }
+        }
+        
+        //Calculating Chisquare score
+        double ChisquareScore=0.0;
+        boolean yatesCorrection = (k==2 && n==2); //if 2x2 then perform the Yates correction
+        for(int i=0;i<n;++i) {
+            for(int j=0;j<k;++j) {
+                //expected value under null hypothesis
+                double eij = XIdot[i]*XdotJ[j]/Xdotdot;
+                if(yatesCorrection) {
+                    if(eij==0) {
+                        continue;
+                    }
+                    double delta = Math.abs(table[i][j]-eij)-0.5;
+                    ChisquareScore+=delta*delta/eij;
+                }
+                else {
+                    double delta = table[i][j]-eij;
+                    ChisquareScore+=delta*delta/eij;
+                }
+            }
+        }
+        
+        return ChisquareScore;
+    }
+    
+    /**
+     * Calculates the p-value of null Hypothesis on a rectangular contingency
+     * table of frequencies.
+     * 
+     * @param table
+     * @return 
+     */
+    public static double getPvalue(double[][] table) {
+        double score = getScoreValue(table);
+        
+        double pvalue = scoreToPvalue(score, table.length, table[0].length);
+
+        return pvalue;
+    }
+
     /**
      * Tests the rejection of null Hypothesis for a particular confidence level 
      * 
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,16 +17,23 @@ package com.datumbox.framework.core.statistics.nonparametrics.independentsamples
 
 import com.datumbox.framework.core.mathematics.discrete.Arithmetics;
 
-import java.util.HashSet;
-import java.util.Set;
-
 /**
- * Fisher's exact test.
+ * Fisher's exact test. The p-value is two-sided and it is the sum of the
+ * probabilities of all the tables with the same margins which are not more
+ * probable than the observed one. The probabilities are estimated from the
+ * log-factorials and the tails are summed recursively, so the test handles
+ * large counts without overflowing.
  *
  * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
  */
 public class Fisher {
-    
+
+    /**
+     * Relative tolerance used to decide whether a table is as probable as the
+     * observed one.
+     */
+    private static final double RELATIVE_ERROR = 1e-7;
+
     /**
      * Calculates the p-value of null Hypothesis 
      * 
@@ -38,43 +45,126 @@ public class Fisher {
      * @return 
      */
     public static double getPvalue(int n11, int ndot1, int ndot2, int n1dot, int n2dot) {
-        int originalN11=n11;
-
         int n=ndot1+ndot2;
+        if(n!=n1dot+n2dot || n11<0 || ndot1<0 || ndot2<0 || n1dot<0 || n2dot<0) {
+            throw new IllegalArgumentException("The margins of the table are not valid.");
+        }
 
         int min=Math.max(0,n1dot+ndot1-n);
         int max=Math.min(n1dot,ndot1);
-
-        Set<Integer> combinations = new HashSet<>();
-        combinations.add(originalN11);
-        for(int r=min;r<=max;++r) {
-            combinations.add(r);
+        if(n11<min || n11>max) {
+            throw new IllegalArgumentException("The n11 is not compatible with the margins of the table.");
         }
 
-        double standardPart = Arithmetics.factorial(n1dot)*Arithmetics.factorial(n2dot)*Arithmetics.factorial(ndot1)*Arithmetics.factorial(ndot2)/Arithmetics.factorial(n);
+        //the probabilities of n11 are hypergeometric and unimodal
+        int mode=(int)Math.floor((n1dot+1.0)*(ndot1+1.0)/(n+2.0));
+        mode=Math.max(min, Math.min(max, mode));
+        double threshold=logProbability(n11, ndot1, n1dot, n2dot, n) + Math.log1p(RELATIVE_ERROR);
 
-        double originalPvalue=0.0;
-        double Psum=0;
-        for(Integer r : combinations) {
-            n11=r;
+        //find the inner bounds of the two tails which are not more probable than n11
+        int lowerBound=lowerTailBound(min, mode, threshold, ndot1, n1dot, n2dot, n);
+        int upperBound=upperTailBound(mode, max, threshold, ndot1, n1dot, n2dot, n);
+        if(lowerBound>=upperBound) {
+            return 1.0;
+        }
 
-            int n21=ndot1-n11;
-            int n12=n1dot-n11;
-            int n22=n2dot-n21;
+        double Psum=0.0;
+        if(lowerBound>=min) {
+            double p=Math.exp(logProbability(lowerBound, ndot1, n1dot, n2dot, n));
+            for(int r=lowerBound;r>=min;--r) {
+                Psum+=p;
+                //P(r-1)/P(r)
+                p*=r*(n2dot-ndot1+(double)r)/((n1dot-r+1.0)*(ndot1-r+1.0));
+                if(p<=Psum*1e-17) {
+                    break;
+                }
+            }
+        }
+        if(upperBound<=max) {
+            double tailSum=0.0;
+            double p=Math.exp(logProbability(upperBound, ndot1, n1dot, n2dot, n));
+            for(int r=upperBound;r<=max;++r) {
+                tailSum+=p;
+                //P(r+1)/P(r)
+                p*=(n1dot-r)*(ndot1-(double)r)/((r+1.0)*(n2dot-ndot1+r+1.0));
+                if(p<=tailSum*1e-17) {
+                    break;
+                }
+            }
+            Psum+=tailSum;
+        }
 
-            double pvalue=standardPart/(Arithmetics.factorial(n11)*Arithmetics.factorial(n12)*Arithmetics.factorial(n21)*Arithmetics.factorial(n22));
+        return Math.min(1.0, Psum);
+    }
 
-            if(r==originalN11) {
-                originalPvalue=pvalue;
-            }
+    /**
+     * Returns the log probability of a table with the provided n11 and margins.
+     *
+     * @param n11
+     * @param ndot1
+     * @param n1dot
+     * @param n2dot
+     * @param n
+     * @return
+     */
+    private static double logProbability(int n11, int ndot1, int n1dot, int n2dot, int n) {
+        return Arithmetics.logCombination(n1dot, n11) + Arithmetics.logCombination(n2dot, ndot1-n11) - Arithmetics.logCombination(n, ndot1);
+    }
 
-            if(pvalue<=originalPvalue) {
-                Psum+=pvalue;
+    /**
+     * Returns the largest r in [min, mode] whose log probability is not larger
+     * than the threshold or min-1 if there is none.
+     *
+     * @param min
+     * @param mode
+     * @param threshold
+     * @param ndot1
+     * @param n1dot
+     * @param n2dot
+     * @param n
+     * @return
+     */
+    private static int lowerTailBound(int min, int mode, double threshold, int ndot1, int n1dot, int n2dot, int n) {
+        int lo=min-1;
+        int hi=mode;
+        while(lo<hi) {
+            int mid=lo+(hi-lo+1)/2;
+            if(logProbability(mid, ndot1, n1dot, n2dot, n)<=threshold) {
+                lo=mid;
+            }
+            else {
+                hi=mid-1;
             }
         }
-        //combinations = null;    
+        return lo;
+    }
 
-        return Psum;
+    /**
+     * Returns the smallest r in [mode, max] whose log probability is not larger
+     * than the threshold or max+1 if there is none.
+     *
+     * @param mode
+     * @param max
+     * @param threshold
+     * @param ndot1
+     * @param n1dot
+     * @param n2dot
+     * @param n
+     * @return
+     */
+    private static int upperTailBound(int mode, int max, double threshold, int ndot1, int n1dot, int n2dot, int n) {
+        int lo=mode;
+        int hi=max+1;
+        while(lo<hi) {
+            int mid=lo+(hi-lo)/2;
+            if(logProbability(mid, ndot1, n1dot, n2dot, n)<=threshold) {
+                hi=mid;
+            }
+            else {
+                lo=mid+1;
+            }
+        }
+        return lo;
     }
     
     /**
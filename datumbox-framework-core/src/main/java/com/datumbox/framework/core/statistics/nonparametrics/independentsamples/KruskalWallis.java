@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,17 +15,10 @@
  */
 package com.datumbox.framework.core.statistics.nonparametrics.independentsamples;
 
-import com.datumbox.framework.common.dataobjects.AssociativeArray;
-import com.datumbox.framework.common.dataobjects.FlatDataCollection;
 import com.datumbox.framework.common.dataobjects.TransposeDataCollection;
-import com.datumbox.framework.common.dataobjects.TypeInference;
 import com.datumbox.framework.core.statistics.descriptivestatistics.Ranks;
 import com.datumbox.framework.core.statistics.distributions.ContinuousDistributions;
 
-import java.util.AbstractMap;
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Kruskal–Wallis one-way analysis of variance.
  *
@@ -40,72 +33,55 @@ public class KruskalWallis {
      * @return 
      */
     public static double getPvalue(TransposeDataCollection transposeDataCollection) {
+        return getPvalue(transposeDataCollection.toDoubleArrays());
+    }
+    
+    /**
+     * Calculates the p-value of null Hypothesis using the observations of the
+     * groups. Every row of the array holds the observations of one group.
+     * 
+     * @param groups
+     * @return 
+     */
+    public static double getPvalue(double[][] groups) {
         //flatten the original internalData table
-        AssociativeArray associativeArray = new AssociativeArray();
-        
-        for(Map.Entry<Object, FlatDataCollection> entry : transposeDataCollection.entrySet()) {
-            Object i = entry.getKey();
-            FlatDataCollection row = entry.getValue();
-            
-            Integer j=0;
-            for (Object value : row) {
-                Map.Entry<Object, Object> i_j = new AbstractMap.SimpleEntry<>(i, (Object)j);
-                associativeArray.put(i_j, value);
-                ++j;
-            }
+        int n = 0;
+        for(double[] group : groups) {
+            n+=group.length;
+        }
+        double[] values = new double[n];
+        int offset = 0;
+        for(double[] group : groups) {
+            System.arraycopy(group, 0, values, offset, group.length);
+            offset+=group.length;
         }
         
-        //converts the values of the flatDataCollection with their Ranks
-        AssociativeArray tiesCounter = Ranks.getRanksFromValues(associativeArray);
-        int n = associativeArray.size();
+        //converts the values with their Ranks
+        double C = Ranks.getRanksFromValues(values);
         
-        double C=0;
         //Correct for ties
-        if(!tiesCounter.isEmpty()) {
-            for(Object value : tiesCounter.values()) {
-                double Ti = TypeInference.toDouble(value);
-                C+=((Ti*Ti-1)*Ti); //faster than using pow()
-            }
+        if(C>0.0) {
             C/=((n*n-1.0)*n); //faster than using pow()
         }
-        //tiesCounter = null;
 
-        //Important note! Remember that the "i" value is the number of the group while the j is the number of observation within the group and NOT the other way around.
-        Map<Object, Integer> ni = new HashMap<>(); //stores the total number of observations in each group
-        Map<Object, Double> Ridot = new HashMap<>(); //stores the sum of Ranks for each group
-        
-        for(Map.Entry<Object, Object> entry : associativeArray.entrySet()) {
-            @SuppressWarnings("unchecked")
-            Map.Entry<Object, Object> i_j = (Map.Entry<Object, Object>)entry.getKey();
-            
-            Object i = i_j.getKey(); //get i and j values
-            Double rank = TypeInference.toDouble(entry.getValue());
-            
-            if(Ridot.containsKey(i)==false) { //if this "i" value is found for first time then define 
-                Ridot.put(i, rank);
-                ni.put(i, 1);
+        //Calculate Kruskal Wallis scrore based on the sum of Ranks of each group
+        int k=0;
+        double KWscore=0.0;
+        offset = 0;
+        for(double[] group : groups) {
+            int ni = group.length;
+            if(ni==0) {
+                continue;
             }
-            else {
-                Ridot.put(i, Ridot.get(i)+rank);
-                ni.put(i, ni.get(i)+1);
+            double Ridot = 0.0;
+            for(int j=offset;j<offset+ni;++j) {
+                Ridot+=values[j];
             }
-        }
-        //associativeArray=null;
-
-        int k=ni.size();
-
-        //Calculate Kruskal Wallis scrore based on the above
-        double KWscore=0.0;
-        
-        for(Map.Entry<Object, Double> entry : Ridot.entrySet()) {
-            Object i = entry.getKey();
-            Double value = entry.getValue();
+            offset+=ni;
             
-            KWscore+=value*value/ni.get(i);
+            KWscore+=Ridot*Ridot/ni;
+            ++k;
         }
-        //Ridot=null;
-        //ni=null;
-
 
         KWscore=(12.0/(n*(n+1.0)))*KWscore - 3.0*(n+1.0);
 
@@ -126,6 +102,31 @@ public class KruskalWallis {
     public static boolean test(TransposeDataCollection transposeDataCollection, double aLevel) {
         double pvalue = getPvalue(transposeDataCollection);
 
+        return checkCriticalValue(pvalue, aLevel);
+    }
+
+    /**
+     * Tests the rejection of null Hypothesis for a particular confidence level
+     * using the observations of the groups.
+     * 
+     * @param groups
+     * @param aLevel
+     * @return 
+     */
+    public static boolean test(double[][] groups, double aLevel) {
+        double pvalue = getPvalue(groups);
+
+        return checkCriticalValue(pvalue, aLevel);
+    }
+
+    /**
+     * Checks the p-value to determine if the Hypothesis should be rejected.
+     * 
+     * @param pvalue
+     * @param aLevel
+     * @return 
+     */
+    private static boolean checkCriticalValue(double pvalue, double aLevel) {
         boolean rejectH0=false;
         if(pvalue<=aLevel) {
             rejectH0=true; 
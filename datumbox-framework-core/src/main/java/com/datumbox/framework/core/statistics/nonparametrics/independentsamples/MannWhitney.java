@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,16 +15,10 @@
  */
 package com.datumbox.framework.core.statistics.nonparametrics.independentsamples;
 
-import com.datumbox.framework.common.dataobjects.AssociativeArray;
-import com.datumbox.framework.common.dataobjects.FlatDataCollection;
 import com.datumbox.framework.common.dataobjects.TransposeDataCollection;
-import com.datumbox.framework.common.dataobjects.TypeInference;
 import com.datumbox.framework.core.statistics.descriptivestatistics.Ranks;
 import com.datumbox.framework.core.statistics.distributions.ContinuousDistributions;
 
-import java.util.AbstractMap;
-import java.util.Map;
-
 /**
  * Mann-Whitney non-parametric test for independent samples.
  *
@@ -43,55 +37,41 @@ public class MannWhitney {
             throw new IllegalArgumentException("The collection must contain observations from 2 groups.");
         }
         
-        Object[] keys = transposeDataCollection.keySet().toArray();
+        double[][] groups = transposeDataCollection.toDoubleArrays();
         
+        return getCdf(groups[0], groups[1]);
+    }
+    
+    /**
+     * Calculates the cumulative probability of the rank score of the smallest
+     * group using the observations of the two groups. It is not a p-value; the
+     * two-tailed p-value is 2*min(cdf, 1-cdf).
+     * 
+     * @param x
+     * @param y
+     * @return 
+     */
+    public static double getCdf(double[] x, double[] y) {
         //IMPORTANT!!! place as n1 the smallest sample!!!!! This is required by the Test.
-        
-        
-        int smallIndex = 0;
-        int largeIndex = 1;
-        int n1 = transposeDataCollection.get(keys[smallIndex]).size();
-        int n2 = transposeDataCollection.get(keys[largeIndex]).size();
-        if(n1>n2) {
-            int tmp = n1;
-            n1 = n2;
-            n2 = tmp;
-            smallIndex=1;
-            //largeIndex=0;
-        }
-        
-        //flatten the original internalData table
-        AssociativeArray associativeArray = new AssociativeArray();
-        
-        for(Map.Entry<Object, FlatDataCollection> entry : transposeDataCollection.entrySet()) {
-            Object i = entry.getKey();
-            FlatDataCollection row = entry.getValue();
-            
-            Integer j=0;
-            for (Object value : row) {
-                Map.Entry<Object, Object> i_j = new AbstractMap.SimpleEntry<>(i, (Object)j);
-                associativeArray.put(i_j, value);
-                ++j;
-            }
+        if(x.length>y.length) {
+            double[] tmp = x;
+            x = y;
+            y = tmp;
         }
+        int n1 = x.length;
+        int n2 = y.length;
         
-        //converts the values of the flatDataCollection with their Ranks
-        Ranks.getRanksFromValues(associativeArray);
+        //flatten the two groups and convert the values with their Ranks
+        double[] values = new double[n1+n2];
+        System.arraycopy(x, 0, values, 0, n1);
+        System.arraycopy(y, 0, values, n1, n2);
+        Ranks.getRanksFromValues(values);
 
         //sum up the scores of the smallest sample
         double MWscore=0.0;
-        
-        for(Map.Entry<Object,Object> entry : associativeArray.entrySet()) {
-            @SuppressWarnings("unchecked")
-            Map.Entry<Object, Object> i_j = (Map.Entry<Object, Object>)entry.getKey();
-            Object i = i_j.getKey(); //get i and j values
-            
-            if(i.equals(keys[smallIndex])) { //if it belongs to the FIRST group (small group)
-                Double rank = TypeInference.toDouble(entry.getValue());
-                MWscore+=rank; //add the score
-            }
+        for(int i=0;i<n1;++i) {
+            MWscore+=values[i];
         }
-        //associativeArray=null;
 
         double pvalue= scoreToPvalue(MWscore, n1, n2);
 
@@ -109,6 +89,34 @@ public class MannWhitney {
     public static boolean test(TransposeDataCollection transposeDataCollection, boolean is_twoTailed, double aLevel) {
         double pvalue= getPvalue(transposeDataCollection);
 
+        return checkCriticalValue(pvalue, is_twoTailed, aLevel);
+    }
+
+    /**
+     * Tests the rejection of null Hypothesis for a particular confidence level
+     * using the observations of the two groups.
+     * 
+     * @param x
+     * @param y
+     * @param is_twoTailed
+     * @param aLevel
+     * @return 
+     */
+    public static boolean test(double[] x, double[] y, boolean is_twoTailed, double aLevel) {
+        double pvalue= getCdf(x, y);
+
+        return checkCriticalValue(pvalue, is_twoTailed, aLevel);
+    }
+
+    /**
+     * Checks the p-value to determine if the Hypothesis should be rejected.
+     * 
+     * @param pvalue
+     * @param is_twoTailed
+     * @param aLevel
+     * @return 
+     */
+    private static boolean checkCriticalValue(double pvalue, boolean is_twoTailed, double aLevel) {
         boolean rejectH0=false;
 
         double a=aLevel;
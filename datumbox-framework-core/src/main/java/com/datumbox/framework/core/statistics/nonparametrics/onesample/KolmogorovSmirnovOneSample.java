@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,7 @@ import com.datumbox.framework.core.statistics.distributions.ContinuousDistributi
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
 
 /**
  * kolmogorov–Smirnov's test for equality of distributions.
@@ -55,7 +56,50 @@ public class KolmogorovSmirnovOneSample {
      * @return
      */
     public static boolean test(FlatDataCollection flatDataCollection, String cdfMethod, AssociativeArray params, boolean is_twoTailed, double aLevel) {
-        double[] doubleArray = flatDataCollection.stream().filter(x -> x!=null).mapToDouble(TypeInference::toDouble).toArray();
+        //the array is a copy of the collection so it can be sorted in place
+        return _test(flatDataCollection.toDoubleArray(), getCdf(cdfMethod, params), is_twoTailed, aLevel);
+    }
+    
+    /**
+     * Tests the rejection of null Hypothesis for a particular confidence level
+     * using the values of the sample. The provided array is not modified.
+     * 
+     * @param values
+     * @param cdfMethod
+     * @param params
+     * @param is_twoTailed
+     * @param aLevel
+     * @return
+     */
+    public static boolean test(double[] values, String cdfMethod, AssociativeArray params, boolean is_twoTailed, double aLevel) {
+        return test(values, getCdf(cdfMethod, params), is_twoTailed, aLevel);
+    }
+    
+    /**
+     * Tests the rejection of null Hypothesis for a particular confidence level
+     * using the values of the sample and the cumulative distribution function 
+     * of the expected distribution. The provided array is not modified.
+     * 
+     * @param values
+     * @param cdf
+     * @param is_twoTailed
+     * @param aLevel
+     * @return
+     */
+    public static boolean test(double[] values, DoubleUnaryOperator cdf, boolean is_twoTailed, double aLevel) {
+        return _test(Arrays.copyOf(values, values.length), cdf, is_twoTailed, aLevel);
+    }
+    
+    /**
+     * Tests the rejection of null Hypothesis. The provided array is sorted in place.
+     * 
+     * @param doubleArray
+     * @param cdf
+     * @param is_twoTailed
+     * @param aLevel
+     * @return
+     */
+    private static boolean _test(double[] doubleArray, DoubleUnaryOperator cdf, boolean is_twoTailed, double aLevel) {
         int n = doubleArray.length;
         if(n<=0) {
             throw new IllegalArgumentException("The provided collection can't be empty.");
@@ -68,32 +112,50 @@ public class KolmogorovSmirnovOneSample {
         double maxDelta=0;
         int rank=1;
 
-        try {    
+        for(int i=0;i<doubleArray.length;++i) {
+            double x = doubleArray[i];
+
+            double observedProbabilityI=rank/(double)n;
+
+            double expectedProbabilityI = cdf.applyAsDouble(x);
+
+            double delta=Math.max(Math.abs(expectedProbabilityI-observedProbabilityI),Math.abs(expectedProbabilityI-observedProbabilityIminus1));
+            if(delta>=maxDelta) {
+                maxDelta=delta;
+            }
+
+            observedProbabilityIminus1=observedProbabilityI;
+            ++rank;
+        }
+
+        boolean rejectH0=checkCriticalValue(maxDelta, is_twoTailed, n, aLevel);
+
+        return rejectH0;
+    }
+    
+    /**
+     * Resolves once the cumulative distribution method which is called via 
+     * reflection and binds it with its parameters.
+     * 
+     * @param cdfMethod
+     * @param params
+     * @return 
+     */
+    private static DoubleUnaryOperator getCdf(String cdfMethod, AssociativeArray params) {
+        try {
             Method method = KolmogorovSmirnovOneSample.class.getMethod(cdfMethod, Double.class, AssociativeArray.class);
-            for(int i=0;i<doubleArray.length;++i) {
-                double x = doubleArray[i];
-                
-                double observedProbabilityI=rank/(double)n;
-                
-                Object methodResult = method.invoke(null, x, params);
-                double expectedProbabilityI = TypeInference.toDouble(methodResult);
-                
-                double delta=Math.max(Math.abs(expectedProbabilityI-observedProbabilityI),Math.abs(expectedProbabilityI-observedProbabilityIminus1));
-                if(delta>=maxDelta) {
-                    maxDelta=delta;
+            return x -> {
+                try {
+                    return TypeInference.toDouble(method.invoke(null, x, params));
                 }
-                
-                observedProbabilityIminus1=observedProbabilityI;
-                ++rank;
-            }
-            
-            boolean rejectH0=checkCriticalValue(maxDelta, is_twoTailed, n, aLevel);
-            
-            return rejectH0;
-        } 
-        catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
+                catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
+                    throw new IllegalArgumentException(ex);
+                }
+            };
+        }
+        catch (NoSuchMethodException | SecurityException ex) {
             throw new IllegalArgumentException(ex);
-        } 
+        }
     }
     
     /**
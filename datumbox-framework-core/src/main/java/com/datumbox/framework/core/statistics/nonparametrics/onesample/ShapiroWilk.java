@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,6 @@
 package com.datumbox.framework.core.statistics.nonparametrics.onesample;
 
 import com.datumbox.framework.common.dataobjects.FlatDataCollection;
-import com.datumbox.framework.common.dataobjects.TypeInference;
 import com.datumbox.framework.core.statistics.distributions.ContinuousDistributions;
 
 import java.util.Arrays;
@@ -36,9 +35,33 @@ public class ShapiroWilk {
      * @return 
      */
     public static boolean test(FlatDataCollection flatDataCollection, double aLevel) {
+        //the array is a copy of the collection so it can be sorted in place
+        return _test(flatDataCollection.toDoubleArray(), aLevel);
+    }
+    
+    /**
+     * Tests the rejection of null Hypothesis for a particular confidence level
+     * using the values of the sample. The provided array is not modified.
+     * 
+     * @param values
+     * @param aLevel
+     * @return 
+     */
+    public static boolean test(double[] values, double aLevel) {
+        return _test(Arrays.copyOf(values, values.length), aLevel);
+    }
+    
+    /**
+     * Tests the rejection of null Hypothesis. The provided array is sorted in place.
+     * 
+     * @param x
+     * @param aLevel
+     * @return 
+     */
+    private static boolean _test(double[] x, double aLevel) {
         boolean rejectH0=false;
 
-        double probability = shapiroWilkW(flatDataCollection.stream().filter(x -> x!=null).mapToDouble(TypeInference::toDouble).toArray());
+        double probability = shapiroWilkW(x);
 
         double a=aLevel;
         if(probability<=a || probability>=(1.0-a)) {
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,14 +15,11 @@
  */
 package com.datumbox.framework.core.statistics.nonparametrics.onesample;
 
-import com.datumbox.framework.common.dataobjects.AssociativeArray;
 import com.datumbox.framework.common.dataobjects.FlatDataCollection;
-import com.datumbox.framework.common.dataobjects.TypeInference;
 import com.datumbox.framework.core.statistics.descriptivestatistics.Ranks;
 import com.datumbox.framework.core.statistics.distributions.ContinuousDistributions;
 
-import java.util.Iterator;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * One sample Wilcoxon test.
@@ -39,36 +36,43 @@ public class WilcoxonOneSample {
      * @return
      */
     public static double getPvalue(FlatDataCollection flatDataCollection, double median) {
+        return getPvalue(flatDataCollection.toDoubleArray(), median);
+    }
+    
+    /**
+     * Calculates the p-value of null Hypothesis 
+     * 
+     * @param values
+     * @param median
+     * @return
+     */
+    public static double getPvalue(double[] values, double median) {
+        //the absolute non-zero differences and their signs
+        double[] Di = new double[values.length];
+        boolean[] isPositive = new boolean[values.length];
         int n=0;
-        AssociativeArray Di = new AssociativeArray();
-        Iterator<Double> it = flatDataCollection.iteratorDouble();
-        while(it.hasNext()) {
-            double delta=it.next()-median;
+        for(double value : values) {
+            double delta=value-median;
 
             if(delta==0.0) {
                 continue; //don't count it at all
             }
 
-            String key="+";
-            if(delta<0) {
-                key="-";
-            }
-            Di.put(key+String.valueOf(n), Math.abs(delta));
+            isPositive[n]=delta>0;
+            Di[n]=Math.abs(delta);
             ++n;
         }
         if(n<=0) {
             throw new IllegalArgumentException("The provided collection can't be empty.");
         }
 
-        //converts the values of the table with its Ranks
+        //converts the differences to their Ranks
+        Di=Arrays.copyOf(Di, n);
         Ranks.getRanksFromValues(Di);
         double W=0.0;
-        for(Map.Entry<Object, Object> entry : Di.entrySet()) {
-            String key = entry.getKey().toString();
-            Double rank = TypeInference.toDouble(entry.getValue());
-        
-            if(key.charAt(0)=='+') {
-                W+=rank;
+        for(int i=0;i<n;++i) {
+            if(isPositive[i]) {
+                W+=Di[i];
             }
         }
 
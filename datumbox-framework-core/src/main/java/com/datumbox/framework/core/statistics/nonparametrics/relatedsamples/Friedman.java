@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,15 +17,9 @@ package com.datumbox.framework.core.statistics.nonparametrics.relatedsamples;
 
 import com.datumbox.framework.common.dataobjects.AssociativeArray;
 import com.datumbox.framework.common.dataobjects.DataTable2D;
-import com.datumbox.framework.common.dataobjects.TypeInference;
 import com.datumbox.framework.core.statistics.descriptivestatistics.Ranks;
 import com.datumbox.framework.core.statistics.distributions.ContinuousDistributions;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 /**
  * Friedman's related sample non-parametric test.
  *
@@ -44,53 +38,63 @@ public class Friedman {
             throw new IllegalArgumentException("The provided Table does not have a rectangular format.");
         }
         
-        Map<Object, Double> columnSum = new HashMap<>(); //it stores the column sums that are required by the algorithm
+        //every row is a block and every column a treatment
+        double[][] table = new double[dataTable.size()][];
+        Object[] columns = null;
+        int i=0;
+        for(AssociativeArray row : dataTable.values()) {
+            if(columns==null) {
+                columns = row.keySet().toArray();
+            }
+            table[i] = new double[columns.length];
+            for(int j=0;j<columns.length;++j) {
+                table[i][j] = row.getDouble(columns[j]);
+            }
+            ++i;
+        }
 
-        List<Integer> tiesCounter = new ArrayList<>(); //it stores the total ties occurred along with the values that were involved in the tie in each case
+        return getPvalue(table);
+    }
 
-        //Find Ranks from Data Table. We don't store them to reduce memory consumption
-        for(Map.Entry<Object, AssociativeArray> entry1 : dataTable.entrySet()) {
-            AssociativeArray row = entry1.getValue(); 
-            
-            //find the number of tied values and convert values into ranks
-            AssociativeArray tiedValuesArray = Ranks.getRanksFromValues(row.copy()); //this copies the data before passing them into the Ranks.
-            
-            for(Object value : tiedValuesArray.values()) {
-                tiesCounter.add( ((Number)value).intValue() );
+    /**
+     * Calculates the p-value of null Hypothesis. Every row of the table is a
+     * block and every column a treatment.
+     * 
+     * @param table
+     * @return 
+     */
+    public static double getPvalue(double[][] table) {
+        int n=table.length;
+        if(n==0) {
+            throw new IllegalArgumentException("The provided Table can't be empty.");
+        }
+        int k=table[0].length;
+
+        double[] columnSum = new double[k]; //it stores the column sums of the ranks that are required by the algorithm
+        double C=0.0; //it stores the sum of (t^3-t) over the ties of all the rows
+
+        //Find Ranks of every row. We don't store them to reduce memory consumption
+        double[] ranks = new double[k];
+        for(double[] row : table) {
+            if(row.length!=k) {
+                throw new IllegalArgumentException("The provided Table does not have a rectangular format.");
             }
+            System.arraycopy(row, 0, ranks, 0, k);
+            C+=Ranks.getRanksFromValues(ranks);
             
-            for(Map.Entry<Object, Object> entry2 : row.entrySet()) {
-                Object j = entry2.getKey();
-                
-                double v = TypeInference.toDouble(entry2.getValue());
-                if(columnSum.containsKey(j)==false) {
-                    columnSum.put(j, v);
-                }
-                else {
-                    columnSum.put(j, columnSum.get(j)+v);
-                }
+            for(int j=0;j<k;++j) {
+                columnSum[j]+=ranks[j];
             }
-
-            //tiedValuesArray = null;
-            //row = null;
         }
 
-        int n=dataTable.size();
-        int k=columnSum.size();
-
         double Fscore=0;
-        for(Double value : columnSum.values()) {
+        for(double value : columnSum) {
             Fscore+=value*value;
         }
-        //columnSum = null;
         Fscore=(12.0/(n*k*(k+1.0)))*Fscore - 3.0*n*(k+1.0);
 
         //Correct for ties
-        if(!tiesCounter.isEmpty()) {
-            double C=0.0;
-            for(Integer Ti : tiesCounter) {
-                C+=((Ti*Ti-1.0)*Ti); //faster than using pow()
-            }
+        if(C>0.0) {
             Fscore/=(1.0-C/(n*k*(k*k-1.0))); //again faster than using pow()
         }
 
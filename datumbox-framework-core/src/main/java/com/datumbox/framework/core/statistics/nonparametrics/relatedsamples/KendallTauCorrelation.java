@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,58 +32,188 @@ public class KendallTauCorrelation {
      * @param transposeDataList
      * @return
      */
-    public static double calculateCorrelation(TransposeDataList transposeDataList) { //unsafe internalData pointer. modifying the variable internalData
+    public static double calculateCorrelation(TransposeDataList transposeDataList) {
         Object[] keys = transposeDataList.keySet().toArray();
         if(keys.length!=2) {
             throw new IllegalArgumentException("The collection must contain observations from 2 groups.");
         }
         
-        Object keyX = keys[0];
-        Object keyY = keys[1];
-        
-        FlatDataList flatDataListX = transposeDataList.get(keyX);
-        FlatDataList flatDataListY = transposeDataList.get(keyY);
+        FlatDataList flatDataListX = transposeDataList.get(keys[0]);
+        FlatDataList flatDataListY = transposeDataList.get(keys[1]);
 
         int n = flatDataListX.size();
         if(n<=0 || n!=flatDataListY.size()) {
             throw new IllegalArgumentException("The number of observations in each group must be equal and larger than 0.");
         }
-
-        //The following loops calculate twice the scores. That the check both if A>B and B<A and count it twice
-        int numberOfConcordant=0;
-        int numberOfDisconcordant=0;
         
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for(int i=0;i<n;++i) {
+            x[i] = flatDataListX.getDouble(i);
+            y[i] = flatDataListY.getDouble(i);
+        }
         
+        return calculateCorrelation(x, y);
+    }
+    
+    /**
+     * Calculates Kendall Tau's Correlation (tau-a) of two paired samples in 
+     * O(n log n) time by using Knight's algorithm. The tied pairs are counted
+     * neither as concordant nor as discordant.
+     * 
+     * References: 
+     *  Knight, W. R. (1966). A Computer Method for Calculating Kendall's Tau with Ungrouped Data.
+     * 
+     * @param x
+     * @param y
+     * @return 
+     */
+    public static double calculateCorrelation(double[] x, double[] y) {
+        int n = x.length;
+        if(n<=0 || n!=y.length) {
+            throw new IllegalArgumentException("The number of observations in each group must be equal and larger than 0.");
+        }
+        
+        //sort the pairs by x and break the ties by y
+        int[] index = new int[n];
         for(int i=0;i<n;++i) {
-            for(int j=0;j<n;++j) {
-                double xi = flatDataListX.getDouble(i);
-                double xj = flatDataListX.getDouble(j);
-                double yi = flatDataListY.getDouble(i);
-                double yj = flatDataListY.getDouble(j);
-                
-                double sign=(xi-xj)*(yi-yj); //if this has a positive sign then they are concordant
-                if(sign>0) {
-                    ++numberOfConcordant;
+            index[i] = i;
+        }
+        sortByXY(index, new int[n], x, y);
+        
+        double[] sortedY = new double[n];
+        long tiesX = 0; //pairs tied on x
+        long tiesXY = 0; //pairs tied on both x and y
+        int runX = 1;
+        int runXY = 1;
+        sortedY[0] = y[index[0]];
+        for(int i=1;i<n;++i) {
+            int current = index[i];
+            int previous = index[i-1];
+            sortedY[i] = y[current];
+            if(x[current]==x[previous]) {
+                ++runX;
+                if(y[current]==y[previous]) {
+                    ++runXY;
                 }
-                else if(sign<0) {
-                    ++numberOfDisconcordant;
+                else {
+                    tiesXY += runXY*(runXY-1L)/2;
+                    runXY = 1;
                 }
             }
+            else {
+                tiesX += runX*(runX-1L)/2;
+                tiesXY += runXY*(runXY-1L)/2;
+                runX = 1;
+                runXY = 1;
+            }
         }
-        /*
-        foreach(transposeDataList[0] as i=>&xi) {
-            foreach(transposeDataList[0] as j=>&xj) {
+        tiesX += runX*(runX-1L)/2;
+        tiesXY += runXY*(runXY-1L)/2;
+        
+        //the number of swaps of a stable merge sort on y is the number of discordant pairs
+        long numberOfDiscordant = mergeSortCountingSwaps(sortedY, new double[n]);
+        
+        long tiesY = 0; //pairs tied on y
+        int runY = 1;
+        for(int i=1;i<n;++i) {
+            if(sortedY[i]==sortedY[i-1]) {
+                ++runY;
+            }
+            else {
+                tiesY += runY*(runY-1L)/2;
+                runY = 1;
             }
         }
-        */
-        numberOfConcordant/=2; //divide by 2 because we counted them twice
-        numberOfDisconcordant/=2; //divide by 2 because we counted them twice
+        tiesY += runY*(runY-1L)/2;
+        
+        long numberOfPairs = n*(n-1L)/2;
+        long numberOfConcordant = numberOfPairs - tiesX - tiesY + tiesXY - numberOfDiscordant;
 
-        double R=(numberOfConcordant-numberOfDisconcordant)/(n*(n-1.0)/2.0);
+        double R=(numberOfConcordant-numberOfDiscordant)/(n*(n-1.0)/2.0);
 
         return R;
     }
     
+    /**
+     * Sorts the indexes of the pairs by x in ascending order and breaks the ties
+     * by y, by using a bottom-up merge sort.
+     * 
+     * @param index
+     * @param buffer
+     * @param x
+     * @param y 
+     */
+    private static void sortByXY(int[] index, int[] buffer, double[] x, double[] y) {
+        int n = index.length;
+        for(int width=1;width<n;width*=2) {
+            for(int lo=0;lo<n-width;lo+=2*width) {
+                int mid = lo+width;
+                int hi = Math.min(lo+2*width, n);
+                
+                int i = lo, j = mid, k = lo;
+                while(i<mid && j<hi) {
+                    int a = index[i];
+                    int b = index[j];
+                    if(x[b]<x[a] || (x[b]==x[a] && y[b]<y[a])) {
+                        buffer[k++] = b;
+                        ++j;
+                    }
+                    else {
+                        buffer[k++] = a;
+                        ++i;
+                    }
+                }
+                while(i<mid) {
+                    buffer[k++] = index[i++];
+                }
+                while(j<hi) {
+                    buffer[k++] = index[j++];
+                }
+                System.arraycopy(buffer, lo, index, lo, hi-lo);
+            }
+        }
+    }
+    
+    /**
+     * Sorts the values in ascending order by using a stable bottom-up merge sort 
+     * and returns the number of swaps, i.e. the number of pairs which are in
+     * strictly decreasing order.
+     * 
+     * @param values
+     * @param buffer
+     * @return 
+     */
+    private static long mergeSortCountingSwaps(double[] values, double[] buffer) {
+        int n = values.length;
+        long swaps = 0;
+        for(int width=1;width<n;width*=2) {
+            for(int lo=0;lo<n-width;lo+=2*width) {
+                int mid = lo+width;
+                int hi = Math.min(lo+2*width, n);
+                
+                int i = lo, j = mid, k = lo;
+                while(i<mid && j<hi) {
+                    if(values[j]<values[i]) {
+                        swaps += mid-i; //the value jumps over all the remaining values of the left run
+                        buffer[k++] = values[j++];
+                    }
+                    else {
+                        buffer[k++] = values[i++];
+                    }
+                }
+                while(i<mid) {
+                    buffer[k++] = values[i++];
+                }
+                while(j<hi) {
+                    buffer[k++] = values[j++];
+                }
+                System.arraycopy(buffer, lo, values, lo, hi-lo);
+            }
+        }
+        return swaps;
+    }
+    
     /**
      * Tests the rejection of null Hypothesis for a particular confidence level 
      * 
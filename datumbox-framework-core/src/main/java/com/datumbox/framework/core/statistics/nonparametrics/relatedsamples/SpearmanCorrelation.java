@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,13 +15,13 @@
  */
 package com.datumbox.framework.core.statistics.nonparametrics.relatedsamples;
 
-import com.datumbox.framework.common.dataobjects.AssociativeArray;
 import com.datumbox.framework.common.dataobjects.FlatDataList;
 import com.datumbox.framework.common.dataobjects.TransposeDataList;
-import com.datumbox.framework.common.dataobjects.TypeInference;
 import com.datumbox.framework.core.statistics.descriptivestatistics.Ranks;
 import com.datumbox.framework.core.statistics.distributions.ContinuousDistributions;
 
+import java.util.Arrays;
+
 /**
  * This class provides methods to estimate and test Spearman's Correlation.
  *
@@ -44,46 +44,50 @@ public class SpearmanCorrelation {
         Object keyX = keys[0];
         Object keyY = keys[1];
 
-        FlatDataList flatDataListX = transposeDataList.get(keyX).copy();
-        FlatDataList flatDataListY = transposeDataList.get(keyY).copy();
+        FlatDataList flatDataListX = transposeDataList.get(keyX);
+        FlatDataList flatDataListY = transposeDataList.get(keyY);
 
         int n = flatDataListX.size();
         if(n<=0 || n!=flatDataListY.size()) {
             throw new IllegalArgumentException("The number of observations in each group must be equal and larger than 0.");
         }
 
-
-        //converts the values of the X table with its Ranks
-        AssociativeArray tiesCounter= Ranks.getRanksFromValues(flatDataListX);
-
-        //Estimate Rx_square
-        double Sum_Rx_square=(n*n-1.0)*n;
-        for(Object value : tiesCounter.values()) {
-            double Ti = TypeInference.toDouble(value);
-            Sum_Rx_square-=((Ti*Ti-1.0)*Ti); //faster than using pow()
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for(int j=0;j<n;++j) {
+            x[j] = flatDataListX.getDouble(j);
+            y[j] = flatDataListY.getDouble(j);
         }
-        Sum_Rx_square/=12.0;
-        //tiesCounter = null;
 
+        return calculateCorrelation(x, y);
+    }
 
+    /**
+     * Estimates Spearman's Correlation for the paired observations. The
+     * provided arrays are not modified.
+     * 
+     * @param x
+     * @param y
+     * @return
+     */
+    public static double calculateCorrelation(double[] x, double[] y) {
+        int n = x.length;
+        if(n<=0 || n!=y.length) {
+            throw new IllegalArgumentException("The number of observations in each group must be equal and larger than 0.");
+        }
 
-        //converts the values of the Y table with its Ranks
-        tiesCounter= Ranks.getRanksFromValues(flatDataListY);
+        //converts the values of the X table with its Ranks and estimates Rx_square
+        double[] Rx = Arrays.copyOf(x, n);
+        double Sum_Rx_square=((n*(double)n-1.0)*n - Ranks.getRanksFromValues(Rx))/12.0;
 
-        //Estimate Ry_square
-        double Sum_Ry_square=(n*n-1.0)*n;
-        for(Object value : tiesCounter.values()) {
-            double Ti = TypeInference.toDouble(value);
-            Sum_Ry_square-=((Ti*Ti-1.0)*Ti); //faster than using pow()
-        }
-        Sum_Ry_square/=12.0;
-        //tiesCounter = null;
-        
+        //converts the values of the Y table with its Ranks and estimates Ry_square
+        double[] Ry = Arrays.copyOf(y, n);
+        double Sum_Ry_square=((n*(double)n-1.0)*n - Ranks.getRanksFromValues(Ry))/12.0;
         
         //calculate the sum of Di^2
         double Sum_Di_square=0;
         for(int j=0;j<n;++j) {
-            double di= flatDataListX.getDouble(j) - flatDataListY.getDouble(j);
+            double di= Rx[j] - Ry[j];
             Sum_Di_square+=di*di;
         }
 
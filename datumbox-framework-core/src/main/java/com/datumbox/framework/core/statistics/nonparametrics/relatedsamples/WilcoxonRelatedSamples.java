@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,14 +15,12 @@
  */
 package com.datumbox.framework.core.statistics.nonparametrics.relatedsamples;
 
-import com.datumbox.framework.common.dataobjects.AssociativeArray;
 import com.datumbox.framework.common.dataobjects.FlatDataList;
 import com.datumbox.framework.common.dataobjects.TransposeDataList;
-import com.datumbox.framework.common.dataobjects.TypeInference;
 import com.datumbox.framework.core.statistics.descriptivestatistics.Ranks;
 import com.datumbox.framework.core.statistics.distributions.ContinuousDistributions;
 
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * Wilcoxon's Related Samples non-parametric test.
@@ -54,27 +52,52 @@ public class WilcoxonRelatedSamples {
             throw new IllegalArgumentException("The number of observations in each group must be equal and larger than 0.");
         }
 
-        AssociativeArray Di = new AssociativeArray();
+        double[] x = new double[n];
+        double[] y = new double[n];
         for(int j=0;j<n;++j) {
-            double delta= flatDataListX.getDouble(j) - flatDataListY.getDouble(j);
+            x[j] = flatDataListX.getDouble(j);
+            y[j] = flatDataListY.getDouble(j);
+        }
+
+        return getPvalue(x, y);
+    }
+
+    /**
+     * Calculates the p-value of null Hypothesis for the paired observations.
+     * 
+     * @param x
+     * @param y
+     * @return
+     */
+    public static double getPvalue(double[] x, double[] y) {
+        int n = x.length;
+        if(n<=0 || n!=y.length) {
+            throw new IllegalArgumentException("The number of observations in each group must be equal and larger than 0.");
+        }
+
+        //the absolute non-zero differences and their signs
+        double[] Di = new double[n];
+        boolean[] isPositive = new boolean[n];
+        int m=0;
+        for(int j=0;j<n;++j) {
+            double delta= x[j] - y[j];
 
             if(delta==0) {
                 continue; //don't count it at all
             }
 
-            String key="+";
-            if(delta<0) {
-                key="-";
-            }
-            Di.put(key+Integer.toString(j), Math.abs(delta));
+            isPositive[m]=delta>0;
+            Di[m]=Math.abs(delta);
+            ++m;
         }
 
-        //converts the values of the table with its Ranks
+        //converts the differences to their Ranks
+        Di=Arrays.copyOf(Di, m);
         Ranks.getRanksFromValues(Di);
         double W=0;
-        for(Map.Entry<Object, Object> entry : Di.entrySet()) {
-            if(entry.getKey().toString().charAt(0)=='+') {
-                W+=TypeInference.toDouble(entry.getValue());
+        for(int i=0;i<m;++i) {
+            if(isPositive[i]) {
+                W+=Di[i];
             }
         }
 
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,7 +25,9 @@ import com.datumbox.framework.core.statistics.distributions.ContinuousDistributi
 public class StudentsIndependentSamples {
     
     /**
-     * Independent Samples Mean Test for Students.
+     * Calculates the cumulative probability of the t score of the Independent
+     * Samples Mean Test for Students. It is not a p-value; the two-tailed p-value
+     * is 2*min(cdf, 1-cdf).
      * Requirements: Normal with unknown Variances, not equal variances
      * 
      * @param xbar
@@ -34,11 +36,9 @@ public class StudentsIndependentSamples {
      * @param m
      * @param stdx
      * @param stdy
-     * @param is_twoTailed
-     * @param aLevel
      * @return
      */
-    public static boolean testMeansUnknownNotEqualVars(double xbar, double ybar, int n, int m, double stdx, double stdy, boolean is_twoTailed, double aLevel) {
+    public static double getCdfUnknownNotEqualVars(double xbar, double ybar, int n, int m, double stdx, double stdy) {
         //also known as Welch's T-test: http://en.wikipedia.org/wiki/Welch's_t_test
         if(n<=1 || stdx<=0 || m<=1 || stdy<=0) {
             throw new IllegalArgumentException("The values of the provided parameters are not within the permitted range.");
@@ -52,14 +52,12 @@ public class StudentsIndependentSamples {
 
         int df = (int)Math.round(Math.pow(varx/n+vary/m,2)/(Math.pow(varx/n,2)/(n-1) + Math.pow(vary/m,2)/(m-1)));
 
-        boolean rejectH0=checkCriticalValue(t, df, is_twoTailed, aLevel);
-
-        return rejectH0;
+        return ContinuousDistributions.studentsCdf(t, df);
     }
     
     /**
      * Independent Samples Mean Test for Students.
-     * Requirements: Normal with unknown Variances, equal variances
+     * Requirements: Normal with unknown Variances, not equal variances
      * 
      * @param xbar
      * @param ybar
@@ -71,7 +69,29 @@ public class StudentsIndependentSamples {
      * @param aLevel
      * @return
      */
-    public static boolean testMeansUnknownEqualVars(double xbar, double ybar, int n, int m, double stdx, double stdy, boolean is_twoTailed, double aLevel) {
+    public static boolean testMeansUnknownNotEqualVars(double xbar, double ybar, int n, int m, double stdx, double stdy, boolean is_twoTailed, double aLevel) {
+        double probability = getCdfUnknownNotEqualVars(xbar, ybar, n, m, stdx, stdy);
+
+        boolean rejectH0=checkCriticalValue(probability, is_twoTailed, aLevel);
+
+        return rejectH0;
+    }
+    
+    /**
+     * Calculates the cumulative probability of the t score of the Independent
+     * Samples Mean Test for Students. It is not a p-value; the two-tailed p-value
+     * is 2*min(cdf, 1-cdf).
+     * Requirements: Normal with unknown Variances, equal variances
+     * 
+     * @param xbar
+     * @param ybar
+     * @param n
+     * @param m
+     * @param stdx
+     * @param stdy
+     * @return
+     */
+    public static double getCdfUnknownEqualVars(double xbar, double ybar, int n, int m, double stdx, double stdy) {
         if(n<=1 || stdx<=0 || m<=1 || stdy<=0) {
             throw new IllegalArgumentException("The values of the provided parameters are not within the permitted range.");
         }
@@ -83,23 +103,136 @@ public class StudentsIndependentSamples {
 
         int df=n+m-2;
 
-        boolean rejectH0=checkCriticalValue(t, df, is_twoTailed, aLevel);
+        return ContinuousDistributions.studentsCdf(t, df);
+    }
+    
+    /**
+     * Independent Samples Mean Test for Students.
+     * Requirements: Normal with unknown Variances, equal variances
+     * 
+     * @param xbar
+     * @param ybar
+     * @param n
+     * @param m
+     * @param stdx
+     * @param stdy
+     * @param is_twoTailed
+     * @param aLevel
+     * @return
+     */
+    public static boolean testMeansUnknownEqualVars(double xbar, double ybar, int n, int m, double stdx, double stdy, boolean is_twoTailed, double aLevel) {
+        double probability = getCdfUnknownEqualVars(xbar, ybar, n, m, stdx, stdy);
+
+        boolean rejectH0=checkCriticalValue(probability, is_twoTailed, aLevel);
 
         return rejectH0;
     }
+    
+    /**
+     * Calculates the cumulative probability of the t score of the Independent
+     * Samples Mean Test for Students on the observations of the two samples.
+     * Requirements: Normal with unknown Variances, not equal variances
+     * 
+     * @param x
+     * @param y
+     * @return
+     */
+    public static double getCdfUnknownNotEqualVars(double[] x, double[] y) {
+        double xbar = mean(x);
+        double ybar = mean(y);
+        return getCdfUnknownNotEqualVars(xbar, ybar, x.length, y.length, std(x, xbar), std(y, ybar));
+    }
+    
+    /**
+     * Independent Samples Mean Test for Students on the observations of the two
+     * samples.
+     * Requirements: Normal with unknown Variances, not equal variances
+     * 
+     * @param x
+     * @param y
+     * @param is_twoTailed
+     * @param aLevel
+     * @return
+     */
+    public static boolean testMeansUnknownNotEqualVars(double[] x, double[] y, boolean is_twoTailed, double aLevel) {
+        return checkCriticalValue(getCdfUnknownNotEqualVars(x, y), is_twoTailed, aLevel);
+    }
+    
+    /**
+     * Calculates the cumulative probability of the t score of the Independent
+     * Samples Mean Test for Students on the observations of the two samples.
+     * Requirements: Normal with unknown Variances, equal variances
+     * 
+     * @param x
+     * @param y
+     * @return
+     */
+    public static double getCdfUnknownEqualVars(double[] x, double[] y) {
+        double xbar = mean(x);
+        double ybar = mean(y);
+        return getCdfUnknownEqualVars(xbar, ybar, x.length, y.length, std(x, xbar), std(y, ybar));
+    }
+    
+    /**
+     * Independent Samples Mean Test for Students on the observations of the two
+     * samples.
+     * Requirements: Normal with unknown Variances, equal variances
+     * 
+     * @param x
+     * @param y
+     * @param is_twoTailed
+     * @param aLevel
+     * @return
+     */
+    public static boolean testMeansUnknownEqualVars(double[] x, double[] y, boolean is_twoTailed, double aLevel) {
+        return checkCriticalValue(getCdfUnknownEqualVars(x, y), is_twoTailed, aLevel);
+    }
+    
+    /**
+     * Estimates the mean of the sample.
+     * 
+     * @param values
+     * @return 
+     */
+    private static double mean(double[] values) {
+        if(values.length==0) {
+            throw new IllegalArgumentException("The provided sample can't be empty.");
+        }
+        double sum = 0.0;
+        for(double value : values) {
+            sum+=value;
+        }
+        return sum/values.length;
+    }
+    
+    /**
+     * Estimates the sample standard deviation given the mean of the sample.
+     * 
+     * @param values
+     * @param mean
+     * @return 
+     */
+    private static double std(double[] values, double mean) {
+        if(values.length<=1) {
+            return 0.0; //the tests reject it as out of the permitted range
+        }
+        double sumSquares = 0.0;
+        for(double value : values) {
+            double delta = value - mean;
+            sumSquares+=delta*delta;
+        }
+        return Math.sqrt(sumSquares/(values.length-1.0));
+    }
 
     /**
      * Checks the Critical Value to determine if the Hypothesis should be rejected
      * 
-     * @param score
-     * @param df
+     * @param probability
      * @param is_twoTailed
      * @param aLevel
      * @return 
      */
-    private static boolean checkCriticalValue(double score, int df, boolean is_twoTailed, double aLevel) {
-        double probability=ContinuousDistributions.studentsCdf(score,df);
-
+    private static boolean checkCriticalValue(double probability, boolean is_twoTailed, double aLevel) {
         boolean rejectH0=false;
 
         double a=aLevel;
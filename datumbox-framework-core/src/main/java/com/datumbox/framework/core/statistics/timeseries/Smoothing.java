@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,10 +15,20 @@
  */
 package com.datumbox.framework.core.statistics.timeseries;
 
+import com.datumbox.framework.common.concurrency.ConcurrencyConfiguration;
+import com.datumbox.framework.common.concurrency.ForkJoinStream;
+import com.datumbox.framework.common.concurrency.StreamMethods;
 import com.datumbox.framework.common.dataobjects.FlatDataList;
+import com.datumbox.framework.core.statistics.timeseries.smoothers.AbstractSmoother;
+
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 /**
- * This class provides several Smoothing and moving average methods.
+ * This class provides several Smoothing and moving average methods. The methods
+ * which receive a FlatDataList process the entire history of the series; the
+ * incremental smoothers of the smoothers package keep the state of the series
+ * and can be advanced in parallel across many series with add().
  * 
  * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
  */
@@ -202,4 +212,57 @@ public class Smoothing {
         return holtWinterTplus1;
     }
 
+    /**
+     * Number of series processed by every parallel task of add() and forecast().
+     */
+    private static final int SERIES_PER_TASK = 1024;
+
+    /**
+     * Adds the next observation of every series in its smoother. The i-th
+     * value is added in the i-th smoother and the series are processed in
+     * parallel.
+     *
+     * @param smoothers
+     * @param values
+     * @param concurrencyConfiguration
+     */
+    public static void add(AbstractSmoother[] smoothers, double[] values, ConcurrencyConfiguration concurrencyConfiguration) {
+        if(smoothers.length!=values.length) {
+            throw new IllegalArgumentException("The number of smoothers and values must be equal.");
+        }
+        forEachSeries(smoothers.length, i -> smoothers[i].add(values[i]), concurrencyConfiguration);
+    }
+
+    /**
+     * Returns the forecasts of all the smoothers, estimated in parallel.
+     *
+     * @param smoothers
+     * @param concurrencyConfiguration
+     * @return
+     */
+    public static double[] forecast(AbstractSmoother[] smoothers, ConcurrencyConfiguration concurrencyConfiguration) {
+        double[] forecasts = new double[smoothers.length];
+        forEachSeries(smoothers.length, i -> forecasts[i] = smoothers[i].forecast(), concurrencyConfiguration);
+        return forecasts;
+    }
+
+    /**
+     * Executes the action for every series, splitting them in tasks of
+     * SERIES_PER_TASK series.
+     *
+     * @param m
+     * @param action
+     * @param concurrencyConfiguration
+     */
+    private static void forEachSeries(int m, IntConsumer action, ConcurrencyConfiguration concurrencyConfiguration) {
+        int tasks = (m+SERIES_PER_TASK-1)/SERIES_PER_TASK;
+        ForkJoinStream streamExecutor = new ForkJoinStream(concurrencyConfiguration);
+        streamExecutor.forEach(StreamMethods.stream(IntStream.range(0, tasks).boxed(), concurrencyConfiguration.isParallelized()), t -> {
+            int end = Math.min(m, (t+1)*SERIES_PER_TASK);
+            for(int i=t*SERIES_PER_TASK;i<end;++i) {
+                action.accept(i);
+            }
+        });
+    }
+
 }
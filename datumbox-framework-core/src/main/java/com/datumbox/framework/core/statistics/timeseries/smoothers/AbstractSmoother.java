@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.statistics.timeseries.smoothers;
+
+import java.io.Serializable;
+
+/**
+ * Base class of the incremental smoothers. A smoother keeps the state of a
+ * single time series, it is updated in O(1) time for every new observation
+ * and it forecasts the next value without accessing the history of the series.
+ * The smoothers are serializable so their state can be persisted between runs.
+ *
+ * The classes are not thread-safe; every series should be updated by one
+ * thread at a time. Use Smoothing.add() to advance many series in parallel.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public abstract class AbstractSmoother implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long n = 0L;
+
+    /**
+     * Adds the next observation of the series.
+     *
+     * @param value
+     */
+    public final void add(double value) {
+        _add(value);
+        ++n;
+    }
+
+    /**
+     * Adds the next observations of the series in order.
+     *
+     * @param values
+     */
+    public final void addAll(double[] values) {
+        for(double value : values) {
+            add(value);
+        }
+    }
+
+    /**
+     * Returns the number of observations of the series.
+     *
+     * @return
+     */
+    public long count() {
+        return n;
+    }
+
+    /**
+     * Returns the forecast Ft+1 of the next observation.
+     *
+     * @return
+     */
+    public abstract double forecast();
+
+    /**
+     * Updates the state with the next observation. When called, the count()
+     * does not include the new observation.
+     *
+     * @param value
+     */
+    protected abstract void _add(double value);
+
+    /**
+     * Checks that the series has more than the provided number of observations.
+     *
+     * @param minSize
+     */
+    protected void checkSize(long minSize) {
+        if(n<=minSize) {
+            throw new IllegalArgumentException("The series must have more than " + minSize + " observations.");
+        }
+    }
+}
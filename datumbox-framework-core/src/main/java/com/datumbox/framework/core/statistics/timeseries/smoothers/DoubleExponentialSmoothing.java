@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.statistics.timeseries.smoothers;
+
+/**
+ * Incremental Double Exponential Smoothing (Holt's linear trend method). The
+ * level is initialized with the first observation and the trend with the
+ * difference of the first two observations.
+ *
+ * References:
+ * https://en.wikipedia.org/wiki/Exponential_smoothing#Double_exponential_smoothing
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class DoubleExponentialSmoothing extends AbstractSmoother {
+    private static final long serialVersionUID = 1L;
+
+    private final double alpha;
+
+    private final double beta;
+
+    private double level = 0.0;
+
+    private double trend = 0.0;
+
+    /**
+     * Public constructor.
+     *
+     * @param alpha - data smoothing factor
+     * @param beta - trend smoothing factor
+     */
+    public DoubleExponentialSmoothing(double alpha, double beta) {
+        if(alpha<0.0 || alpha>1.0 || beta<0.0 || beta>1.0) {
+            throw new IllegalArgumentException("The smoothing factors must be between 0 and 1.");
+        }
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void _add(double value) {
+        long n = count();
+        if(n==0) {
+            level = value;
+        }
+        else if(n==1) {
+            trend = value - level;
+            level = value;
+        }
+        else {
+            double previousLevel = level;
+            level = alpha*value + (1.0-alpha)*(level+trend);
+            trend = beta*(level-previousLevel) + (1.0-beta)*trend;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double forecast() {
+        return forecast(1);
+    }
+
+    /**
+     * Returns the forecast Ft+h of the observation h steps ahead.
+     *
+     * @param h
+     * @return
+     */
+    public double forecast(int h) {
+        checkSize(0);
+        return level + h*trend;
+    }
+}
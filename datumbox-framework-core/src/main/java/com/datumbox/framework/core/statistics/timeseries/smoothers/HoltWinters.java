@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.statistics.timeseries.smoothers;
+
+/**
+ * Incremental Triple Exponential Smoothing (Holt-Winters) with multiplicative
+ * seasonality. The first two seasons of observations are buffered to estimate
+ * the initial level, trend and seasonal indexes; afterwards only the last
+ * season of indexes is kept. It uses the same initialization, updates and
+ * forecast as Smoothing.holtWintersSmoothing().
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class HoltWinters extends AbstractSmoother {
+    private static final long serialVersionUID = 1L;
+
+    private final double alpha;
+
+    private final double beta;
+
+    private final double gamma;
+
+    private final int seasonLength;
+
+    //the first two seasons of observations, released after the initialization
+    private double[] initialValues;
+
+    private final double[] season;
+
+    private double level = 0.0;
+
+    private double trend = 0.0;
+
+    /**
+     * Public constructor.
+     *
+     * @param seasonLength - the number of entries that represent a 'season'. example = 7
+     * @param alpha - data smoothing factor. example = 0.2
+     * @param beta - trend smoothing factor. example = 0.01
+     * @param gamma - seasonality smoothing factor. example = 0.01
+     */
+    public HoltWinters(int seasonLength, double alpha, double beta, double gamma) {
+        if(seasonLength<2) {
+            throw new IllegalArgumentException("The season length must be at least 2.");
+        }
+        this.seasonLength = seasonLength;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.gamma = gamma;
+        initialValues = new double[2*seasonLength];
+        season = new double[seasonLength];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void _add(double value) {
+        long n = count();
+        if(initialValues!=null) {
+            initialValues[(int)n] = value;
+            if(n+1==initialValues.length) {
+                initialize();
+            }
+        }
+        else {
+            update(n, value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double forecast() {
+        checkSize(2*seasonLength-1);
+        return level + trend*season[(int)((count()+1)%seasonLength)];
+    }
+
+    /**
+     * Estimates the initial state from the first two seasons and replays them.
+     */
+    private void initialize() {
+        double trend1 = 0.0;
+        double trend2 = 0.0;
+        for(int i=0;i<seasonLength;++i) {
+            trend1 += initialValues[i];
+            trend2 += initialValues[i+seasonLength];
+        }
+        trend1 /= seasonLength;
+        trend2 /= seasonLength;
+
+        double initialTrend = (trend2 - trend1) / seasonLength;
+        double initialLevel = initialValues[0];
+
+        double sum = 0.0;
+        for(int i=0;i<seasonLength;++i) {
+            double index1 = initialValues[i] / (initialLevel + (i + 1.0) * initialTrend);
+            double index2 = initialValues[i+seasonLength] / (initialLevel + (i + seasonLength + 1.0) * initialTrend);
+            season[i] = (index1 + index2) / 2;
+            sum += season[i];
+        }
+
+        double seasonFactor = seasonLength / sum;
+        for(int i=0;i<seasonLength;++i) {
+            season[i] *= seasonFactor;
+        }
+
+        level = initialLevel;
+        trend = initialTrend;
+        for(int i=0;i<initialValues.length;++i) {
+            update(i, initialValues[i]);
+        }
+        initialValues = null;
+    }
+
+    /**
+     * Updates the level, trend and seasonal index with the i-th observation.
+     *
+     * @param i
+     * @param value
+     */
+    private void update(long i, double value) {
+        int s = (int)(i%seasonLength);
+        double previousLevel = level;
+
+        level = alpha * value / season[s] + (1.0 - alpha) * (previousLevel + trend);
+        trend = beta * (level - previousLevel) + (1.0 - beta) * trend;
+        season[s] = gamma * value / level + (1.0 - gamma) * season[s];
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.statistics.timeseries.smoothers;
+
+/**
+ * Incremental Simple Exponential Smoothing. The smoothed value starts from 0,
+ * so it is equivalent to Smoothing.simpleExponentialSmoothing().
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class SimpleExponentialSmoothing extends AbstractSmoother {
+    private static final long serialVersionUID = 1L;
+
+    private final double a;
+
+    private double level = 0.0;
+
+    /**
+     * Public constructor.
+     *
+     * @param a
+     */
+    public SimpleExponentialSmoothing(double a) {
+        if(a<0.0 || a>1.0) {
+            throw new IllegalArgumentException("The smoothing factor must be between 0 and 1.");
+        }
+        this.a = a;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void _add(double value) {
+        level = a*value + (1.0-a)*level;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double forecast() {
+        checkSize(0);
+        return level;
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.statistics.timeseries.smoothers;
+
+/**
+ * Incremental Simple Moving Average of the last N observations. The window is
+ * stored in a ring buffer and the running sum is recomputed every N updates to
+ * avoid the accumulation of rounding errors. It is equivalent to
+ * Smoothing.simpleMovingAverage().
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class SimpleMovingAverage extends AbstractSmoother {
+    private static final long serialVersionUID = 1L;
+
+    private final double[] window;
+
+    private int position = 0;
+
+    private double sum = 0.0;
+
+    /**
+     * Public constructor.
+     *
+     * @param N
+     */
+    public SimpleMovingAverage(int N) {
+        if(N<1) {
+            throw new IllegalArgumentException("The window size must be positive.");
+        }
+        window = new double[N];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void _add(double value) {
+        sum += value - window[position];
+        window[position] = value;
+        if(++position==window.length) {
+            position = 0;
+
+            sum = 0.0;
+            for(double v : window) {
+                sum += v;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double forecast() {
+        checkSize(0);
+        return sum/Math.min(count(), window.length);
+    }
+}
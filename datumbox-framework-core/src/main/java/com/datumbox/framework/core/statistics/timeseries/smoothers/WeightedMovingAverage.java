@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.statistics.timeseries.smoothers;
+
+/**
+ * Incremental Weighted Moving Average of the last N observations, where the
+ * most recent observation has weight N and the oldest weight 1. The window is
+ * stored in a ring buffer. On every update all the previous weights drop by
+ * one, so the weighted sum is updated in O(1) by subtracting the plain sum of
+ * the window. Both sums are recomputed every N updates to avoid the
+ * accumulation of rounding errors. It is equivalent to
+ * Smoothing.weightedMovingAverage().
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class WeightedMovingAverage extends AbstractSmoother {
+    private static final long serialVersionUID = 1L;
+
+    private final double[] window;
+
+    private int position = 0;
+
+    private double sum = 0.0;
+
+    private double weightedSum = 0.0;
+
+    /**
+     * Public constructor.
+     *
+     * @param N
+     */
+    public WeightedMovingAverage(int N) {
+        if(N<1) {
+            throw new IllegalArgumentException("The window size must be positive.");
+        }
+        window = new double[N];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void _add(double value) {
+        int N = window.length;
+        weightedSum += N*value - sum;
+        sum += value - window[position];
+        window[position] = value;
+        if(++position==N) {
+            position = 0;
+
+            //the window is full; the oldest value is at position 0 with weight 1
+            sum = 0.0;
+            weightedSum = 0.0;
+            for(int i=0;i<N;++i) {
+                sum += window[i];
+                weightedSum += (i+1.0)*window[i];
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double forecast() {
+        checkSize(0);
+        double c = Math.min(count(), window.length);
+        double denominator = c*window.length - c*(c-1.0)/2.0;
+        return weightedSum/denominator;
+    }
+}
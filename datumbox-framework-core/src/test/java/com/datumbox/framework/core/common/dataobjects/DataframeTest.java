@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,24 +16,34 @@
 package com.datumbox.framework.core.common.dataobjects;
 
 import com.datumbox.framework.common.Configuration;
+import com.datumbox.framework.common.concurrency.StreamMethods;
 import com.datumbox.framework.common.dataobjects.AssociativeArray;
 import com.datumbox.framework.common.dataobjects.FlatDataCollection;
 import com.datumbox.framework.common.dataobjects.FlatDataList;
 import com.datumbox.framework.common.dataobjects.TypeInference;
+import com.datumbox.framework.core.Datasets;
+import com.datumbox.framework.core.common.text.StringCleaner;
+import com.datumbox.framework.core.common.text.extractors.WordSequenceExtractor;
 import com.datumbox.framework.tests.abstracts.AbstractTest;
 import org.junit.Test;
 
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.io.UncheckedIOException;
+import java.io.*;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Test cases for Dataframe.
@@ -124,6 +134,43 @@ public class DataframeTest extends AbstractTest {
         dataset.close();
     }
 
+    /**
+     * Test of parseTextFiles method, of class Dataframe.Builder.
+     */
+    @Test
+    public void testParseTextFiles() {
+        logger.info("parseTextFiles");
+
+        Configuration configuration = getConfiguration();
+
+        Map<Object, URI> dataset = Datasets.sentimentAnalysis();
+        WordSequenceExtractor extractor = new WordSequenceExtractor(new WordSequenceExtractor.Parameters());
+
+        Dataframe expResult = new Dataframe(configuration);
+        for(Map.Entry<Object, URI> entry : dataset.entrySet()) {
+            try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(new File(entry.getValue())), "UTF8"))) {
+                for(String line;(line = br.readLine()) != null;) {
+                    expResult.add(new Record(new AssociativeArray(new HashMap<>(extractor.extract(StringCleaner.clear(line)))), entry.getKey()));
+                }
+            }
+            catch(IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        Dataframe result = Dataframe.Builder.parseTextFiles(dataset, extractor, configuration);
+
+        assertEquals(expResult.size(), result.size());
+        for(Map.Entry<Integer, Record> e : expResult.entries()) {
+            assertEquals(e.getValue(), result.get(e.getKey()));
+        }
+        assertEquals(expResult.getYDataType(), result.getYDataType());
+        assertEquals(expResult.getXDataTypes(), result.getXDataTypes());
+
+        expResult.close();
+        result.close();
+    }
+
     /**
      * Test of getColumns method, of class Dataframe.
      */
@@ -263,4 +310,145 @@ public class DataframeTest extends AbstractTest {
         dataset.close();
     }
 
+    /**
+     * Test of copy method, of class Dataframe.
+     */
+    @Test
+    public void testCopy() {
+        logger.info("copy");
+
+        Configuration configuration = getConfiguration();
+
+        Dataframe dataset = new Dataframe(configuration);
+        List<Record> records = new ArrayList<>();
+        for(int i=0;i<2500;i++) {
+            AssociativeArray xData = new AssociativeArray();
+            xData.put("x", (double)i);
+            xData.put("c", (i%2==0)?"even":"odd");
+            records.add(new Record(xData, i%3));
+        }
+        dataset.addAll(records);
+        dataset.remove(7);
+        dataset.remove(2499);
+
+        Dataframe copy = dataset.copy();
+
+        assertEquals(dataset.size(), copy.size());
+        for(Map.Entry<Integer, Record> e : dataset.entries()) {
+            assertEquals(e.getValue(), copy.get(e.getKey()));
+        }
+        assertEquals(dataset.getXDataTypes(), copy.getXDataTypes());
+        assertEquals(dataset.getYDataType(), copy.getYDataType());
+        assertEquals((Integer)2499, copy.addRecord(records.get(0)));
+
+        copy.close();
+        dataset.close();
+    }
+
+    /**
+     * Test of spliterator method, of class Dataframe.
+     */
+    @Test
+    public void testSpliterator() {
+        logger.info("spliterator");
+
+        Configuration configuration = getConfiguration();
+
+        Dataframe dataset = new Dataframe(configuration);
+        int n = 5000;
+        for(int i=0;i<n;i++) {
+            AssociativeArray xData = new AssociativeArray();
+            xData.put("x", (double)i);
+            dataset.add(new Record(xData, null));
+        }
+
+        Spliterator<Map.Entry<Integer, Record>> spliterator = dataset.entries().spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertEquals(n, spliterator.estimateSize());
+        Spliterator<Map.Entry<Integer, Record>> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        assertEquals(n, prefix.estimateSize() + spliterator.estimateSize());
+
+        dataset.remove(10);
+        dataset.remove(500);
+
+        List<Integer> expResult = new ArrayList<>();
+        for(Integer rId : dataset.index()) {
+            expResult.add(rId);
+        }
+        List<Integer> result = StreamMethods.stream(dataset.entries(), true).map(e -> e.getKey()).collect(Collectors.toList());
+        assertEquals(expResult, result);
+
+        double sum = StreamMethods.stream(dataset.values(), true).mapToDouble(r -> TypeInference.toDouble(r.getX().get("x"))).sum();
+        assertEquals(n*(n-1.0)/2.0 - 510.0, sum, 0.0);
+
+        dataset.close();
+    }
+
+    /**
+     * Test of transform method, of class Dataframe.
+     */
+    @Test
+    public void testTransform() {
+        logger.info("transform");
+
+        Configuration configuration = getConfiguration();
+
+        Dataframe dataset = new Dataframe(configuration);
+
+        AssociativeArray xData1 = new AssociativeArray();
+        xData1.put("num", 2.0);
+        xData1.put("cat", "a");
+        dataset.add(new Record(xData1, 1.0));
+
+        AssociativeArray xData2 = new AssociativeArray();
+        xData2.put("num", -3.0);
+        xData2.put("cat", "b");
+        dataset.add(new Record(xData2, 2.0));
+
+        Record unmodified = dataset.get(1);
+
+        List<Consumer<MutableRecord>> transformations = new ArrayList<>();
+        transformations.add(r -> {
+            AssociativeArray xData = r.getX();
+            for(Object column : xData.keySet().toArray()) {
+                if(r.getXDataType(column) == TypeInference.DataType.CATEGORICAL) {
+                    xData.put(Arrays.asList(column, xData.remove(column)), true);
+                    r.markModified();
+                }
+            }
+            r.markDataTypesOutdated();
+        });
+        transformations.add(r -> {
+            //the dummy variables are not numerical, so only the original column is dropped
+            AssociativeArray xData = r.getX();
+            for(Object column : xData.keySet().toArray()) {
+                if(r.getXDataType(column) == TypeInference.DataType.NUMERICAL && TypeInference.toDouble(xData.get(column))<0.0) {
+                    xData.remove(column);
+                    r.markModified();
+                }
+            }
+        });
+        dataset.transform(transformations, true, true);
+
+        AssociativeArray expXData1 = new AssociativeArray();
+        expXData1.put("num", 2.0);
+        expXData1.put(Arrays.asList("cat", "a"), true);
+        assertEquals(expXData1, dataset.get(0).getX());
+        assertEquals(1.0, dataset.get(0).getY());
+
+        AssociativeArray expXData2 = new AssociativeArray();
+        expXData2.put(Arrays.asList("cat", "b"), true);
+        assertEquals(expXData2, dataset.get(1).getX());
+        assertTrue(unmodified != dataset.get(1));
+
+        Map<Object, TypeInference.DataType> expXDataTypes = new HashMap<>();
+        expXDataTypes.put("num", TypeInference.DataType.NUMERICAL);
+        expXDataTypes.put(Arrays.asList("cat", "a"), TypeInference.DataType.BOOLEAN);
+        expXDataTypes.put(Arrays.asList("cat", "b"), TypeInference.DataType.BOOLEAN);
+        assertEquals(expXDataTypes, dataset.getXDataTypes());
+
+        dataset.close();
+    }
+
 }
@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.common.dataobjects;
+
+import com.datumbox.framework.common.dataobjects.AssociativeArray;
+import com.datumbox.framework.common.storage.codecs.BigMapCodecs;
+import com.datumbox.framework.common.storage.codecs.ColumnDictionary;
+import com.datumbox.framework.common.storage.codecs.EncodingMethods;
+import com.datumbox.framework.tests.abstracts.AbstractTest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for RecordCodec.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class RecordCodecTest extends AbstractTest {
+
+    /**
+     * Asserts that all the fields of the Records are equal.
+     *
+     * @param expected
+     * @param result
+     */
+    private void assertRecordEquals(Record expected, Record result) {
+        assertEquals(expected, result);
+        assertEquals(new ArrayList<>(expected.getX().keySet()), new ArrayList<>(result.getX().keySet()));
+        assertEquals(expected.getYPredicted(), result.getYPredicted());
+        assertEquals(expected.getYPredictedProbabilities(), result.getYPredictedProbabilities());
+    }
+
+    /**
+     * Test of encode and decode methods, of class RecordCodec.
+     */
+    @Test
+    public void testEncodeDecode() {
+        logger.info("encodeDecode");
+
+        RecordCodec codec = new RecordCodec();
+        Map<Integer, Object> store = new HashMap<>();
+        ColumnDictionary dictionary = new ColumnDictionary(store);
+
+        AssociativeArray x = new AssociativeArray();
+        x.put("int", Integer.MIN_VALUE);
+        x.put("long", Long.MAX_VALUE);
+        x.put("negative", -1);
+        x.put("double", -0.25);
+        x.put("bool", true);
+        x.put("text", "a\ud800b");
+        x.put(Arrays.asList("a", 1), null);
+        x.put(2, "two");
+
+        AssociativeArray probabilities = new AssociativeArray();
+        probabilities.put("yes", 0.75);
+        probabilities.put(2, 0.25);
+
+        List<Record> records = Arrays.asList(
+                new Record(x, "yes", "no", probabilities),
+                new Record(x, null, null, null),
+                new Record(new AssociativeArray(), Integer.MAX_VALUE),
+                new Record(x, 1, 2, new AssociativeArray())
+        );
+
+        for(Record r : records) {
+            byte[] bytes = EncodingMethods.encode(codec, dictionary, r);
+            assertRecordEquals(r, EncodingMethods.decode(codec, dictionary, bytes));
+        }
+        assertNull(EncodingMethods.decode(codec, dictionary, EncodingMethods.encode(codec, dictionary, records.get(1))).getYPredictedProbabilities());
+
+        //the keys of x and of the probabilities share the ids and they are restored from the store
+        assertEquals(x.size() + 1, dictionary.size());
+        byte[] bytes = EncodingMethods.encode(codec, dictionary, records.get(0));
+        assertRecordEquals(records.get(0), EncodingMethods.decode(codec, new ColumnDictionary(store), bytes));
+    }
+
+    /**
+     * Test of the registration of RecordCodec in BigMapCodecs.
+     */
+    @Test
+    public void testRegistration() {
+        logger.info("registration");
+
+        new Dataframe(getConfiguration()).close();
+        assertTrue(BigMapCodecs.get(Record.class) instanceof RecordCodec);
+    }
+
+}
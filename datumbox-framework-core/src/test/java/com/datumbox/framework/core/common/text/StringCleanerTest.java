@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,9 @@ package com.datumbox.framework.core.common.text;
 import com.datumbox.framework.tests.abstracts.AbstractTest;
 import org.junit.Test;
 
+import java.util.Locale;
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -99,4 +102,72 @@ public class StringCleanerTest extends AbstractTest {
         assertEquals(expResult, result);
     }
     
+    /**
+     * Test of clear method, of class StringCleaner.
+     */
+    @Test
+    public void testClear() {
+        logger.info("clear");
+        String text = " Visit HTTPS://www.Example.com/path?q=1&r=2. :) Δοκιμή ΣΟΦΟΣ, ÀÉÎÕÜ ñ :-p =( 8-) \t\n test_case!!! ";
+        String expResult = "visit preprocessdoc_url preprocessdoc_em δοκιμη σοφος aeiou n preprocessdoc_em preprocessdoc_em preprocessdoc_em test_case";
+        String result = StringCleaner.clear(text);
+        assertEquals(expResult, result);
+    }
+
+    /**
+     * Test that the single pass clear method produces the same output as the
+     * regex methods of StringCleaner.
+     */
+    @Test
+    public void testClearEquivalence() {
+        logger.info("testClearEquivalence");
+        String[] texts = {
+            "",
+            " ",
+            "   \t\r\n  ",
+            "Test, test δοκιμή http://wWw.Google.com/page?query=1#hash test test",
+            "Test, test δοκιμή :) :( :] :[ test test",
+            " test    test  test      test        test\n\n\n\r\n\r\r test\n",
+            "test ` ~ ! @ # $ % ^ & * ( ) _ - + = < , > . ? / \" ' : ; [ { } ] | \\ test `~!@#$%^&*()_-+=<,>.?/\\\"':;[{}]|\\\\ test",
+            "'ά','ό','έ','ί','ϊ','ΐ','ή','ύ','ϋ','ΰ','ώ','à','á','â','ã','ä','ç','è','é','ê','ë','ì','í','î','ï','ñ','ò','ó','ô','õ','ö','ù','ú','û','ü','ý','ÿ','Ά','Ό','Έ','Ί','Ϊ','Ή','Ύ','Ϋ','Ώ','À','Á','Â','Ã','Ä','Ç','È','É','Ê','Ë','Ì','Í','Î','Ï','Ñ','Ò','Ó','Ô','Õ','Ö','Ù','Ú','Û','Ü','Ý'",
+            "ftp://files.example.org/a,b;c. file:///tmp/x?. https://, http://?!",
+            "hTTp://a.b.c/x=) :-) :-( :d :o) :p :-p ;) =) =( 8-) ::)) ==((",
+            "ΟΔΟΣ ΣΑΣ Σ ΣΣ aΣ Σa İstanbul ıi K ſ \u212A \u00A0 a\u2028b \u3000 c",
+            "\uD801\uDC00\uD801\uDC28 \uD835\uDC00 \uD800 x \uDC00 y \uFB01 \uF900 \uD87E\uDC00 \u1E9B\u0323",
+            "http://ſ.com fıle://x https://K.com httpſ://s.com",
+            "PREPROCESSDOC_URL preprocessdoc_em1 A_B __ _ 123 4.5"
+        };
+        for(String text : texts) {
+            assertEquals(text, regexClear(text), StringCleaner.clear(text));
+        }
+
+        //random strings built from characters that are handled differently by the cleaner
+        String alphabet = "htpsfileHTPSFILE:/-=_.?!,;()[]{}@#%&|~+8dop0123456789 \t\r\nαβΣσςÀéİıſ\u212A\u00A0\u2028\u0301\u0300한\uD801\uDC00\uD800";
+        Random random = new Random(42);
+        for(int t=0;t<20000;t++) {
+            int length = random.nextInt(40);
+            StringBuilder sb = new StringBuilder(length);
+            for(int i=0;i<length;i++) {
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String text = sb.toString();
+            assertEquals(text, regexClear(text), StringCleaner.clear(text));
+        }
+    }
+
+    /**
+     * Cleans the text by using the regex methods of StringCleaner.
+     *
+     * @param text
+     * @return
+     */
+    private String regexClear(String text) {
+        text = StringCleaner.tokenizeURLs(text);
+        text = StringCleaner.tokenizeSmileys(text);
+        text = StringCleaner.removeAccents(text);
+        text = StringCleaner.removeSymbols(text);
+        text = StringCleaner.removeExtraSpaces(text);
+        return text.toLowerCase(Locale.ENGLISH);
+    }
+
 }
@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.common.text.extractors;
+
+import com.datumbox.framework.tests.abstracts.AbstractTest;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for FeatureHashingExtractor.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class FeatureHashingExtractorTest extends AbstractTest {
+
+    /**
+     * Test of extract method, of class FeatureHashingExtractor.
+     */
+    @Test
+    public void testExtract() {
+        logger.info("extract");
+        String text = "hello world hello";
+        FeatureHashingExtractor.Parameters p = new FeatureHashingExtractor.Parameters();
+        p.setHashingBits(31);
+        p.setMaxCombinations(2);
+        FeatureHashingExtractor instance = new FeatureHashingExtractor(p);
+
+        //MurmurHash3 x86_32 with seed 0 of the keywords masked with 31 bits
+        Map<Integer, Double> expResult = new HashMap<>();
+        expResult.put(0x248bfa47, 2.0); //hello
+        expResult.put(0xfb963cfb & 0x7fffffff, 1.0); //world
+        expResult.put(0x5e928f0f, 1.0); //hello world
+        expResult.put(0xb59d089d & 0x7fffffff, 1.0); //world hello
+
+        Map<Integer, Double> result = instance.extract(text);
+        assertEquals(expResult, result);
+    }
+
+    /**
+     * Test of extract method, of class FeatureHashingExtractor, with a small hashing space.
+     */
+    @Test
+    public void testExtractBounded() {
+        logger.info("testExtractBounded");
+        String text = "In publishing and graphic design, lorem ipsum is a placeholder text commonly used to demonstrate the graphic elements of a document or visual presentation.";
+        FeatureHashingExtractor.Parameters p = new FeatureHashingExtractor.Parameters();
+        p.setHashingBits(4);
+        p.setMaxCombinations(3);
+        p.setAlternateSign(true);
+        FeatureHashingExtractor instance = new FeatureHashingExtractor(p);
+
+        Map<Integer, Double> result = instance.extract(text);
+        double sum = 0.0;
+        for(Map.Entry<Integer, Double> entry : result.entrySet()) {
+            assertTrue(entry.getKey()>=0 && entry.getKey()<16);
+            assertTrue(entry.getValue()!=0.0);
+            sum += Math.abs(entry.getValue());
+        }
+        assertTrue(sum <= 24*3-3);
+    }
+
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,12 +19,15 @@ import com.datumbox.framework.core.common.text.StringCleaner;
 import com.datumbox.framework.tests.abstracts.AbstractTest;
 import org.junit.Test;
 
+import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 /**
  * Test cases for HTMLParser.
@@ -209,4 +212,105 @@ public class HTMLParserTest extends AbstractTest {
         assertEquals(expResult, result);
     }
     
+    /**
+     * Test of parse method, of class HTMLParser.
+     */
+    @Test
+    public void testParse() {
+        logger.info("parse");
+        String text = "<html><head><title>The &amp; title</title><meta name=\"description\" content=\"Some description.\"><script>if(a<b && c>d) {document.write('<a href=\"x\">y</a>');}</script></head>"
+                + "<body><h1>Main <b>header</b></h1><!-- <a href=\"hidden\">hidden</a> -->"
+                + "<p>A <a HREF='url1' class=\"c\">link &gt; 1</a> and <img title=\"an image\"> then 1 < 2.</p>"
+                + "<h2>Second</h2></body></html>";
+        
+        HTMLParser.HTMLDocument result = HTMLParser.parse(new StringReader(text));
+        
+        assertEquals("The & title", result.getTitle());
+        assertEquals("Main header A link > 1 and an image then 1 < 2. Second", StringCleaner.removeExtraSpaces(result.getText()));
+        assertEquals("Some description.", result.getMetatags().get("description"));
+        assertEquals(1, result.getMetatags().size());
+        
+        assertEquals(1, result.getHyperlinks().get(HTMLParser.HyperlinkPart.URL).size());
+        assertEquals("url1", result.getHyperlinks().get(HTMLParser.HyperlinkPart.URL).get(0));
+        assertEquals("<a HREF='url1' class=\"c\">link &gt; 1</a>", result.getHyperlinks().get(HTMLParser.HyperlinkPart.HTMLTAG).get(0));
+        assertEquals("link &gt; 1", result.getHyperlinks().get(HTMLParser.HyperlinkPart.ANCHORTEXT).get(0));
+        
+        assertEquals("Main header", result.getHTMLheaders().get("H1").get(0));
+        assertEquals("Second", result.getHTMLheaders().get("H2").get(0));
+    }
+
+    /**
+     * Test of parse method, of class HTMLParser, on malformed pages.
+     */
+    @Test
+    public void testParseMalformed() {
+        logger.info("testParseMalformed");
+        StringBuilder sb = new StringBuilder("<html><head><title>unclosed");
+        for(int i=0;i<20000;i++) {
+            sb.append("<a href=\"x\" <h1> <option>");
+        }
+        sb.append("<body>text</select> last");
+        
+        HTMLParser.HTMLDocument result = HTMLParser.parse(sb.toString());
+        
+        assertNull(result.getTitle());
+        assertEquals(0, result.getHyperlinks().get(HTMLParser.HyperlinkPart.URL).size());
+        assertEquals("text last", StringCleaner.removeExtraSpaces(result.getText()));
+    }
+
+    /**
+     * Test of extractText and removeNonTextTagsAndAttributes methods, of class HTMLParser, with raw text blocks inside the head.
+     */
+    @Test
+    public void testRawTextInHead() {
+        logger.info("testRawTextInHead");
+        String text = "<html><head><style>p{}</style><script type=\"text/javascript\">var s = \"</scripts>\";</script ><title>INVISIBLE</title>INVISIBLE</head><body>"
+                + "<script>INVISIBLE</scripts> INVISIBLE</SCRIPT>"
+                + "<div>visible</div>"
+                + "</body></html>";
+
+        assertEquals("visible", StringCleaner.removeExtraSpaces(HTMLParser.extractText(text)));
+        assertEquals("<html> <body> <div>visible</div></body></html>", StringCleaner.removeExtraSpaces(HTMLParser.removeNonTextTagsAndAttributes(text)));
+        assertEquals("INVISIBLE", HTMLParser.extractTitle(text));
+    }
+
+    /**
+     * Test of parse method, of class HTMLParser, on a tag with an unterminated quote.
+     */
+    @Test
+    public void testParseUnterminatedQuote() {
+        logger.info("testParseUnterminatedQuote");
+        StringBuilder sb = new StringBuilder("<html><body><p>before</p><a href=\"http://example.com/>broken</a>");
+        for(int i=0;i<100000;i++) {
+            sb.append("word ");
+        }
+        sb.append("<b>after</b></body></html>");
+
+        HTMLParser.HTMLDocument result = HTMLParser.parse(sb.toString());
+
+        //the unterminated quote ends at the first > after the maximum length of a tag
+        assertEquals("before after", StringCleaner.removeExtraSpaces(result.getText()));
+        assertEquals(0, result.getHyperlinks().get(HTMLParser.HyperlinkPart.URL).size());
+    }
+
+    /**
+     * Test of parse method, of class HTMLParser, on a page with a huge title.
+     */
+    @Test
+    public void testParseHugeTitle() {
+        logger.info("testParseHugeTitle");
+        StringBuilder sb = new StringBuilder("<html><head><title>");
+        for(int i=0;i<100000;i++) {
+            sb.append("title ");
+        }
+        sb.append("</title></head><body><h1>header</h1>text</body></html>");
+
+        HTMLParser.HTMLDocument result = HTMLParser.parse(sb.toString());
+
+        //the title is dropped once it exceeds the maximum length of a component
+        assertNull(result.getTitle());
+        assertEquals(Arrays.asList("header"), result.getHTMLheaders().get("H1"));
+        assertEquals("header text", StringCleaner.removeExtraSpaces(result.getText()));
+    }
+    
 }
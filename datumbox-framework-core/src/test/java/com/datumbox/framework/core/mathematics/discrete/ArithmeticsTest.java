@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -53,5 +53,28 @@ public class ArithmeticsTest extends AbstractTest {
         double result = Arithmetics.combination(n, k);
         assertEquals(expResult, result, Constants.DOUBLE_ACCURACY_HIGH);
     }
+
+    /**
+     * Test of logFactorial method, of class Arithmetics.
+     */
+    @Test
+    public void testLogFactorial() {
+        logger.info("logFactorial");
+        assertEquals(0.0, Arithmetics.logFactorial(0), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(Math.log(3628800.0), Arithmetics.logFactorial(10), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(706.5730622457874, Arithmetics.logFactorial(170), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(710944.033537189, Arithmetics.logFactorial(70000), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(1051299.221899122, Arithmetics.logFactorial(100000), Constants.DOUBLE_ACCURACY_HIGH);
+    }
+
+    /**
+     * Test of logCombination method, of class Arithmetics.
+     */
+    @Test
+    public void testLogCombination() {
+        logger.info("logCombination");
+        assertEquals(Math.log(2598960.0), Arithmetics.logCombination(52, 5), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(689.4672615678512, Arithmetics.logCombination(1000, 500), Constants.DOUBLE_ACCURACY_HIGH);
+    }
     
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ import com.datumbox.framework.common.dataobjects.AssociativeArray2D;
 import com.datumbox.framework.common.dataobjects.FlatDataCollection;
 import com.datumbox.framework.common.dataobjects.TransposeDataCollection;
 import com.datumbox.framework.common.dataobjects.TransposeDataCollection2D;
+import com.datumbox.framework.tests.Constants;
 import com.datumbox.framework.tests.abstracts.AbstractTest;
 import org.junit.Test;
 
@@ -69,6 +70,31 @@ public class AnovaTest extends AbstractTest {
         assertEquals(expResult, result);
     }
 
+    /**
+     * Test of oneWayTestEqualVars and oneWayTestNotEqualVars methods on primitive
+     * arrays, of class Anova.
+     */
+    @Test
+    public void testOneWayTestPrimitive() {
+        logger.info("oneWayTestPrimitive");
+        double[][] groups = {
+            {86,79,81,70,84},
+            {90,76,88,82,89},
+            {82,68,73,71,81}
+        };
+        
+        double aLevel = 0.05;
+        AssociativeArray2D outputTable = new AssociativeArray2D();
+        assertEquals(false, Anova.oneWayTestEqualVars(groups, aLevel, outputTable));
+        assertEquals(3.3482142857142856, (Double)outputTable.get2d("BG", "F"), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(0.06990939572834598, (Double)outputTable.get2d("BG", "p"), Constants.DOUBLE_ACCURACY_HIGH);
+        
+        assertEquals(false, Anova.oneWayTestNotEqualVars(groups, aLevel, outputTable));
+        assertEquals(3.3482142857142723, (Double)outputTable.get2d("BG", "F"), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(0.06990939572834654, (Double)outputTable.get2d("BG", "p"), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(12, outputTable.get2d("WG", "DF"));
+    }
+
     /**
      * Test of twoWayTestEqualCellsEqualVars method, of class Anova.
      */
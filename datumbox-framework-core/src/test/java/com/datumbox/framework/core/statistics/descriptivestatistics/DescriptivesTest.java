@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ import com.datumbox.framework.common.dataobjects.AssociativeArray;
 import com.datumbox.framework.common.dataobjects.FlatDataCollection;
 import com.datumbox.framework.common.dataobjects.FlatDataList;
 import com.datumbox.framework.common.dataobjects.TransposeDataList;
+import com.datumbox.framework.common.utilities.RandomGenerator;
 import com.datumbox.framework.core.common.utilities.PHPMethods;
 import com.datumbox.framework.tests.Constants;
 import com.datumbox.framework.tests.abstracts.AbstractTest;
@@ -26,6 +27,8 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 
@@ -323,6 +326,38 @@ public class DescriptivesTest extends AbstractTest {
         assertEquals(expResult, result);
     }
 
+    /**
+     * Test of percentiles method, of class Descriptives, against sorting.
+     */
+    @Test
+    public void testPercentilesSelection() {
+        logger.info("testPercentilesSelection");
+        Random rnd = RandomGenerator.getThreadLocalRandom();
+        for(int t=0;t<20;++t) {
+            int n = 10 + rnd.nextInt(2000);
+            List<Object> values = new ArrayList<>(n);
+            for(int i=0;i<n;++i) {
+                values.add((double)rnd.nextInt(t%2==0?50:100000)); //many ties on the even rounds
+            }
+            FlatDataCollection flatDataCollection = new FlatDataCollection(values);
+            
+            double[] sorted = values.stream().mapToDouble(x -> (Double)x).sorted().toArray();
+            double expMedian = (n%2==0)?(sorted[n/2-1]+sorted[n/2])/2.0:sorted[n/2];
+            assertEquals(expMedian, Descriptives.median(flatDataCollection), Constants.DOUBLE_ACCURACY_HIGH);
+            
+            int cutPoints = 1 + rnd.nextInt(10);
+            AssociativeArray result = Descriptives.percentiles(flatDataCollection, cutPoints);
+            for(int counter=1;counter<cutPoints;++counter) {
+                double perc = counter/(double)cutPoints;
+                double tc = (n+1.0)*perc;
+                int position = (int)tc - 1;
+                double g = tc - (int)tc;
+                double expResult = (1-g)*sorted[position]+g*sorted[position+1];
+                assertEquals(expResult, result.getDouble(100*perc), Constants.DOUBLE_ACCURACY_HIGH);
+            }
+        }
+    }
+
     /**
      * Test of quartiles method, of class Descriptives.
      */
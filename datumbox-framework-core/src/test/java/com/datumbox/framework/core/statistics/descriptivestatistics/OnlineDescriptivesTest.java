@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.statistics.descriptivestatistics;
+
+import com.datumbox.framework.common.dataobjects.FlatDataCollection;
+import com.datumbox.framework.common.utilities.RandomGenerator;
+import com.datumbox.framework.tests.Constants;
+import com.datumbox.framework.tests.abstracts.AbstractTest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test cases for OnlineDescriptives.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class OnlineDescriptivesTest extends AbstractTest {
+
+    private FlatDataCollection generateFlatDataCollection() {
+        Object[] values = { -12.76, 9.07, 3.11, 0.99, -36.40, -34.18, 2.07, 50.85, 5.34, 2.08, 1.49, -19.01, 45.68, -11.80, -1.19, -34.63, -28.10,
+                35.33, 28.38, 24.60, 10.36, -12.01, 47.92, 3.34, 9.63, 44.09, 4.65, 2.04, 27.39, -14.52, 9.91, 36.45, -24.62, 2.99, -9.49, 2.14, -18.48, 38.69, 43.87, -20.56, null };
+        
+        FlatDataCollection flatDataCollection = new FlatDataCollection(new ArrayList<>(Arrays.asList(values)));
+        
+        return flatDataCollection;
+    }
+    
+    /**
+     * Test of add method, of class OnlineDescriptives.
+     */
+    @Test
+    public void testAdd() {
+        logger.info("add");
+        FlatDataCollection flatDataCollection = generateFlatDataCollection();
+        OnlineDescriptives instance = new OnlineDescriptives(flatDataCollection);
+        
+        assertEquals(Descriptives.count(flatDataCollection), instance.count());
+        assertEquals(Descriptives.sum(flatDataCollection), instance.sum(), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(Descriptives.min(flatDataCollection), instance.min(), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(Descriptives.max(flatDataCollection), instance.max(), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(Descriptives.mean(flatDataCollection), instance.mean(), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(Descriptives.meanSE(flatDataCollection), instance.meanSE(), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(Descriptives.variance(flatDataCollection, true), instance.variance(true), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(Descriptives.std(flatDataCollection, false), instance.std(false), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(Descriptives.moment(flatDataCollection, 3), instance.moment(3), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(Descriptives.moment(flatDataCollection, 4), instance.moment(4), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(-0.74454696650836, instance.kurtosis(), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(0.24686572127408, instance.skewness(), Constants.DOUBLE_ACCURACY_HIGH);
+    }
+    
+    /**
+     * Test of merge method, of class OnlineDescriptives.
+     */
+    @Test
+    public void testMerge() {
+        logger.info("merge");
+        Random rnd = RandomGenerator.getThreadLocalRandom();
+        
+        OnlineDescriptives expResult = new OnlineDescriptives();
+        List<OnlineDescriptives> chunks = new ArrayList<>();
+        for(int c=0;c<10;++c) {
+            OnlineDescriptives chunk = new OnlineDescriptives();
+            int size = rnd.nextInt(1000); //including empty chunks
+            for(int i=0;i<size;++i) {
+                double value = 1000.0 + c + rnd.nextGaussian()*(c+1);
+                chunk.add(value);
+                expResult.add(value);
+            }
+            chunks.add(chunk);
+        }
+        
+        OnlineDescriptives result = chunks.parallelStream().collect(OnlineDescriptives::new, OnlineDescriptives::merge, OnlineDescriptives::merge);
+        
+        assertEquals(expResult.count(), result.count());
+        assertEquals(expResult.sum(), result.sum(), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(expResult.min(), result.min(), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(expResult.max(), result.max(), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(expResult.mean(), result.mean(), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(expResult.variance(true), result.variance(true), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(expResult.moment(3), result.moment(3), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(expResult.moment(4), result.moment(4), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(expResult.kurtosis(), result.kurtosis(), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(expResult.skewness(), result.skewness(), Constants.DOUBLE_ACCURACY_HIGH);
+        
+        //the copy is not affected by subsequent updates
+        OnlineDescriptives snapshot = result.copy();
+        result.add(1000000.0);
+        assertEquals(expResult.count(), snapshot.count());
+        assertEquals(expResult.mean(), snapshot.mean(), Constants.DOUBLE_ACCURACY_HIGH);
+    }
+    
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.statistics.descriptivestatistics;
+
+import com.datumbox.framework.common.dataobjects.AssociativeArray;
+import com.datumbox.framework.common.dataobjects.FlatDataCollection;
+import com.datumbox.framework.common.utilities.RandomGenerator;
+import com.datumbox.framework.tests.Constants;
+import com.datumbox.framework.tests.abstracts.AbstractTest;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for QuantileSketch.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class QuantileSketchTest extends AbstractTest {
+
+    /**
+     * Test of quantile method, of class QuantileSketch, on a stream which fits in the sketch.
+     */
+    @Test
+    public void testQuantileExact() {
+        logger.info("testQuantileExact");
+        QuantileSketch instance = new QuantileSketch();
+        instance.addAll(new FlatDataCollection(Arrays.asList(new Object[]{5, 1, 4, 2, 3, null})));
+        
+        assertEquals(5L, instance.getN());
+        assertEquals(1.0, instance.getMin(), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(5.0, instance.getMax(), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(3.0, instance.median(), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(2.0, instance.quantile(0.4), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(0.6, instance.rank(3.5), Constants.DOUBLE_ACCURACY_HIGH);
+        
+        AssociativeArray expResult = new AssociativeArray();
+        expResult.put(25.0, 2.0);
+        expResult.put(50.0, 3.0);
+        expResult.put(75.0, 4.0);
+        assertEquals(expResult, instance.quartiles());
+    }
+
+    /**
+     * Test of quantile method, of class QuantileSketch, on a large stream.
+     */
+    @Test
+    public void testQuantile() {
+        logger.info("quantile");
+        Random rnd = RandomGenerator.getThreadLocalRandom();
+        int n = 1000000;
+        double[] values = new double[n];
+        QuantileSketch instance = new QuantileSketch();
+        for(int i=0;i<n;++i) {
+            values[i] = rnd.nextGaussian();
+            instance.add(values[i]);
+        }
+        Arrays.sort(values);
+        
+        assertEquals(n, instance.getN());
+        assertTrue(instance.getRetainedSize() < 20*instance.getK());
+        assertMaxRankError(values, instance, 0.015);
+    }
+
+    /**
+     * Test of merge method, of class QuantileSketch.
+     */
+    @Test
+    public void testMerge() {
+        logger.info("merge");
+        Random rnd = RandomGenerator.getThreadLocalRandom();
+        int chunks = 20;
+        int chunkSize = 20000;
+        double[] values = new double[chunks*chunkSize];
+        QuantileSketch instance = new QuantileSketch();
+        for(int c=0;c<chunks;++c) {
+            QuantileSketch chunkSketch = new QuantileSketch();
+            for(int i=0;i<chunkSize;++i) {
+                double value = rnd.nextDouble()*(c+1); //the chunks have different distributions
+                values[c*chunkSize+i] = value;
+                chunkSketch.add(value);
+            }
+            instance.merge(chunkSketch);
+        }
+        Arrays.sort(values);
+        
+        assertEquals(values.length, instance.getN());
+        assertEquals(values[0], instance.getMin(), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(values[values.length-1], instance.getMax(), Constants.DOUBLE_ACCURACY_HIGH);
+        assertMaxRankError(values, instance, 0.015);
+    }
+    
+    private void assertMaxRankError(double[] sortedValues, QuantileSketch instance, double maxError) {
+        int n = sortedValues.length;
+        for(int p=1;p<100;++p) {
+            double estimate = instance.quantile(p/100.0);
+            
+            //the actual rank of the estimated value
+            int position = Arrays.binarySearch(sortedValues, estimate);
+            double actualRank = (position+1.0)/n;
+            assertTrue("Rank error at percentile " + p, Math.abs(actualRank - p/100.0) < maxError);
+        }
+    }
+    
+}
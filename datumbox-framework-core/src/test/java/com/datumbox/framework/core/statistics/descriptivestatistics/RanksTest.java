@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,12 +17,16 @@ package com.datumbox.framework.core.statistics.descriptivestatistics;
 
 import com.datumbox.framework.common.dataobjects.AssociativeArray;
 import com.datumbox.framework.common.dataobjects.FlatDataList;
+import com.datumbox.framework.common.utilities.RandomGenerator;
+import com.datumbox.framework.tests.Constants;
 import com.datumbox.framework.tests.abstracts.AbstractTest;
 import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Random;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -46,5 +50,53 @@ public class RanksTest extends AbstractTest {
         assertEquals(expResult, flatDataCollection);
         assertEquals(expResult2, tiesCounter);
     }
+
+    /**
+     * Test of getRanksFromValues method with primitive arrays, of class Ranks.
+     */
+    @Test
+    public void testGetRanksFromValuesPrimitive() {
+        logger.info("getRanksFromValuesPrimitive");
+        double[] values = {50.0, 10.0, 10.0, 30.0, 40.0, 0.0, -0.0, 10.0};
+        double[] expResult = {8.0, 4.0, 4.0, 6.0, 7.0, 1.5, 1.5, 4.0};
+        double tiesCorrection = Ranks.getRanksFromValues(values);
+        assertArrayEquals(expResult, values, Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(24.0+6.0, tiesCorrection, Constants.DOUBLE_ACCURACY_HIGH);
+    }
+
+    /**
+     * Test of getRanksFromValues method with large primitive arrays, of class Ranks.
+     */
+    @Test
+    public void testGetRanksFromValuesPrimitiveLarge() {
+        logger.info("getRanksFromValuesPrimitiveLarge");
+        Random rnd = RandomGenerator.getThreadLocalRandom();
+        int n = 5000;
+        double[] values = new double[n];
+        for(int i=0;i<n;++i) {
+            values[i] = (i%3==0)?Math.floor(rnd.nextGaussian()*20.0):rnd.nextGaussian()*1e6;
+        }
+
+        //rank by counting the smaller and equal values
+        double[] expResult = new double[n];
+        double[] sorted = Arrays.copyOf(values, n);
+        Arrays.sort(sorted);
+        for(int i=0;i<n;++i) {
+            int smaller = 0;
+            int equal = 0;
+            for(double v : sorted) {
+                if(v<values[i]) {
+                    ++smaller;
+                }
+                else if(v==values[i]) {
+                    ++equal;
+                }
+            }
+            expResult[i] = smaller + (equal+1.0)/2.0;
+        }
+
+        Ranks.getRanksFromValues(values);
+        assertArrayEquals(expResult, values, Constants.DOUBLE_ACCURACY_HIGH);
+    }
     
 }
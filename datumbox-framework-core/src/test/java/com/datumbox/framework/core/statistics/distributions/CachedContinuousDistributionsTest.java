@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.statistics.distributions;
+
+import com.datumbox.framework.common.utilities.RandomGenerator;
+import com.datumbox.framework.tests.abstracts.AbstractTest;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test cases for CachedContinuousDistributions.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class CachedContinuousDistributionsTest extends AbstractTest {
+
+    private static final int[] DFS = {1, 2, 3, 5, 10, 30, 57, 100};
+
+    /**
+     * Test of studentsCdf method, of class CachedContinuousDistributions.
+     */
+    @Test
+    public void testStudentsCdf() {
+        logger.info("studentsCdf");
+        Random rnd = RandomGenerator.getThreadLocalRandom();
+        for(int df : DFS) {
+            for(int i=0;i<2000;++i) {
+                double x = (rnd.nextDouble()-0.5)*40.0;
+                assertEquals(ContinuousDistributions.studentsCdf(x, df), CachedContinuousDistributions.studentsCdf(x, df), CachedContinuousDistributions.TABLE_ACCURACY);
+            }
+            assertEquals(0.5, CachedContinuousDistributions.studentsCdf(0.0, df), CachedContinuousDistributions.TABLE_ACCURACY);
+        }
+        assertEquals(ContinuousDistributions.studentsCdf(1.3, 500), CachedContinuousDistributions.studentsCdf(1.3, 500), 0.0);
+    }
+
+    /**
+     * Test of chisquareCdf method, of class CachedContinuousDistributions.
+     */
+    @Test
+    public void testChisquareCdf() {
+        logger.info("chisquareCdf");
+        Random rnd = RandomGenerator.getThreadLocalRandom();
+        for(int df : DFS) {
+            for(int i=0;i<2000;++i) {
+                double x = rnd.nextDouble()*3.0*(df+20.0);
+                assertEquals(ContinuousDistributions.chisquareCdf(x, df), CachedContinuousDistributions.chisquareCdf(x, df), CachedContinuousDistributions.TABLE_ACCURACY);
+            }
+            assertEquals(0.0, CachedContinuousDistributions.chisquareCdf(0.0, df), CachedContinuousDistributions.TABLE_ACCURACY);
+        }
+        assertEquals(0.018575928421771, CachedContinuousDistributions.chisquareCdf(3.0, 10), CachedContinuousDistributions.TABLE_ACCURACY);
+    }
+
+    /**
+     * Test of the memoized methods, of class CachedContinuousDistributions.
+     */
+    @Test
+    public void testMemoizedMethods() {
+        logger.info("memoizedMethods");
+        CachedContinuousDistributions.clearCache();
+        for(int repeat=0;repeat<2;++repeat) {
+            assertEquals(ContinuousDistributions.fCdf(2.5, 3, 20), CachedContinuousDistributions.fCdf(2.5, 3, 20), 0.0);
+            assertEquals(ContinuousDistributions.betaCdf(0.3, 2.0, 5.0), CachedContinuousDistributions.betaCdf(0.3, 2.0, 5.0), 0.0);
+            assertEquals(ContinuousDistributions.chisquareInverseCdf(0.95, 7), CachedContinuousDistributions.chisquareInverseCdf(0.95, 7), 0.0);
+            assertEquals(ContinuousDistributions.gaussInverseCdf(0.975), CachedContinuousDistributions.gaussInverseCdf(0.975), 0.0);
+        }
+        //same arguments on different functions must not collide
+        assertEquals(ContinuousDistributions.betaCdf(0.3, 3.0, 20.0), CachedContinuousDistributions.betaCdf(0.3, 3.0, 20.0), 0.0);
+        assertEquals(ContinuousDistributions.fCdf(0.3, 3, 20), CachedContinuousDistributions.fCdf(0.3, 3, 20), 0.0);
+    }
+
+    /**
+     * Compares the speed of the tabulated and the exact methods.
+     */
+    @Test
+    public void testSpeed() {
+        logger.info("speed");
+        int n = 200000;
+        double[] x = new double[n];
+        Random rnd = RandomGenerator.getThreadLocalRandom();
+        for(int i=0;i<n;++i) {
+            x[i] = (rnd.nextDouble()-0.5)*10.0;
+        }
+
+        double checksum = 0.0;
+        for(int warmup=0;warmup<2;++warmup) {
+            long start = System.nanoTime();
+            for(int i=0;i<n;++i) {
+                checksum += ContinuousDistributions.studentsCdf(x[i], 1+i%30);
+            }
+            long exact = System.nanoTime()-start;
+
+            start = System.nanoTime();
+            for(int i=0;i<n;++i) {
+                checksum -= CachedContinuousDistributions.studentsCdf(x[i], 1+i%30);
+            }
+            long cached = System.nanoTime()-start;
+
+            logger.debug("studentsCdf exact: {} ns/op, cached: {} ns/op", exact/(double)n, cached/(double)n);
+        }
+        assertEquals(0.0, checksum, n*CachedContinuousDistributions.TABLE_ACCURACY);
+    }
+
+}
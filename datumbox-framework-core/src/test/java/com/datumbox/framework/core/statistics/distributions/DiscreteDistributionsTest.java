@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -83,6 +83,20 @@ public class DiscreteDistributionsTest extends AbstractTest {
         assertEquals(expResult, result, Constants.DOUBLE_ACCURACY_HIGH);
     }
 
+    /**
+     * Test of binomialCdf method with large counts, of class DiscreteDistributions.
+     */
+    @Test
+    public void testBinomialCdfLargeCounts() {
+        logger.info("BinomialCdfLargeCounts");
+        int k = 299500;
+        double p = 0.3;
+        int n = 1000000;
+        double expResult = 0.13785089213614987;
+        double result = DiscreteDistributions.binomialCdf(k, p, n);
+        assertEquals(expResult, result, 1e-9);
+    }
+
     /**
      * Test of geometric method, of class DiscreteDistributions.
      */
@@ -192,6 +206,21 @@ public class DiscreteDistributionsTest extends AbstractTest {
         assertEquals(expResult, result, Constants.DOUBLE_ACCURACY_HIGH);
     }
 
+    /**
+     * Test of hypergeometricCdf method with large counts, of class DiscreteDistributions.
+     */
+    @Test
+    public void testHypergeometricCdfLargeCounts() {
+        logger.info("HypergeometricCdfLargeCounts");
+        int k = 29800;
+        int n = 100000;
+        int Kp = 600000;
+        int Np = 2000000;
+        double expResult = 0.07884705158249365;
+        double result = DiscreteDistributions.hypergeometricCdf(k, n, Kp, Np);
+        assertEquals(expResult, result, 1e-9);
+    }
+
     /**
      * Test of poisson method, of class DiscreteDistributions.
      */
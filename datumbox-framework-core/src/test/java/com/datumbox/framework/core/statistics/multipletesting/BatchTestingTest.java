@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.statistics.multipletesting;
+
+import com.datumbox.framework.common.concurrency.ConcurrencyConfiguration;
+import com.datumbox.framework.common.utilities.RandomGenerator;
+import com.datumbox.framework.core.statistics.nonparametrics.independentsamples.Chisquare;
+import com.datumbox.framework.core.statistics.nonparametrics.independentsamples.MannWhitney;
+import com.datumbox.framework.core.statistics.parametrics.independentsamples.StudentsIndependentSamples;
+import com.datumbox.framework.tests.Constants;
+import com.datumbox.framework.tests.abstracts.AbstractTest;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for BatchTesting.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class BatchTestingTest extends AbstractTest {
+
+    /**
+     * Test of testSamples method, of class BatchTesting.
+     */
+    @Test
+    public void testTestSamples() {
+        logger.info("testSamples");
+        Random rnd = RandomGenerator.getThreadLocalRandom();
+        
+        //the first 10 comparisons have a real effect
+        int m = 200;
+        double[][] controls = new double[m][];
+        double[][] treatments = new double[m][];
+        for(int i=0;i<m;++i) {
+            double effect = (i<10)?2.0:0.0;
+            controls[i] = new double[30+rnd.nextInt(20)];
+            treatments[i] = new double[30+rnd.nextInt(20)];
+            for(int j=0;j<controls[i].length;++j) {
+                controls[i][j] = 10.0 + rnd.nextGaussian();
+            }
+            for(int j=0;j<treatments[i].length;++j) {
+                treatments[i][j] = 10.0 + effect + rnd.nextGaussian();
+            }
+        }
+        
+        ConcurrencyConfiguration concurrencyConfiguration = getConfiguration().getConcurrencyConfiguration();
+        double aLevel = 0.05;
+        for(BatchTesting.SampleTest test : BatchTesting.SampleTest.values()) {
+            BatchTesting.Results results = BatchTesting.testSamples(controls, treatments, test, MultipleComparisons.Correction.HOLM, aLevel, concurrencyConfiguration);
+            assertEquals(m, results.size());
+            
+            double[] pvalues = results.getPvalues();
+            for(int i=0;i<m;++i) {
+                double probability;
+                if(test==BatchTesting.SampleTest.STUDENTS_EQUAL_VARS) {
+                    probability = StudentsIndependentSamples.getCdfUnknownEqualVars(controls[i], treatments[i]);
+                }
+                else if(test==BatchTesting.SampleTest.STUDENTS_NOT_EQUAL_VARS) {
+                    probability = StudentsIndependentSamples.getCdfUnknownNotEqualVars(controls[i], treatments[i]);
+                }
+                else {
+                    probability = MannWhitney.getCdf(controls[i], treatments[i]);
+                }
+                assertEquals(2.0*Math.min(probability, 1.0-probability), pvalues[i], Constants.DOUBLE_ACCURACY_HIGH);
+            }
+            assertArrayEquals(MultipleComparisons.holm(pvalues), results.getAdjustedPvalues(), Constants.DOUBLE_ACCURACY_HIGH);
+            
+            boolean[] rejected = results.getRejected();
+            int falsePositives = 0;
+            for(int i=0;i<m;++i) {
+                if(i<10) {
+                    assertTrue(rejected[i]);
+                    assertTrue(results.getEffects()[i]>1.0);
+                }
+                else if(rejected[i]) {
+                    ++falsePositives;
+                }
+            }
+            assertTrue(falsePositives<=1);
+        }
+    }
+
+    /**
+     * Test of testCounts method, of class BatchTesting.
+     */
+    @Test
+    public void testTestCounts() {
+        logger.info("testCounts");
+        int[] controlSuccesses = {10, 45, 3, 120};
+        int[] controlTrials = {100, 500, 20, 1000};
+        int[] treatmentSuccesses = {25, 48, 4, 121};
+        int[] treatmentTrials = {100, 500, 20, 1000};
+        
+        ConcurrencyConfiguration concurrencyConfiguration = getConfiguration().getConcurrencyConfiguration();
+        double aLevel = 0.05;
+        BatchTesting.Results results = BatchTesting.testCounts(controlSuccesses, controlTrials, treatmentSuccesses, treatmentTrials, BatchTesting.CountTest.CHISQUARE, MultipleComparisons.Correction.BENJAMINI_HOCHBERG, aLevel, concurrencyConfiguration);
+        
+        double[] expEffects = {0.15, 0.006, 0.05, 0.001};
+        assertArrayEquals(expEffects, results.getEffects(), Constants.DOUBLE_ACCURACY_HIGH);
+        for(int i=0;i<controlSuccesses.length;++i) {
+            double[][] table = {
+                {controlSuccesses[i], controlTrials[i]-controlSuccesses[i]}, 
+                {treatmentSuccesses[i], treatmentTrials[i]-treatmentSuccesses[i]}
+            };
+            assertEquals(Chisquare.getPvalue(table), results.getPvalues()[i], Constants.DOUBLE_ACCURACY_HIGH);
+        }
+        boolean[] expRejected = {true, false, false, false};
+        assertArrayEquals(expRejected, results.getRejected());
+        
+        results = BatchTesting.testCounts(new int[]{1, 9}, new int[]{10, 10}, new int[]{11, 3}, new int[]{14, 14}, BatchTesting.CountTest.FISHER, MultipleComparisons.Correction.NONE, aLevel, concurrencyConfiguration);
+        assertTrue(results.getPvalues()[0]<aLevel);
+        assertTrue(results.getRejected()[0]);
+    }
+
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.statistics.multipletesting;
+
+import com.datumbox.framework.tests.Constants;
+import com.datumbox.framework.tests.abstracts.AbstractTest;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Test cases for MultipleComparisons.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class MultipleComparisonsTest extends AbstractTest {
+
+    private final double[] pvalues = {0.01, 0.04, 0.03, 0.005, Double.NaN};
+
+    /**
+     * Test of bonferroni method, of class MultipleComparisons.
+     */
+    @Test
+    public void testBonferroni() {
+        logger.info("bonferroni");
+        double[] expResult = {0.04, 0.16, 0.12, 0.02, Double.NaN};
+        double[] result = MultipleComparisons.bonferroni(pvalues);
+        assertArrayEquals(expResult, result, Constants.DOUBLE_ACCURACY_HIGH);
+    }
+
+    /**
+     * Test of holm method, of class MultipleComparisons.
+     */
+    @Test
+    public void testHolm() {
+        logger.info("holm");
+        double[] expResult = {0.03, 0.06, 0.06, 0.02, Double.NaN};
+        double[] result = MultipleComparisons.holm(pvalues);
+        assertArrayEquals(expResult, result, Constants.DOUBLE_ACCURACY_HIGH);
+    }
+
+    /**
+     * Test of benjaminiHochberg method, of class MultipleComparisons.
+     */
+    @Test
+    public void testBenjaminiHochberg() {
+        logger.info("benjaminiHochberg");
+        double[] expResult = {0.02, 0.04, 0.04, 0.02, Double.NaN};
+        double[] result = MultipleComparisons.benjaminiHochberg(pvalues);
+        assertArrayEquals(expResult, result, Constants.DOUBLE_ACCURACY_HIGH);
+    }
+
+    /**
+     * Test of benjaminiYekutieli method, of class MultipleComparisons.
+     */
+    @Test
+    public void testBenjaminiYekutieli() {
+        logger.info("benjaminiYekutieli");
+        double[] expResult = {0.04166667, 0.08333333, 0.08333333, 0.04166667, Double.NaN};
+        double[] result = MultipleComparisons.adjust(pvalues, MultipleComparisons.Correction.BENJAMINI_YEKUTIELI);
+        assertArrayEquals(expResult, result, Constants.DOUBLE_ACCURACY_HIGH);
+    }
+
+}
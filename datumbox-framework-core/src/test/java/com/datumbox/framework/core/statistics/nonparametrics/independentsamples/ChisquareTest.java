@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package com.datumbox.framework.core.statistics.nonparametrics.independentsamples;
 
 import com.datumbox.framework.common.dataobjects.DataTable2D;
+import com.datumbox.framework.tests.Constants;
 import com.datumbox.framework.tests.abstracts.AbstractTest;
 import org.junit.Test;
 
@@ -55,4 +56,34 @@ public class ChisquareTest extends AbstractTest {
         assertEquals(expResult, result);
     }
     
+    /**
+     * Test of getPvalue method on primitive tables, of class Chisquare.
+     */
+    @Test
+    public void testGetPvalue() {
+        logger.info("getPvalue");
+        double[][] table = {
+            {13, 8, 10, 3},
+            {20, 23, 27, 18},
+            {11, 12, 12, 21}
+        };
+        DataTable2D dataTable = new DataTable2D();
+        for(int i=0;i<table.length;++i) {
+            for(int j=0;j<table[i].length;++j) {
+                dataTable.put2d(i, j, table[i][j]);
+            }
+        }
+        assertEquals(Chisquare.getPvalue(dataTable), Chisquare.getPvalue(table), Constants.DOUBLE_ACCURACY_HIGH);
+        
+        //2x2 tables use the Yates correction
+        double[][] table2x2 = {{12, 5}, {7, 15}};
+        DataTable2D dataTable2x2 = new DataTable2D();
+        for(int i=0;i<2;++i) {
+            for(int j=0;j<2;++j) {
+                dataTable2x2.put2d(i, j, table2x2[i][j]);
+            }
+        }
+        assertEquals(Chisquare.getPvalue(dataTable2x2), Chisquare.getPvalue(table2x2), Constants.DOUBLE_ACCURACY_HIGH);
+    }
+    
 }
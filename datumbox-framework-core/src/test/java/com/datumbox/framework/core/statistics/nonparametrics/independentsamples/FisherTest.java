@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package com.datumbox.framework.core.statistics.nonparametrics.independentsamples;
 
 
+import com.datumbox.framework.tests.Constants;
 import com.datumbox.framework.tests.abstracts.AbstractTest;
 import org.junit.Test;
 
@@ -44,5 +45,18 @@ public class FisherTest extends AbstractTest {
         boolean result = Fisher.test(n11, n12, n21, n22, aLevel);
         assertEquals(expResult, result);
     }
+
+    /**
+     * Test of getPvalue method, of class Fisher.
+     */
+    @Test
+    public void testGetPvalue() {
+        logger.info("getPvalue");
+        assertEquals(0.047619047619047616, Fisher.getPvalue(1, 5, 5, 6, 4), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(0.0027594561852200836, Fisher.getPvalue(1, 12, 12, 10, 14), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(0.04716548538301928, Fisher.getPvalue(40, 95, 105, 100, 100), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(0.00045948944608174304, Fisher.getPvalue(10000, 20500, 1979500, 1000000, 1000000), 1e-9);
+        assertEquals(1.0, Fisher.getPvalue(5, 10, 10, 10, 10), Constants.DOUBLE_ACCURACY_HIGH);
+    }
     
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@ package com.datumbox.framework.core.statistics.nonparametrics.independentsamples
 
 import com.datumbox.framework.common.dataobjects.FlatDataCollection;
 import com.datumbox.framework.common.dataobjects.TransposeDataCollection;
+import com.datumbox.framework.tests.Constants;
 import com.datumbox.framework.tests.abstracts.AbstractTest;
 import org.junit.Test;
 
@@ -47,5 +48,29 @@ public class KruskalWallisTest extends AbstractTest {
         boolean result = KruskalWallis.test(transposeDataCollection, aLevel);
         assertEquals(expResult, result);
     }
+
+    /**
+     * Test of getPvalue method, of class KruskalWallis.
+     */
+    @Test
+    public void testGetPvalue() {
+        logger.info("getPvalue");
+        double[][] groups = {
+            {82,93,86,87,99,95,93,89,96},
+            {81,85,93,91,84,88,84,92,81,92},
+            {97,85,83,93,88,86,90,94,87,93},
+            {93,89,94,96,81,84,80,84,92}
+        };
+        TransposeDataCollection transposeDataCollection = new TransposeDataCollection();
+        for(int i=0;i<groups.length;++i) {
+            transposeDataCollection.put(i, new FlatDataCollection(Arrays.asList(Arrays.stream(groups[i]).boxed().toArray())));
+        }
+        
+        double expResult = 0.30033354841357507;
+        assertEquals(expResult, KruskalWallis.getPvalue(transposeDataCollection), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(expResult, KruskalWallis.getPvalue(groups), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(93.0, groups[0][1], 0.0);
+        assertEquals(false, KruskalWallis.test(groups, 0.05));
+    }
     
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@ package com.datumbox.framework.core.statistics.nonparametrics.independentsamples
 
 import com.datumbox.framework.common.dataobjects.FlatDataCollection;
 import com.datumbox.framework.common.dataobjects.TransposeDataCollection;
+import com.datumbox.framework.tests.Constants;
 import com.datumbox.framework.tests.abstracts.AbstractTest;
 import org.junit.Test;
 
@@ -48,5 +49,25 @@ public class MannWhitneyTest extends AbstractTest {
         boolean result = MannWhitney.test(transposeDataCollection, is_twoTailed, aLevel);
         assertEquals(expResult, result);
     }
+
+    /**
+     * Test of getPvalue method, of class MannWhitney.
+     */
+    @Test
+    public void testGetPvalue() {
+        logger.info("getPvalue");
+        TransposeDataCollection transposeDataCollection = new TransposeDataCollection();
+        transposeDataCollection.put("group1", new FlatDataCollection(Arrays.asList(new Object[]{32,26.5,28.5,30,26})));
+        transposeDataCollection.put("group2", new FlatDataCollection(Arrays.asList(new Object[]{18.5,16,19.5,20})));
+        
+        double[] x = {32,26.5,28.5,30,26};
+        double[] y = {18.5,16,19.5,20};
+        
+        double expResult = 0.007152938717586321;
+        assertEquals(expResult, MannWhitney.getPvalue(transposeDataCollection), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(expResult, MannWhitney.getCdf(x, y), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(expResult, MannWhitney.getCdf(y, x), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(true, MannWhitney.test(x, y, true, 0.05));
+    }
     
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@ package com.datumbox.framework.core.statistics.nonparametrics.onesample;
 
 import com.datumbox.framework.common.dataobjects.AssociativeArray;
 import com.datumbox.framework.common.dataobjects.FlatDataCollection;
+import com.datumbox.framework.core.statistics.distributions.ContinuousDistributions;
 import com.datumbox.framework.tests.abstracts.AbstractTest;
 import org.junit.Test;
 
@@ -51,4 +52,23 @@ public class KolmogorovSmirnovOneSampleTest extends AbstractTest {
         assertEquals(expResult, result);
     }
     
+    /**
+     * Test of test method on primitive arrays, of class KolmogorovSmirnovOneSample.
+     */
+    @Test
+    public void testTestPrimitive() {
+        logger.info("testPrimitive");
+        double[] values = {33.4, 33.3, 31.0, 31.4, 33.5, 34.4, 33.7, 36.2, 34.9, 37.0};
+        AssociativeArray params = new AssociativeArray();
+        params.put("mean", 32.0);
+        params.put("variance", 3.24);
+        
+        boolean is_twoTailed = true;
+        double aLevel = 0.05;
+        boolean expResult = true;
+        assertEquals(expResult, KolmogorovSmirnovOneSample.test(values, "normalDistribution", params, is_twoTailed, aLevel));
+        assertEquals(expResult, KolmogorovSmirnovOneSample.test(values, x -> ContinuousDistributions.gaussCdf((x-32.0)/1.8), is_twoTailed, aLevel));
+        assertEquals(33.4, values[0], 0.0); //the input is not sorted
+    }
+    
 }
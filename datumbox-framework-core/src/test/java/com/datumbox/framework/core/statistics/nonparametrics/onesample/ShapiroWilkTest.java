@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -44,4 +44,18 @@ public class ShapiroWilkTest extends AbstractTest {
         assertEquals(expResult, result);
     }
     
+    /**
+     * Test of test method on primitive arrays, of class ShapiroWilk.
+     */
+    @Test
+    public void testTestPrimitive() {
+        logger.info("testPrimitive");
+        double[] values = {33.4, 33.3, 31.0, 31.4, 33.5, 34.4, 33.7, 36.2, 34.9, 37.0};
+        double aLevel = 0.05;
+        boolean expResult = false;
+        boolean result = ShapiroWilk.test(values, aLevel);
+        assertEquals(expResult, result);
+        assertEquals(33.4, values[0], 0.0); //the input is not sorted
+    }
+    
 }
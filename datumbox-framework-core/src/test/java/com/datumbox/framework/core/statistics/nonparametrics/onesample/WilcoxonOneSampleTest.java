@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package com.datumbox.framework.core.statistics.nonparametrics.onesample;
 
 import com.datumbox.framework.common.dataobjects.FlatDataCollection;
+import com.datumbox.framework.tests.Constants;
 import com.datumbox.framework.tests.abstracts.AbstractTest;
 import org.junit.Test;
 
@@ -45,5 +46,17 @@ public class WilcoxonOneSampleTest extends AbstractTest {
         boolean result = WilcoxonOneSample.test(flatDataCollection, median, is_twoTailed, aLevel);
         assertEquals(expResult, result);
     }
+
+    /**
+     * Test of getPvalue method, of class WilcoxonOneSample.
+     */
+    @Test
+    public void testGetPvalue() {
+        logger.info("getPvalue");
+        double[] values = {19.5,19.8,18.9,20.4,20.2,21.5,19.9,20.9,18.1,20.5,18.3,19.5,18.3,19.0,18.2,23.9,17.0,19.7,21.7,19.5};
+        double median = 20.8;
+        double expResult = 0.002866995475153564;
+        assertEquals(expResult, WilcoxonOneSample.getPvalue(values, median), Constants.DOUBLE_ACCURACY_HIGH);
+    }
     
 }
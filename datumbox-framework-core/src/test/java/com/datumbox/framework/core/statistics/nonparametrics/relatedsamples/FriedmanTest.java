@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package com.datumbox.framework.core.statistics.nonparametrics.relatedsamples;
 
 import com.datumbox.framework.common.dataobjects.DataTable2D;
+import com.datumbox.framework.tests.Constants;
 import com.datumbox.framework.tests.abstracts.AbstractTest;
 import org.junit.Test;
 
@@ -46,5 +47,21 @@ public class FriedmanTest extends AbstractTest {
         boolean result = Friedman.test(dataTable, aLevel);
         assertEquals(expResult, result);
     }
+
+    /**
+     * Test of getPvalue method, of class Friedman.
+     */
+    @Test
+    public void testGetPvalue() {
+        logger.info("getPvalue");
+        double[][] table = {
+            {4, 7, 8, 6, 5, 5},
+            {6, 9, 7, 6, 4, 5},
+            {8, 10, 10, 9, 6, 7},
+            {6, 4, 8, 5, 3, 7}
+        };
+        double expResult = 0.023792655322452144;
+        assertEquals(expResult, Friedman.getPvalue(table), Constants.DOUBLE_ACCURACY_HIGH);
+    }
     
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,12 +17,16 @@ package com.datumbox.framework.core.statistics.nonparametrics.relatedsamples;
 
 import com.datumbox.framework.common.dataobjects.FlatDataList;
 import com.datumbox.framework.common.dataobjects.TransposeDataList;
+import com.datumbox.framework.common.utilities.RandomGenerator;
+import com.datumbox.framework.tests.Constants;
 import com.datumbox.framework.tests.abstracts.AbstractTest;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Test cases for KendallTauCorrelation.
@@ -50,4 +54,66 @@ public class KendallTauCorrelationTest extends AbstractTest {
         assertEquals(expResult, result);
     }
     
+    /**
+     * Test of calculateCorrelation method, of class KendallTauCorrelation.
+     */
+    @Test
+    public void testCalculateCorrelation() {
+        logger.info("calculateCorrelation");
+        Random rnd = RandomGenerator.getThreadLocalRandom();
+        for(int t=0;t<50;++t) {
+            int n = 1 + rnd.nextInt(200);
+            double[] x = new double[n];
+            double[] y = new double[n];
+            for(int i=0;i<n;++i) {
+                //few distinct values to produce many ties
+                x[i] = rnd.nextInt(10);
+                y[i] = (t%2==0)?rnd.nextInt(10):x[i]+rnd.nextGaussian();
+            }
+            
+            //brute force estimation of tau-a
+            long numberOfConcordant = 0;
+            long numberOfDiscordant = 0;
+            for(int i=0;i<n;++i) {
+                for(int j=i+1;j<n;++j) {
+                    double sign = (x[i]-x[j])*(y[i]-y[j]);
+                    if(sign>0) {
+                        ++numberOfConcordant;
+                    }
+                    else if(sign<0) {
+                        ++numberOfDiscordant;
+                    }
+                }
+            }
+            double expResult = (numberOfConcordant-numberOfDiscordant)/(n*(n-1.0)/2.0);
+            
+            double result = KendallTauCorrelation.calculateCorrelation(x, y);
+            assertEquals(expResult, result, Constants.DOUBLE_ACCURACY_HIGH);
+        }
+    }
+    
+    /**
+     * Benchmark of calculateCorrelation method, of class KendallTauCorrelation, on 10^6 pairs.
+     */
+    @Test
+    public void testCalculateCorrelationLarge() {
+        logger.info("testCalculateCorrelationLarge");
+        Random rnd = RandomGenerator.getThreadLocalRandom();
+        int n = 1000000;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for(int i=0;i<n;++i) {
+            x[i] = rnd.nextGaussian();
+            y[i] = x[i] + rnd.nextGaussian();
+        }
+        
+        long start = System.nanoTime();
+        double result = KendallTauCorrelation.calculateCorrelation(x, y);
+        logger.info("Estimated Kendall's tau of {} pairs in {} ms", n, (System.nanoTime()-start)/1000000);
+        
+        //for bivariate normal with correlation rho the tau is 2/pi*asin(rho)
+        double expResult = 2.0/Math.PI*Math.asin(1.0/Math.sqrt(2.0));
+        assertTrue(Math.abs(expResult-result)<0.01);
+    }
+    
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@ package com.datumbox.framework.core.statistics.nonparametrics.relatedsamples;
 
 import com.datumbox.framework.common.dataobjects.FlatDataList;
 import com.datumbox.framework.common.dataobjects.TransposeDataList;
+import com.datumbox.framework.tests.Constants;
 import com.datumbox.framework.tests.abstracts.AbstractTest;
 import org.junit.Test;
 
@@ -48,5 +49,23 @@ public class SpearmanCorrelationTest extends AbstractTest {
         boolean result = SpearmanCorrelation.test(transposeDataList, is_twoTailed, aLevel);
         assertEquals(expResult, result);
     }
+
+    /**
+     * Test of calculateCorrelation method, of class SpearmanCorrelation.
+     */
+    @Test
+    public void testCalculateCorrelation() {
+        logger.info("calculateCorrelation");
+        double[] x = {56,75,45,71,61,64,58,80,76,61};
+        double[] y = {66,70,40,60,65,56,59,77,67,63};
+        double expResult = 0.6686960980480711;
+        assertEquals(expResult, SpearmanCorrelation.calculateCorrelation(x, y), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(56.0, x[0], 0.0);
+
+        TransposeDataList transposeDataList = new TransposeDataList();
+        transposeDataList.put(0, new FlatDataList(Arrays.asList(new Object[]{56,75,45,71,61,64,58,80,76,61})));
+        transposeDataList.put(1, new FlatDataList(Arrays.asList(new Object[]{66,70,40,60,65,56,59,77,67,63})));
+        assertEquals(expResult, SpearmanCorrelation.calculateCorrelation(transposeDataList), Constants.DOUBLE_ACCURACY_HIGH);
+    }
     
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@ package com.datumbox.framework.core.statistics.nonparametrics.relatedsamples;
 
 import com.datumbox.framework.common.dataobjects.FlatDataList;
 import com.datumbox.framework.common.dataobjects.TransposeDataList;
+import com.datumbox.framework.tests.Constants;
 import com.datumbox.framework.tests.abstracts.AbstractTest;
 import org.junit.Test;
 
@@ -48,5 +49,17 @@ public class WilcoxonRelatedSamplesTest extends AbstractTest {
         boolean result = WilcoxonRelatedSamples.test(transposeDataList, is_twoTailed, aLevel);
         assertEquals(expResult, result);
     }
+
+    /**
+     * Test of getPvalue method, of class WilcoxonRelatedSamples.
+     */
+    @Test
+    public void testGetPvalue() {
+        logger.info("getPvalue");
+        double[] x = {39.8,38.8,38.4,39.9,39.4,38.4,38.6,41.2,39.0,39.1};
+        double[] y = {38.8,38.6,37.5,38.0,38.7,38.4,38.7,38.6,38.3,38.6};
+        double expResult = 0.953699651089662;
+        assertEquals(expResult, WilcoxonRelatedSamples.getPvalue(x, y), Constants.DOUBLE_ACCURACY_HIGH);
+    }
     
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -65,5 +65,28 @@ public class StudentsIndependentSamplesTest extends AbstractTest {
         boolean result = StudentsIndependentSamples.testMeansUnknownEqualVars(xbar, ybar, n, m, stdx, stdy, is_twoTailed, aLevel);
         assertEquals(expResult, result);
     }
+
+    /**
+     * Test of testMeansUnknownNotEqualVars and testMeansUnknownEqualVars methods
+     * on primitive arrays, of class StudentsIndependentSamples.
+     */
+    @Test
+    public void testTestMeansPrimitive() {
+        logger.info("testMeansPrimitive");
+        double[] x = {14.2, 15.1, 13.5, 14.8, 12.9, 15.6, 13.3, 14.1};
+        double[] y = {12.1, 11.4, 13.0, 12.5, 11.9, 12.8, 11.2};
+        
+        //the summary statistics of the samples
+        double xbar = 14.1875;
+        double ybar = 12.128571428571428;
+        double stdx = 0.9357006542082322;
+        double stdy = 0.6824326235712108;
+        
+        boolean is_twoTailed = true;
+        double aLevel = 0.05;
+        assertEquals(StudentsIndependentSamples.testMeansUnknownNotEqualVars(xbar, ybar, x.length, y.length, stdx, stdy, is_twoTailed, aLevel), StudentsIndependentSamples.testMeansUnknownNotEqualVars(x, y, is_twoTailed, aLevel));
+        assertEquals(StudentsIndependentSamples.testMeansUnknownEqualVars(xbar, ybar, x.length, y.length, stdx, stdy, is_twoTailed, aLevel), StudentsIndependentSamples.testMeansUnknownEqualVars(x, y, is_twoTailed, aLevel));
+        assertEquals(true, StudentsIndependentSamples.testMeansUnknownEqualVars(x, y, is_twoTailed, aLevel));
+    }
     
 }
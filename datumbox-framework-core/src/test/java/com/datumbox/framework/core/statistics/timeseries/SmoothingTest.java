@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,13 +15,20 @@
  */
 package com.datumbox.framework.core.statistics.timeseries;
 
+import com.datumbox.framework.common.concurrency.ConcurrencyConfiguration;
 import com.datumbox.framework.common.dataobjects.FlatDataList;
+import com.datumbox.framework.common.utilities.RandomGenerator;
+import com.datumbox.framework.core.statistics.timeseries.smoothers.AbstractSmoother;
+import com.datumbox.framework.core.statistics.timeseries.smoothers.HoltWinters;
+import com.datumbox.framework.core.statistics.timeseries.smoothers.SimpleExponentialSmoothing;
+import com.datumbox.framework.core.statistics.timeseries.smoothers.SimpleMovingAverage;
 import com.datumbox.framework.tests.Constants;
 import com.datumbox.framework.tests.abstracts.AbstractTest;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 
@@ -125,5 +132,50 @@ public class SmoothingTest extends AbstractTest {
         double result = Smoothing.holtWintersSmoothing(flatDataList, season_length, alpha, beta, gamma, dev_gamma);
         assertEquals(expResult, result, Constants.DOUBLE_ACCURACY_HIGH);
     }
+
+    /**
+     * Test of add and forecast methods, of class Smoothing.
+     */
+    @Test
+    public void testAddAndForecast() {
+        logger.info("addAndForecast");
+        ConcurrencyConfiguration concurrencyConfiguration = getConfiguration().getConcurrencyConfiguration();
+        Random rnd = RandomGenerator.getThreadLocalRandom();
+
+        int m = 5000;
+        AbstractSmoother[] smoothers = new AbstractSmoother[m];
+        AbstractSmoother[] expected = new AbstractSmoother[m];
+        for(int i=0;i<m;++i) {
+            switch(i%3) {
+                case 0:
+                    smoothers[i] = new SimpleMovingAverage(1+i%7);
+                    expected[i] = new SimpleMovingAverage(1+i%7);
+                    break;
+                case 1:
+                    smoothers[i] = new SimpleExponentialSmoothing(0.3);
+                    expected[i] = new SimpleExponentialSmoothing(0.3);
+                    break;
+                default:
+                    smoothers[i] = new HoltWinters(4, 0.2, 0.05, 0.1);
+                    expected[i] = new HoltWinters(4, 0.2, 0.05, 0.1);
+                    break;
+            }
+        }
+
+        for(int t=0;t<20;++t) {
+            double[] values = new double[m];
+            for(int i=0;i<m;++i) {
+                values[i] = 100.0 + 10.0*Math.sin(t*Math.PI/2.0) + rnd.nextDouble();
+                expected[i].add(values[i]);
+            }
+            Smoothing.add(smoothers, values, concurrencyConfiguration);
+        }
+
+        double[] forecasts = Smoothing.forecast(smoothers, concurrencyConfiguration);
+        for(int i=0;i<m;++i) {
+            assertEquals(20, smoothers[i].count());
+            assertEquals(expected[i].forecast(), forecasts[i], Constants.DOUBLE_ACCURACY_HIGH);
+        }
+    }
     
 }
@@ -0,0 +1,44 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.statistics.timeseries.smoothers;
+
+import com.datumbox.framework.tests.Constants;
+import com.datumbox.framework.tests.abstracts.AbstractTest;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test cases for DoubleExponentialSmoothing.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class DoubleExponentialSmoothingTest extends AbstractTest {
+
+    private static final double[] VALUES = { 20,13,19,19,31,18,16,13,22,28,24,20,30,15,24.0 };
+
+    /**
+     * Test of forecast method, of class DoubleExponentialSmoothing.
+     */
+    @Test
+    public void testForecast() {
+        logger.info("forecast");
+        DoubleExponentialSmoothing instance = new DoubleExponentialSmoothing(0.5, 0.3);
+        instance.addAll(VALUES);
+        assertEquals(22.631453250421803, instance.forecast(), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(22.658662059683287, instance.forecast(3), Constants.DOUBLE_ACCURACY_HIGH);
+    }
+}
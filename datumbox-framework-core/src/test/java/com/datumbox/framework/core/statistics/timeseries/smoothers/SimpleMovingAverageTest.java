@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.core.statistics.timeseries.smoothers;
+
+import com.datumbox.framework.common.dataobjects.FlatDataList;
+import com.datumbox.framework.core.statistics.timeseries.Smoothing;
+import com.datumbox.framework.tests.Constants;
+import com.datumbox.framework.tests.abstracts.AbstractTest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test cases for SimpleMovingAverage.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class SimpleMovingAverageTest extends AbstractTest {
+
+    private static final double[] VALUES = { 20,13,19,19,31,18,16,13,22,28,24,20,30,15,24.0 };
+
+    /**
+     * Test of forecast method, of class SimpleMovingAverage.
+     */
+    @Test
+    public void testForecast() {
+        logger.info("forecast");
+        int N = 3;
+        SimpleMovingAverage instance = new SimpleMovingAverage(N);
+        List<Object> history = new ArrayList<>();
+        for(double value : VALUES) {
+            instance.add(value);
+            history.add(value);
+            assertEquals(Smoothing.simpleMovingAverage(new FlatDataList(history), N), instance.forecast(), Constants.DOUBLE_ACCURACY_HIGH);
+        }
+        assertEquals(23.0, instance.forecast(), Constants.DOUBLE_ACCURACY_HIGH);
+        assertEquals(VALUES.length, instance.count());
+    }
+}
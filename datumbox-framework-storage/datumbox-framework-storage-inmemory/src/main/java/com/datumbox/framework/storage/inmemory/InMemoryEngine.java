@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,7 @@ import java.io.Serializable;
 import java.io.UncheckedIOException;
 import java.lang.ref.WeakReference;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -34,17 +35,29 @@ import java.util.concurrent.ConcurrentSkipListMap;
 /**
  * The InMemoryEngine is responsible for saving and loading data in memory,
  * creating BigMaps and storing data. The InMemoryEngine loads all the
- * data in memory and stores all data in serialized files.
+ * data in memory and stores all data in serialized files. Every BigMap is
+ * stored in a separate file and the HASHMAP BigMaps of the loaded objects are
+ * deserialized on their first access, so the loading time of an object does not
+ * depend on the size of its BigMaps.
  *
  * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
  */
 public class InMemoryEngine extends AbstractFileStorageEngine<InMemoryConfiguration> {
 
+    private static final String BIGMAP_EXTENSION = ".bigmap";
+
     /**
      * The catalog stores weak references to all the items that are stored in the storage (objects and big maps).
      */
     private Map<String, WeakReference<?>> catalog = new HashMap<>();
 
+    /**
+     * Flag which is set while the BigMaps of a loaded object are initialized. It
+     * is kept per thread, so the maps created by other threads at the same time
+     * are not read from the files.
+     */
+    private final ThreadLocal<Boolean> loadingObject = ThreadLocal.withInitial(() -> false);
+
     /** 
      * @param storageName
      * @param storageConfiguration
@@ -90,16 +103,29 @@ public class InMemoryEngine extends AbstractFileStorageEngine<InMemoryConfigurat
     @Override
     public <T extends Serializable> void saveObject(String name, T serializableObject) {
         assertConnectionOpen();
+
+        Map<String, Object> objRefs = preSerializer(serializableObject);
         try { 
             Path rootPath = getRootPath(storageName);
             createDirectoryIfNotExists(rootPath);
 
+            for(Map.Entry<String, Object> entry : objRefs.entrySet()) {
+                Object map = entry.getValue();
+                if(map instanceof LazyLoadedMap && !((LazyLoadedMap<?, ?>) map).isLoaded() && entry.getKey().equals(((LazyLoadedMap<?, ?>) map).getName())) {
+                    continue; //the file already contains the entries of the map
+                }
+                Files.write(getBigMapPath(entry.getKey()), DeepCopy.serialize(map));
+            }
+
             Path objectPath = new File(rootPath.toFile(), name).toPath();
             Files.write(objectPath, DeepCopy.serialize(serializableObject));
         } 
         catch (IOException ex) {
             throw new UncheckedIOException(ex);
         }
+        finally {
+            postSerializer(serializableObject, objRefs);
+        }
         catalog.put(name, new WeakReference<>(serializableObject));
     }
 
@@ -122,6 +148,15 @@ public class InMemoryEngine extends AbstractFileStorageEngine<InMemoryConfigurat
         catch (IOException ex) {
             throw new UncheckedIOException(ex);
         }
+
+        loadingObject.set(true);
+        try {
+            postDeserializer(obj);
+        }
+        finally {
+            loadingObject.remove();
+        }
+
         catalog.put(name, new WeakReference<>(obj));
         return obj;
     }
@@ -152,6 +187,7 @@ public class InMemoryEngine extends AbstractFileStorageEngine<InMemoryConfigurat
 
     /** {@inheritDoc} */
     @Override
+    @SuppressWarnings("unchecked")
     public <K,V> Map<K,V> getBigMap(String name, Class<K> keyClass, Class<V> valueClass, MapType type, StorageHint storageHint, boolean isConcurrent, boolean isTemporary) {
         assertConnectionOpen();
 
@@ -166,6 +202,34 @@ public class InMemoryEngine extends AbstractFileStorageEngine<InMemoryConfigurat
             throw new IllegalArgumentException("Unsupported MapType.");
         }
 
+        if(loadingObject.get() && !isTemporary && Files.exists(getBigMapPath(name))) {
+            if(MapType.HASHMAP.equals(type)) {
+                //the file is read on the first access of the map
+                Map<K,V> emptyMap = m;
+                m = new LazyLoadedMap<>(name, () -> {
+                    try {
+                        //the path is resolved on access because the storage might have been renamed
+                        return (Map<K,V>) DeepCopy.deserialize(Files.readAllBytes(getBigMapPath(name)));
+                    }
+                    catch (NoSuchFileException ex) {
+                        return emptyMap; //the storage was cleared before the map was accessed
+                    }
+                    catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+            else {
+                //the sorted maps are loaded immediately to keep their NavigableMap interface
+                try {
+                    m = (Map<K,V>) DeepCopy.deserialize(Files.readAllBytes(getBigMapPath(name)));
+                }
+                catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        }
+
         catalog.put(name, new WeakReference<>(m));
         return m;
     }  
@@ -176,12 +240,28 @@ public class InMemoryEngine extends AbstractFileStorageEngine<InMemoryConfigurat
         assertConnectionOpen();
         map.clear();
         catalog.remove(name);
+        try {
+            Files.deleteIfExists(getBigMapPath(name));
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
     }
 
     /** {@inheritDoc} */
     @Override
     protected Set<Class> nonSerializableBigMaps() {
-        return Collections.emptySet();
+        return new HashSet<>(Arrays.asList(HashMap.class, TreeMap.class, ConcurrentHashMap.class, ConcurrentSkipListMap.class, LazyLoadedMap.class));
+    }
+
+    /**
+     * Returns the path of the file of the BigMap.
+     *
+     * @param name
+     * @return
+     */
+    private Path getBigMapPath(String name) {
+        return getRootPath(storageName).resolve(name + BIGMAP_EXTENSION);
     }
 
 }
@@ -0,0 +1,263 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.storage.inmemory;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Proxy of a BigMap which is stored in a separate file. The file is deserialized
+ * on the first access of the map and after that all the operations are delegated
+ * to the loaded map, so opening an object does not read its BigMaps. The loading
+ * is performed only once even if multiple threads access the map at the same time.
+ * When the proxy is serialized, the loaded map is written in its place.
+ *
+ * @param <K>
+ * @param <V>
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+class LazyLoadedMap<K, V> implements Map<K, V>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private transient final String name;
+
+    private transient Supplier<Map<K, V>> loader;
+
+    private transient volatile Map<K, V> map = null;
+
+    /**
+     * Package-private constructor.
+     *
+     * @param name
+     * @param loader
+     */
+    LazyLoadedMap(String name, Supplier<Map<K, V>> loader) {
+        this.name = name;
+        this.loader = Objects.requireNonNull(loader);
+    }
+
+    /**
+     * Getter for the name of the BigMap.
+     *
+     * @return
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Checks whether the map has been loaded from the file.
+     *
+     * @return
+     */
+    boolean isLoaded() {
+        return map != null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return map().size();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isEmpty() {
+        return map().isEmpty();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean containsKey(Object key) {
+        return map().containsKey(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean containsValue(Object value) {
+        return map().containsValue(value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V get(Object key) {
+        return map().get(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        return map().getOrDefault(key, defaultValue);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V put(K key, V value) {
+        return map().put(key, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V remove(Object key) {
+        return map().remove(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        map().putAll(m);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        map().clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        map().forEach(action);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        map().replaceAll(function);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return map().putIfAbsent(key, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean remove(Object key, Object value) {
+        return map().remove(key, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        return map().replace(key, oldValue, newValue);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V replace(K key, V value) {
+        return map().replace(key, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        return map().computeIfAbsent(key, mappingFunction);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return map().computeIfPresent(key, remappingFunction);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return map().compute(key, remappingFunction);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return map().merge(key, value, remappingFunction);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<K> keySet() {
+        return map().keySet();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return map().entrySet();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Collection<V> values() {
+        return map().values();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(Object o) {
+        return o == this || map().equals(o);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        return map().hashCode();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return map().toString();
+    }
+
+    /**
+     * Returns the loaded map, reading the file on the first call.
+     *
+     * @return
+     */
+    Map<K, V> map() {
+        Map<K, V> m = map;
+        if(m == null) {
+            synchronized(this) {
+                m = map;
+                if(m == null) {
+                    m = loader.get();
+                    map = m;
+                    loader = null; //release the references of the loader
+                }
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Replaces the proxy with the loaded map during serialization.
+     *
+     * @return
+     * @throws ObjectStreamException
+     */
+    private Object writeReplace() throws ObjectStreamException {
+        return map();
+    }
+}
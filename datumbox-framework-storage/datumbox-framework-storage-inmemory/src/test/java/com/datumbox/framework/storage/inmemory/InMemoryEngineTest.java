@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.storage.inmemory;
+
+import com.datumbox.framework.common.storage.abstracts.BigMapHolder;
+import com.datumbox.framework.common.storage.interfaces.BigMap;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine.MapType;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine.StorageHint;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for InMemoryEngine.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class InMemoryEngineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private InMemoryConfiguration configuration;
+
+    /**
+     * An object with BigMaps.
+     */
+    public static class Holder extends BigMapHolder {
+        private static final long serialVersionUID = 1L;
+
+        @BigMap(keyClass=Integer.class, valueClass=String.class, mapType=MapType.HASHMAP, storageHint=StorageHint.IN_MEMORY, concurrent=false)
+        private Map<Integer, String> values;
+
+        @BigMap(keyClass=Integer.class, valueClass=String.class, mapType=MapType.TREEMAP, storageHint=StorageHint.IN_MEMORY, concurrent=false)
+        private Map<Integer, String> sorted;
+
+        private Holder(StorageEngine storageEngine) {
+            super(storageEngine);
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        configuration = new InMemoryConfiguration();
+        configuration.setDirectory(folder.newFolder().getAbsolutePath());
+    }
+
+    /**
+     * Creates an object with the provided entries.
+     *
+     * @param storageEngine
+     * @param entries
+     * @return
+     */
+    private Holder create(StorageEngine storageEngine, int entries) {
+        Holder holder = new Holder(storageEngine);
+        for(int i=0;i<entries;i++) {
+            holder.values.put(i, "v" + i);
+            holder.sorted.put(i, "s" + i);
+        }
+        return holder;
+    }
+
+    /**
+     * Saves an object with the provided entries and returns a new engine which
+     * can load it.
+     *
+     * @param storageName
+     * @param entries
+     * @return
+     */
+    private InMemoryEngine save(String storageName, int entries) {
+        InMemoryEngine storageEngine = (InMemoryEngine) configuration.createStorageEngine(storageName);
+        storageEngine.saveObject("holder", create(storageEngine, entries));
+        storageEngine.close();
+        return (InMemoryEngine) configuration.createStorageEngine(storageName);
+    }
+
+    /**
+     * Test of loadObject method, of class InMemoryEngine. The HASHMAP BigMaps
+     * are read on their first access.
+     */
+    @Test
+    public void testLoadObject() {
+        InMemoryEngine storageEngine = save("testLoadObject", 100);
+        Holder holder = storageEngine.loadObject("holder", Holder.class);
+
+        assertTrue(holder.values instanceof LazyLoadedMap);
+        LazyLoadedMap<Integer, String> values = (LazyLoadedMap<Integer, String>) holder.values;
+        assertFalse(values.isLoaded());
+        assertTrue(holder.sorted instanceof TreeMap);
+        assertEquals("s42", holder.sorted.get(42));
+
+        assertEquals("v42", holder.values.get(42));
+        assertTrue(values.isLoaded());
+        assertEquals(100, holder.values.size());
+        storageEngine.close();
+    }
+
+    /**
+     * Test of saveObject, rename and loadObject methods, of class InMemoryEngine.
+     */
+    @Test
+    public void testRename() {
+        InMemoryEngine storageEngine = save("testRename", 10);
+        Holder holder = storageEngine.loadObject("holder", Holder.class);
+        LazyLoadedMap<Integer, String> values = (LazyLoadedMap<Integer, String>) holder.values;
+
+        assertTrue(storageEngine.rename("testRename2"));
+        assertFalse(values.isLoaded());
+        storageEngine.saveObject("holder", holder);
+        assertFalse(values.isLoaded());
+        assertEquals("v5", holder.values.get(5));
+        storageEngine.close();
+
+        storageEngine = (InMemoryEngine) configuration.createStorageEngine("testRename2");
+        holder = storageEngine.loadObject("holder", Holder.class);
+        assertEquals(10, holder.values.size());
+        assertEquals("v5", holder.values.get(5));
+        assertEquals("s5", holder.sorted.get(5));
+        storageEngine.close();
+    }
+
+    /**
+     * Test of loadObject method with an object which was stored together with
+     * its BigMaps in a single file, of class InMemoryEngine.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testLoadInlineBigMaps() throws IOException {
+        InMemoryEngine storageEngine = (InMemoryEngine) configuration.createStorageEngine("testLoadInlineBigMaps");
+        Holder holder = create(storageEngine, 10);
+        storageEngine.close();
+
+        Path rootPath = Path.of(configuration.getDirectory(), "testLoadInlineBigMaps");
+        Files.createDirectories(rootPath);
+        Files.write(rootPath.resolve("holder"), DeepCopy.serialize(holder));
+
+        storageEngine = (InMemoryEngine) configuration.createStorageEngine("testLoadInlineBigMaps");
+        holder = storageEngine.loadObject("holder", Holder.class);
+        assertTrue(holder.values instanceof HashMap);
+        assertEquals(10, holder.values.size());
+        assertEquals("v5", holder.values.get(5));
+        assertEquals("s5", holder.sorted.get(5));
+        storageEngine.close();
+    }
+
+}
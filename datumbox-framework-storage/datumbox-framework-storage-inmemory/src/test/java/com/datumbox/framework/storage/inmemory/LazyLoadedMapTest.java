@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.storage.inmemory;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for LazyLoadedMap.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class LazyLoadedMapTest {
+
+    /**
+     * Test of the first access of the map from multiple threads, of class LazyLoadedMap.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testConcurrentLoad() throws Exception {
+        int threads = 8;
+        AtomicInteger loads = new AtomicInteger(0);
+        CountDownLatch start = new CountDownLatch(1);
+        LazyLoadedMap<Integer, String> map = new LazyLoadedMap<>("values", () -> {
+            loads.incrementAndGet();
+            try {
+                Thread.sleep(50L); //keep the other threads waiting on the loading
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            Map<Integer, String> m = new HashMap<>();
+            m.put(1, "a");
+            return m;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for(int i=0;i<threads;i++) {
+                futures[i] = executor.submit(() -> {
+                    start.await();
+                    return map.get(1);
+                });
+            }
+            start.countDown();
+            for(Future<?> future : futures) {
+                assertEquals("a", future.get());
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, loads.get());
+        assertTrue(map.isLoaded());
+    }
+
+    /**
+     * Test of the serialization of the map, of class LazyLoadedMap.
+     */
+    @Test
+    public void testSerialization() {
+        LazyLoadedMap<Integer, String> map = new LazyLoadedMap<>("values", () -> {
+            Map<Integer, String> m = new HashMap<>();
+            m.put(1, "a");
+            return m;
+        });
+
+        Object copy = DeepCopy.deserialize(DeepCopy.serialize(map));
+        assertTrue(copy instanceof HashMap);
+        assertEquals("a", ((Map<?, ?>) copy).get(1));
+        assertTrue(map.isLoaded());
+    }
+
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,7 +30,11 @@ import java.util.Properties;
  */
 public class MapDBConfiguration extends AbstractFileStorageConfiguration {
 
+    private static final long DEFAULT_HEAP_CACHE_SIZE = 16777216L;
+
     private int cacheSize = 10000;
+
+    private long heapCacheSize = DEFAULT_HEAP_CACHE_SIZE;
     
     private boolean compressed = true;
 
@@ -49,6 +53,8 @@ public class MapDBConfiguration extends AbstractFileStorageConfiguration {
     public void load(Properties properties) {
         directory = properties.getProperty("mapDBConfiguration.directory");
         cacheSize = Integer.parseInt(properties.getProperty("mapDBConfiguration.cacheSize"));
+        //the heap cache was added later, so the older property files do not contain it
+        heapCacheSize = Long.parseLong(properties.getProperty("mapDBConfiguration.heapCacheSize", String.valueOf(DEFAULT_HEAP_CACHE_SIZE)));
         compressed = "true".equalsIgnoreCase(properties.getProperty("mapDBConfiguration.compressed"));
         hybridized = "true".equalsIgnoreCase(properties.getProperty("mapDBConfiguration.hybridized"));
         asynchronous = "true".equalsIgnoreCase(properties.getProperty("mapDBConfiguration.asynchronous"));
@@ -73,6 +79,28 @@ public class MapDBConfiguration extends AbstractFileStorageConfiguration {
         this.cacheSize = cacheSize;
     }
 
+    /**
+     * Getter for the estimated bytes of the heap tier of every BigMap which is
+     * created with the IN_CACHE storage hint.
+     *
+     * @return
+     */
+    public long getHeapCacheSize() {
+        return heapCacheSize;
+    }
+
+    /**
+     * Setter for the estimated bytes of the heap tier of every BigMap which is
+     * created with the IN_CACHE storage hint. The modified entries are written
+     * to the MapDB files when they are evicted. Set it to 0 to use only the LRU
+     * cache of MapDB.
+     *
+     * @param heapCacheSize
+     */
+    public void setHeapCacheSize(long heapCacheSize) {
+        this.heapCacheSize = heapCacheSize;
+    }
+
     /**
      * Getter for the compression option.
      * 
@@ -124,7 +152,9 @@ public class MapDBConfiguration extends AbstractFileStorageConfiguration {
 
     /**
      * Setter for the asynchronous option. If turned on, it will write the
-     * data asynchronously leading to speed improvements.
+     * data asynchronously leading to speed improvements. The IN_CACHE BigMaps
+     * are always written synchronously when the heap cache is enabled, because
+     * their heap tier already batches the writes.
      *
      * @param asynchronous
      */
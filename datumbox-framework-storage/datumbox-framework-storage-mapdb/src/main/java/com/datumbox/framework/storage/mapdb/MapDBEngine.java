@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2013-2020 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,12 @@ package com.datumbox.framework.storage.mapdb;
 
 import com.datumbox.framework.common.storage.abstracts.AbstractFileStorageEngine;
 import com.datumbox.framework.common.storage.abstracts.AbstractStorageEngine;
+import com.datumbox.framework.common.storage.cache.TieredMap;
+import com.datumbox.framework.common.storage.codecs.BigMapCodec;
+import com.datumbox.framework.common.storage.codecs.BigMapCodecs;
+import com.datumbox.framework.common.storage.codecs.ColumnDictionary;
+import com.datumbox.framework.common.storage.codecs.EncodedMap;
+import com.datumbox.framework.common.storage.codecs.EncodingMethods;
 import com.datumbox.framework.common.storage.interfaces.StorageConfiguration;
 import com.datumbox.framework.common.storage.interfaces.StorageEngine;
 import org.mapdb.*;
@@ -36,7 +42,9 @@ import java.util.concurrent.TimeUnit;
  * The MapDBEngine is responsible for saving and loading data from MapDB files,
  * creating BigMaps which are backed by files and storing data. The MapDBEngine
  * does not load all the contents of BigMaps in memory, maintains an LRU cache
- * to speed up data retrieval and stores all data in MapDB files.
+ * to speed up data retrieval and stores all data in MapDB files. The BigMaps
+ * with the IN_CACHE storage hint also keep their hot entries in a heap tier
+ * with a bounded size.
  *
  * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
  */
@@ -79,6 +87,29 @@ public class MapDBEngine extends AbstractFileStorageEngine<MapDBConfiguration> {
      * library uses one default and one temporary storage.
      */
     private final Map<StorageType, DB> storageRegistry = new HashMap<>();
+
+    /**
+     * The heap tiers of the IN_CACHE BigMaps, indexed by the names of the maps.
+     */
+    private final Map<String, TieredMap<?,?>> tieredMapRegistry = new HashMap<>();
+
+    /**
+     * The column dictionaries of the encoded BigMaps, indexed by the names of the
+     * maps. Every BigMap uses a single dictionary, so that the ids are assigned once.
+     */
+    private final Map<String, ColumnDictionary> dictionaryRegistry = new HashMap<>();
+
+    /**
+     * The BigMaps of type TREEMAP which are stored on disk. Their type is recorded
+     * when they are created, because the synchronized maps which wrap the
+     * concurrent BTreeMaps do not expose it.
+     */
+    private final Set<Map<?,?>> treeMapRegistry = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * The number of keys which are sorted in memory by the data pump before they are spilled to disk.
+     */
+    private static final int PUMP_PRESORT_BATCH_SIZE = 100000;
     
     /** 
      * @param storageName
@@ -97,6 +128,14 @@ public class MapDBEngine extends AbstractFileStorageEngine<MapDBConfiguration> {
             return false;
         }
 
+        //the heap tiers and the dictionaries of the closed storages are no longer valid
+        flushTieredMaps();
+        tieredMapRegistry.keySet().removeIf(name -> getStorageTypeFromName(name) == StorageType.PRIMARY_STORAGE);
+        dictionaryRegistry.keySet().removeIf(name -> {
+            StorageType storageType = getStorageTypeFromName(name);
+            return storageType == StorageType.PRIMARY_STORAGE || storageType == StorageType.SECONDARY_STORAGE;
+        });
+
         blockedStorageClose(StorageType.PRIMARY_STORAGE);
         blockedStorageClose(StorageType.SECONDARY_STORAGE);
 
@@ -130,6 +169,7 @@ public class MapDBEngine extends AbstractFileStorageEngine<MapDBConfiguration> {
 
         Map<String, Object> objRefs = preSerializer(serializableObject);
 
+        flushTieredMaps();
         atomicVar.set(serializableObject);
         storage.commit();
 
@@ -163,6 +203,10 @@ public class MapDBEngine extends AbstractFileStorageEngine<MapDBConfiguration> {
         }
         super.close();
         
+        flushTieredMaps();
+        tieredMapRegistry.clear();
+        dictionaryRegistry.clear();
+        treeMapRegistry.clear();
         closeStorageRegistry();
         logger.trace("Closed storage {}", storageName);
     }
@@ -172,6 +216,12 @@ public class MapDBEngine extends AbstractFileStorageEngine<MapDBConfiguration> {
     public void clear() {
         assertConnectionOpen();
         
+        for(TieredMap<?,?> tieredMap : tieredMapRegistry.values()) {
+            tieredMap.invalidateAll();
+        }
+        tieredMapRegistry.clear();
+        dictionaryRegistry.clear();
+        treeMapRegistry.clear();
         closeStorageRegistry();
         
         try {
@@ -184,6 +234,7 @@ public class MapDBEngine extends AbstractFileStorageEngine<MapDBConfiguration> {
     
     /** {@inheritDoc} */
     @Override
+    @SuppressWarnings("unchecked")
     public <K,V> Map<K,V> getBigMap(String name, Class<K> keyClass, Class<V> valueClass, StorageEngine.MapType type, StorageEngine.StorageHint storageHint, boolean isConcurrent, boolean isTemporary) {
         assertConnectionOpen();
         
@@ -201,59 +252,34 @@ public class MapDBEngine extends AbstractFileStorageEngine<MapDBConfiguration> {
         }
         else {
             //store in disk with optional LRU cache
-            
-            //first find if the particular collection exists and retrieve its storageType
-            StorageType storageType = getStorageTypeFromName(name);
-            
-            if(storageType == null) {
-                //the map does not exist. Find where it should be created.
-                if(isTemporary == false) {
-                    if(storageHint == StorageEngine.StorageHint.IN_MEMORY || storageHint == StorageEngine.StorageHint.IN_CACHE) {
-                        //we will use the LRU cache option
-                        storageType = StorageType.PRIMARY_STORAGE;
-                    }
-                    else if(storageHint == StorageEngine.StorageHint.IN_DISK) {
-                        //no cache at all
-                        storageType = StorageType.SECONDARY_STORAGE;
-                    }
-                    else {
-                        throw new IllegalArgumentException("Unsupported StorageHint.");
-                    }
-                }
-                else {
-                    if(storageHint == StorageEngine.StorageHint.IN_MEMORY || storageHint == StorageEngine.StorageHint.IN_CACHE) {
-                        //we will use the LRU cache option
-                        storageType = StorageType.TEMP_PRIMARY_STORAGE;
-                    }
-                    else if(storageHint == StorageEngine.StorageHint.IN_DISK) {
-                        //no cache at all
-                        storageType = StorageType.TEMP_SECONDARY_STORAGE;
-                    }
-                    else {
-                        throw new IllegalArgumentException("Unsupported StorageHint.");
-                    }
-                }
+
+            //return the existing heap tier of the map
+            TieredMap<?,?> tieredMap = tieredMapRegistry.get(name);
+            if(tieredMap != null) {
+                return (Map<K,V>) tieredMap;
             }
+            
+            //find where the collection is stored or where it should be created
+            StorageType storageType = getStorageType(name, storageHint, isTemporary);
 
             //ensure the storage is open
             DB storage = openStorage(storageType);
+
+            //the values with a registered codec are stored in their binary format
+            BigMapCodec<V> codec = getCodec(storage, name, valueClass);
+            Class<?> storedValueClass = (codec != null)?byte[].class:valueClass;
             
             //return the appropriate type
-            Map<K,V> map;
+            Map map;
             if(StorageEngine.MapType.HASHMAP.equals(type)) {
                 map = storage.createHashMap(name)
                 .counterEnable()
                 .keySerializer(getSerializerFromClass(keyClass))
-                .valueSerializer(getSerializerFromClass(valueClass))
+                .valueSerializer(getSerializerFromClass(storedValueClass))
                 .makeOrGet();
             }
             else if(StorageEngine.MapType.TREEMAP.equals(type)) {
-                map = storage.createTreeMap(name)
-                .valuesOutsideNodesEnable()
-                .counterEnable()
-                .keySerializer(getBTreeKeySerializerFromClass(keyClass))
-                .valueSerializer(getSerializerFromClass(valueClass))
-                .makeOrGet();
+                map = createTreeMapMaker(storage, name, keyClass, storedValueClass).makeOrGet();
 
                 //HOTFIX: There is a race condition in BTreeMap (MapDB v1.0.9 - https://github.com/jankotek/mapdb/issues/664). Remove it once it's patched.
                 if(isConcurrent) {
@@ -263,21 +289,92 @@ public class MapDBEngine extends AbstractFileStorageEngine<MapDBConfiguration> {
             else {
                 throw new IllegalArgumentException("Unsupported MapType.");
             }
-            return map;
+            if(codec != null) {
+                map = new EncodedMap<>((Map<K,byte[]>) map, codec, openDictionary(storage, name));
+            }
+            Map<K,V> bigMap = createTieredMap(name, (Map<K,V>) map, storageHint);
+            if(StorageEngine.MapType.TREEMAP.equals(type)) {
+                treeMapRegistry.add(bigMap);
+            }
+            return bigMap;
         }
     }   
     
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K,V> Map<K,V> bulkLoadBigMap(String name, Class<K> keyClass, Class<V> valueClass, StorageEngine.MapType type, StorageEngine.StorageHint storageHint, boolean isConcurrent, boolean isTemporary, Map<? extends K, ? extends V> entries) {
+        assertConnectionOpen();
+
+        boolean inMemory = storageHint == StorageEngine.StorageHint.IN_MEMORY && storageConfiguration.isHybridized();
+        if(inMemory || !StorageEngine.MapType.TREEMAP.equals(type) || entries.isEmpty()) {
+            return super.bulkLoadBigMap(name, keyClass, valueClass, type, storageHint, isConcurrent, isTemporary, entries);
+        }
+
+        StorageType storageType = getStorageType(name, storageHint, isTemporary);
+        DB storage = openStorage(storageType);
+        if(storage.exists(name)) {
+            invalidateTieredMap(name);
+            storage.delete(name);
+        }
+        dropDictionary(storage, name);
+
+        //the map is rebuilt, so the values with a registered codec are always encoded
+        BigMapCodec<V> codec = BigMapCodecs.get(valueClass);
+        ColumnDictionary dictionary = (codec != null)?openDictionary(storage, name):null;
+        Class<?> storedValueClass = (codec != null)?byte[].class:valueClass;
+
+        //the data pump builds the BTree bottom-up and it requires the keys in descending order
+        DB.BTreeMapMaker maker = createTreeMapMaker(storage, name, keyClass, storedValueClass);
+        Map<K,V> source = (Map<K,V>) entries;
+        if(source instanceof NavigableMap) {
+            NavigableMap<K,V> descendingSource = ((NavigableMap<K,V>) source).descendingMap();
+            maker = maker.pumpSource(descendingSource.keySet().iterator(), createValueExtractor(descendingSource, codec, dictionary));
+        }
+        else {
+            //the keys are sorted by MapDB in batches which are spilled to disk
+            maker = maker.pumpSource(source.keySet().iterator(), createValueExtractor(source, codec, dictionary)).pumpPresort(PUMP_PRESORT_BATCH_SIZE);
+        }
+        Map map = maker.pumpIgnoreDuplicates().make();
+
+        //HOTFIX: Same as in getBigMap(). Remove it once it's patched.
+        if(isConcurrent) {
+            map = Collections.synchronizedMap(map);
+        }
+        if(codec != null) {
+            map = new EncodedMap<>((Map<K,byte[]>) map, codec, dictionary);
+        }
+        Map<K,V> bigMap = createTieredMap(name, (Map<K,V>) map, storageHint);
+        treeMapRegistry.add(bigMap);
+        return bigMap;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <K,V> void putAll(Map<K,V> map, Map<? extends K, ? extends V> entries) {
+        assertConnectionOpen();
+
+        //BTrees are updated faster when the keys are inserted in order
+        if(entries.size() > 1 && !(entries instanceof SortedMap) && isTreeMap(map)) {
+            entries = new TreeMap<>(entries);
+        }
+        map.putAll(entries);
+    }
+
     /** {@inheritDoc} */
     @Override
     public <T extends Map> void dropBigMap(String name, T map) {
         assertConnectionOpen();
         
+        invalidateTieredMap(name);
+        treeMapRegistry.remove(map);
         StorageType storageType = getStorageTypeFromName(name);
         
         if(storageType != null) {
             DB storage = storageRegistry.get(storageType);
             if(isOpenStorage(storage)) {
                 storage.delete(name);
+                dropDictionary(storage, name);
             }
         }
         else {
@@ -314,9 +411,93 @@ public class MapDBEngine extends AbstractFileStorageEngine<MapDBConfiguration> {
         else if(klass == String.class) {
             return Serializer.STRING;
         }
+        else if(klass == byte[].class) {
+            return Serializer.BYTE_ARRAY;
+        }
         return null; //Default POJO serializer
     }
 
+    /**
+     * Returns the BigMapCodec of the values of the map or null if they should
+     * be stored with the serializers of MapDB. Maps which were stored before
+     * the codec was available do not have a column dictionary and they keep
+     * using the serializers of MapDB.
+     *
+     * @param storage
+     * @param name
+     * @param valueClass
+     * @param <V>
+     * @return
+     */
+    private <V> BigMapCodec<V> getCodec(DB storage, String name, Class<V> valueClass) {
+        BigMapCodec<V> codec = BigMapCodecs.get(valueClass);
+        if(codec != null && storage.exists(name) && !storage.exists(getDictionaryName(name))) {
+            return null;
+        }
+        return codec;
+    }
+
+    /**
+     * Opens the column dictionary of the map, which is stored next to it in
+     * the same storage. The dictionary is loaded once and it is shared by all
+     * the instances of the map.
+     *
+     * @param storage
+     * @param name
+     * @return
+     */
+    private ColumnDictionary openDictionary(DB storage, String name) {
+        return dictionaryRegistry.computeIfAbsent(name, k -> {
+            Map<Integer, Object> dictionaryMap = storage.createHashMap(getDictionaryName(k))
+                    .keySerializer(Serializer.INTEGER)
+                    .makeOrGet();
+            return new ColumnDictionary(dictionaryMap);
+        });
+    }
+
+    /**
+     * Removes the column dictionary of the map from the registry and deletes
+     * it from the storage.
+     *
+     * @param storage
+     * @param name
+     */
+    private void dropDictionary(DB storage, String name) {
+        dictionaryRegistry.remove(name);
+        String dictionaryName = getDictionaryName(name);
+        if(storage.exists(dictionaryName)) {
+            storage.delete(dictionaryName);
+        }
+    }
+
+    /**
+     * Returns the function which provides the values of the data pump, encoded
+     * with the codec if one is available.
+     *
+     * @param source
+     * @param codec
+     * @param dictionary
+     * @param <K>
+     * @param <V>
+     * @return
+     */
+    private <K,V> Fun.Function1<Object,K> createValueExtractor(Map<K,V> source, BigMapCodec<V> codec, ColumnDictionary dictionary) {
+        if(codec != null) {
+            return k -> EncodingMethods.encode(codec, dictionary, source.get(k));
+        }
+        return source::get;
+    }
+
+    /**
+     * Returns the name of the column dictionary of the map.
+     *
+     * @param name
+     * @return
+     */
+    private String getDictionaryName(String name) {
+        return name + "$dictionary";
+    }
+
     /**
      * Returns the appropriate BTreeKeySerializer (if one exists) else null.
      *
@@ -336,6 +517,78 @@ public class MapDBEngine extends AbstractFileStorageEngine<MapDBConfiguration> {
         return null; //Default POJO serializer
     }
 
+    /**
+     * Creates the maker of the BTreeMaps with the appropriate serializers.
+     *
+     * @param storage
+     * @param name
+     * @param keyClass
+     * @param valueClass
+     * @return
+     */
+    private DB.BTreeMapMaker createTreeMapMaker(DB storage, String name, Class<?> keyClass, Class<?> valueClass) {
+        return storage.createTreeMap(name)
+                .valuesOutsideNodesEnable()
+                .counterEnable()
+                .keySerializer(getBTreeKeySerializerFromClass(keyClass))
+                .valueSerializer(getSerializerFromClass(valueClass));
+    }
+
+    /**
+     * Checks if the map is a BTreeMap of the engine, either directly or a BigMap
+     * of type TREEMAP which was created by the engine.
+     *
+     * @param map
+     * @return
+     */
+    private boolean isTreeMap(Map<?,?> map) {
+        return map instanceof BTreeMap || treeMapRegistry.contains(map);
+    }
+
+    /**
+     * Wraps the BigMaps with the IN_CACHE storage hint in a TieredMap and
+     * registers it, so that its modified entries are written to the disk before
+     * the storage is saved or closed. The rest of the maps are returned as-is.
+     *
+     * @param name
+     * @param map
+     * @param storageHint
+     * @param <K>
+     * @param <V>
+     * @return
+     */
+    private <K,V> Map<K,V> createTieredMap(String name, Map<K,V> map, StorageEngine.StorageHint storageHint) {
+        if(storageHint != StorageEngine.StorageHint.IN_CACHE || storageConfiguration.getHeapCacheSize() <= 0L) {
+            return map;
+        }
+        TieredMap<K,V> tieredMap = new TieredMap<>(map, storageConfiguration.getHeapCacheSize());
+        tieredMapRegistry.put(name, tieredMap);
+        return tieredMap;
+    }
+
+    /**
+     * Removes the TieredMap of the BigMap from the registry and empties its
+     * heap tier without writing it to the disk.
+     *
+     * @param name
+     */
+    private void invalidateTieredMap(String name) {
+        TieredMap<?,?> tieredMap = tieredMapRegistry.remove(name);
+        if(tieredMap != null) {
+            tieredMap.invalidateAll();
+            logger.trace("Dropped the heap tier of {}: {}", name, tieredMap);
+        }
+    }
+
+    /**
+     * Writes the modified entries of all the heap tiers to the disk.
+     */
+    private void flushTieredMaps() {
+        for(TieredMap<?,?> tieredMap : tieredMapRegistry.values()) {
+            tieredMap.flush();
+        }
+    }
+
     private boolean isOpenStorage(DB storage) {
         return !(storage == null || storage.isClosed());
     }
@@ -382,7 +635,9 @@ public class MapDBEngine extends AbstractFileStorageEngine<MapDBConfiguration> {
                 m = m.cacheDisable();
             }
 
-            if(storageConfiguration.isAsynchronous()) {
+            //the cached storages are written synchronously when their BigMaps have a heap tier
+            boolean permitAsynchronous = !permitCaching || storageConfiguration.getHeapCacheSize() <= 0L;
+            if(permitAsynchronous && storageConfiguration.isAsynchronous()) {
                 m = m.asyncWriteEnable();
             }
             
@@ -396,6 +651,52 @@ public class MapDBEngine extends AbstractFileStorageEngine<MapDBConfiguration> {
         return storage;
     }
     
+    /**
+     * Returns the StorageType where the map is stored. If the map does not exist,
+     * the StorageType is selected using the storage hint and whether the map is
+     * temporary.
+     *
+     * @param name
+     * @param storageHint
+     * @param isTemporary
+     * @return
+     */
+    private StorageType getStorageType(String name, StorageEngine.StorageHint storageHint, boolean isTemporary) {
+        //first find if the particular collection exists and retrieve its storageType
+        StorageType storageType = getStorageTypeFromName(name);
+
+        if(storageType == null) {
+            //the map does not exist. Find where it should be created.
+            if(isTemporary == false) {
+                if(storageHint == StorageEngine.StorageHint.IN_MEMORY || storageHint == StorageEngine.StorageHint.IN_CACHE) {
+                    //we will use the LRU cache option
+                    storageType = StorageType.PRIMARY_STORAGE;
+                }
+                else if(storageHint == StorageEngine.StorageHint.IN_DISK) {
+                    //no cache at all
+                    storageType = StorageType.SECONDARY_STORAGE;
+                }
+                else {
+                    throw new IllegalArgumentException("Unsupported StorageHint.");
+                }
+            }
+            else {
+                if(storageHint == StorageEngine.StorageHint.IN_MEMORY || storageHint == StorageEngine.StorageHint.IN_CACHE) {
+                    //we will use the LRU cache option
+                    storageType = StorageType.TEMP_PRIMARY_STORAGE;
+                }
+                else if(storageHint == StorageEngine.StorageHint.IN_DISK) {
+                    //no cache at all
+                    storageType = StorageType.TEMP_SECONDARY_STORAGE;
+                }
+                else {
+                    throw new IllegalArgumentException("Unsupported StorageHint.");
+                }
+            }
+        }
+        return storageType;
+    }
+
     /**
      * Returns the StorageType using the name of the map. It assumes that names
      * are unique across all StorageType. If not found null is returned.
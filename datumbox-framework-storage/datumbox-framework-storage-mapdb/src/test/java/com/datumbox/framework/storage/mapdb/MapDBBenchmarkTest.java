@@ -0,0 +1,49 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.storage.mapdb;
+
+import com.datumbox.framework.tests.utilities.StorageEngineBenchmark;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Runs the StorageEngineBenchmark on the MapDBEngine. It is skipped unless the
+ * -Dbenchmark=true option is used.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class MapDBBenchmarkTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Benchmark of the concurrent BTreeMaps of the MapDBEngine.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBenchmark() throws Exception {
+        Assume.assumeTrue(StorageEngineBenchmark.isEnabled());
+
+        MapDBConfiguration configuration = new MapDBConfiguration();
+        configuration.setDirectory(folder.newFolder().getAbsolutePath());
+        StorageEngineBenchmark.run(configuration, 200000, 4);
+    }
+
+}
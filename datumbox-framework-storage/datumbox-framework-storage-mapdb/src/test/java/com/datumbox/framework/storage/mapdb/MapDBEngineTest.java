@@ -0,0 +1,209 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.storage.mapdb;
+
+import com.datumbox.framework.common.storage.codecs.BigMapCodec;
+import com.datumbox.framework.common.storage.codecs.BigMapCodecs;
+import com.datumbox.framework.common.storage.codecs.ColumnDictionary;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine.MapType;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine.StorageHint;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.datumbox.framework.common.storage.codecs.EncodingMethods.*;
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for MapDBEngine.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class MapDBEngineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MapDBConfiguration configuration;
+
+    /**
+     * A value with named fields.
+     */
+    public static class Tags implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final Map<Object, Object> fields = new LinkedHashMap<>();
+
+        private Tags(Object... keyValues) {
+            for(int i=0;i<keyValues.length;i+=2) {
+                fields.put(keyValues[i], keyValues[i+1]);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Tags && fields.equals(((Tags) o).fields);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return fields.hashCode();
+        }
+    }
+
+    /**
+     * A value which is stored with the default serializers before its codec is registered.
+     */
+    public static class LegacyTags extends Tags {
+        private static final long serialVersionUID = 1L;
+
+        private LegacyTags(Object... keyValues) {
+            super(keyValues);
+        }
+    }
+
+    /**
+     * Encodes the names of the fields with their ids in the column dictionary
+     * and counts the encoded values.
+     *
+     * @param <T>
+     */
+    private static class TagsCodec<T extends Tags> implements BigMapCodec<T> {
+        private final AtomicInteger encodedValues = new AtomicInteger();
+
+        private final Supplier<T> factory;
+
+        private TagsCodec(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void encode(T value, DataOutput out, ColumnDictionary dictionary) throws IOException {
+            encodedValues.incrementAndGet();
+            writeVarInt(value.fields.size(), out);
+            for(Map.Entry<Object, Object> entry : value.fields.entrySet()) {
+                writeVarInt(dictionary.getId(entry.getKey()), out);
+                writeValue(entry.getValue(), out);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public T decode(DataInput in, ColumnDictionary dictionary) throws IOException {
+            T value = factory.get();
+            int size = readVarInt(in);
+            for(int i=0;i<size;i++) {
+                Object key = dictionary.getColumn(readVarInt(in));
+                value.fields.put(key, readValue(in));
+            }
+            return value;
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        configuration = new MapDBConfiguration();
+        configuration.setDirectory(folder.newFolder().getAbsolutePath());
+    }
+
+    /**
+     * Test of getBigMap method, of class MapDBEngine, with the maps which were
+     * stored before the codec of their values was registered.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGetBigMapWithoutDictionary() throws Exception {
+        StorageEngine storageEngine = configuration.createStorageEngine("testGetBigMapWithoutDictionary");
+        Map<Integer, LegacyTags> legacyMap = storageEngine.getBigMap("legacy", Integer.class, LegacyTags.class, MapType.HASHMAP, StorageHint.IN_DISK, false, false);
+        legacyMap.put(1, new LegacyTags("a", 1));
+        storageEngine.close();
+
+        TagsCodec<LegacyTags> codec = new TagsCodec<>(LegacyTags::new);
+        BigMapCodecs.register(LegacyTags.class, codec);
+
+        storageEngine = configuration.createStorageEngine("testGetBigMapWithoutDictionary");
+        legacyMap = storageEngine.getBigMap("legacy", Integer.class, LegacyTags.class, MapType.HASHMAP, StorageHint.IN_DISK, false, false);
+        assertEquals(new LegacyTags("a", 1), legacyMap.get(1));
+        legacyMap.put(2, new LegacyTags("b", 2));
+        assertEquals(0, codec.encodedValues.get());
+
+        //the new maps are encoded
+        Map<Integer, LegacyTags> encodedMap = storageEngine.getBigMap("encoded", Integer.class, LegacyTags.class, MapType.HASHMAP, StorageHint.IN_DISK, false, false);
+        encodedMap.put(1, new LegacyTags("c", 3));
+        assertEquals(1, codec.encodedValues.get());
+        storageEngine.close();
+
+        storageEngine = configuration.createStorageEngine("testGetBigMapWithoutDictionary");
+        legacyMap = storageEngine.getBigMap("legacy", Integer.class, LegacyTags.class, MapType.HASHMAP, StorageHint.IN_DISK, false, false);
+        encodedMap = storageEngine.getBigMap("encoded", Integer.class, LegacyTags.class, MapType.HASHMAP, StorageHint.IN_DISK, false, false);
+        assertEquals(new LegacyTags("a", 1), legacyMap.get(1));
+        assertEquals(new LegacyTags("b", 2), legacyMap.get(2));
+        assertEquals(new LegacyTags("c", 3), encodedMap.get(1));
+        storageEngine.clear();
+        storageEngine.close();
+    }
+
+    /**
+     * Test of getBigMap method, of class MapDBEngine, with multiple instances
+     * of the same encoded map.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGetBigMapSharesDictionary() throws Exception {
+        BigMapCodecs.register(Tags.class, new TagsCodec<>(Tags::new));
+
+        StorageEngine storageEngine = configuration.createStorageEngine("testGetBigMapSharesDictionary");
+        Map<Integer, Tags> map1 = storageEngine.getBigMap("tags", Integer.class, Tags.class, MapType.TREEMAP, StorageHint.IN_DISK, false, false);
+        Map<Integer, Tags> map2 = storageEngine.getBigMap("tags", Integer.class, Tags.class, MapType.TREEMAP, StorageHint.IN_DISK, false, false);
+        map1.put(1, new Tags("a", 1));
+        map2.put(2, new Tags("b", 2));
+        map1.put(3, new Tags("a", 3, "c", 4));
+        assertEquals(new Tags("a", 1), map2.get(1));
+        assertEquals(new Tags("b", 2), map1.get(2));
+        storageEngine.close();
+
+        storageEngine = configuration.createStorageEngine("testGetBigMapSharesDictionary");
+        Map<Integer, Tags> map = storageEngine.getBigMap("tags", Integer.class, Tags.class, MapType.TREEMAP, StorageHint.IN_DISK, false, false);
+        assertEquals(new Tags("a", 1), map.get(1));
+        assertEquals(new Tags("b", 2), map.get(2));
+        assertEquals(new Tags("a", 3, "c", 4), map.get(3));
+
+        //the dictionary is rebuilt along with the map
+        storageEngine.dropBigMap("tags", map);
+        map = storageEngine.getBigMap("tags", Integer.class, Tags.class, MapType.TREEMAP, StorageHint.IN_DISK, false, false);
+        assertTrue(map.isEmpty());
+        map.put(1, new Tags("d", 5));
+        assertEquals(new Tags("d", 5), map.get(1));
+        storageEngine.clear();
+        storageEngine.close();
+    }
+
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.storage.mapdb3;
+
+import com.datumbox.framework.common.storage.abstracts.AbstractFileStorageConfiguration;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine;
+
+import java.util.Properties;
+
+/**
+ * The MapDB3Configuration class is used to configure the MapDB 3 storage and
+ * generate new storage engines. The MapDB 3 storage uses concurrent collections
+ * which are backed by memory-mapped files and thus it does not load all the
+ * data in memory. MapDB 3 does not have an instance cache or asynchronous
+ * writes; the hot entries of the IN_CACHE maps are kept in a heap tier instead.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class MapDB3Configuration extends AbstractFileStorageConfiguration {
+
+    private long heapCacheSize = 16777216L;
+
+    private boolean compressed = true;
+
+    private boolean hybridized = true;
+
+    private boolean memoryMapped = true;
+
+    /** {@inheritDoc} */
+    @Override
+    public StorageEngine createStorageEngine(String storageName) {
+        return new MapDB3Engine(storageName, this);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void load(Properties properties) {
+        directory = properties.getProperty("mapDB3Configuration.directory");
+        heapCacheSize = Long.parseLong(properties.getProperty("mapDB3Configuration.heapCacheSize"));
+        compressed = "true".equalsIgnoreCase(properties.getProperty("mapDB3Configuration.compressed"));
+        hybridized = "true".equalsIgnoreCase(properties.getProperty("mapDB3Configuration.hybridized"));
+        memoryMapped = "true".equalsIgnoreCase(properties.getProperty("mapDB3Configuration.memoryMapped"));
+    }
+
+    /**
+     * Getter for the estimated bytes of the heap tier of every BigMap which is
+     * created with the IN_CACHE storage hint.
+     *
+     * @return
+     */
+    public long getHeapCacheSize() {
+        return heapCacheSize;
+    }
+
+    /**
+     * Setter for the estimated bytes of the heap tier of every BigMap which is
+     * created with the IN_CACHE storage hint. The modified entries are written
+     * to the MapDB files when they are evicted. Set it to 0 to disable caching.
+     *
+     * @param heapCacheSize
+     */
+    public void setHeapCacheSize(long heapCacheSize) {
+        this.heapCacheSize = heapCacheSize;
+    }
+
+    /**
+     * Getter for the compression option.
+     *
+     * @return
+     */
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    /**
+     * Setter for the compression option. If turned on the values of the maps
+     * will be compressed. It is turned on by default.
+     *
+     * @param compressed
+     */
+    public void setCompressed(boolean compressed) {
+        this.compressed = compressed;
+    }
+
+    /**
+     * Getter for the Hybridized option.
+     *
+     * @return
+     */
+    public boolean isHybridized() {
+        return hybridized;
+    }
+
+    /**
+     * Setter for the Hybridized option. If turned on, it will take into
+     * account the storage hints provided during Map initialization and it will
+     * move more objects out of MapDB and into main Memory. This will lead to
+     * significantly improved speed but also higher memory utilization.
+     *
+     * @param hybridized
+     */
+    public void setHybridized(boolean hybridized) {
+        this.hybridized = hybridized;
+    }
+
+    /**
+     * Getter for the memory-mapped option.
+     *
+     * @return
+     */
+    public boolean isMemoryMapped() {
+        return memoryMapped;
+    }
+
+    /**
+     * Setter for the memory-mapped option. If turned on, the files are
+     * memory-mapped when the platform supports it, otherwise they are accessed
+     * with a FileChannel. It is turned on by default.
+     *
+     * @param memoryMapped
+     */
+    public void setMemoryMapped(boolean memoryMapped) {
+        this.memoryMapped = memoryMapped;
+    }
+
+}
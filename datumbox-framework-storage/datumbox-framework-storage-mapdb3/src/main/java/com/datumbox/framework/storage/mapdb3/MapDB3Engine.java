@@ -0,0 +1,720 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.storage.mapdb3;
+
+import com.datumbox.framework.common.storage.abstracts.AbstractFileStorageEngine;
+import com.datumbox.framework.common.storage.abstracts.AbstractStorageEngine;
+import com.datumbox.framework.common.storage.cache.TieredMap;
+import com.datumbox.framework.common.storage.codecs.BigMapCodec;
+import com.datumbox.framework.common.storage.codecs.BigMapCodecs;
+import com.datumbox.framework.common.storage.codecs.ColumnDictionary;
+import com.datumbox.framework.common.storage.codecs.EncodedMap;
+import com.datumbox.framework.common.storage.codecs.EncodingMethods;
+import com.datumbox.framework.common.storage.interfaces.StorageConfiguration;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine;
+import org.mapdb.*;
+import org.mapdb.serializer.GroupSerializer;
+import org.mapdb.serializer.SerializerCompressionWrapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+
+/**
+ * The MapDB3Engine is responsible for saving and loading data from MapDB 3
+ * files, creating BigMaps which are backed by files and storing data. The
+ * files are memory-mapped and the BTreeMaps of MapDB 3 are safe for concurrent
+ * writes, so they are not wrapped in a global lock. The BigMaps with the
+ * IN_CACHE storage hint keep their hot entries in a heap tier with a bounded
+ * size, because MapDB 3 does not have an instance cache. MapDB 3 locks the files
+ * it opens, so the engines which open the same storage share a single DB. The
+ * values with a registered BigMapCodec are stored in their binary format.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class MapDB3Engine extends AbstractFileStorageEngine<MapDB3Configuration> {
+
+    /**
+     * Enum class which stores the Storage Type used for every collection.
+     */
+    private enum StorageType {
+        /**
+         * Primary storage stores all the BigMaps and atomic variables which will
+         * be stored after the connection closes.
+         */
+        PRIMARY_STORAGE,
+
+        /**
+         * Temp storage stores the temporary BigMaps which will not be stored
+         * after the connection closes.
+         */
+        TEMP_STORAGE;
+    }
+
+    /**
+     * This list stores all the storage objects which are used to store the data. This
+     * library uses one default and one temporary storage.
+     */
+    private final Map<StorageType, DB> storageRegistry = new HashMap<>();
+
+    /**
+     * The primary storages which are open, indexed by their files. They are
+     * shared by all the engines which open the same file.
+     */
+    private static final Map<Path, SharedStorage> OPEN_STORAGES = new HashMap<>();
+
+    /**
+     * A primary storage along with the column dictionaries of its maps and the
+     * number of engines which use it.
+     */
+    private static class SharedStorage {
+        private final Path file;
+        private final DB storage;
+        private final Map<String, ColumnDictionary> dictionaryRegistry = new ConcurrentHashMap<>();
+        private int references = 0;
+
+        private SharedStorage(Path file, DB storage) {
+            this.file = file;
+            this.storage = storage;
+        }
+    }
+
+    /**
+     * The shared primary storage of the engine or null if it is not open.
+     */
+    private SharedStorage primaryStorage = null;
+
+    /**
+     * The heap tiers of the IN_CACHE BigMaps, indexed by the names of the maps.
+     */
+    private final Map<String, TieredMap<?,?>> tieredMapRegistry = new HashMap<>();
+
+    /**
+     * The column dictionaries of the encoded BigMaps of the temporary storage,
+     * indexed by the names of the maps. The dictionaries of the primary storage
+     * are shared along with it.
+     */
+    private final Map<String, ColumnDictionary> tempDictionaryRegistry = new HashMap<>();
+
+    /**
+     * The serializer of the stored objects and of the keys and values without
+     * a specific serializer. It uses the Java serialization.
+     */
+    @SuppressWarnings("unchecked")
+    private static final GroupSerializer<Object> OBJECT_SERIALIZER = Serializer.JAVA;
+
+    /**
+     * @param storageName
+     * @param storageConfiguration
+     * @see AbstractStorageEngine#AbstractStorageEngine(String, StorageConfiguration)
+     */
+    protected MapDB3Engine(String storageName, MapDB3Configuration storageConfiguration) {
+        super(storageName, storageConfiguration);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean rename(String newStorageName) {
+        assertConnectionOpen();
+        if(storageName.equals(newStorageName)) {
+            return false;
+        }
+
+        //the heap tiers of the closed storage are no longer valid
+        flushTieredMaps();
+        tieredMapRegistry.keySet().removeIf(name -> getStorageTypeFromName(name) == StorageType.PRIMARY_STORAGE);
+
+        //the files are unmapped when the storage closes
+        storageRegistry.remove(StorageType.PRIMARY_STORAGE);
+        releasePrimaryStorage(true);
+
+        try {
+            moveDirectory(getRootPath(storageName), getRootPath(newStorageName));
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        logger.trace("Renamed storage {} to {}", storageName, newStorageName);
+        storageName = newStorageName;
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean existsObject(String name) {
+        assertConnectionOpen();
+        DB storage = openStorage(StorageType.PRIMARY_STORAGE);
+
+        return storage.exists(name);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends Serializable> void saveObject(String name, T serializableObject) {
+        assertConnectionOpen();
+        DB storage = openStorage(StorageType.PRIMARY_STORAGE);
+        Atomic.Var<Object> atomicVar = storage.atomicVar(name, OBJECT_SERIALIZER).createOrOpen();
+
+        Map<String, Object> objRefs = preSerializer(serializableObject);
+
+        flushTieredMaps();
+        atomicVar.set(serializableObject);
+        storage.commit();
+
+        postSerializer(serializableObject, objRefs);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Serializable> T loadObject(String name, Class<T> klass) throws NoSuchElementException {
+        assertConnectionOpen();
+
+        if(!existsObject(name)) {
+            throw new NoSuchElementException("Can't find any object with name '"+name+"'");
+        }
+
+        DB storage = openStorage(StorageType.PRIMARY_STORAGE);
+        Atomic.Var<Object> atomicVar = storage.atomicVar(name, OBJECT_SERIALIZER).open();
+        T serializableObject = klass.cast(atomicVar.get());
+
+        postDeserializer(serializableObject);
+
+        return serializableObject;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        if(isClosed()){
+            return;
+        }
+        super.close();
+
+        flushTieredMaps();
+        tieredMapRegistry.clear();
+        closeStorageRegistry(false);
+        logger.trace("Closed storage {}", storageName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        assertConnectionOpen();
+
+        for(TieredMap<?,?> tieredMap : tieredMapRegistry.values()) {
+            tieredMap.invalidateAll();
+        }
+        tieredMapRegistry.clear();
+        closeStorageRegistry(true);
+
+        try {
+            deleteDirectory(getRootPath(storageName), true);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K,V> Map<K,V> getBigMap(String name, Class<K> keyClass, Class<V> valueClass, StorageEngine.MapType type, StorageEngine.StorageHint storageHint, boolean isConcurrent, boolean isTemporary) {
+        assertConnectionOpen();
+
+        if(storageHint == StorageEngine.StorageHint.IN_MEMORY && storageConfiguration.isHybridized()) {
+            //store in memory
+            if(StorageEngine.MapType.HASHMAP.equals(type)) {
+                return isConcurrent?new ConcurrentHashMap<>():new HashMap<>();
+            }
+            else if(StorageEngine.MapType.TREEMAP.equals(type)) {
+                return isConcurrent?new ConcurrentSkipListMap<>():new TreeMap<>();
+            }
+            else {
+                throw new IllegalArgumentException("Unsupported MapType.");
+            }
+        }
+        else {
+            //store in disk with optional heap tier
+
+            //return the existing heap tier of the map
+            TieredMap<?,?> tieredMap = tieredMapRegistry.get(name);
+            if(tieredMap != null) {
+                return (Map<K,V>) tieredMap;
+            }
+
+            //find where the collection is stored or where it should be created
+            StorageType storageType = getStorageType(name, isTemporary);
+
+            //ensure the storage is open
+            DB storage = openStorage(storageType);
+
+            //the values with a registered codec are stored in their binary format
+            BigMapCodec<V> codec = getCodec(storage, name, valueClass);
+            Class<?> storedValueClass = (codec != null)?byte[].class:valueClass;
+
+            //return the appropriate type; all the maps of MapDB 3 are thread-safe
+            Map map;
+            if(StorageEngine.MapType.HASHMAP.equals(type)) {
+                map = storage.hashMap(name)
+                .keySerializer(getSerializerFromClass(keyClass))
+                .valueSerializer(getValueSerializerFromClass(storedValueClass))
+                .counterEnable()
+                .createOrOpen();
+            }
+            else if(StorageEngine.MapType.TREEMAP.equals(type)) {
+                map = createTreeMapMaker(storage, name, keyClass, storedValueClass).createOrOpen();
+            }
+            else {
+                throw new IllegalArgumentException("Unsupported MapType.");
+            }
+            if(codec != null) {
+                map = new EncodedMap<>((Map<K,byte[]>) map, codec, openDictionary(storageType, storage, name));
+            }
+            return createTieredMap(name, (Map<K,V>) map, storageHint);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K,V> Map<K,V> bulkLoadBigMap(String name, Class<K> keyClass, Class<V> valueClass, StorageEngine.MapType type, StorageEngine.StorageHint storageHint, boolean isConcurrent, boolean isTemporary, Map<? extends K, ? extends V> entries) {
+        assertConnectionOpen();
+
+        boolean inMemory = storageHint == StorageEngine.StorageHint.IN_MEMORY && storageConfiguration.isHybridized();
+        if(inMemory || !StorageEngine.MapType.TREEMAP.equals(type) || entries.isEmpty() || getStorageTypeFromName(name) != null) {
+            //MapDB 3 can't delete the maps, so the existing ones are cleared and filled instead
+            return super.bulkLoadBigMap(name, keyClass, valueClass, type, storageHint, isConcurrent, isTemporary, entries);
+        }
+
+        StorageType storageType = getStorageType(name, isTemporary);
+        DB storage = openStorage(storageType);
+
+        //the map is new, so the values with a registered codec are always encoded
+        BigMapCodec<V> codec = BigMapCodecs.get(valueClass);
+        ColumnDictionary dictionary = (codec != null)?openDictionary(storageType, storage, name):null;
+        Class<?> storedValueClass = (codec != null)?byte[].class:valueClass;
+
+        //the sink builds the BTree bottom-up and it requires the keys in ascending order
+        SortedMap<K,V> source;
+        if(entries instanceof SortedMap && ((SortedMap<K,V>) entries).comparator() == null) {
+            source = (SortedMap<K,V>) entries;
+        }
+        else {
+            source = new TreeMap<>(entries);
+        }
+        DB.TreeMapSink<K,Object> sink = createTreeMapMaker(storage, name, keyClass, (Class<Object>) storedValueClass).createFromSink();
+        for(Map.Entry<K,V> entry : source.entrySet()) {
+            sink.put(entry.getKey(), (codec != null)?EncodingMethods.encode(codec, dictionary, entry.getValue()):entry.getValue());
+        }
+        Map map = sink.create();
+        if(codec != null) {
+            map = new EncodedMap<>((Map<K,byte[]>) map, codec, dictionary);
+        }
+        return createTieredMap(name, (Map<K,V>) map, storageHint);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <K,V> void putAll(Map<K,V> map, Map<? extends K, ? extends V> entries) {
+        assertConnectionOpen();
+
+        //BTrees are updated faster when the keys are inserted in order
+        if(entries.size() > 1 && !(entries instanceof SortedMap) && isTreeMap(map)) {
+            entries = new TreeMap<>(entries);
+        }
+        map.putAll(entries);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends Map> void dropBigMap(String name, T map) {
+        assertConnectionOpen();
+
+        invalidateTieredMap(name);
+        StorageType storageType = getStorageTypeFromName(name);
+
+        if(storageType != null) {
+            //MapDB 3 can't delete the maps, so their entries are removed and the name is reused
+            DB storage = storageRegistry.get(storageType);
+            Map<?,?> storedMap = storage.get(name);
+            storedMap.clear();
+
+            //the dictionary is rebuilt along with the map
+            getDictionaryRegistry(storageType).remove(name);
+            String dictionaryName = getDictionaryName(name);
+            if(storage.exists(dictionaryName)) {
+                Map<?,?> dictionaryMap = storage.get(dictionaryName);
+                dictionaryMap.clear();
+            }
+        }
+        else {
+            //The storageType can be null in two cases: a) the map was never created
+            //or b) it was stored in memory. In either case just clear the map.
+            map.clear();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Set<Class> nonSerializableBigMaps() {
+        return new HashSet<>(Arrays.asList(HTreeMap.class, BTreeMap.class));
+    }
+
+    //private methods of storage engine class
+
+    /**
+     * Returns the appropriate Serializer of the keys.
+     *
+     * @param klass
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private <T> GroupSerializer<T> getSerializerFromClass(Class<T> klass) {
+        if(klass == Integer.class) {
+            return (GroupSerializer<T>) Serializer.INTEGER;
+        }
+        else if(klass == Long.class) {
+            return (GroupSerializer<T>) Serializer.LONG;
+        }
+        else if(klass == Double.class) {
+            return (GroupSerializer<T>) Serializer.DOUBLE;
+        }
+        else if(klass == Boolean.class) {
+            return (GroupSerializer<T>) Serializer.BOOLEAN;
+        }
+        else if(klass == String.class) {
+            return (GroupSerializer<T>) Serializer.STRING;
+        }
+        else if(klass == byte[].class) {
+            return (GroupSerializer<T>) Serializer.BYTE_ARRAY;
+        }
+        return (GroupSerializer<T>) OBJECT_SERIALIZER;
+    }
+
+    /**
+     * Returns the appropriate Serializer of the values, which compresses them
+     * if compression is turned on.
+     *
+     * @param klass
+     * @return
+     */
+    private <T> GroupSerializer<T> getValueSerializerFromClass(Class<T> klass) {
+        GroupSerializer<T> serializer = getSerializerFromClass(klass);
+        if(storageConfiguration.isCompressed()) {
+            serializer = new SerializerCompressionWrapper<>(serializer);
+        }
+        return serializer;
+    }
+
+    /**
+     * Creates the maker of the BTreeMaps with the appropriate serializers.
+     *
+     * @param storage
+     * @param name
+     * @param keyClass
+     * @param valueClass
+     * @param <K>
+     * @param <V>
+     * @return
+     */
+    private <K,V> DB.TreeMapMaker<K,V> createTreeMapMaker(DB storage, String name, Class<K> keyClass, Class<V> valueClass) {
+        return storage.treeMap(name, getSerializerFromClass(keyClass), getValueSerializerFromClass(valueClass))
+                .valuesOutsideNodesEnable()
+                .counterEnable();
+    }
+
+    /**
+     * Checks if the map is a BTreeMap of the engine, either directly or wrapped
+     * in a TieredMap or an EncodedMap.
+     *
+     * @param map
+     * @return
+     */
+    private boolean isTreeMap(Map<?,?> map) {
+        if(map instanceof TieredMap) {
+            map = ((TieredMap<?,?>) map).getDiskMap();
+        }
+        if(map instanceof EncodedMap) {
+            map = ((EncodedMap<?,?>) map).getEncodedMap();
+        }
+        return map instanceof BTreeMap;
+    }
+
+    /**
+     * Returns the BigMapCodec of the values of the map or null if they should
+     * be stored with the serializers of MapDB. Maps which were stored before
+     * the codec was available do not have a column dictionary and they keep
+     * using the serializers of MapDB.
+     *
+     * @param storage
+     * @param name
+     * @param valueClass
+     * @param <V>
+     * @return
+     */
+    private <V> BigMapCodec<V> getCodec(DB storage, String name, Class<V> valueClass) {
+        BigMapCodec<V> codec = BigMapCodecs.get(valueClass);
+        if(codec != null && storage.exists(name) && !storage.exists(getDictionaryName(name))) {
+            return null;
+        }
+        return codec;
+    }
+
+    /**
+     * Opens the column dictionary of the map, which is stored next to it in
+     * the same storage. The dictionary is loaded once and it is shared by all
+     * the instances of the map, including those of the other engines which
+     * share the primary storage.
+     *
+     * @param storageType
+     * @param storage
+     * @param name
+     * @return
+     */
+    private ColumnDictionary openDictionary(StorageType storageType, DB storage, String name) {
+        return getDictionaryRegistry(storageType).computeIfAbsent(name, k -> {
+            Map<Integer, Object> dictionaryMap = storage.hashMap(getDictionaryName(k), Serializer.INTEGER, OBJECT_SERIALIZER).createOrOpen();
+            return new ColumnDictionary(dictionaryMap);
+        });
+    }
+
+    /**
+     * Returns the column dictionaries of the storage.
+     *
+     * @param storageType
+     * @return
+     */
+    private Map<String, ColumnDictionary> getDictionaryRegistry(StorageType storageType) {
+        return (storageType == StorageType.PRIMARY_STORAGE)?primaryStorage.dictionaryRegistry:tempDictionaryRegistry;
+    }
+
+    /**
+     * Returns the name of the column dictionary of the map.
+     *
+     * @param name
+     * @return
+     */
+    private String getDictionaryName(String name) {
+        return name + "$dictionary";
+    }
+
+    /**
+     * Wraps the BigMaps with the IN_CACHE storage hint in a TieredMap and
+     * registers it, so that its modified entries are written to the disk before
+     * the storage is saved or closed. The rest of the maps are returned as-is.
+     *
+     * @param name
+     * @param map
+     * @param storageHint
+     * @param <K>
+     * @param <V>
+     * @return
+     */
+    private <K,V> Map<K,V> createTieredMap(String name, Map<K,V> map, StorageEngine.StorageHint storageHint) {
+        if(storageHint != StorageEngine.StorageHint.IN_CACHE || storageConfiguration.getHeapCacheSize() <= 0L) {
+            return map;
+        }
+        TieredMap<K,V> tieredMap = new TieredMap<>(map, storageConfiguration.getHeapCacheSize());
+        tieredMapRegistry.put(name, tieredMap);
+        return tieredMap;
+    }
+
+    /**
+     * Removes the TieredMap of the BigMap from the registry and empties its
+     * heap tier without writing it to the disk.
+     *
+     * @param name
+     */
+    private void invalidateTieredMap(String name) {
+        TieredMap<?,?> tieredMap = tieredMapRegistry.remove(name);
+        if(tieredMap != null) {
+            tieredMap.invalidateAll();
+            logger.trace("Dropped the heap tier of {}: {}", name, tieredMap);
+        }
+    }
+
+    /**
+     * Writes the modified entries of all the heap tiers to the disk.
+     */
+    private void flushTieredMaps() {
+        for(TieredMap<?,?> tieredMap : tieredMapRegistry.values()) {
+            tieredMap.flush();
+        }
+    }
+
+    private boolean isOpenStorage(DB storage) {
+        return !(storage == null || storage.isClosed());
+    }
+
+    /**
+     * Opens the storage (if not already open) and returns the storage object.
+     *
+     * @param storageType
+     * @return
+     */
+    private DB openStorage(StorageType storageType) {
+        DB storage = storageRegistry.get(storageType);
+        if(!isOpenStorage(storage)) {
+            if(storageType == StorageType.PRIMARY_STORAGE) {
+                //main storage
+                storage = acquirePrimaryStorage();
+            }
+            else if(storageType == StorageType.TEMP_STORAGE) {
+                //temporary storage
+                storage = makeStorage(DBMaker.tempFileDB().fileDeleteAfterClose());
+            }
+            else {
+                throw new IllegalArgumentException("Unsupported StorageType.");
+            }
+            storageRegistry.put(storageType, storage);
+        }
+        return storage;
+    }
+
+    /**
+     * Opens a storage using the options of the configuration.
+     *
+     * @param m
+     * @return
+     */
+    private DB makeStorage(DBMaker.Maker m) {
+        if(storageConfiguration.isMemoryMapped()) {
+            //the cleaner hack unmaps the files on close, so they can be moved or deleted on all platforms
+            m = m.fileMmapEnableIfSupported().cleanerHackEnable();
+        }
+
+        m = m.closeOnJvmShutdown();
+
+        return m.make();
+    }
+
+    /**
+     * Returns the primary storage of the engine. If another engine has already
+     * opened the same file, its DB is shared instead of opening the locked file
+     * again.
+     *
+     * @return
+     */
+    private DB acquirePrimaryStorage() {
+        Path rootPath = getRootPath(storageName);
+        try {
+            createDirectoryIfNotExists(rootPath);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        Path file = rootPath.resolve(StorageType.PRIMARY_STORAGE.toString()).toAbsolutePath().normalize();
+
+        synchronized(OPEN_STORAGES) {
+            SharedStorage sharedStorage = OPEN_STORAGES.get(file);
+            if(sharedStorage == null || sharedStorage.storage.isClosed()) {
+                sharedStorage = new SharedStorage(file, makeStorage(DBMaker.fileDB(file.toFile())));
+                OPEN_STORAGES.put(file, sharedStorage);
+            }
+            sharedStorage.references++;
+            primaryStorage = sharedStorage;
+            return sharedStorage.storage;
+        }
+    }
+
+    /**
+     * Releases the primary storage of the engine and closes it once no engine
+     * uses it. When the files of the storage are going to be moved or deleted,
+     * it is also unregistered so that the engines which open the storage next
+     * do not share it.
+     *
+     * @param unregister
+     */
+    private void releasePrimaryStorage(boolean unregister) {
+        SharedStorage sharedStorage = primaryStorage;
+        if(sharedStorage == null) {
+            return;
+        }
+        primaryStorage = null;
+
+        synchronized(OPEN_STORAGES) {
+            sharedStorage.references--;
+            if((unregister || sharedStorage.references == 0) && OPEN_STORAGES.get(sharedStorage.file) == sharedStorage) {
+                OPEN_STORAGES.remove(sharedStorage.file);
+            }
+            if(sharedStorage.references == 0 && !sharedStorage.storage.isClosed()) {
+                sharedStorage.storage.close();
+            }
+        }
+    }
+
+    /**
+     * Returns the StorageType where the map is stored. If the map does not exist,
+     * the StorageType is selected using whether the map is temporary.
+     *
+     * @param name
+     * @param isTemporary
+     * @return
+     */
+    private StorageType getStorageType(String name, boolean isTemporary) {
+        //first find if the particular collection exists and retrieve its storageType
+        StorageType storageType = getStorageTypeFromName(name);
+
+        if(storageType == null) {
+            //the map does not exist. Find where it should be created.
+            storageType = isTemporary?StorageType.TEMP_STORAGE:StorageType.PRIMARY_STORAGE;
+        }
+        return storageType;
+    }
+
+    /**
+     * Returns the StorageType using the name of the map. It assumes that names
+     * are unique across all StorageType. If not found null is returned.
+     *
+     * @param name
+     * @return
+     */
+    private StorageType getStorageTypeFromName(String name) {
+        for(Map.Entry<StorageType, DB> entry : storageRegistry.entrySet()) {
+            DB storage = entry.getValue();
+            if(isOpenStorage(storage) && storage.exists(name)) {
+                return entry.getKey();
+            }
+        }
+
+        return null; //either the Map has not created yet OR it is in memory
+    }
+
+    /**
+     * It closes all the storageengines in the registry. The primary storage is
+     * closed once no other engine uses it.
+     *
+     * @param unregister
+     */
+    private void closeStorageRegistry(boolean unregister) {
+        DB storage = storageRegistry.get(StorageType.TEMP_STORAGE);
+        if(isOpenStorage(storage)) {
+            storage.close();
+        }
+        tempDictionaryRegistry.clear();
+        storageRegistry.clear();
+        releasePrimaryStorage(unregister);
+    }
+
+}
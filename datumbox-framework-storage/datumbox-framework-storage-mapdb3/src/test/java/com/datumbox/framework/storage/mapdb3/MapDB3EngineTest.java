@@ -0,0 +1,456 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.storage.mapdb3;
+
+import com.datumbox.framework.common.storage.abstracts.BigMapHolder;
+import com.datumbox.framework.common.storage.cache.TieredMap;
+import com.datumbox.framework.common.storage.codecs.BigMapCodec;
+import com.datumbox.framework.common.storage.codecs.BigMapCodecs;
+import com.datumbox.framework.common.storage.codecs.ColumnDictionary;
+import com.datumbox.framework.common.storage.codecs.EncodedMap;
+import com.datumbox.framework.common.storage.interfaces.BigMap;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine.MapType;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine.StorageHint;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mapdb.DBException;
+import org.mapdb.DBMaker;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.datumbox.framework.common.storage.codecs.EncodingMethods.*;
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for MapDB3Engine.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class MapDB3EngineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MapDB3Configuration configuration;
+
+    /**
+     * An object with BigMaps.
+     */
+    public static class Holder extends BigMapHolder {
+        private static final long serialVersionUID = 1L;
+
+        private String title;
+
+        @BigMap(keyClass=Integer.class, valueClass=String.class, mapType=MapType.TREEMAP, storageHint=StorageHint.IN_CACHE, concurrent=true)
+        private Map<Integer, String> values;
+
+        @BigMap(keyClass=Object.class, valueClass=Double.class, mapType=MapType.HASHMAP, storageHint=StorageHint.IN_DISK, concurrent=false)
+        private Map<Object, Double> weights;
+
+        private Holder(StorageEngine storageEngine) {
+            super(storageEngine);
+        }
+
+        private void bulkLoadValues(StorageEngine storageEngine, Map<Integer, String> entries) {
+            bulkLoadBigMapField(storageEngine, "values", entries);
+        }
+    }
+
+    /**
+     * A value with named fields.
+     */
+    public static class Tags implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final Map<Object, Object> fields = new LinkedHashMap<>();
+
+        private Tags(Object... keyValues) {
+            for(int i=0;i<keyValues.length;i+=2) {
+                fields.put(keyValues[i], keyValues[i+1]);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Tags && fields.equals(((Tags) o).fields);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return fields.hashCode();
+        }
+    }
+
+    /**
+     * A value which is stored with the default serializers before its codec is registered.
+     */
+    public static class LegacyTags extends Tags {
+        private static final long serialVersionUID = 1L;
+
+        private LegacyTags(Object... keyValues) {
+            super(keyValues);
+        }
+    }
+
+    /**
+     * Encodes the names of the fields with their ids in the column dictionary
+     * and counts the encoded values.
+     *
+     * @param <T>
+     */
+    private static class TagsCodec<T extends Tags> implements BigMapCodec<T> {
+        private final AtomicInteger encodedValues = new AtomicInteger();
+
+        private final Supplier<T> factory;
+
+        private TagsCodec(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void encode(T value, DataOutput out, ColumnDictionary dictionary) throws IOException {
+            encodedValues.incrementAndGet();
+            writeVarInt(value.fields.size(), out);
+            for(Map.Entry<Object, Object> entry : value.fields.entrySet()) {
+                writeVarInt(dictionary.getId(entry.getKey()), out);
+                writeValue(entry.getValue(), out);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public T decode(DataInput in, ColumnDictionary dictionary) throws IOException {
+            T value = factory.get();
+            int size = readVarInt(in);
+            for(int i=0;i<size;i++) {
+                Object key = dictionary.getColumn(readVarInt(in));
+                value.fields.put(key, readValue(in));
+            }
+            return value;
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        configuration = new MapDB3Configuration();
+        configuration.setDirectory(folder.newFolder().getAbsolutePath());
+    }
+
+    /**
+     * Creates an object with the provided number of entries.
+     *
+     * @param storageEngine
+     * @param entries
+     * @return
+     */
+    private Holder createHolder(StorageEngine storageEngine, int entries) {
+        Holder holder = new Holder(storageEngine);
+        holder.title = "holder";
+        for(int i=0;i<entries;i++) {
+            holder.values.put(i, "v" + i);
+            holder.weights.put(Arrays.asList("w", i), i/2.0);
+        }
+        return holder;
+    }
+
+    /**
+     * Asserts that the object contains the provided number of entries.
+     *
+     * @param holder
+     * @param entries
+     */
+    private void assertHolder(Holder holder, int entries) {
+        assertEquals("holder", holder.title);
+        assertEquals(entries, holder.values.size());
+        assertEquals(entries, holder.weights.size());
+        for(int i=0;i<entries;i++) {
+            assertEquals("v" + i, holder.values.get(i));
+            assertEquals(i/2.0, holder.weights.get(Arrays.asList("w", i)), 0.0);
+        }
+    }
+
+    /**
+     * Test of saveObject and loadObject methods, of class MapDB3Engine.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSaveLoad() throws Exception {
+        StorageEngine storageEngine = configuration.createStorageEngine("testSaveLoad");
+        assertFalse(storageEngine.existsObject("holder"));
+        Holder holder = createHolder(storageEngine, 1000);
+        assertTrue(holder.values instanceof TieredMap);
+        storageEngine.saveObject("holder", holder);
+        assertTrue(storageEngine.existsObject("holder"));
+        storageEngine.close();
+
+        storageEngine = configuration.createStorageEngine("testSaveLoad");
+        assertHolder(storageEngine.loadObject("holder", Holder.class), 1000);
+        storageEngine.close();
+    }
+
+    /**
+     * Test of rename method, of class MapDB3Engine.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRename() throws Exception {
+        StorageEngine storageEngine = configuration.createStorageEngine("testRename");
+        storageEngine.saveObject("holder", createHolder(storageEngine, 100));
+
+        assertTrue(storageEngine.rename("testRename2"));
+        assertFalse(storageEngine.rename("testRename2"));
+        assertFalse(Files.exists(Path.of(configuration.getDirectory(), "testRename")));
+        assertHolder(storageEngine.loadObject("holder", Holder.class), 100);
+        storageEngine.close();
+
+        storageEngine = configuration.createStorageEngine("testRename2");
+        assertHolder(storageEngine.loadObject("holder", Holder.class), 100);
+        storageEngine.close();
+    }
+
+    /**
+     * Test of the engines which open the same storage, of class MapDB3Engine.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSharedStorage() throws Exception {
+        StorageEngine storageEngine1 = configuration.createStorageEngine("testSharedStorage");
+        storageEngine1.saveObject("holder", createHolder(storageEngine1, 100));
+
+        //the file remains locked by MapDB
+        File file = Path.of(configuration.getDirectory(), "testSharedStorage", "PRIMARY_STORAGE").toFile();
+        try {
+            DBMaker.fileDB(file).make().close();
+            fail("The storage file should be locked.");
+        }
+        catch(DBException.FileLocked ex) {
+            //expected
+        }
+
+        //the second engine shares the open storage of the first one
+        StorageEngine storageEngine2 = configuration.createStorageEngine("testSharedStorage");
+        assertHolder(storageEngine2.loadObject("holder", Holder.class), 100);
+
+        //the storage stays open while another engine uses it
+        storageEngine1.close();
+        assertHolder(storageEngine2.loadObject("holder", Holder.class), 100);
+        storageEngine2.close();
+
+        //the lock is released when the last engine closes
+        DBMaker.fileDB(file).make().close();
+    }
+
+    /**
+     * Test of bulkLoadBigMap method, of class MapDB3Engine.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBulkLoadBigMap() throws Exception {
+        StorageEngine storageEngine = configuration.createStorageEngine("testBulkLoadBigMap");
+        Holder holder = new Holder(storageEngine);
+        holder.title = "holder";
+
+        //new BTree from unsorted entries
+        Map<Integer, String> entries = new HashMap<>();
+        for(int i=999;i>=0;i--) {
+            entries.put(i, "v" + i);
+            holder.weights.put(Arrays.asList("w", i), i/2.0);
+        }
+        storageEngine.dropBigMap("values", holder.values);
+        holder.bulkLoadValues(storageEngine, entries);
+        assertHolder(holder, 1000);
+        assertEquals(new ArrayList<>(new TreeMap<>(entries).keySet()), new ArrayList<>(holder.values.keySet()));
+
+        //existing BTree from entries in descending order
+        NavigableMap<Integer, String> descending = new TreeMap<Integer, String>(Comparator.reverseOrder());
+        descending.put(1, "a");
+        descending.put(0, "b");
+        holder.bulkLoadValues(storageEngine, descending);
+        assertEquals(Arrays.asList(0, 1), new ArrayList<>(holder.values.keySet()));
+        assertEquals("a", holder.values.get(1));
+
+        storageEngine.close();
+    }
+
+    /**
+     * Test of dropBigMap and clear methods, of class MapDB3Engine.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testDropAndClear() throws Exception {
+        StorageEngine storageEngine = configuration.createStorageEngine("testDropAndClear");
+        Holder holder = createHolder(storageEngine, 10);
+        storageEngine.dropBigMap("weights", holder.weights);
+        storageEngine.dropBigMap("values", holder.values);
+        assertTrue(holder.weights.isEmpty());
+
+        //the dropped names can be used again
+        holder = createHolder(storageEngine, 5);
+        assertHolder(holder, 5);
+        storageEngine.saveObject("holder", holder);
+
+        storageEngine.clear();
+        assertFalse(Files.exists(Path.of(configuration.getDirectory(), "testDropAndClear")));
+        assertFalse(storageEngine.existsObject("holder"));
+        storageEngine.close();
+    }
+
+    /**
+     * Test of the concurrent modifications of the BTreeMaps, of class MapDB3Engine.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testConcurrentWrites() throws Exception {
+        configuration.setHeapCacheSize(0L); //writes directly to the BTreeMap
+        StorageEngine storageEngine = configuration.createStorageEngine("testConcurrentWrites");
+        Holder holder = new Holder(storageEngine);
+
+        int threads = 4;
+        int entries = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for(int t=0;t<threads;t++) {
+            int offset = t;
+            futures.add(executor.submit(() -> {
+                for(int i=offset;i<entries;i+=threads) {
+                    holder.values.put(i, "v" + i);
+                    assertEquals("v" + i, holder.values.get(i));
+                    holder.values.merge(-1, "x", String::concat);
+                }
+            }));
+        }
+        for(Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(entries + 1, holder.values.size());
+        assertEquals(entries, holder.values.get(-1).length());
+        for(int i=0;i<entries;i++) {
+            assertEquals("v" + i, holder.values.get(i));
+        }
+        storageEngine.close();
+    }
+
+    /**
+     * Test of getBigMap method, of class MapDB3Engine, with the maps which were
+     * stored before the codec of their values was registered.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGetBigMapWithoutDictionary() throws Exception {
+        StorageEngine storageEngine = configuration.createStorageEngine("testGetBigMapWithoutDictionary");
+        Map<Integer, LegacyTags> legacyMap = storageEngine.getBigMap("legacy", Integer.class, LegacyTags.class, MapType.HASHMAP, StorageHint.IN_DISK, false, false);
+        legacyMap.put(1, new LegacyTags("a", 1));
+        storageEngine.close();
+
+        TagsCodec<LegacyTags> codec = new TagsCodec<>(LegacyTags::new);
+        BigMapCodecs.register(LegacyTags.class, codec);
+
+        storageEngine = configuration.createStorageEngine("testGetBigMapWithoutDictionary");
+        legacyMap = storageEngine.getBigMap("legacy", Integer.class, LegacyTags.class, MapType.HASHMAP, StorageHint.IN_DISK, false, false);
+        assertFalse(legacyMap instanceof EncodedMap);
+        assertEquals(new LegacyTags("a", 1), legacyMap.get(1));
+        legacyMap.put(2, new LegacyTags("b", 2));
+        assertEquals(0, codec.encodedValues.get());
+
+        //the new maps are encoded
+        Map<Integer, LegacyTags> encodedMap = storageEngine.getBigMap("encoded", Integer.class, LegacyTags.class, MapType.HASHMAP, StorageHint.IN_DISK, false, false);
+        assertTrue(encodedMap instanceof EncodedMap);
+        encodedMap.put(1, new LegacyTags("c", 3));
+        assertEquals(1, codec.encodedValues.get());
+        storageEngine.close();
+
+        storageEngine = configuration.createStorageEngine("testGetBigMapWithoutDictionary");
+        legacyMap = storageEngine.getBigMap("legacy", Integer.class, LegacyTags.class, MapType.HASHMAP, StorageHint.IN_DISK, false, false);
+        encodedMap = storageEngine.getBigMap("encoded", Integer.class, LegacyTags.class, MapType.HASHMAP, StorageHint.IN_DISK, false, false);
+        assertEquals(new LegacyTags("a", 1), legacyMap.get(1));
+        assertEquals(new LegacyTags("b", 2), legacyMap.get(2));
+        assertEquals(new LegacyTags("c", 3), encodedMap.get(1));
+        storageEngine.clear();
+        storageEngine.close();
+    }
+
+    /**
+     * Test of getBigMap, bulkLoadBigMap and dropBigMap methods, of class
+     * MapDB3Engine, with encoded maps.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testEncodedBigMaps() throws Exception {
+        BigMapCodecs.register(Tags.class, new TagsCodec<>(Tags::new));
+
+        StorageEngine storageEngine = configuration.createStorageEngine("testEncodedBigMaps");
+        Map<Integer, Tags> map1 = storageEngine.getBigMap("tags", Integer.class, Tags.class, MapType.TREEMAP, StorageHint.IN_CACHE, true, false);
+        Map<Integer, Tags> map2 = storageEngine.getBigMap("tags", Integer.class, Tags.class, MapType.TREEMAP, StorageHint.IN_DISK, true, false);
+        map1.put(1, new Tags("a", 1));
+        map2.put(2, new Tags("b", 2));
+        map1.put(3, new Tags("a", 3, "c", 4));
+        assertEquals(new Tags("b", 2), map1.get(2));
+
+        Map<Integer, Tags> entries = new HashMap<>();
+        for(int i=0;i<100;i++) {
+            entries.put(i, new Tags("x", i));
+        }
+        Map<Integer, Tags> loaded = storageEngine.bulkLoadBigMap("loaded", Integer.class, Tags.class, MapType.TREEMAP, StorageHint.IN_DISK, true, false, entries);
+        assertTrue(loaded instanceof EncodedMap);
+        assertEquals(new Tags("x", 42), loaded.get(42));
+        storageEngine.close();
+
+        storageEngine = configuration.createStorageEngine("testEncodedBigMaps");
+        Map<Integer, Tags> map = storageEngine.getBigMap("tags", Integer.class, Tags.class, MapType.TREEMAP, StorageHint.IN_DISK, true, false);
+        assertEquals(new Tags("a", 1), map.get(1));
+        assertEquals(new Tags("b", 2), map.get(2));
+        assertEquals(new Tags("a", 3, "c", 4), map.get(3));
+        loaded = storageEngine.getBigMap("loaded", Integer.class, Tags.class, MapType.TREEMAP, StorageHint.IN_DISK, true, false);
+        assertEquals(100, loaded.size());
+        assertEquals(new Tags("x", 7), loaded.get(7));
+
+        //the dictionary is rebuilt along with the map
+        storageEngine.dropBigMap("tags", map);
+        map = storageEngine.getBigMap("tags", Integer.class, Tags.class, MapType.TREEMAP, StorageHint.IN_DISK, true, false);
+        assertTrue(map.isEmpty());
+        map.put(1, new Tags("d", 5));
+        assertEquals(new Tags("d", 5), map.get(1));
+        storageEngine.clear();
+        storageEngine.close();
+    }
+
+}
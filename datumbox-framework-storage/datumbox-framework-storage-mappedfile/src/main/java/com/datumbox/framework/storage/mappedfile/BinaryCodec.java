@@ -0,0 +1,272 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.storage.mappedfile;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Encodes the keys and values of the BigMaps in a compact binary format. The
+ * Integers, Longs, Doubles, Booleans, Strings, the ArrayLists of them and the
+ * byte arrays are written directly, while the rest of the objects are written
+ * using Java serialization. The decoded lists are ArrayLists.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+final class BinaryCodec {
+
+    private static final byte NULL = 0;
+    private static final byte INTEGER = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte STRING = 5;
+    private static final byte LIST = 6;
+    private static final byte SERIALIZED = 7;
+    private static final byte BYTES = 8;
+
+    private static final Class<?> ARRAYS_LIST_CLASS = Arrays.asList().getClass();
+
+    private BinaryCodec() {
+    }
+
+    /**
+     * Writes the object in the output.
+     *
+     * @param o
+     * @param out
+     * @throws IOException
+     */
+    static void encode(Object o, DataOutputStream out) throws IOException {
+        encode(o, out, false);
+    }
+
+    /**
+     * Writes the object in the output. The canonical encoding writes directly
+     * all the lists of the supported elements, irrespective of their class, so
+     * that equal objects have the same bytes.
+     *
+     * @param o
+     * @param out
+     * @param canonical
+     * @throws IOException
+     */
+    private static void encode(Object o, DataOutputStream out, boolean canonical) throws IOException {
+        if(o == null) {
+            out.writeByte(NULL);
+        }
+        else if(o instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) o);
+        }
+        else if(o instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) o);
+        }
+        else if(o instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) o);
+        }
+        else if(o instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) o);
+        }
+        else if(o instanceof String && isEncodable((String) o)) {
+            byte[] bytes = ((String) o).getBytes(StandardCharsets.UTF_8);
+            out.writeByte(STRING);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        else if(o instanceof byte[]) {
+            byte[] bytes = (byte[]) o;
+            out.writeByte(BYTES);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        else if(isEncodableList(o, canonical)) {
+            List<?> list = (List<?>) o;
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            for(Object element : list) {
+                encode(element, out, canonical);
+            }
+        }
+        else {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try(ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+                oos.writeObject(o);
+            }
+            out.writeByte(SERIALIZED);
+            out.writeInt(bos.size());
+            bos.writeTo(out);
+        }
+    }
+
+    /**
+     * Reads an object from the current position of the buffer.
+     *
+     * @param buffer
+     * @return
+     */
+    static Object decode(ByteBuffer buffer) {
+        byte type = buffer.get();
+        switch(type) {
+            case NULL:
+                return null;
+            case INTEGER:
+                return buffer.getInt();
+            case LONG:
+                return buffer.getLong();
+            case DOUBLE:
+                return buffer.getDouble();
+            case BOOLEAN:
+                return buffer.get() != 0;
+            case STRING: {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            case LIST: {
+                int size = buffer.getInt();
+                List<Object> list = new ArrayList<>(size);
+                for(int i=0;i<size;i++) {
+                    list.add(decode(buffer));
+                }
+                return list;
+            }
+            case BYTES: {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                return bytes;
+            }
+            case SERIALIZED: {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    return ois.readObject();
+                }
+                catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                catch (ClassNotFoundException ex) {
+                    throw new RuntimeException(ex);
+                }
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported type " + type + ".");
+        }
+    }
+
+    /**
+     * Estimates a hash code which does not change between executions of the JVM
+     * by hashing the canonical encoding of the object with FNV-1a. The objects
+     * which are written using Java serialization must serialize to the same
+     * bytes when they are equal.
+     *
+     * @param o
+     * @return
+     */
+    static int hash(Object o) {
+        Hasher hasher = new Hasher();
+        try {
+            encode(o, new DataOutputStream(hasher), true);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return hasher.getHash();
+    }
+
+    /**
+     * Computes the hash of the written bytes without storing them.
+     */
+    private static final class Hasher extends OutputStream {
+        private int h = 0x811C9DC5;
+
+        /** {@inheritDoc} */
+        @Override
+        public void write(int b) {
+            h = (h ^ (b & 0xFF)) * 0x01000193;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void write(byte[] b, int off, int len) {
+            int x = h;
+            for(int i=off;i<off+len;i++) {
+                x = (x ^ (b[i] & 0xFF)) * 0x01000193;
+            }
+            h = x;
+        }
+
+        /**
+         * Returns the hash after mixing its bits, so that the low bits depend
+         * on all the bytes.
+         *
+         * @return
+         */
+        private int getHash() {
+            int x = h;
+            x ^= x >>> 16;
+            x *= 0x85EBCA6B;
+            x ^= x >>> 13;
+            x *= 0xC2B2AE35;
+            x ^= x >>> 16;
+            return x;
+        }
+    }
+
+    /**
+     * Checks whether the string can be written in UTF-8 without losing information.
+     *
+     * @param s
+     * @return
+     */
+    private static boolean isEncodable(String s) {
+        for(int i=0;i<s.length();i++) {
+            if(Character.isSurrogate(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the object is an ArrayList with elements which are written
+     * directly. The canonical encoding accepts all the lists.
+     *
+     * @param o
+     * @param canonical
+     * @return
+     */
+    private static boolean isEncodableList(Object o, boolean canonical) {
+        if(canonical?!(o instanceof List):(o.getClass() != ArrayList.class && o.getClass() != ARRAYS_LIST_CLASS)) {
+            return false;
+        }
+        for(Object element : (List<?>) o) {
+            if(!(element == null || element instanceof Integer || element instanceof Long || element instanceof Double
+                    || element instanceof Boolean || (element instanceof String && isEncodable((String) element))
+                    || isEncodableList(element, canonical))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,730 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.storage.mappedfile;
+
+import java.io.*;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-only view of a BigMap which is stored in an immutable memory-mapped file.
+ * The file contains the encoded entries in the iteration order of the original
+ * map followed by an open addressing hash index on the keys, so opening the map
+ * costs O(1) and every lookup reads a few pages of the file. The reads do not
+ * use any locks and the pages are shared by all the threads and processes which
+ * map the same file. The values are decoded on every access.
+ *
+ * The first modification copies all the entries in a heap map and after that
+ * all the operations are performed on it; the file is not modified.
+ *
+ * The file can be unmapped before it is replaced, moved or deleted, which is
+ * necessary on the platforms that lock the mapped files. Every read from the
+ * file is counted, so the buffers are released only after the reads in
+ * progress complete. The maps which were not copied in the heap can't be read
+ * while they are unmapped.
+ *
+ * @param <K>
+ * @param <V>
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+final class MappedBigMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int MAGIC = 0x44424D46;
+
+    private static final int VERSION = 2;
+
+    /**
+     * The header contains the magic number, the version, the number of entries,
+     * the number of slots of the index and the offset of the index.
+     */
+    private static final int HEADER_SIZE = 24;
+
+    /**
+     * Every slot of the index contains the hash of the key and the offset of the entry.
+     */
+    private static final int SLOT_SIZE = 12;
+
+    /**
+     * Every entry starts with the lengths of the encoded key and value.
+     */
+    private static final int ENTRY_HEADER_SIZE = 8;
+
+    /**
+     * The file is mapped in overlapping buffers of 2*SEGMENT_SIZE bytes which
+     * start every SEGMENT_SIZE bytes, so every entry up to SEGMENT_SIZE bytes is
+     * contained in the buffer of the segment where it starts.
+     */
+    private static final long SEGMENT_SIZE = 1L<<29;
+
+    /**
+     * Releases the mapped buffers or null if the JVM does not support it, in
+     * which case the buffers are released when they are garbage collected.
+     */
+    private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+
+    /**
+     * The file and its mapped buffers.
+     */
+    private static final class Mapping {
+        private final Path path;
+        private final ByteBuffer[] segments;
+        private final long segmentSize;
+
+        private Mapping(Path path, ByteBuffer[] segments, long segmentSize) {
+            this.path = path;
+            this.segments = segments;
+            this.segmentSize = segmentSize;
+        }
+    }
+
+    private volatile Mapping mapping;
+
+    private final long segmentSize;
+
+    /**
+     * The number of reads from the mapped buffers which are in progress.
+     */
+    private final LongAdder activeReads = new LongAdder();
+
+    private final int size;
+
+    private final int capacity;
+
+    private final long indexOffset;
+
+    private final Supplier<Map<K, V>> heapMapFactory;
+
+    private volatile Map<K, V> heapMap = null;
+
+    private Set<Map.Entry<K, V>> entrySet = null;
+
+    /**
+     * Private constructor used by the open() method.
+     *
+     * @param mapping
+     * @param heapMapFactory
+     */
+    private MappedBigMap(Mapping mapping, Supplier<Map<K, V>> heapMapFactory) {
+        this.mapping = mapping;
+        this.segmentSize = mapping.segmentSize;
+        this.heapMapFactory = heapMapFactory;
+
+        ByteBuffer header = mapping.segments[0];
+        if(header.capacity() < HEADER_SIZE || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            unmap(mapping);
+            throw new IllegalArgumentException("The file " + mapping.path + " does not contain a supported BigMap.");
+        }
+        size = header.getInt(8);
+        capacity = header.getInt(12);
+        indexOffset = header.getLong(16);
+    }
+
+    /**
+     * Maps the file of a BigMap in memory.
+     *
+     * @param path
+     * @param heapMapFactory
+     * @param <K>
+     * @param <V>
+     * @return
+     */
+    static <K, V> MappedBigMap<K, V> open(Path path, Supplier<Map<K, V>> heapMapFactory) {
+        return open(path, heapMapFactory, SEGMENT_SIZE);
+    }
+
+    /**
+     * Maps the file of a BigMap in memory using buffers of the provided segment
+     * size. The segment size must not be smaller than the largest entry.
+     *
+     * @param path
+     * @param heapMapFactory
+     * @param segmentSize
+     * @param <K>
+     * @param <V>
+     * @return
+     */
+    static <K, V> MappedBigMap<K, V> open(Path path, Supplier<Map<K, V>> heapMapFactory, long segmentSize) {
+        return new MappedBigMap<>(map(path, segmentSize), heapMapFactory);
+    }
+
+    /**
+     * Writes the entries of the map in the file. The file is written in a
+     * temporary location and it replaces the existing file once it's complete.
+     *
+     * @param path
+     * @param map
+     */
+    static void write(Path path, Map<?, ?> map) {
+        Path tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+
+        int n = 0;
+        int[] hashes = new int[Math.max(map.size(), 16)];
+        long[] offsets = new long[hashes.length];
+        long offset = HEADER_SIZE;
+        int capacity;
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpPath)))) {
+            out.write(new byte[HEADER_SIZE]);
+
+            ByteArrayOutputStream keyBytes = new ByteArrayOutputStream();
+            DataOutputStream keyOut = new DataOutputStream(keyBytes);
+            ByteArrayOutputStream valueBytes = new ByteArrayOutputStream();
+            DataOutputStream valueOut = new DataOutputStream(valueBytes);
+            for(Map.Entry<?, ?> entry : map.entrySet()) {
+                keyBytes.reset();
+                BinaryCodec.encode(entry.getKey(), keyOut);
+                valueBytes.reset();
+                BinaryCodec.encode(entry.getValue(), valueOut);
+
+                long entrySize = ENTRY_HEADER_SIZE + keyBytes.size() + valueBytes.size();
+                if(entrySize > SEGMENT_SIZE) {
+                    throw new IllegalArgumentException("The entry of the key " + entry.getKey() + " is too large.");
+                }
+
+                if(n == hashes.length) {
+                    hashes = Arrays.copyOf(hashes, 2*n);
+                    offsets = Arrays.copyOf(offsets, 2*n);
+                }
+                hashes[n] = BinaryCodec.hash(entry.getKey());
+                offsets[n] = offset;
+                n++;
+
+                out.writeInt(keyBytes.size());
+                out.writeInt(valueBytes.size());
+                keyBytes.writeTo(out);
+                valueBytes.writeTo(out);
+                offset += entrySize;
+            }
+
+            //build the index with a load factor up to 0.5
+            capacity = Integer.highestOneBit(Math.max(2*n, 2) - 1) << 1;
+            int mask = capacity - 1;
+            int[] slotHashes = new int[capacity];
+            long[] slotOffsets = new long[capacity];
+            for(int i=0;i<n;i++) {
+                int slot = spread(hashes[i]) & mask;
+                while(slotOffsets[slot] != 0L) {
+                    slot = (slot + 1) & mask;
+                }
+                slotHashes[slot] = hashes[i];
+                slotOffsets[slot] = offsets[i];
+            }
+            for(int slot=0;slot<capacity;slot++) {
+                out.writeInt(slotHashes[slot]);
+                out.writeLong(slotOffsets[slot]);
+            }
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        try {
+            try(RandomAccessFile file = new RandomAccessFile(tmpPath.toFile(), "rw")) {
+                file.writeInt(MAGIC);
+                file.writeInt(VERSION);
+                file.writeInt(n);
+                file.writeInt(capacity);
+                file.writeLong(offset);
+            }
+            Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Checks whether the map still reads the entries from the provided file.
+     *
+     * @param path
+     * @return
+     */
+    boolean isMappedFrom(Path path) {
+        return heapMap == null && mapsFile(path);
+    }
+
+    /**
+     * Checks whether the provided file is currently mapped by the map, even if
+     * the map no longer reads it.
+     *
+     * @param path
+     * @return
+     */
+    boolean mapsFile(Path path) {
+        Mapping m = mapping;
+        return m != null && m.path.equals(path);
+    }
+
+    /**
+     * Releases the mapped buffers of the file, once the reads which are in
+     * progress complete. After that the map can be used only if it was copied
+     * in the heap or if it is remapped.
+     */
+    void unmap() {
+        Mapping m;
+        synchronized(this) {
+            m = mapping;
+            mapping = null;
+        }
+        if(m == null) {
+            return;
+        }
+        while(activeReads.sum() != 0L) {
+            Thread.yield();
+        }
+        unmap(m);
+    }
+
+    /**
+     * Copies the entries of the file in the heap map, if they were not copied
+     * already, and unmaps the file.
+     */
+    void detach() {
+        heap();
+        unmap();
+    }
+
+    /**
+     * Maps again the file of an unmapped map from its new location, unless the
+     * map was copied in the heap and it does not need it.
+     *
+     * @param path
+     */
+    synchronized void remap(Path path) {
+        if(mapping == null && heapMap == null) {
+            mapping = map(path, segmentSize);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        Map<K, V> m = heapMap;
+        return (m != null)?m.size():size;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean containsKey(Object key) {
+        Map<K, V> m = heapMap;
+        if(m != null) {
+            return m.containsKey(key);
+        }
+        Mapping mp = beginRead();
+        try {
+            return find(mp, key) >= 0L;
+        }
+        finally {
+            endRead();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V get(Object key) {
+        Map<K, V> m = heapMap;
+        if(m != null) {
+            return m.get(key);
+        }
+        Mapping mp = beginRead();
+        try {
+            long entryOffset = find(mp, key);
+            return (entryOffset >= 0L)?valueAt(mp, entryOffset):null;
+        }
+        finally {
+            endRead();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        Map<K, V> m = heapMap;
+        if(m != null) {
+            return m.getOrDefault(key, defaultValue);
+        }
+        Mapping mp = beginRead();
+        try {
+            long entryOffset = find(mp, key);
+            return (entryOffset >= 0L)?valueAt(mp, entryOffset):defaultValue;
+        }
+        finally {
+            endRead();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V put(K key, V value) {
+        return heap().put(key, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V remove(Object key) {
+        return heap().remove(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        heap().putAll(m);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        synchronized(this) {
+            heapMap = heapMapFactory.get();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return heap().putIfAbsent(key, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean remove(Object key, Object value) {
+        return heap().remove(key, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        return heap().replace(key, oldValue, newValue);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V replace(K key, V value) {
+        return heap().replace(key, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        return heap().computeIfAbsent(key, mappingFunction);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return heap().computeIfPresent(key, remappingFunction);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return heap().compute(key, remappingFunction);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return heap().merge(key, value, remappingFunction);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        heap().replaceAll(function);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if(entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<K, V>>() {
+
+                /** {@inheritDoc} */
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    Map<K, V> m = heapMap;
+                    return (m != null)?m.entrySet().iterator():mappedIterator();
+                }
+
+                /** {@inheritDoc} */
+                @Override
+                public int size() {
+                    return MappedBigMap.this.size();
+                }
+
+                /** {@inheritDoc} */
+                @Override
+                public void clear() {
+                    MappedBigMap.this.clear();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    /**
+     * Returns the heap map, copying the entries of the file on the first call.
+     *
+     * @return
+     */
+    private Map<K, V> heap() {
+        Map<K, V> m = heapMap;
+        if(m == null) {
+            synchronized(this) {
+                m = heapMap;
+                if(m == null) {
+                    m = heapMapFactory.get();
+                    Iterator<Map.Entry<K, V>> it = mappedIterator();
+                    while(it.hasNext()) {
+                        Map.Entry<K, V> entry = it.next();
+                        m.put(entry.getKey(), entry.getValue());
+                    }
+                    heapMap = m;
+                }
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Returns an iterator over the entries of the file. The remove() and
+     * setValue() operations are performed on the heap map.
+     *
+     * @return
+     */
+    private Iterator<Map.Entry<K, V>> mappedIterator() {
+        return new Iterator<Map.Entry<K, V>>() {
+            private long nextOffset = HEADER_SIZE;
+            private int remaining = size;
+            private K lastKey = null;
+
+            /** {@inheritDoc} */
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            @SuppressWarnings("unchecked")
+            public Map.Entry<K, V> next() {
+                if(remaining <= 0) {
+                    throw new NoSuchElementException();
+                }
+                K key;
+                V value;
+                Mapping mp = beginRead();
+                try {
+                    ByteBuffer buffer = buffer(mp, nextOffset);
+                    int keyLength = buffer.getInt();
+                    int valueLength = buffer.getInt();
+                    key = (K) BinaryCodec.decode(buffer);
+                    value = (V) BinaryCodec.decode(buffer);
+                    nextOffset += ENTRY_HEADER_SIZE + keyLength + valueLength;
+                }
+                finally {
+                    endRead();
+                }
+                remaining--;
+
+                lastKey = key;
+                return new SimpleEntry<K, V>(key, value) {
+                    private static final long serialVersionUID = 1L;
+
+                    /** {@inheritDoc} */
+                    @Override
+                    public V setValue(V value) {
+                        super.setValue(value);
+                        return heap().put(getKey(), value);
+                    }
+                };
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public void remove() {
+                heap().remove(lastKey);
+            }
+        };
+    }
+
+    /**
+     * Registers a read from the mapped buffers and returns the mapping. The
+     * endRead() method must be called once the read completes.
+     *
+     * @return
+     */
+    private Mapping beginRead() {
+        activeReads.increment();
+        Mapping m = mapping;
+        if(m == null) {
+            activeReads.decrement();
+            throw new IllegalStateException("The file of the BigMap is not mapped.");
+        }
+        return m;
+    }
+
+    private void endRead() {
+        activeReads.decrement();
+    }
+
+    /**
+     * Finds the offset of the entry of the key in the file or returns -1.
+     *
+     * @param mp
+     * @param key
+     * @return
+     */
+    private long find(Mapping mp, Object key) {
+        if(size == 0) {
+            return -1L;
+        }
+        int hash = BinaryCodec.hash(key);
+        int mask = capacity - 1;
+        int slot = spread(hash) & mask;
+        while(true) {
+            long slotOffset = indexOffset + (long)slot*SLOT_SIZE;
+            long entryOffset = getLong(mp, slotOffset + 4L);
+            if(entryOffset == 0L) {
+                return -1L;
+            }
+            if(getInt(mp, slotOffset) == hash && Objects.equals(key, BinaryCodec.decode(buffer(mp, entryOffset + ENTRY_HEADER_SIZE)))) {
+                return entryOffset;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Decodes the value of the entry which starts at the provided offset.
+     *
+     * @param mp
+     * @param entryOffset
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private V valueAt(Mapping mp, long entryOffset) {
+        int keyLength = getInt(mp, entryOffset);
+        return (V) BinaryCodec.decode(buffer(mp, entryOffset + ENTRY_HEADER_SIZE + keyLength));
+    }
+
+    /**
+     * Returns a buffer which is positioned on the offset of the file. Every
+     * call creates a new buffer, so they can be used by multiple threads.
+     *
+     * @param mp
+     * @param offset
+     * @return
+     */
+    private static ByteBuffer buffer(Mapping mp, long offset) {
+        int segment = (int)(offset/mp.segmentSize);
+        ByteBuffer buffer = mp.segments[segment].duplicate();
+        buffer.position((int)(offset - segment*mp.segmentSize));
+        return buffer;
+    }
+
+    private static int getInt(Mapping mp, long offset) {
+        int segment = (int)(offset/mp.segmentSize);
+        return mp.segments[segment].getInt((int)(offset - segment*mp.segmentSize));
+    }
+
+    private static long getLong(Mapping mp, long offset) {
+        int segment = (int)(offset/mp.segmentSize);
+        return mp.segments[segment].getLong((int)(offset - segment*mp.segmentSize));
+    }
+
+    /**
+     * Maps the file in overlapping buffers.
+     *
+     * @param path
+     * @param segmentSize
+     * @return
+     */
+    private static Mapping map(Path path, long segmentSize) {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            ByteBuffer[] segments = new ByteBuffer[(int)Math.max((fileSize + segmentSize - 1)/segmentSize, 1L)];
+            for(int i=0;i<segments.length;i++) {
+                long start = i*segmentSize;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(2L*segmentSize, fileSize - start));
+            }
+            return new Mapping(path, segments, segmentSize);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Releases the buffers of the mapping. They must not be accessed afterwards.
+     *
+     * @param mp
+     */
+    private static void unmap(Mapping mp) {
+        if(INVOKE_CLEANER == null) {
+            return;
+        }
+        for(ByteBuffer segment : mp.segments) {
+            try {
+                INVOKE_CLEANER.invokeExact(segment);
+            }
+            catch (Throwable ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+    }
+
+    /**
+     * Finds the method which releases the mapped buffers.
+     *
+     * @return
+     */
+    private static MethodHandle findInvokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        }
+        catch (ReflectiveOperationException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,383 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.storage.mappedfile;
+
+import com.datumbox.framework.common.storage.abstracts.AbstractFileStorageEngine;
+import com.datumbox.framework.common.storage.abstracts.AbstractStorageEngine;
+import com.datumbox.framework.common.storage.codecs.BigMapCodec;
+import com.datumbox.framework.common.storage.codecs.BigMapCodecs;
+import com.datumbox.framework.common.storage.codecs.ColumnDictionary;
+import com.datumbox.framework.common.storage.codecs.EncodedMap;
+import com.datumbox.framework.common.storage.interfaces.StorageConfiguration;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/**
+ * The MappedFileEngine is responsible for saving and loading data in files,
+ * creating BigMaps and storing data. The BigMaps are kept in memory while they
+ * are modified and every BigMap is stored in a separate immutable file when the
+ * object which references it is saved. The loaded BigMaps are memory-mapped, so
+ * loading a model does not read its parameters and the lookups are lock-free.
+ * The first modification of a loaded BigMap copies it in memory. The files are
+ * unmapped before they are replaced, moved or deleted, because some platforms
+ * do not allow these operations on the mapped files. The values with a
+ * registered BigMapCodec are kept in their binary format and the column
+ * dictionary of every such BigMap is stored in a file next to it.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class MappedFileEngine extends AbstractFileStorageEngine<MappedFileConfiguration> {
+
+    private static final String BIGMAP_EXTENSION = ".bigmap";
+
+    /**
+     * The BigMaps which were created or opened by the engine, along with the
+     * column dictionaries of the encoded ones.
+     */
+    private final Map<String, Map<?, ?>> bigMapRegistry = new HashMap<>();
+
+    /**
+     * @param storageName
+     * @param storageConfiguration
+     * @see AbstractStorageEngine#AbstractStorageEngine(String, StorageConfiguration)
+     */
+    protected MappedFileEngine(String storageName, MappedFileConfiguration storageConfiguration) {
+        super(storageName, storageConfiguration);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean rename(String newStorageName) {
+        assertConnectionOpen();
+        if(storageName.equals(newStorageName)) {
+            return false;
+        }
+
+        synchronized(bigMapRegistry) {
+            //the maps which still read their files are mapped again from the new location
+            Map<String, MappedBigMap<?, ?>> remappedBigMaps = new HashMap<>();
+            for(Map.Entry<String, Map<?, ?>> entry : bigMapRegistry.entrySet()) {
+                if(unwrap(entry.getValue()) instanceof MappedBigMap) {
+                    MappedBigMap<?, ?> map = (MappedBigMap<?, ?>) unwrap(entry.getValue());
+                    if(map.isMappedFrom(getBigMapPath(entry.getKey()))) {
+                        remappedBigMaps.put(entry.getKey(), map);
+                    }
+                    map.unmap();
+                }
+            }
+
+            try {
+                moveDirectory(getRootPath(storageName), getRootPath(newStorageName));
+            }
+            catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+
+            logger.trace("Renamed storage {} to {}", storageName, newStorageName);
+            storageName = newStorageName;
+
+            for(Map.Entry<String, MappedBigMap<?, ?>> entry : remappedBigMaps.entrySet()) {
+                entry.getValue().remap(getBigMapPath(entry.getKey()));
+            }
+        }
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean existsObject(String name) {
+        assertConnectionOpen();
+        return Files.exists(getRootPath(storageName).resolve(name));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends Serializable> void saveObject(String name, T serializableObject) {
+        assertConnectionOpen();
+
+        Map<String, Object> objRefs = preSerializer(serializableObject);
+        try {
+            Path rootPath = getRootPath(storageName);
+            createDirectoryIfNotExists(rootPath);
+
+            for(Map.Entry<String, Object> entry : objRefs.entrySet()) {
+                Map<?, ?> map = (Map<?, ?>) entry.getValue();
+                writeBigMap(entry.getKey(), map);
+                if(map instanceof EncodedMap) {
+                    //the dictionary is written along with the map, so the ids of its file remain valid
+                    String dictionaryName = getDictionaryName(entry.getKey());
+                    Map<?, ?> dictionaryMap;
+                    synchronized(bigMapRegistry) {
+                        dictionaryMap = bigMapRegistry.get(dictionaryName);
+                    }
+                    if(dictionaryMap != null) {
+                        writeBigMap(dictionaryName, dictionaryMap);
+                    }
+                }
+            }
+
+            try(ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(rootPath.resolve(name))))) {
+                oos.writeObject(serializableObject);
+            }
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        finally {
+            postSerializer(serializableObject, objRefs);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends Serializable> T loadObject(String name, Class<T> klass) throws NoSuchElementException {
+        assertConnectionOpen();
+
+        if(!existsObject(name)) {
+            throw new NoSuchElementException("Can't find any object with name '"+name+"'");
+        }
+
+        T serializableObject;
+        try(ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(getRootPath(storageName).resolve(name))))) {
+            serializableObject = klass.cast(ois.readObject());
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        catch (ClassNotFoundException ex) {
+            throw new RuntimeException(ex);
+        }
+
+        postDeserializer(serializableObject);
+
+        return serializableObject;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        if(isClosed()){
+            return;
+        }
+        super.close();
+        unmapBigMaps();
+        logger.trace("Closed storage {}", storageName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        assertConnectionOpen();
+        unmapBigMaps();
+        try {
+            deleteDirectory(getRootPath(storageName), true);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K,V> Map<K,V> getBigMap(String name, Class<K> keyClass, Class<V> valueClass, MapType type, StorageHint storageHint, boolean isConcurrent, boolean isTemporary) {
+        assertConnectionOpen();
+
+        Supplier<Map<K,V>> heapMapFactory;
+        if(MapType.HASHMAP.equals(type)) {
+            heapMapFactory = isConcurrent?ConcurrentHashMap::new:HashMap::new;
+        }
+        else if(MapType.TREEMAP.equals(type)) {
+            heapMapFactory = isConcurrent?ConcurrentSkipListMap::new:TreeMap::new;
+        }
+        else {
+            throw new IllegalArgumentException("Unsupported MapType.");
+        }
+
+        //the values with a registered codec are kept in their binary format
+        BigMapCodec<V> codec = BigMapCodecs.get(valueClass);
+
+        if(isTemporary) {
+            Map m = heapMapFactory.get();
+            if(codec != null) {
+                m = new EncodedMap<>((Map<K,byte[]>) m, codec, new ColumnDictionary(new HashMap<>()));
+            }
+            return (Map<K,V>) m;
+        }
+
+        synchronized(bigMapRegistry) {
+            Map m = bigMapRegistry.get(name);
+            if(m == null) {
+                Path bigMapPath = getBigMapPath(name);
+                boolean exists = Files.exists(bigMapPath);
+                m = exists?MappedBigMap.open(bigMapPath, heapMapFactory):heapMapFactory.get();
+
+                //the files which were written before the codec was available do not have a dictionary
+                if(codec != null && (!exists || Files.exists(getBigMapPath(getDictionaryName(name))))) {
+                    m = new EncodedMap<>((Map<K,byte[]>) m, codec, openDictionary(name));
+                }
+                bigMapRegistry.put(name, m);
+            }
+            return (Map<K,V>) m;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends Map> void dropBigMap(String name, T map) {
+        assertConnectionOpen();
+        Path bigMapPath = getBigMapPath(name);
+        Path dictionaryPath = getBigMapPath(getDictionaryName(name));
+        synchronized(bigMapRegistry) {
+            for(String key : Arrays.asList(name, getDictionaryName(name))) {
+                Map<?, ?> m = unwrap(bigMapRegistry.remove(key));
+                if(m instanceof MappedBigMap) {
+                    ((MappedBigMap<?, ?>) m).unmap();
+                }
+            }
+        }
+        Map<?, ?> m = unwrap(map);
+        if(m instanceof MappedBigMap && ((MappedBigMap<?, ?>) m).mapsFile(bigMapPath)) {
+            ((MappedBigMap<?, ?>) m).unmap();
+        }
+        try {
+            Files.deleteIfExists(bigMapPath);
+            Files.deleteIfExists(dictionaryPath);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        map.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Set<Class> nonSerializableBigMaps() {
+        return new HashSet<>(Arrays.asList(HashMap.class, TreeMap.class, ConcurrentHashMap.class, ConcurrentSkipListMap.class));
+    }
+
+    /**
+     * Unmaps the files of the BigMaps of the registry and empties it.
+     */
+    private void unmapBigMaps() {
+        synchronized(bigMapRegistry) {
+            for(Map<?, ?> map : bigMapRegistry.values()) {
+                map = unwrap(map);
+                if(map instanceof MappedBigMap) {
+                    ((MappedBigMap<?, ?>) map).unmap();
+                }
+            }
+            bigMapRegistry.clear();
+        }
+    }
+
+    /**
+     * Writes the entries of the BigMap in its file, unless the file already
+     * contains them.
+     *
+     * @param name
+     * @param map
+     * @throws IOException
+     */
+    private void writeBigMap(String name, Map<?, ?> map) throws IOException {
+        Path bigMapPath = getBigMapPath(name);
+        map = unwrap(map);
+        if(map instanceof MappedBigMap && ((MappedBigMap<?, ?>) map).isMappedFrom(bigMapPath)) {
+            return; //the file already contains the entries of the map
+        }
+        releaseBigMapFile(name, map);
+        MappedBigMap.write(bigMapPath, map);
+    }
+
+    /**
+     * Unmaps the file of the BigMap before it is replaced by the entries of the
+     * provided map. If a different map of the registry still reads the file, its
+     * entries are copied in memory first.
+     *
+     * @param name
+     * @param map
+     */
+    private void releaseBigMapFile(String name, Object map) {
+        Path bigMapPath = getBigMapPath(name);
+        synchronized(bigMapRegistry) {
+            Map<?, ?> m = unwrap(bigMapRegistry.get(name));
+            if(m instanceof MappedBigMap && m != map && ((MappedBigMap<?, ?>) m).mapsFile(bigMapPath)) {
+                ((MappedBigMap<?, ?>) m).detach();
+            }
+        }
+        if(map instanceof MappedBigMap && ((MappedBigMap<?, ?>) map).mapsFile(bigMapPath)) {
+            ((MappedBigMap<?, ?>) map).unmap();
+        }
+    }
+
+    /**
+     * Opens the column dictionary of the encoded BigMap. The dictionary is
+     * registered next to the map, so that it is written, moved and unmapped
+     * along with it. It must be called while holding the lock of the registry.
+     *
+     * @param name
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private ColumnDictionary openDictionary(String name) {
+        String dictionaryName = getDictionaryName(name);
+        Map<Integer, Object> dictionaryMap = (Map<Integer, Object>) bigMapRegistry.get(dictionaryName);
+        if(dictionaryMap == null) {
+            Path dictionaryPath = getBigMapPath(dictionaryName);
+            dictionaryMap = Files.exists(dictionaryPath)?MappedBigMap.open(dictionaryPath, HashMap::new):new HashMap<>();
+            bigMapRegistry.put(dictionaryName, dictionaryMap);
+        }
+        return new ColumnDictionary(dictionaryMap);
+    }
+
+    /**
+     * Returns the name of the column dictionary of the BigMap.
+     *
+     * @param name
+     * @return
+     */
+    private String getDictionaryName(String name) {
+        return name + "$dictionary";
+    }
+
+    /**
+     * Returns the map which stores the entries of an EncodedMap or the provided
+     * map otherwise.
+     *
+     * @param map
+     * @return
+     */
+    private static Map<?, ?> unwrap(Map<?, ?> map) {
+        return (map instanceof EncodedMap)?((EncodedMap<?, ?>) map).getEncodedMap():map;
+    }
+
+    /**
+     * Returns the path of the file of the BigMap.
+     *
+     * @param name
+     * @return
+     */
+    private Path getBigMapPath(String name) {
+        return getRootPath(storageName).resolve(name + BIGMAP_EXTENSION);
+    }
+
+}
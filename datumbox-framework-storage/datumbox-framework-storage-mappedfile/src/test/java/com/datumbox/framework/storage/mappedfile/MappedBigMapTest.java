@@ -0,0 +1,319 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.storage.mappedfile;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for MappedBigMap.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class MappedBigMapTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * A key which is written with Java serialization.
+     */
+    private static class SerializedKey implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final TimeUnit unit;
+        private final int id;
+
+        private SerializedKey(TimeUnit unit, int id) {
+            this.unit = unit;
+            this.id = id;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object o) {
+            if(!(o instanceof SerializedKey)) {
+                return false;
+            }
+            SerializedKey k = (SerializedKey) o;
+            return unit == k.unit && id == k.id;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return Objects.hash(unit, id); //the hash code of the enum changes between executions
+        }
+    }
+
+    /**
+     * Writes the map in a new file.
+     *
+     * @param map
+     * @return
+     * @throws Exception
+     */
+    private Path write(Map<?, ?> map) throws Exception {
+        Path path = folder.newFolder().toPath().resolve("map.bigmap");
+        MappedBigMap.write(path, map);
+        return path;
+    }
+
+    /**
+     * Test of the encoding of the supported types, of class MappedBigMap.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRoundTrip() throws Exception {
+        Map<Object, Object> expected = new HashMap<>();
+        expected.put(1, 1L);
+        expected.put(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        expected.put(2L, -0.0);
+        expected.put(3.5, Double.NaN);
+        expected.put(true, false);
+        expected.put("key", "value");
+        expected.put("", null);
+        expected.put("😀", "\uD800"); //the unpaired surrogate is serialized
+        expected.put(Arrays.asList(1, "a", null), new ArrayList<>(Arrays.asList(2.0, Arrays.asList(true))));
+        expected.put(new SerializedKey(TimeUnit.DAYS, 1), TimeUnit.HOURS);
+        expected.put(null, "null key");
+
+        MappedBigMap<Object, Object> instance = MappedBigMap.open(write(expected), HashMap::new);
+        try {
+            assertEquals(expected.size(), instance.size());
+            for(Map.Entry<Object, Object> entry : expected.entrySet()) {
+                assertTrue(instance.containsKey(entry.getKey()));
+                assertEquals(entry.getValue(), instance.get(entry.getKey()));
+            }
+            assertEquals(expected, new HashMap<>(instance));
+            assertFalse(instance.containsKey("missing"));
+            assertEquals("x", instance.getOrDefault(new SerializedKey(TimeUnit.DAYS, 2), "x"));
+        }
+        finally {
+            instance.unmap();
+        }
+    }
+
+    /**
+     * Test of the lookups of many keys, including keys with equal hash codes, of class MappedBigMap.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCollisions() throws Exception {
+        Map<Object, Object> expected = new HashMap<>();
+        for(int i=0;i<20000;i++) {
+            expected.put(i, i);
+            expected.put((long) i, -i);
+        }
+        expected.put("Aa", 1); //same hashCode() as "BB"
+        expected.put("BB", 2);
+
+        MappedBigMap<Object, Object> instance = MappedBigMap.open(write(expected), HashMap::new);
+        try {
+            assertEquals(expected.size(), instance.size());
+            for(Map.Entry<Object, Object> entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), instance.get(entry.getKey()));
+            }
+            for(int i=20000;i<30000;i++) {
+                assertNull(instance.get(i));
+            }
+            assertNull(instance.get("AaBB"));
+        }
+        finally {
+            instance.unmap();
+        }
+    }
+
+    /**
+     * Test of the reads of entries and index slots which cross the segments, of class MappedBigMap.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSegmentBoundaries() throws Exception {
+        Map<Object, Object> expected = new HashMap<>();
+        StringBuilder sb = new StringBuilder();
+        for(int i=0;i<500;i++) {
+            if(sb.length() == 40) {
+                sb.setLength(0);
+            }
+            sb.append((char)('a' + i%26));
+            expected.put(i, sb.toString());
+        }
+
+        MappedBigMap<Object, Object> instance = MappedBigMap.open(write(expected), HashMap::new, 64L);
+        try {
+            for(Map.Entry<Object, Object> entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), instance.get(entry.getKey()));
+            }
+            assertEquals(expected, new HashMap<>(instance));
+        }
+        finally {
+            instance.unmap();
+        }
+    }
+
+    /**
+     * Test of the hashing of the keys, of class MappedBigMap.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testStableHash() throws Exception {
+        assertEquals(BinaryCodec.hash(new SerializedKey(TimeUnit.DAYS, 1)), BinaryCodec.hash(new SerializedKey(TimeUnit.DAYS, 1)));
+        assertEquals(BinaryCodec.hash(Arrays.asList(1, "a")), BinaryCodec.hash(new LinkedList<>(Arrays.asList(1, "a"))));
+        assertNotEquals(BinaryCodec.hash(1), BinaryCodec.hash(1L));
+
+        //the hashes are stored in the files and they must not change
+        assertEquals(0x710CA397, BinaryCodec.hash(1));
+        assertEquals(0x624E5BD8, BinaryCodec.hash("a"));
+        assertEquals(0x0578AB1B, BinaryCodec.hash(null));
+
+        Map<Object, Object> expected = new HashMap<>();
+        expected.put(Arrays.asList(1, "a"), 1);
+        MappedBigMap<Object, Object> instance = MappedBigMap.open(write(expected), HashMap::new);
+        try {
+            assertEquals(1, instance.get(new LinkedList<>(Arrays.asList(1, "a"))));
+        }
+        finally {
+            instance.unmap();
+        }
+    }
+
+    /**
+     * Test of the reopening of the files, of class MappedBigMap.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReopen() throws Exception {
+        Map<Object, Object> expected = new HashMap<>();
+        expected.put(1, "a");
+        Path path = write(expected);
+
+        MappedBigMap<Object, Object> instance = MappedBigMap.open(path, HashMap::new);
+        assertTrue(instance.isMappedFrom(path));
+        instance.unmap();
+        assertFalse(instance.isMappedFrom(path));
+
+        expected.put(2, "b");
+        MappedBigMap.write(path, expected);
+
+        instance = MappedBigMap.open(path, HashMap::new);
+        try {
+            assertEquals(expected, new HashMap<>(instance));
+        }
+        finally {
+            instance.unmap();
+        }
+    }
+
+    /**
+     * Test of unmap, remap and detach methods, of class MappedBigMap.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testUnmap() throws Exception {
+        Map<Object, Object> expected = new HashMap<>();
+        expected.put(1, "a");
+        expected.put(2, "b");
+        Path path = write(expected);
+
+        MappedBigMap<Object, Object> instance = MappedBigMap.open(path, HashMap::new);
+        instance.unmap();
+        try {
+            instance.get(1);
+            fail("The unmapped file should not be read.");
+        }
+        catch (IllegalStateException ex) {
+            //expected
+        }
+        instance.unmap(); //unmapping again does nothing
+
+        Path newPath = path.resolveSibling("moved.bigmap");
+        assertTrue(path.toFile().renameTo(newPath.toFile()));
+        instance.remap(newPath);
+        assertTrue(instance.isMappedFrom(newPath));
+        assertEquals("a", instance.get(1));
+
+        instance.put(3, "c");
+        assertFalse(instance.isMappedFrom(newPath));
+        assertTrue(instance.mapsFile(newPath));
+        instance.unmap();
+        assertEquals("c", instance.get(3));
+        assertEquals(3, instance.size());
+        instance.remap(newPath); //the heap map does not need the file
+        assertFalse(instance.mapsFile(newPath));
+
+        MappedBigMap<Object, Object> detached = MappedBigMap.open(newPath, HashMap::new);
+        detached.detach();
+        assertFalse(detached.mapsFile(newPath));
+        assertEquals(expected, detached);
+    }
+
+    /**
+     * Test of the unmapping while other threads read the map, of class MappedBigMap.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testUnmapWhileReading() throws Exception {
+        Map<Object, Object> expected = new HashMap<>();
+        for(int i=0;i<1000;i++) {
+            expected.put(i, "v" + i);
+        }
+        MappedBigMap<Object, Object> instance = MappedBigMap.open(write(expected), HashMap::new);
+
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch started = new CountDownLatch(threads);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for(int t=0;t<threads;t++) {
+            futures.add(executor.submit(() -> {
+                started.countDown();
+                int reads = 0;
+                try {
+                    while(true) {
+                        int key = reads%1000;
+                        assertEquals("v" + key, instance.get(key));
+                        reads++;
+                    }
+                }
+                catch (IllegalStateException ex) {
+                    return reads; //the map was unmapped
+                }
+            }));
+        }
+        started.await();
+        instance.unmap();
+        for(Future<Integer> future : futures) {
+            assertTrue(future.get(10, TimeUnit.SECONDS) >= 0);
+        }
+        executor.shutdown();
+    }
+
+}
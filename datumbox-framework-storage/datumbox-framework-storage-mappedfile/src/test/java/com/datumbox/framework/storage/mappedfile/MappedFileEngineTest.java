@@ -0,0 +1,375 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.storage.mappedfile;
+
+import com.datumbox.framework.common.storage.abstracts.BigMapHolder;
+import com.datumbox.framework.common.storage.codecs.BigMapCodec;
+import com.datumbox.framework.common.storage.codecs.BigMapCodecs;
+import com.datumbox.framework.common.storage.codecs.ColumnDictionary;
+import com.datumbox.framework.common.storage.codecs.EncodedMap;
+import com.datumbox.framework.common.storage.interfaces.BigMap;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine.MapType;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine.StorageHint;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.datumbox.framework.common.storage.codecs.EncodingMethods.*;
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for MappedFileEngine.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class MappedFileEngineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MappedFileConfiguration configuration;
+
+    /**
+     * An object with a BigMap.
+     */
+    public static class Holder extends BigMapHolder {
+        private static final long serialVersionUID = 1L;
+
+        @BigMap(keyClass=Integer.class, valueClass=String.class, mapType=MapType.HASHMAP, storageHint=StorageHint.IN_DISK, concurrent=false)
+        private Map<Integer, String> values;
+
+        private Holder(StorageEngine storageEngine) {
+            super(storageEngine);
+        }
+    }
+
+    /**
+     * A value which is stored with a codec.
+     */
+    public static class Tags implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final Map<Object, Object> fields = new LinkedHashMap<>();
+
+        private Tags(Object... keyValues) {
+            for(int i=0;i<keyValues.length;i+=2) {
+                fields.put(keyValues[i], keyValues[i+1]);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Tags && fields.equals(((Tags) o).fields);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return fields.hashCode();
+        }
+    }
+
+    /**
+     * A value which is stored with Java serialization before its codec is registered.
+     */
+    public static class LegacyTags extends Tags {
+        private static final long serialVersionUID = 1L;
+
+        private LegacyTags(Object... keyValues) {
+            super(keyValues);
+        }
+    }
+
+    /**
+     * Encodes the names of the fields with their ids in the column dictionary
+     * and counts the encoded values.
+     *
+     * @param <T>
+     */
+    private static class TagsCodec<T extends Tags> implements BigMapCodec<T> {
+        private final AtomicInteger encodedValues = new AtomicInteger();
+
+        private final Supplier<T> factory;
+
+        private TagsCodec(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void encode(T value, DataOutput out, ColumnDictionary dictionary) throws IOException {
+            encodedValues.incrementAndGet();
+            writeVarInt(value.fields.size(), out);
+            for(Map.Entry<Object, Object> entry : value.fields.entrySet()) {
+                writeVarInt(dictionary.getId(entry.getKey()), out);
+                writeValue(entry.getValue(), out);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public T decode(DataInput in, ColumnDictionary dictionary) throws IOException {
+            T value = factory.get();
+            int size = readVarInt(in);
+            for(int i=0;i<size;i++) {
+                Object key = dictionary.getColumn(readVarInt(in));
+                value.fields.put(key, readValue(in));
+            }
+            return value;
+        }
+    }
+
+    /**
+     * An object with a BigMap of encoded values.
+     */
+    public static class TagsHolder extends BigMapHolder {
+        private static final long serialVersionUID = 1L;
+
+        @BigMap(keyClass=Integer.class, valueClass=Tags.class, mapType=MapType.HASHMAP, storageHint=StorageHint.IN_DISK, concurrent=false)
+        private Map<Integer, Tags> tags;
+
+        private TagsHolder(StorageEngine storageEngine) {
+            super(storageEngine);
+        }
+    }
+
+    /**
+     * An object with a BigMap of values which are stored before their codec is registered.
+     */
+    public static class LegacyTagsHolder extends BigMapHolder {
+        private static final long serialVersionUID = 1L;
+
+        @BigMap(keyClass=Integer.class, valueClass=LegacyTags.class, mapType=MapType.HASHMAP, storageHint=StorageHint.IN_DISK, concurrent=false)
+        private Map<Integer, LegacyTags> legacyTags;
+
+        private LegacyTagsHolder(StorageEngine storageEngine) {
+            super(storageEngine);
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        configuration = new MappedFileConfiguration();
+        configuration.setDirectory(folder.newFolder().getAbsolutePath());
+    }
+
+    /**
+     * Saves an object with the provided entries and returns a new engine which
+     * can load it.
+     *
+     * @param storageName
+     * @param entries
+     * @return
+     */
+    private MappedFileEngine save(String storageName, int entries) {
+        MappedFileEngine storageEngine = (MappedFileEngine) configuration.createStorageEngine(storageName);
+        Holder holder = new Holder(storageEngine);
+        for(int i=0;i<entries;i++) {
+            holder.values.put(i, "v" + i);
+        }
+        storageEngine.saveObject("holder", holder);
+        storageEngine.close();
+        return (MappedFileEngine) configuration.createStorageEngine(storageName);
+    }
+
+    /**
+     * Returns the path of the file of the BigMap.
+     *
+     * @param storageName
+     * @return
+     */
+    private Path getBigMapPath(String storageName) {
+        return Path.of(configuration.getDirectory(), storageName, "values.bigmap");
+    }
+
+    /**
+     * Test of saveObject and loadObject methods, of class MappedFileEngine.
+     */
+    @Test
+    public void testSaveLoad() {
+        MappedFileEngine storageEngine = save("testSaveLoad", 100);
+        Holder holder = storageEngine.loadObject("holder", Holder.class);
+        assertTrue(holder.values instanceof MappedBigMap);
+        assertTrue(((MappedBigMap<?, ?>) holder.values).isMappedFrom(getBigMapPath("testSaveLoad")));
+        assertEquals(100, holder.values.size());
+        assertEquals("v42", holder.values.get(42));
+
+        storageEngine.close();
+        assertFalse(((MappedBigMap<?, ?>) holder.values).mapsFile(getBigMapPath("testSaveLoad")));
+    }
+
+    /**
+     * Test of the rename method while the BigMaps are mapped, of class MappedFileEngine.
+     */
+    @Test
+    public void testRename() {
+        MappedFileEngine storageEngine = save("testRename", 10);
+        Holder holder = storageEngine.loadObject("holder", Holder.class);
+        MappedBigMap<?, ?> values = (MappedBigMap<?, ?>) holder.values;
+
+        assertTrue(storageEngine.rename("testRename2"));
+        assertFalse(Files.exists(getBigMapPath("testRename")));
+        assertTrue(values.isMappedFrom(getBigMapPath("testRename2")));
+        assertEquals("v5", holder.values.get(5));
+
+        storageEngine.saveObject("holder", holder);
+        storageEngine.close();
+        assertFalse(values.mapsFile(getBigMapPath("testRename2")));
+
+        storageEngine = (MappedFileEngine) configuration.createStorageEngine("testRename2");
+        holder = storageEngine.loadObject("holder", Holder.class);
+        assertEquals("v5", holder.values.get(5));
+        storageEngine.close();
+    }
+
+    /**
+     * Test of overwriting the file of a mapped BigMap, of class MappedFileEngine.
+     */
+    @Test
+    public void testOverwrite() {
+        MappedFileEngine storageEngine = save("testOverwrite", 10);
+        Holder holder = storageEngine.loadObject("holder", Holder.class);
+        MappedBigMap<?, ?> values = (MappedBigMap<?, ?>) holder.values;
+
+        holder.values.put(100, "new");
+        storageEngine.saveObject("holder", holder);
+        assertFalse(values.mapsFile(getBigMapPath("testOverwrite")));
+        assertEquals("new", holder.values.get(100));
+        assertEquals("v1", holder.values.get(1));
+        storageEngine.close();
+
+        storageEngine = (MappedFileEngine) configuration.createStorageEngine("testOverwrite");
+        holder = storageEngine.loadObject("holder", Holder.class);
+        assertEquals(11, holder.values.size());
+        assertEquals("new", holder.values.get(100));
+        storageEngine.close();
+    }
+
+    /**
+     * Test of clear and dropBigMap methods while the BigMaps are mapped, of class MappedFileEngine.
+     */
+    @Test
+    public void testClearAndDrop() {
+        MappedFileEngine storageEngine = save("testClearAndDrop", 10);
+        Holder holder = storageEngine.loadObject("holder", Holder.class);
+        MappedBigMap<?, ?> values = (MappedBigMap<?, ?>) holder.values;
+
+        storageEngine.dropBigMap("values", holder.values);
+        assertFalse(Files.exists(getBigMapPath("testClearAndDrop")));
+        assertTrue(holder.values.isEmpty());
+        assertFalse(values.mapsFile(getBigMapPath("testClearAndDrop")));
+        storageEngine.close();
+
+        storageEngine = save("testClearAndDrop", 10);
+        holder = storageEngine.loadObject("holder", Holder.class);
+        values = (MappedBigMap<?, ?>) holder.values;
+        storageEngine.clear();
+        assertFalse(Files.exists(getBigMapPath("testClearAndDrop").getParent()));
+        assertFalse(values.mapsFile(getBigMapPath("testClearAndDrop")));
+        storageEngine.close();
+    }
+
+    /**
+     * Test of saveObject, loadObject and dropBigMap methods, of class
+     * MappedFileEngine, with encoded BigMaps.
+     */
+    @Test
+    public void testEncodedBigMaps() {
+        BigMapCodecs.register(Tags.class, new TagsCodec<>(Tags::new));
+        Path bigMapPath = Path.of(configuration.getDirectory(), "testEncodedBigMaps", "tags.bigmap");
+        Path dictionaryPath = Path.of(configuration.getDirectory(), "testEncodedBigMaps", "tags$dictionary.bigmap");
+
+        MappedFileEngine storageEngine = (MappedFileEngine) configuration.createStorageEngine("testEncodedBigMaps");
+        TagsHolder holder = new TagsHolder(storageEngine);
+        assertTrue(holder.tags instanceof EncodedMap);
+        for(int i=0;i<100;i++) {
+            holder.tags.put(i, new Tags("x", i, "y", "v" + i));
+        }
+        storageEngine.saveObject("holder", holder);
+        storageEngine.close();
+        assertTrue(Files.exists(bigMapPath));
+        assertTrue(Files.exists(dictionaryPath));
+
+        storageEngine = (MappedFileEngine) configuration.createStorageEngine("testEncodedBigMaps");
+        holder = storageEngine.loadObject("holder", TagsHolder.class);
+        assertTrue(holder.tags instanceof EncodedMap);
+        assertTrue(((EncodedMap<?, ?>) holder.tags).getEncodedMap() instanceof MappedBigMap);
+        assertEquals(100, holder.tags.size());
+        assertEquals(new Tags("x", 42, "y", "v42"), holder.tags.get(42));
+
+        //the new columns are stored along with the map
+        holder.tags.put(100, new Tags("z", 1));
+        storageEngine.saveObject("holder", holder);
+        storageEngine.close();
+
+        storageEngine = (MappedFileEngine) configuration.createStorageEngine("testEncodedBigMaps");
+        holder = storageEngine.loadObject("holder", TagsHolder.class);
+        assertEquals(new Tags("z", 1), holder.tags.get(100));
+        assertEquals(new Tags("x", 7, "y", "v7"), holder.tags.get(7));
+
+        storageEngine.dropBigMap("tags", holder.tags);
+        assertFalse(Files.exists(bigMapPath));
+        assertFalse(Files.exists(dictionaryPath));
+        assertTrue(holder.tags.isEmpty());
+        storageEngine.close();
+    }
+
+    /**
+     * Test of loadObject method, of class MappedFileEngine, with the BigMaps
+     * which were stored before the codec of their values was registered.
+     */
+    @Test
+    public void testLoadWithoutDictionary() {
+        MappedFileEngine storageEngine = (MappedFileEngine) configuration.createStorageEngine("testLoadWithoutDictionary");
+        LegacyTagsHolder holder = new LegacyTagsHolder(storageEngine);
+        holder.legacyTags.put(1, new LegacyTags("a", 1));
+        storageEngine.saveObject("holder", holder);
+        storageEngine.close();
+
+        TagsCodec<LegacyTags> codec = new TagsCodec<>(LegacyTags::new);
+        BigMapCodecs.register(LegacyTags.class, codec);
+
+        storageEngine = (MappedFileEngine) configuration.createStorageEngine("testLoadWithoutDictionary");
+        holder = storageEngine.loadObject("holder", LegacyTagsHolder.class);
+        assertFalse(holder.legacyTags instanceof EncodedMap);
+        assertEquals(new LegacyTags("a", 1), holder.legacyTags.get(1));
+        holder.legacyTags.put(2, new LegacyTags("b", 2));
+        storageEngine.saveObject("holder", holder);
+        storageEngine.close();
+        assertEquals(0, codec.encodedValues.get());
+        assertFalse(Files.exists(Path.of(configuration.getDirectory(), "testLoadWithoutDictionary", "legacyTags$dictionary.bigmap")));
+
+        storageEngine = (MappedFileEngine) configuration.createStorageEngine("testLoadWithoutDictionary");
+        holder = storageEngine.loadObject("holder", LegacyTagsHolder.class);
+        assertEquals(new LegacyTags("b", 2), holder.legacyTags.get(2));
+        storageEngine.close();
+    }
+
+}
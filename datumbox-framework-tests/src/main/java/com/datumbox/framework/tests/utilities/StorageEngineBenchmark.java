@@ -0,0 +1,157 @@
+/**
+ * Copyright (C) 2013-2026 Vasilis Vryniotis <bbriniotis@datumbox.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datumbox.framework.tests.utilities;
+
+import com.datumbox.framework.common.storage.interfaces.StorageConfiguration;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine.MapType;
+import com.datumbox.framework.common.storage.interfaces.StorageEngine.StorageHint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.IntConsumer;
+
+/**
+ * Benchmark of the concurrent BTreeMaps of the storage engines, which is used
+ * to compare the engines. Every engine runs it from the tests of its module,
+ * with the -Dbenchmark=true option.
+ *
+ * @author Vasilis Vryniotis <bbriniotis@datumbox.com>
+ */
+public class StorageEngineBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageEngineBenchmark.class);
+
+    /**
+     * Checks whether the benchmarks were requested with the -Dbenchmark=true option.
+     *
+     * @return
+     */
+    public static boolean isEnabled() {
+        return "true".equalsIgnoreCase(System.getProperty("benchmark"));
+    }
+
+    /**
+     * Runs the benchmark on a new storage and returns the milliseconds of every
+     * phase. The phases are: the bulk write of the entries in a BTreeMap from a
+     * single thread, the writes in a second BTreeMap from multiple threads, the
+     * random reads from multiple threads and a full scan of the first map.
+     *
+     * @param storageConfiguration
+     * @param entries
+     * @param threads
+     * @return
+     */
+    public static Map<String, Long> run(StorageConfiguration storageConfiguration, int entries, int threads) {
+        Map<String, Long> timings = new LinkedHashMap<>();
+        StorageEngine storageEngine = storageConfiguration.createStorageEngine("benchmark" + System.nanoTime());
+        try {
+            Map<Integer, String> map = storageEngine.getBigMap("map", Integer.class, String.class, MapType.TREEMAP, StorageHint.IN_DISK, true, false);
+            Map<Integer, String> parallelMap = storageEngine.getBigMap("parallelMap", Integer.class, String.class, MapType.TREEMAP, StorageHint.IN_DISK, true, false);
+
+            Map<Integer, String> batch = new HashMap<>();
+            for(int i=0;i<entries;i++) {
+                batch.put(i, value(i));
+            }
+            long start = System.nanoTime();
+            storageEngine.putAll(map, batch);
+            timings.put("write", elapsed(start));
+
+            start = System.nanoTime();
+            runInParallel(threads, t -> {
+                for(int i=t;i<entries;i+=threads) {
+                    parallelMap.put(i, value(i));
+                }
+            });
+            timings.put("parallelWrite", elapsed(start));
+
+            start = System.nanoTime();
+            runInParallel(threads, t -> {
+                Random random = new Random(t);
+                for(int i=0;i<entries;i++) {
+                    int key = random.nextInt(entries);
+                    if(!value(key).equals(map.get(key))) {
+                        throw new IllegalStateException("Unexpected value of key " + key + ".");
+                    }
+                }
+            });
+            timings.put("parallelRead", elapsed(start));
+
+            start = System.nanoTime();
+            long count = 0;
+            for(Map.Entry<Integer, String> entry : map.entrySet()) {
+                if(entry.getValue() != null) {
+                    count++;
+                }
+            }
+            timings.put("scan", elapsed(start));
+            if(count != entries || parallelMap.size() != entries) {
+                throw new IllegalStateException("Unexpected number of entries.");
+            }
+
+            storageEngine.clear();
+        }
+        finally {
+            try {
+                storageEngine.close();
+            }
+            catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+
+        logger.info("Benchmark of {} with {} entries and {} threads (ms): {}", storageConfiguration.getClass().getSimpleName(), entries, threads, timings);
+        return timings;
+    }
+
+    private static String value(int i) {
+        return "value" + i;
+    }
+
+    private static long elapsed(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * Runs the task on the provided number of threads and waits until all of
+     * them finish.
+     *
+     * @param threads
+     * @param task
+     */
+    private static void runInParallel(int threads, IntConsumer task) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for(int t=0;t<threads;t++) {
+                int threadId = t;
+                futures.add(executor.submit(() -> task.accept(threadId)));
+            }
+            for(Future<?> future : futures) {
+                future.get();
+            }
+        }
+        catch (InterruptedException | ExecutionException ex) {
+            throw new RuntimeException(ex);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+}